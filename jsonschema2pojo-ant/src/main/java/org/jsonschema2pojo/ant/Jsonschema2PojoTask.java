@@ -195,6 +195,32 @@ public class Jsonschema2PojoTask extends Task implements GenerationConfig {
     
     private boolean includeGeneratedAnnotation = true;
 
+    private int parallelism = 1;
+
+    private boolean incremental = false;
+
+    private boolean skipUnchangedFiles = false;
+
+    private File schemaCacheDirectory;
+
+    private long schemaCacheTimeToLive = 3600;
+
+    private long schemaCacheMaxSize = 52428800;
+
+    private boolean offline = false;
+
+    private boolean printMetrics = false;
+
+    private File metricsFile;
+
+    private boolean mergeSamples = false;
+
+    private boolean generateAdapters = false;
+
+    private boolean immutable = false;
+
+    private boolean generateRecords = false;
+
     /**
      * Execute this task (it's expected that all relevant setters will have been
      * called by Ant to provide task configuration <em>before</em> this method
@@ -972,6 +998,147 @@ public class Jsonschema2PojoTask extends Task implements GenerationConfig {
             .collect(Collectors.toMap(m -> m.split(":")[0], m -> m.split(":")[1]));
     }
 
+    /**
+     * Sets the 'parallelism' property of this class
+     *
+     * @param parallelism
+     *            the number of worker threads used to read source files (and
+     *            the documents they reference) before types are generated
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the 'incremental' property of this class
+     *
+     * @param incremental
+     *            whether to regenerate only the types affected by changes
+     *            since the previous run
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Sets the 'skipUnchangedFiles' property of this class
+     *
+     * @param skipUnchangedFiles
+     *            whether to only write generated files whose content has
+     *            changed
+     */
+    public void setSkipUnchangedFiles(boolean skipUnchangedFiles) {
+        this.skipUnchangedFiles = skipUnchangedFiles;
+    }
+
+    /**
+     * Sets the 'schemaCacheDirectory' property of this class
+     *
+     * @param schemaCacheDirectory
+     *            the directory in which schemas fetched over http/https are
+     *            cached between builds
+     */
+    public void setSchemaCacheDirectory(File schemaCacheDirectory) {
+        this.schemaCacheDirectory = schemaCacheDirectory;
+    }
+
+    /**
+     * Sets the 'schemaCacheTimeToLive' property of this class
+     *
+     * @param schemaCacheTimeToLive
+     *            the number of seconds for which a cached schema is used
+     *            without checking with the server
+     */
+    public void setSchemaCacheTimeToLive(long schemaCacheTimeToLive) {
+        this.schemaCacheTimeToLive = schemaCacheTimeToLive;
+    }
+
+    /**
+     * Sets the 'schemaCacheMaxSize' property of this class
+     *
+     * @param schemaCacheMaxSize
+     *            the maximum total size (in bytes) of the schema cache
+     */
+    public void setSchemaCacheMaxSize(long schemaCacheMaxSize) {
+        this.schemaCacheMaxSize = schemaCacheMaxSize;
+    }
+
+    /**
+     * Sets the 'offline' property of this class
+     *
+     * @param offline
+     *            whether to resolve schemas referenced over http/https only
+     *            from the schema cache
+     */
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    /**
+     * Sets the 'printMetrics' property of this class
+     *
+     * @param printMetrics
+     *            whether to log a summary of the time spent generating types
+     */
+    public void setPrintMetrics(boolean printMetrics) {
+        this.printMetrics = printMetrics;
+    }
+
+    /**
+     * Sets the 'metricsFile' property of this class
+     *
+     * @param metricsFile
+     *            a file to which the time spent generating types should be
+     *            written as JSON
+     */
+    public void setMetricsFile(File metricsFile) {
+        this.metricsFile = metricsFile;
+    }
+
+    /**
+     * Sets the 'mergeSamples' property of this class
+     *
+     * @param mergeSamples
+     *            whether to infer a single type from all the samples in each
+     *            source directory or glob, rather than a type from each example file
+     */
+    public void setMergeSamples(boolean mergeSamples) {
+        this.mergeSamples = mergeSamples;
+    }
+
+    /**
+     * Sets the 'generateAdapters' property of this class
+     *
+     * @param generateAdapters
+     *            whether to generate a streaming serializer and deserializer
+     *            alongside each generated type (for the selected annotation style)
+     */
+    public void setGenerateAdapters(boolean generateAdapters) {
+        this.generateAdapters = generateAdapters;
+    }
+
+    /**
+     * Sets the 'immutable' property of this class
+     *
+     * @param immutable
+     *            whether to generate immutable types (final fields, no setters
+     *            or builders, cached hash codes)
+     */
+    public void setImmutable(boolean immutable) {
+        this.immutable = immutable;
+    }
+
+    /**
+     * Sets the 'generateRecords' property of this class
+     *
+     * @param generateRecords
+     *            whether to generate records rather than classes for object
+     *            types (when the target version is 16 or later)
+     */
+    public void setGenerateRecords(boolean generateRecords) {
+        this.generateRecords = generateRecords;
+    }
+
     @Override
     public boolean isGenerateBuilders() {
         return generateBuilders;
@@ -1317,4 +1484,69 @@ public class Jsonschema2PojoTask extends Task implements GenerationConfig {
     
     @Override
     public boolean isIncludeGeneratedAnnotation() { return includeGeneratedAnnotation; }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    @Override
+    public boolean isSkipUnchangedFiles() {
+        return skipUnchangedFiles;
+    }
+
+    @Override
+    public File getSchemaCacheDirectory() {
+        return schemaCacheDirectory;
+    }
+
+    @Override
+    public long getSchemaCacheTimeToLive() {
+        return schemaCacheTimeToLive;
+    }
+
+    @Override
+    public long getSchemaCacheMaxSize() {
+        return schemaCacheMaxSize;
+    }
+
+    @Override
+    public boolean isOffline() {
+        return offline;
+    }
+
+    @Override
+    public boolean isPrintMetrics() {
+        return printMetrics;
+    }
+
+    @Override
+    public File getMetricsFile() {
+        return metricsFile;
+    }
+
+    @Override
+    public boolean isMergeSamples() {
+        return mergeSamples;
+    }
+
+    @Override
+    public boolean isGenerateAdapters() {
+        return generateAdapters;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    @Override
+    public boolean isGenerateRecords() {
+        return generateRecords;
+    }
 }
@@ -0,0 +1,116 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.FileCodeWriterWithEncoding;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jackson2Annotator;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.jsonschema2pojo.SchemaStore;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JPackage;
+
+/**
+ * Measures {@link JCodeModel#build(CodeWriter)} for the code model generated
+ * from a set of synthetic schemas, both rendering source alone (output is
+ * discarded) and writing files to disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CodeModelBuildBenchmark {
+
+    @Param({ "SMALL", "MEDIUM", "HUGE" })
+    public SchemaCorpus.Size size;
+
+    private File schemaDirectory;
+    private File targetDirectory;
+    private JCodeModel codeModel;
+
+    @Setup
+    public void generate() throws IOException {
+        schemaDirectory = Files.createTempDirectory("jsonschema2pojo-benchmark").toFile();
+        targetDirectory = Files.createTempDirectory("jsonschema2pojo-benchmark").toFile();
+
+        GenerationConfig config = new DefaultGenerationConfig();
+        SchemaMapper mapper = new SchemaMapper(new RuleFactory(config, new Jackson2Annotator(config), new SchemaStore()), new SchemaGenerator());
+        codeModel = new JCodeModel();
+
+        for (File schema : new SchemaCorpus(1L).writeSchemas(schemaDirectory, size)) {
+            mapper.generate(codeModel, Jsonschema2Pojo.getNodeName(schema.toURI().toURL(), config), "com.example", schema.toURI().toURL());
+        }
+    }
+
+    @TearDown
+    public void deleteDirectories() throws IOException {
+        FileUtils.deleteDirectory(schemaDirectory);
+        FileUtils.deleteDirectory(targetDirectory);
+    }
+
+    @Benchmark
+    public void render() throws IOException {
+        codeModel.build(new DiscardingCodeWriter());
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        codeModel.build(new FileCodeWriterWithEncoding(targetDirectory, "UTF-8"));
+    }
+
+    private static class DiscardingCodeWriter extends CodeWriter {
+
+        @Override
+        public OutputStream openBinary(JPackage pkg, String fileName) {
+            return NullOutputStream.NULL_OUTPUT_STREAM;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jackson2Annotator;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.jsonschema2pojo.SchemaStore;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Measures {@link SchemaMapper#generate(JCodeModel, String, String, URL)} over
+ * sets of synthetic schemas, from reading the schemas through to a complete
+ * code model (no output is written).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GenerationBenchmark {
+
+    private static final String PACKAGE_NAME = "com.example";
+
+    @Param({ "SMALL", "MEDIUM", "HUGE" })
+    public SchemaCorpus.Size size;
+
+    private final GenerationConfig config = new DefaultGenerationConfig();
+
+    private File directory;
+    private final List<URL> schemas = new ArrayList<>();
+    private final List<String> classNames = new ArrayList<>();
+
+    @Setup
+    public void writeSchemas() throws IOException {
+        directory = Files.createTempDirectory("jsonschema2pojo-benchmark").toFile();
+
+        for (File schema : new SchemaCorpus(1L).writeSchemas(directory, size)) {
+            URL url = schema.toURI().toURL();
+            schemas.add(url);
+            classNames.add(Jsonschema2Pojo.getNodeName(url, config));
+        }
+    }
+
+    @TearDown
+    public void deleteSchemas() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public JCodeModel generate() {
+        SchemaMapper mapper = new SchemaMapper(new RuleFactory(config, new Jackson2Annotator(config), new SchemaStore()), new SchemaGenerator());
+        JCodeModel codeModel = new JCodeModel();
+
+        for (int i = 0; i < schemas.size(); i++) {
+            mapper.generate(codeModel, classNames.get(i), PACKAGE_NAME, schemas.get(i));
+        }
+
+        return codeModel;
+    }
+
+}
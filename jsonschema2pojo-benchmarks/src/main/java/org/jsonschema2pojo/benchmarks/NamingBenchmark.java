@@ -0,0 +1,88 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.util.Inflector;
+import org.jsonschema2pojo.util.NameHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JPackage;
+
+/**
+ * Measures the naming done for every property of every schema: deriving
+ * property, field, accessor and class names with {@link NameHelper}, and
+ * singularizing and pluralizing with {@link Inflector}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NamingBenchmark {
+
+    private final NameHelper nameHelper = new NameHelper(new DefaultGenerationConfig());
+    private final Inflector inflector = Inflector.getInstance();
+    private final JsonNode node = JsonNodeFactory.instance.objectNode();
+    private final JCodeModel codeModel = new JCodeModel();
+
+    private JPackage _package;
+    private List<String> names;
+
+    @Setup
+    public void createNames() {
+        _package = codeModel._package("com.example");
+        names = new SchemaCorpus(1L).propertyNames(200);
+    }
+
+    @Benchmark
+    public void nameHelper(Blackhole blackhole) {
+        for (String name : names) {
+            String propertyName = nameHelper.getPropertyName(name, node);
+            blackhole.consume(nameHelper.getFieldName(propertyName, node));
+            blackhole.consume(nameHelper.getGetterName(propertyName, codeModel.BOOLEAN, node));
+            blackhole.consume(nameHelper.getSetterName(propertyName, node));
+            blackhole.consume(nameHelper.getClassName(name, node, _package));
+        }
+    }
+
+    @Benchmark
+    public void inflector(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(inflector.pluralize(name));
+            blackhole.consume(inflector.singularize(name));
+        }
+    }
+
+}
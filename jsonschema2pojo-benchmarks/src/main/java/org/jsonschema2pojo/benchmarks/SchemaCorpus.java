@@ -0,0 +1,288 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Generates synthetic schemas and example documents for benchmarks. Output is
+ * fully determined by the arguments given (including the seed), so the same
+ * corpus is produced on every run and no network access is needed.
+ */
+public class SchemaCorpus {
+
+    /**
+     * The sizes of schema set used by the generation benchmarks.
+     */
+    public enum Size {
+
+        SMALL(10, 8), MEDIUM(100, 16), HUGE(1000, 32);
+
+        private final int schemas;
+        private final int properties;
+
+        Size(int schemas, int properties) {
+            this.schemas = schemas;
+            this.properties = properties;
+        }
+
+        public int getSchemas() {
+            return schemas;
+        }
+
+        public int getProperties() {
+            return properties;
+        }
+
+    }
+
+    private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String[] WORDS = { "account", "address", "amount", "category", "child", "city", "company",
+            "country", "created", "currency", "customer", "date", "description", "discount", "email", "entry",
+            "identifier", "invoice", "item", "label", "line", "location", "name", "note", "order", "owner", "parent",
+            "payment", "person", "phone", "price", "product", "quantity", "reference", "region", "status", "street",
+            "tag", "tax", "title", "total", "type", "updated", "user", "value", "version", "warehouse", "zone" };
+
+    private final Random random;
+
+    public SchemaCorpus(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Writes a set of schemas that reference one another to the given
+     * directory. Each schema mixes simple types, enums, arrays, nested objects,
+     * and <code>$ref</code>s to other schemas in the set.
+     *
+     * @return the schema files, in the order they were written
+     */
+    public List<File> writeSchemas(File directory, Size size) throws IOException {
+        return writeSchemas(directory, size.getSchemas(), size.getProperties());
+    }
+
+    public List<File> writeSchemas(File directory, int schemaCount, int propertyCount) throws IOException {
+        List<File> files = new ArrayList<>(schemaCount);
+
+        for (int i = 0; i < schemaCount; i++) {
+            File file = new File(directory, schemaFileName(i));
+            OBJECT_MAPPER.writeValue(file, schema(i, schemaCount, propertyCount));
+            files.add(file);
+        }
+
+        return files;
+    }
+
+    /**
+     * Writes a chain of documents in which each document refers to the next
+     * via a <code>$ref</code> to a fragment of that document. Resolving the
+     * first document in the chain requires reading every document.
+     *
+     * @return the first document in the chain
+     */
+    public File writeRefChain(File directory, int depth) throws IOException {
+        for (int i = 0; i < depth; i++) {
+            ObjectNode node = NODE_FACTORY.objectNode();
+            node.put("type", "object");
+            node.putObject("properties").putObject("value").put("type", "string");
+            if (i + 1 < depth) {
+                node.with("properties").putObject("next").put("$ref", linkFileName(i + 1) + "#/definitions/link");
+            }
+
+            ObjectNode document = NODE_FACTORY.objectNode();
+            document.putObject("definitions").set("link", node);
+            document.put("$ref", "#/definitions/link");
+
+            OBJECT_MAPPER.writeValue(new File(directory, linkFileName(i)), document);
+        }
+
+        return new File(directory, linkFileName(0));
+    }
+
+    /**
+     * Creates an example document of the kind that would be given as input
+     * when generating from JSON: an array of objects, each with a mix of
+     * values, nested objects (up to the given depth) and arrays.
+     */
+    public ArrayNode example(int objectCount, int propertyCount, int depth) {
+        ArrayNode example = NODE_FACTORY.arrayNode();
+        for (int i = 0; i < objectCount; i++) {
+            example.add(exampleObject(propertyCount, depth));
+        }
+        return example;
+    }
+
+    /**
+     * @return property names in the styles found in real schemas (camel case,
+     *         snake case, hyphenated, plural)
+     */
+    public List<String> propertyNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(propertyName(i));
+        }
+        return names;
+    }
+
+    private ObjectNode schema(int index, int schemaCount, int propertyCount) {
+        ObjectNode schema = NODE_FACTORY.objectNode();
+        schema.put("type", "object");
+        schema.put("title", word() + " " + word());
+        schema.put("description", "Synthetic schema " + index);
+
+        ObjectNode properties = schema.putObject("properties");
+        ArrayNode required = NODE_FACTORY.arrayNode();
+
+        for (int i = 0; i < propertyCount; i++) {
+            String name = propertyName(i);
+            properties.set(name, property(i, schemaCount));
+            if (random.nextInt(4) == 0) {
+                required.add(name);
+            }
+        }
+
+        if (required.size() > 0) {
+            schema.set("required", required);
+        }
+
+        return schema;
+    }
+
+    private ObjectNode property(int index, int schemaCount) {
+        ObjectNode property = NODE_FACTORY.objectNode();
+
+        switch (index % 8) {
+            case 0:
+                property.put("type", "string");
+                break;
+            case 1:
+                property.put("type", "integer");
+                break;
+            case 2:
+                property.put("type", "number");
+                break;
+            case 3:
+                property.put("type", "boolean");
+                break;
+            case 4:
+                property.put("type", "string");
+                ArrayNode values = property.putArray("enum");
+                for (int i = 0; i < 4; i++) {
+                    values.add(word() + "-" + i);
+                }
+                break;
+            case 5:
+                property.put("type", "array");
+                property.putObject("items").put("type", "string");
+                break;
+            case 6:
+                property.put("type", "object");
+                ObjectNode nested = property.putObject("properties");
+                nested.putObject(word()).put("type", "string");
+                nested.putObject(word() + "Count").put("type", "integer");
+                break;
+            default:
+                String ref = schemaFileName(random.nextInt(schemaCount));
+                if (random.nextBoolean()) {
+                    property.put("$ref", ref);
+                } else {
+                    property.put("type", "array");
+                    property.putObject("items").put("$ref", ref);
+                }
+                break;
+        }
+
+        return property;
+    }
+
+    private ObjectNode exampleObject(int propertyCount, int depth) {
+        ObjectNode object = NODE_FACTORY.objectNode();
+
+        for (int i = 0; i < propertyCount; i++) {
+            String name = propertyName(i);
+            switch (i % 6) {
+                case 0:
+                    object.put(name, word());
+                    break;
+                case 1:
+                    object.put(name, random.nextInt());
+                    break;
+                case 2:
+                    object.put(name, random.nextDouble());
+                    break;
+                case 3:
+                    object.put(name, random.nextBoolean());
+                    break;
+                case 4:
+                    ArrayNode array = object.putArray(name);
+                    for (int j = 0; j < 3; j++) {
+                        array.add(word());
+                    }
+                    break;
+                default:
+                    if (depth > 0) {
+                        object.set(name, exampleObject(Math.max(1, propertyCount / 2), depth - 1));
+                    } else {
+                        object.putNull(name);
+                    }
+                    break;
+            }
+        }
+
+        return object;
+    }
+
+    private String propertyName(int index) {
+        String first = WORDS[index % WORDS.length];
+        String second = WORDS[(index * 7 + 3) % WORDS.length];
+
+        switch (index % 4) {
+            case 0:
+                return first + Character.toUpperCase(second.charAt(0)) + second.substring(1);
+            case 1:
+                return first + "_" + second;
+            case 2:
+                return first + "-" + second;
+            default:
+                return second + "s";
+        }
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String schemaFileName(int index) {
+        return "schema" + index + ".json";
+    }
+
+    private static String linkFileName(int index) {
+        return "link" + index + ".json";
+    }
+
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsonschema2pojo.SchemaGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Measures {@link SchemaGenerator#schemaFromExample(JsonNode)} on large
+ * example documents (an array of objects with nested objects and arrays).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SchemaGeneratorBenchmark {
+
+    @Param({ "100", "10000" })
+    public int objects;
+
+    private final SchemaGenerator schemaGenerator = new SchemaGenerator();
+
+    private JsonNode example;
+
+    @Setup
+    public void createExample() {
+        example = new SchemaCorpus(1L).example(objects, 24, 3);
+    }
+
+    @Benchmark
+    public ObjectNode schemaFromExample() {
+        return schemaGenerator.schemaFromExample(example);
+    }
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.SchemaStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Measures resolution of a chain of <code>$ref</code>s through a
+ * {@link SchemaStore}, where each link is a fragment of a separate document.
+ * The cold benchmark reads and parses every document, the warm benchmark
+ * resolves against a store that already holds them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SchemaStoreBenchmark {
+
+    private static final String DELIMITERS = "#/.";
+
+    @Param({ "10", "100" })
+    public int depth;
+
+    private File directory;
+    private URI head;
+    private SchemaStore warmStore;
+
+    @Setup
+    public void writeChain() throws IOException {
+        directory = Files.createTempDirectory("jsonschema2pojo-benchmark").toFile();
+        head = new SchemaCorpus(1L).writeRefChain(directory, depth).toURI();
+
+        warmStore = new SchemaStore();
+        resolveChain(warmStore);
+    }
+
+    @TearDown
+    public void deleteChain() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public Schema resolveCold() {
+        return resolveChain(new SchemaStore());
+    }
+
+    @Benchmark
+    public Schema resolveWarm() {
+        return resolveChain(warmStore);
+    }
+
+    private Schema resolveChain(SchemaStore store) {
+        Schema document = store.create(head, DELIMITERS);
+        Schema link = store.create(document, document.getContent().get("$ref").asText(), DELIMITERS);
+
+        for (JsonNode next = link.getContent().path("properties").path("next"); next.has("$ref"); next = link.getContent().path("properties").path("next")) {
+            link = store.create(link, next.get("$ref").asText(), DELIMITERS);
+        }
+
+        return link;
+    }
+
+}
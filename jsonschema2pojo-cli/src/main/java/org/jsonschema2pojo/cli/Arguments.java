@@ -246,6 +246,48 @@ public class Arguments implements GenerationConfig {
     @Parameter(names = {"--omit-generated-annotation"}, description = "Omit @Generated annotation on generated types")
     private boolean omitGeneratedAnnotation = false;
 
+    @Parameter(names = { "--parallelism" }, description = "The number of worker threads used to read source files (and the documents they reference) before types are generated.")
+    private int parallelism = 1;
+
+    @Parameter(names = { "--incremental" }, description = "Regenerate only the types affected by changes since the previous run (JSONSCHEMA and YAMLSCHEMA sources only).")
+    private boolean incremental = false;
+
+    @Parameter(names = { "--skip-unchanged-files" }, description = "Only write generated files whose content has changed, leaving unchanged files untouched.")
+    private boolean skipUnchangedFiles = false;
+
+    @Parameter(names = { "--schema-cache-directory" }, description = "The directory in which schemas fetched over http/https are cached between runs (no cache is used by default)")
+    private File schemaCacheDirectory;
+
+    @Parameter(names = { "--schema-cache-ttl" }, description = "The number of seconds for which a cached schema is used without checking with the server")
+    private long schemaCacheTimeToLive = 3600;
+
+    @Parameter(names = { "--schema-cache-max-size" }, description = "The maximum total size (in bytes) of the schema cache")
+    private long schemaCacheMaxSize = 52428800;
+
+    @Parameter(names = { "--offline" }, description = "Resolve schemas referenced over http/https only from the schema cache, without contacting any server")
+    private boolean offline = false;
+
+    @Parameter(names = { "--print-metrics" }, description = "Print a summary of the time spent generating types (per rule, per source, per document read and for writing output)")
+    private boolean printMetrics = false;
+
+    @Parameter(names = { "--metrics-file" }, description = "A file to which the time spent generating types should be written as JSON")
+    private File metricsFile;
+
+    @Parameter(names = { "--merge-samples" }, description = "Infer one type from all the samples in each source directory, glob or newline-delimited file (JSON and YAML sources only)")
+    private boolean mergeSamples = false;
+
+    @Parameter(names = { "--watch" }, description = "Keep running after generating types, and regenerate the types affected by each change to the source files (or any local file they reference). Implies --incremental.")
+    private boolean watch = false;
+
+    @Parameter(names = { "--generate-adapters" }, description = "Generate a streaming serializer and deserializer alongside each type, for the selected annotation style")
+    private boolean generateAdapters = false;
+
+    @Parameter(names = { "--immutable" }, description = "Generate immutable types (final fields, no setters or builders, cached hash codes)")
+    private boolean immutable = false;
+
+    @Parameter(names = { "--generate-records" }, description = "Generate records rather than classes for object types, when the target version is 16 or later")
+    private boolean generateRecords = false;
+
     private static final int EXIT_OKAY = 0;
     private static final int EXIT_ERROR = 1;
 
@@ -481,6 +523,10 @@ public class Arguments implements GenerationConfig {
         return printLogLevels;
     }
 
+    public boolean isWatch() {
+        return watch;
+    }
+
     @Override
     public boolean isIncludeRequiredPropertiesConstructor() { return includeRequiredPropertiesConstructor; }
 
@@ -604,4 +650,69 @@ public class Arguments implements GenerationConfig {
     
     @Override
     public boolean isIncludeGeneratedAnnotation() { return !omitGeneratedAnnotation; }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return incremental || watch;
+    }
+
+    @Override
+    public boolean isSkipUnchangedFiles() {
+        return skipUnchangedFiles;
+    }
+
+    @Override
+    public File getSchemaCacheDirectory() {
+        return schemaCacheDirectory;
+    }
+
+    @Override
+    public long getSchemaCacheTimeToLive() {
+        return schemaCacheTimeToLive;
+    }
+
+    @Override
+    public long getSchemaCacheMaxSize() {
+        return schemaCacheMaxSize;
+    }
+
+    @Override
+    public boolean isOffline() {
+        return offline;
+    }
+
+    @Override
+    public boolean isPrintMetrics() {
+        return printMetrics;
+    }
+
+    @Override
+    public File getMetricsFile() {
+        return metricsFile;
+    }
+
+    @Override
+    public boolean isMergeSamples() {
+        return mergeSamples;
+    }
+
+    @Override
+    public boolean isGenerateAdapters() {
+        return generateAdapters;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    @Override
+    public boolean isGenerateRecords() {
+        return generateRecords;
+    }
 }
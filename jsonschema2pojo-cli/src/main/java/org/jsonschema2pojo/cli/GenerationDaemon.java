@@ -0,0 +1,240 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Serves generation requests from clients that connect on a loopback port,
+ * keeping a single warmed-up JVM resident for many invocations. Each
+ * connection carries requests and responses in the protocol of
+ * {@link GenerationWorker}. Connections are handled concurrently, the
+ * requests on any one connection in turn.
+ * <p>
+ * Any local process can connect to a loopback port, so each connection must
+ * first send a secret token, on a line of its own. The daemon writes the
+ * token to a file only its owner can read (see {@link #getTokenFile()}), and
+ * closes connections that don't send it. Clients send their working
+ * directory with each request, so relative paths are resolved as they would
+ * be by the client.
+ */
+public class GenerationDaemon implements Closeable {
+
+    private static final int TOKEN_LENGTH = 32;
+
+    private final GenerationWorker worker;
+    private final ServerSocket serverSocket;
+    private final byte[] token;
+    private final File tokenFile;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "jsonschema2pojo-daemon");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param port
+     *            the loopback port to listen on, or 0 to choose any free port
+     *            (see {@link #getPort()})
+     * @throws IOException
+     *             if the port can't be opened, or the token file can't be
+     *             written
+     */
+    public GenerationDaemon(GenerationWorker worker, int port) throws IOException {
+        this(worker, port, defaultTokenDirectory());
+    }
+
+    /**
+     * @param port
+     *            the loopback port to listen on, or 0 to choose any free port
+     *            (see {@link #getPort()})
+     * @param tokenDirectory
+     *            the directory in which the token file is written
+     * @throws IOException
+     *             if the port can't be opened, or the token file can't be
+     *             written
+     */
+    public GenerationDaemon(GenerationWorker worker, int port, File tokenDirectory) throws IOException {
+        this.worker = worker;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+
+        byte[] random = new byte[TOKEN_LENGTH];
+        new SecureRandom().nextBytes(random);
+        this.token = Base64.getUrlEncoder().withoutPadding().encodeToString(random).getBytes(StandardCharsets.US_ASCII);
+        this.tokenFile = tokenFile(tokenDirectory, getPort());
+        try {
+            writeOwnerOnly(tokenFile, token);
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return the file holding the token that clients must send, readable
+     *         only by the owner of this daemon
+     */
+    public File getTokenFile() {
+        return tokenFile;
+    }
+
+    /**
+     * Accepts connections until this daemon is closed.
+     *
+     * @throws IOException
+     *             if a connection can't be accepted
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (serverSocket.isClosed()) {
+                    break;
+                }
+                throw e;
+            }
+            executor.execute(() -> handle(socket));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+        Files.deleteIfExists(tokenFile.toPath());
+    }
+
+    /**
+     * Sends a single request to a daemon listening on the given loopback
+     * port, copying the output logged while handling the request to the
+     * given stream. Relative paths in the arguments are resolved against the
+     * working directory of this process.
+     *
+     * @return the exit code of the request
+     * @throws IOException
+     *             if the daemon can't be reached, or its token can't be read
+     */
+    public static int request(int port, String[] args, PrintStream out) throws IOException {
+        return request(port, defaultTokenDirectory(), args, out);
+    }
+
+    /**
+     * As {@link #request(int, String[], PrintStream)}, for a daemon that
+     * writes its token file to the given directory.
+     */
+    public static int request(int port, File tokenDirectory, String[] args, PrintStream out) throws IOException {
+        byte[] token = Files.readAllBytes(tokenFile(tokenDirectory, port).toPath());
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream requests = socket.getOutputStream();
+            requests.write(token);
+            requests.write('\n');
+            requests.write(GenerationWorker.request(args, new File("").getAbsolutePath(), 0));
+            requests.flush();
+            socket.shutdownOutput();
+
+            JsonNode response = GenerationWorker.response(socket.getInputStream());
+            if (response == null) {
+                throw new IOException("The daemon on port " + port + " closed the connection without responding (was it started by another user?)");
+            }
+            out.print(response.path("output").asText());
+            out.flush();
+            return response.path("exitCode").asInt(1);
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket connection = socket) {
+            InputStream requests = connection.getInputStream();
+            if (MessageDigest.isEqual(token, readLine(requests, token.length + 1))) {
+                worker.serve(requests, connection.getOutputStream());
+            }
+        } catch (IOException e) {
+            // the client has gone away, there is no one left to tell
+        }
+    }
+
+    /**
+     * Reads up to (and not including) the next line feed, without reading
+     * any further, or at most the given number of bytes.
+     */
+    private static byte[] readLine(InputStream in, int limit) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        for (int b = in.read(); b != -1 && b != '\n' && line.size() < limit; b = in.read()) {
+            line.write(b);
+        }
+        return line.toByteArray();
+    }
+
+    private static File defaultTokenDirectory() {
+        return new File(System.getProperty("user.home"), ".jsonschema2pojo");
+    }
+
+    private static File tokenFile(File tokenDirectory, int port) {
+        return new File(tokenDirectory, "daemon-" + port + ".token");
+    }
+
+    private static void writeOwnerOnly(File file, byte[] content) throws IOException {
+        Path path = file.toPath();
+        Files.createDirectories(path.getParent());
+        Files.deleteIfExists(path);
+
+        if (Files.getFileStore(path.getParent()).supportsFileAttributeView("posix")) {
+            Set<PosixFilePermission> ownerOnly = EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(ownerOnly));
+        } else {
+            Files.createFile(path);
+            if (!(file.setReadable(false, false) && file.setReadable(true, true)
+                    && file.setWritable(false, false) && file.setWritable(true, true))) {
+                throw new IOException("Unable to make " + file + " readable only by its owner");
+            }
+        }
+
+        Files.write(path, content);
+    }
+
+}
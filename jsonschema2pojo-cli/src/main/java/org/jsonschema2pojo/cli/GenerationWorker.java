@@ -0,0 +1,258 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jsonschema2pojo.CachingContentResolver;
+import org.jsonschema2pojo.URLProtocol;
+import org.jsonschema2pojo.util.URLUtil;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Runs generation requests in a long-lived JVM, so that JVM startup, class
+ * loading, JIT compilation and the readers shared by all generation runs are
+ * paid for once rather than on every invocation.
+ * <p>
+ * Requests and responses use the JSON persistent worker protocol understood by
+ * Bazel (and other build tools with persistent worker support). Each request is
+ * an object holding the command line <code>arguments</code> and a
+ * <code>requestId</code>. Each response is an object, on a line of its own,
+ * holding the <code>exitCode</code>, the <code>output</code> logged while
+ * handling the request and the same <code>requestId</code>.
+ * <p>
+ * Relative paths in the arguments are resolved against the
+ * <code>workingDirectory</code> of the request, if it has one (as sent by
+ * {@link GenerationDaemon} clients), or else against the working directory of
+ * the worker.
+ * <p>
+ * The documents read by each request are kept in memory and reused by later
+ * requests (see {@link CachingContentResolver}). A document is read again when
+ * its modification time or size changes, or when a request lists it among its
+ * <code>inputs</code> with a different <code>digest</code> than before (as
+ * Bazel does). Generated types are not reused: each request generates its
+ * types from scratch.
+ */
+public class GenerationWorker {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    /** The options whose values are paths (or, for sources, comma-separated paths or URLs) */
+    private static final Set<String> PATH_OPTIONS = new HashSet<>(Arrays.asList(
+            "-s", "--source", "-t", "--target", "--schema-cache-directory", "--metrics-file"));
+
+    /** The documents read by previous requests, for each way of reading them */
+    private final ConcurrentMap<List<Object>, CachingContentResolver> contentResolvers = new ConcurrentHashMap<>();
+
+    /** The digest of each input, as last reported by a request */
+    private final ConcurrentMap<Path, String> inputDigests = new ConcurrentHashMap<>();
+
+    /**
+     * Handles the requests read from the given stream until it ends, writing
+     * a response for each one (in the order received) to the given stream.
+     *
+     * @param requests
+     *            the stream of work requests
+     * @param responses
+     *            the stream to which work responses are written
+     * @throws IOException
+     *             if the requests can't be read or a response can't be
+     *             written
+     */
+    public void serve(InputStream requests, OutputStream responses) throws IOException {
+        MappingIterator<JsonNode> iterator = OBJECT_MAPPER.readerFor(JsonNode.class).readValues(requests);
+
+        while (iterator.hasNextValue()) {
+            JsonNode request = iterator.nextValue();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            int exitCode;
+            try (PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8.name())) {
+                String workingDirectory = request.path("workingDirectory").textValue();
+                File directory = workingDirectory != null ? new File(workingDirectory) : null;
+                invalidateChangedInputs(request.path("inputs"), directory);
+                exitCode = run(arguments(request), directory, out);
+            }
+
+            ObjectNode response = OBJECT_MAPPER.createObjectNode();
+            response.put("exitCode", exitCode);
+            response.put("output", new String(output.toByteArray(), StandardCharsets.UTF_8));
+            response.put("requestId", request.path("requestId").asInt());
+
+            responses.write(OBJECT_MAPPER.writeValueAsBytes(response));
+            responses.write('\n');
+            responses.flush();
+        }
+    }
+
+    /**
+     * Generates types as if the given arguments had been passed on the
+     * command line, without exiting the JVM.
+     *
+     * @param args
+     *            the command line arguments (see {@link Arguments})
+     * @param out
+     *            the stream to which all log messages are written
+     * @return the exit code the command line would have returned
+     */
+    public int run(String[] args, PrintStream out) {
+        return run(args, null, out);
+    }
+
+    /**
+     * As {@link #run(String[], PrintStream)}, resolving relative paths
+     * against the given directory.
+     *
+     * @param workingDirectory
+     *            the directory against which relative paths are resolved, or
+     *            <code>null</code> for the working directory of this process
+     */
+    public int run(String[] args, File workingDirectory, PrintStream out) {
+        try {
+            Arguments arguments = new WorkerArguments().parse(workingDirectory != null ? resolvePaths(args, workingDirectory) : args);
+            Jsonschema2PojoCLI.generate(arguments, new CommandLineLogger(arguments.getLogLevel(), out, out), contentResolver(arguments));
+            return 0;
+        } catch (WorkerExit e) {
+            return e.status;
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace(out);
+            return 1;
+        }
+    }
+
+    /**
+     * Creates a request holding the given arguments, as written by a client
+     * of this worker.
+     */
+    static byte[] request(String[] args, int requestId) throws IOException {
+        return request(args, null, requestId);
+    }
+
+    static byte[] request(String[] args, String workingDirectory, int requestId) throws IOException {
+        ObjectNode request = OBJECT_MAPPER.createObjectNode();
+        ArrayNode arguments = request.putArray("arguments");
+        for (String arg : args) {
+            arguments.add(arg);
+        }
+        if (workingDirectory != null) {
+            request.put("workingDirectory", workingDirectory);
+        }
+        request.put("requestId", requestId);
+        return (OBJECT_MAPPER.writeValueAsString(request) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a single response written by this worker.
+     */
+    static JsonNode response(InputStream in) throws IOException {
+        return OBJECT_MAPPER.readTree(in);
+    }
+
+    private static String[] resolvePaths(String[] args, File workingDirectory) {
+        String[] resolved = args.clone();
+        for (int i = 1; i < resolved.length; i++) {
+            if (PATH_OPTIONS.contains(resolved[i - 1])) {
+                String[] paths = resolved[i].split(",", -1);
+                for (int j = 0; j < paths.length; j++) {
+                    if (URLUtil.parseProtocol(paths[j]) == URLProtocol.NO_PROTOCOL && !new File(paths[j]).isAbsolute()) {
+                        paths[j] = new File(workingDirectory, paths[j]).getPath();
+                    }
+                }
+                resolved[i] = String.join(",", paths);
+            }
+        }
+        return resolved;
+    }
+
+    private CachingContentResolver contentResolver(Arguments arguments) {
+        List<Object> key = Arrays.asList(arguments.getSourceType(), arguments.getSchemaCacheDirectory(),
+                arguments.getSchemaCacheMaxSize(), arguments.getSchemaCacheTimeToLive(), arguments.isOffline());
+        return contentResolvers.computeIfAbsent(key, k -> new CachingContentResolver(arguments));
+    }
+
+    /**
+     * Forgets the content of each input whose digest isn't the one given by
+     * an earlier request.
+     */
+    private void invalidateChangedInputs(JsonNode inputs, File workingDirectory) {
+        for (JsonNode input : inputs) {
+            String path = input.path("path").textValue();
+            String digest = input.path("digest").textValue();
+            if (path == null || digest == null) {
+                continue;
+            }
+
+            File file = new File(path);
+            Path resolved = (file.isAbsolute() || workingDirectory == null ? file : new File(workingDirectory, path)).toPath().toAbsolutePath().normalize();
+            if (!digest.equals(inputDigests.put(resolved, digest))) {
+                contentResolvers.values().forEach(contentResolver -> contentResolver.invalidate(resolved));
+            }
+        }
+    }
+
+    private String[] arguments(JsonNode request) {
+        JsonNode arguments = request.path("arguments");
+        String[] args = new String[arguments.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = arguments.get(i).asText();
+        }
+        return args;
+    }
+
+    /**
+     * Arguments that report help and invalid arguments by throwing, rather
+     * than by exiting the JVM.
+     */
+    private static class WorkerArguments extends Arguments {
+        @Override
+        protected void exit(int status) {
+            throw new WorkerExit(status);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class WorkerExit extends RuntimeException {
+
+        private final int status;
+
+        WorkerExit(int status) {
+            super(null, null, false, false);
+            this.status = status;
+        }
+    }
+
+}
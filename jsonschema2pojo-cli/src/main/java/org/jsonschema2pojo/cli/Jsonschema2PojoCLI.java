@@ -18,14 +18,39 @@ package org.jsonschema2pojo.cli;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
 
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.GenerationWatcher;
 import org.jsonschema2pojo.Jsonschema2Pojo;
 
 /**
  * Main class, providing a command line interface for jsonschema2pojo.
+ * <p>
+ * As well as generating types from the given arguments, the command line can
+ * keep a JVM resident to handle many generation requests:
+ * <ul>
+ * <li><code>--persistent_worker</code> reads work requests from standard input
+ * and writes responses to standard output (see {@link GenerationWorker}), as
+ * expected by build tools with persistent worker support</li>
+ * <li><code>--daemon &lt;port&gt;</code> serves the same requests on a
+ * loopback port (see {@link GenerationDaemon})</li>
+ * <li><code>--connect &lt;port&gt; &lt;arguments&gt;</code> sends the
+ * remaining arguments to a daemon started by the same user (relative paths
+ * are resolved against the current directory) and reports its output and
+ * exit code</li>
+ * </ul>
+ * With <code>--watch</code>, the command line keeps running after generating
+ * types and regenerates them as the sources change (see
+ * {@link GenerationWatcher}).
  */
 public final class Jsonschema2PojoCLI {
 
+    private static final String PERSISTENT_WORKER = "--persistent_worker";
+    private static final String DAEMON = "--daemon";
+    private static final String CONNECT = "--connect";
+
     private Jsonschema2PojoCLI() {
     }
 
@@ -43,9 +68,69 @@ public final class Jsonschema2PojoCLI {
      *             specified
      */
     public static void main(String[] args) throws IOException {
+        if (Arrays.asList(args).contains(PERSISTENT_WORKER)) {
+            // standard output carries responses, so log messages must go elsewhere
+            PrintStream responses = System.out;
+            System.setOut(System.err);
+            new GenerationWorker().serve(System.in, responses);
+            return;
+        }
+
+        if (args.length == 2 && DAEMON.equals(args[0])) {
+            try (GenerationDaemon daemon = new GenerationDaemon(new GenerationWorker(), Integer.parseInt(args[1]))) {
+                System.out.println("Listening for generation requests on port " + daemon.getPort()
+                        + " (clients authenticate with the token in " + daemon.getTokenFile() + ")");
+                daemon.serve();
+            }
+            return;
+        }
+
+        if (args.length >= 2 && CONNECT.equals(args[0])) {
+            int exitCode = GenerationDaemon.request(Integer.parseInt(args[1]), Arrays.copyOfRange(args, 2, args.length), System.out);
+            if (exitCode != 0) {
+                System.exit(exitCode);
+            }
+            return;
+        }
+
         Arguments arguments = new Arguments().parse(args);
         CommandLineLogger logger = new CommandLineLogger(arguments.getLogLevel());
 
+        if (arguments.isWatch()) {
+            watch(arguments, logger);
+        } else {
+            generate(arguments, logger);
+        }
+    }
+
+    static void generate(Arguments arguments, CommandLineLogger logger) throws IOException {
+        checkArguments(arguments, logger);
+
+        Jsonschema2Pojo.generate(arguments, logger);
+    }
+
+    /**
+     * Generates types, reading schema content through the given resolver.
+     */
+    static void generate(Arguments arguments, CommandLineLogger logger, ContentResolver contentResolver) throws IOException {
+        checkArguments(arguments, logger);
+
+        Jsonschema2Pojo.generate(arguments, logger, contentResolver);
+    }
+
+    /**
+     * Generates types, then regenerates them after each change to the sources
+     * until the process is stopped.
+     */
+    static void watch(Arguments arguments, CommandLineLogger logger) throws IOException {
+        checkArguments(arguments, logger);
+
+        try (GenerationWatcher watcher = new GenerationWatcher(arguments, logger)) {
+            watcher.run();
+        }
+    }
+
+    private static void checkArguments(Arguments arguments, CommandLineLogger logger) {
         if (arguments.isPrintLogLevels()) {
             logger.printLogLevels();
             arguments.exit(0);
@@ -54,7 +139,5 @@ public final class Jsonschema2PojoCLI {
         if (arguments.isUseCommonsLang3()) {
             logger.warn("--commons-lang3 is deprecated. Please remove the argument from your command-line arguments.");
         }
-
-        Jsonschema2Pojo.generate(arguments, logger);
     }
 }
@@ -104,6 +104,16 @@ public class ArgumentsTest {
         assertThat(args.getPropertyWordDelimiters(), is(new char[] { '-' }));
     }
 
+    @Test
+    public void watchImpliesIncremental() {
+        ArgsForTest args = (ArgsForTest) new ArgsForTest().parse(new String[] {
+                "-s", "/home/source", "-t", "/home/target", "--watch"
+        });
+
+        assertThat(args.isWatch(), is(true));
+        assertThat(args.isIncremental(), is(true));
+    }
+
     @Test
     public void allOptionalArgsCanBeOmittedAndDefaultsPrevail() {
         ArgsForTest args = (ArgsForTest) new ArgsForTest().parse(new String[] {
@@ -0,0 +1,193 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.cli;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class GenerationWorkerTest {
+
+    private static final PrintStream SYSTEM_OUT = System.out;
+    private static final PrintStream SYSTEM_ERR = System.err;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File source;
+    private File target;
+
+    @Before
+    public void setUp() throws IOException {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        System.setErr(new PrintStream(new ByteArrayOutputStream()));
+
+        source = folder.newFile("person.json");
+        FileUtils.writeStringToFile(source, "{\"type\":\"object\",\"properties\":{\"name\":{\"type\":\"string\"}}}", StandardCharsets.UTF_8);
+        target = folder.newFolder("target");
+    }
+
+    @After
+    public void tearDown() {
+        System.setOut(SYSTEM_OUT);
+        System.setErr(SYSTEM_ERR);
+    }
+
+    @Test
+    public void eachRequestReceivesAResponse() throws IOException {
+        ByteArrayOutputStream requests = new ByteArrayOutputStream();
+        requests.write(GenerationWorker.request(new String[] { "--source", source.getAbsolutePath(), "--target", target.getAbsolutePath(), "--package", "com.example" }, 1));
+        requests.write(GenerationWorker.request(new String[] { "--target", target.getAbsolutePath() }, 2));
+        requests.write(GenerationWorker.request(new String[] { "--source", source.getAbsolutePath(), "--target", target.getAbsolutePath(), "--package", "com.other" }, 3));
+
+        ByteArrayOutputStream responses = new ByteArrayOutputStream();
+        new GenerationWorker().serve(new ByteArrayInputStream(requests.toByteArray()), responses);
+
+        List<JsonNode> received = new ArrayList<>();
+        new ObjectMapper().readerFor(JsonNode.class).<JsonNode>readValues(responses.toByteArray()).forEachRemaining(received::add);
+
+        assertThat(received.size(), is(3));
+        assertThat(received.get(0).path("requestId").asInt(), is(1));
+        assertThat(received.get(0).path("exitCode").asInt(), is(0));
+        assertThat(received.get(0).path("output").asText(), containsString(target.getAbsolutePath()));
+        assertThat(received.get(1).path("requestId").asInt(), is(2));
+        assertThat(received.get(1).path("exitCode").asInt(), is(1));
+        assertThat(received.get(2).path("exitCode").asInt(), is(0));
+
+        assertThat(new File(target, "com/example/Person.java").isFile(), is(true));
+        assertThat(new File(target, "com/other/Person.java").isFile(), is(true));
+    }
+
+    @Test
+    public void documentsAreReusedUntilTheirDigestChanges() throws IOException {
+        assertThat(source.setLastModified(1000000000000L), is(true));
+        String[] args = { "--source", source.getAbsolutePath(), "--target", target.getAbsolutePath() };
+
+        ByteArrayOutputStream requests = new ByteArrayOutputStream();
+        requests.write(request(args, "aaaa", 1));
+        GenerationWorker worker = new GenerationWorker();
+        worker.serve(new ByteArrayInputStream(requests.toByteArray()), new ByteArrayOutputStream());
+
+        // same size and modification time, so only the digest tells the change apart
+        FileUtils.writeStringToFile(source, "{\"type\":\"object\",\"properties\":{\"nick\":{\"type\":\"string\"}}}", StandardCharsets.UTF_8);
+        assertThat(source.setLastModified(1000000000000L), is(true));
+
+        requests.reset();
+        requests.write(request(args, "aaaa", 2));
+        worker.serve(new ByteArrayInputStream(requests.toByteArray()), new ByteArrayOutputStream());
+        assertThat(FileUtils.readFileToString(new File(target, "Person.java"), StandardCharsets.UTF_8), containsString("getName()"));
+
+        requests.reset();
+        requests.write(request(args, "bbbb", 3));
+        worker.serve(new ByteArrayInputStream(requests.toByteArray()), new ByteArrayOutputStream());
+        assertThat(FileUtils.readFileToString(new File(target, "Person.java"), StandardCharsets.UTF_8), containsString("getNick()"));
+    }
+
+    @Test
+    public void relativePathsAreResolvedAgainstTheWorkingDirectoryOfTheRequest() {
+        int exitCode = new GenerationWorker().run(new String[] { "--source", source.getName(), "--target", target.getName() }, folder.getRoot(),
+                new PrintStream(new ByteArrayOutputStream()));
+
+        assertThat(exitCode, is(0));
+        assertThat(new File(target, "Person.java").isFile(), is(true));
+    }
+
+    @Test
+    public void daemonHandlesRequestsFromClients() throws Exception {
+        File tokenDirectory = folder.newFolder("tokens");
+
+        try (GenerationDaemon daemon = new GenerationDaemon(new GenerationWorker(), 0, tokenDirectory)) {
+            serve(daemon);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            int exitCode = GenerationDaemon.request(daemon.getPort(), tokenDirectory, new String[] { "--source", source.getAbsolutePath(), "--target", target.getAbsolutePath() }, new PrintStream(output, true, "UTF-8"));
+
+            assertThat(exitCode, is(0));
+            assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8), containsString("Wrote"));
+            assertThat(new File(target, "Person.java").isFile(), is(true));
+        }
+
+        assertThat(tokenDirectory.list(), is(emptyArray()));
+    }
+
+    @Test
+    public void daemonIgnoresClientsWithoutTheToken() throws Exception {
+        File tokenDirectory = folder.newFolder("tokens");
+
+        try (GenerationDaemon daemon = new GenerationDaemon(new GenerationWorker(), 0, tokenDirectory)) {
+            serve(daemon);
+
+            if (Files.getFileStore(tokenDirectory.toPath()).supportsFileAttributeView("posix")) {
+                assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(daemon.getTokenFile().toPath())), is("rw-------"));
+            }
+
+            FileUtils.writeStringToFile(daemon.getTokenFile(), "guessed", StandardCharsets.US_ASCII);
+            try {
+                GenerationDaemon.request(daemon.getPort(), tokenDirectory, new String[] { "--source", source.getAbsolutePath(), "--target", target.getAbsolutePath() }, new PrintStream(new ByteArrayOutputStream()));
+                fail("Request without the token was handled");
+            } catch (IOException e) {
+                // the daemon closes the connection
+            }
+
+            assertThat(new File(target, "Person.java").exists(), is(false));
+        }
+    }
+
+    private byte[] request(String[] args, String digest, int requestId) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode request = (ObjectNode) mapper.readTree(GenerationWorker.request(args, requestId));
+        ObjectNode input = request.putArray("inputs").addObject();
+        input.put("path", source.getAbsolutePath());
+        input.put("digest", digest);
+        return (mapper.writeValueAsString(request) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void serve(GenerationDaemon daemon) {
+        Thread server = new Thread(() -> {
+            try {
+                daemon.serve();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        server.setDaemon(true);
+        server.start();
+    }
+
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+/**
+ * Content fetched from a remote location, along with the validators
+ * (<code>ETag</code> and <code>Last-Modified</code>) that allow it to be
+ * revalidated with a conditional request.
+ */
+public class CachedContent {
+
+    private final byte[] content;
+    private final String entityTag;
+    private final String lastModified;
+    private final long fetchedAt;
+
+    /**
+     * @param content
+     *            the raw content
+     * @param entityTag
+     *            the value of the <code>ETag</code> response header, may be
+     *            <code>null</code>
+     * @param lastModified
+     *            the value of the <code>Last-Modified</code> response header,
+     *            may be <code>null</code>
+     * @param fetchedAt
+     *            the time (in milliseconds since the epoch) at which the content
+     *            was last fetched or revalidated
+     */
+    public CachedContent(byte[] content, String entityTag, String lastModified, long fetchedAt) {
+        this.content = content;
+        this.entityTag = entityTag;
+        this.lastModified = lastModified;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public String getEntityTag() {
+        return entityTag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    /**
+     * @return a copy of this content, marked as revalidated at the given time
+     */
+    public CachedContent revalidatedAt(long time) {
+        return new CachedContent(content, entityTag, lastModified, time);
+    }
+
+}
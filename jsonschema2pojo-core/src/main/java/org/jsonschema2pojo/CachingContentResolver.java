@@ -0,0 +1,112 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A content resolver that keeps the content of local files in memory, so that
+ * repeated generation runs only read the files that have changed. A file is
+ * read again when its modification time or size changes, or when it is
+ * {@link #invalidate(Path) invalidated} (e.g. because a build tool reports a
+ * new digest for it).
+ * <p>
+ * Each caller receives its own copy of the content, since generation may
+ * modify the schemas it reads.
+ */
+public class CachingContentResolver extends ContentResolver {
+
+    private final ContentResolver delegate;
+    private final ConcurrentMap<Path, CachedFile> files = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a resolver that reads documents as configured (source type,
+     * schema cache and offline mode) by the given configuration.
+     */
+    public CachingContentResolver(GenerationConfig config) {
+        this(Jsonschema2Pojo.createContentResolver(config));
+    }
+
+    CachingContentResolver(ContentResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public JsonNode resolve(URI uri) {
+        if (!"file".equals(uri.getScheme()) || uri.getAuthority() != null || uri.getQuery() != null) {
+            return delegate.resolve(uri);
+        }
+
+        Path file = Paths.get(uri).normalize();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            files.remove(file);
+            return delegate.resolve(uri);
+        }
+
+        long modified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        return files.compute(file, (path, cached) -> cached != null && cached.modified == modified && cached.size == size
+                ? cached
+                : new CachedFile(delegate.resolve(uri), modified, size)).content.deepCopy();
+    }
+
+    @Override
+    public void setMetricsListener(MetricsListener metricsListener) {
+        delegate.setMetricsListener(metricsListener);
+    }
+
+    /**
+     * Forgets the content of the given file, so it is read again when next
+     * resolved.
+     */
+    public void invalidate(Path file) {
+        files.remove(file.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Forgets the content of every file.
+     */
+    public void invalidateAll() {
+        files.clear();
+    }
+
+    private static class CachedFile {
+
+        private final JsonNode content;
+        private final long modified;
+        private final long size;
+
+        CachedFile(JsonNode content, long modified, long size) {
+            this.content = content;
+            this.modified = modified;
+            this.size = size;
+        }
+    }
+
+}
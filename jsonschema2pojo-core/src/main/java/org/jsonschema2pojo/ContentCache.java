@@ -0,0 +1,48 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.net.URI;
+
+/**
+ * A store for remote schema content, allowing {@link ContentResolver} to avoid
+ * fetching the same document on every run.
+ *
+ * @see FileContentCache
+ */
+public interface ContentCache {
+
+    /**
+     * @param uri
+     *            the location the content was fetched from
+     * @return the cached content for the given location, or <code>null</code>
+     *         if there is none
+     */
+    CachedContent get(URI uri);
+
+    /**
+     * Adds content to the cache, replacing any content already held for the
+     * same location.
+     *
+     * @param uri
+     *            the location the content was fetched from
+     * @param content
+     *            the content, along with the validators returned with it
+     */
+    void put(URI uri, CachedContent content);
+
+}
@@ -21,16 +21,16 @@ import static org.apache.commons.lang3.StringUtils.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.apache.commons.io.IOUtils;
+
 import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Reads URI contents for various protocols.
@@ -38,17 +38,44 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class ContentResolver {
 
     private static final Set<String> CLASSPATH_SCHEMES = new HashSet<>(asList("classpath", "resource", "java"));
+    private static final Set<String> HTTP_SCHEMES = new HashSet<>(asList("http", "https"));
     
-    private final ObjectMapper objectMapper;
+    private final JsonNodeReader reader;
+    private final ContentCache contentCache;
+    private final long timeToLive;
+    private final boolean offline;
+    private MetricsListener metricsListener;
 
     public ContentResolver() {
         this(null);
     }
 
     public ContentResolver(JsonFactory jsonFactory) {
-        this.objectMapper = new ObjectMapper(jsonFactory)
-                .enable(JsonParser.Feature.ALLOW_COMMENTS)
-                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this(JsonNodeReader.forFactory(jsonFactory), null, 0, false);
+    }
+
+    /**
+     * Create a content resolver that keeps content fetched over http/https in
+     * the given cache.
+     *
+     * @param reader
+     *            the reader used to parse content
+     * @param contentCache
+     *            the cache for remote content (may be <code>null</code>, in
+     *            which case remote content is fetched every time)
+     * @param timeToLive
+     *            how long (in milliseconds) cached content is used without
+     *            checking with the server. Once expired, content is
+     *            revalidated with a conditional request.
+     * @param offline
+     *            whether to only serve remote content from the cache, never
+     *            contacting the server
+     */
+    public ContentResolver(JsonNodeReader reader, ContentCache contentCache, long timeToLive, boolean offline) {
+        this.reader = reader;
+        this.contentCache = contentCache;
+        this.timeToLive = timeToLive;
+        this.offline = offline;
     }
 
     /**
@@ -61,6 +88,10 @@ public class ContentResolver {
      * <li>classpath/resource/java (all synonymous, used to resolve a schema
      * from the classpath)
      * </ul>
+     * <p>
+     * When a {@link ContentCache} is in use, http/https content is served from
+     * the cache while it is fresh, and revalidated using the cached
+     * <code>ETag</code>/<code>Last-Modified</code> once it has expired.
      *
      * @param uri
      *            the URI to read schema content from
@@ -68,12 +99,40 @@ public class ContentResolver {
      */
     public JsonNode resolve(URI uri) {
 
+        if (metricsListener == null) {
+            return read(uri);
+        }
+
+        long start = System.nanoTime();
+        JsonNode content = read(uri);
+        metricsListener.contentResolved(uri, System.nanoTime() - start);
+        return content;
+
+    }
+
+    /**
+     * The listener that should be told the time taken each time content is
+     * resolved. By default resolution is not timed.
+     *
+     * @param metricsListener
+     *            the metrics listener (may be <code>null</code>)
+     */
+    public void setMetricsListener(MetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    private JsonNode read(URI uri) {
+
         if (CLASSPATH_SCHEMES.contains(uri.getScheme())) {
             return resolveFromClasspath(uri);
         }
 
+        if (HTTP_SCHEMES.contains(uri.getScheme()) && (contentCache != null || offline)) {
+            return resolveFromCache(uri);
+        }
+
         try {
-            return objectMapper.readTree(uri.toURL());
+            return reader.readTree(uri.toURL());
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException("Error parsing document: " + uri, e);
         } catch (IOException e) {
@@ -82,6 +141,77 @@ public class ContentResolver {
 
     }
 
+    private JsonNode resolveFromCache(URI uri) {
+
+        CachedContent cached = contentCache != null ? contentCache.get(uri) : null;
+
+        if (offline) {
+            if (cached == null) {
+                throw new IllegalArgumentException("Working offline and no cached content is available for: " + uri);
+            }
+            return parse(cached.getContent(), uri);
+        }
+
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.getFetchedAt() < timeToLive) {
+            return parse(cached.getContent(), uri);
+        }
+
+        HttpURLConnection connection;
+        int status;
+        try {
+            connection = (HttpURLConnection) uri.toURL().openConnection();
+            if (cached != null && cached.getEntityTag() != null) {
+                connection.setRequestProperty("If-None-Match", cached.getEntityTag());
+            }
+            if (cached != null && cached.getLastModified() != null) {
+                connection.setRequestProperty("If-Modified-Since", cached.getLastModified());
+            }
+            status = connection.getResponseCode();
+        } catch (IOException e) {
+            if (cached != null) {
+                // the server can't be reached, stale content is better than none
+                return parse(cached.getContent(), uri);
+            }
+            throw new IllegalArgumentException("Unrecognised URI, can't resolve this: " + uri, e);
+        }
+
+        try {
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                contentCache.put(uri, cached.revalidatedAt(now));
+                return parse(cached.getContent(), uri);
+            }
+
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IllegalArgumentException("Unrecognised URI, can't resolve this: " + uri + " (HTTP status " + status + ")");
+            }
+
+            byte[] content;
+            try (InputStream in = connection.getInputStream()) {
+                content = IOUtils.toByteArray(in);
+            }
+
+            // parse first, so that content that can't be used is never cached
+            JsonNode node = parse(content, uri);
+            contentCache.put(uri, new CachedContent(content, connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"), now));
+            return node;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unrecognised URI, can't resolve this: " + uri, e);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private JsonNode parse(byte[] content, URI uri) {
+        try {
+            return reader.readTree(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Error parsing document: " + uri, e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unrecognised URI, can't resolve this: " + uri, e);
+        }
+    }
+
     private JsonNode resolveFromClasspath(URI uri) {
 
         String path = removeStart(removeStart(uri.toString(), uri.getScheme() + ":"), "/");
@@ -92,7 +222,7 @@ public class ContentResolver {
         }
 
         try {
-            return objectMapper.readTree(contentAsStream);
+            return reader.readTree(contentAsStream);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException("Error parsing document: " + uri, e);
         } catch (IOException e) {
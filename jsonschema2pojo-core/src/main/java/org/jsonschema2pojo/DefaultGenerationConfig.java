@@ -486,4 +486,108 @@ public class DefaultGenerationConfig implements GenerationConfig {
     public boolean isIncludeGeneratedAnnotation() {
     	return true;
     }
+
+    /**
+     * @return <code>1</code>
+     */
+    @Override
+    public int getParallelism() {
+        return 1;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isIncremental() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isSkipUnchangedFiles() {
+        return false;
+    }
+
+    /**
+     * @return <code>null</code> (no schema cache)
+     */
+    @Override
+    public File getSchemaCacheDirectory() {
+        return null;
+    }
+
+    /**
+     * @return <code>3600</code>
+     */
+    @Override
+    public long getSchemaCacheTimeToLive() {
+        return 3600;
+    }
+
+    /**
+     * @return <code>52428800</code> (50 MB)
+     */
+    @Override
+    public long getSchemaCacheMaxSize() {
+        return 52428800;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isOffline() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isPrintMetrics() {
+        return false;
+    }
+
+    /**
+     * @return <code>null</code>
+     */
+    @Override
+    public File getMetricsFile() {
+        return null;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isMergeSamples() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isGenerateAdapters() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isImmutable() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isGenerateRecords() {
+        return false;
+    }
 }
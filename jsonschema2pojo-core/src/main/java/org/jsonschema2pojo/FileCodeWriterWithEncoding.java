@@ -16,12 +16,19 @@
 
 package org.jsonschema2pojo;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import com.sun.codemodel.JPackage;
 import com.sun.codemodel.util.UnicodeEscapeWriter;
@@ -30,16 +37,112 @@ import com.sun.codemodel.util.UnicodeEscapeWriter;
  * A writer that honours the given character encoding (workaround for an issue
  * with {@link com.sun.codemodel.util.EncoderFactory#createEncoder(String)} that
  * causes the given encoding to be ignored).
+ * <p>
+ * Optionally, each file can be rendered to memory first and compared with the
+ * file that already exists in the target directory, so that files whose
+ * content hasn't changed are left untouched (keeping their modification time,
+ * and avoiding needless recompilation downstream).
  */
 public class FileCodeWriterWithEncoding extends com.sun.codemodel.writer.FileCodeWriter {
 
+    private final File target;
+    private final boolean skipUnchangedFiles;
+
+    private final Set<File> files = new HashSet<>();
+    private int writtenCount;
+    private int unchangedCount;
+
     public FileCodeWriterWithEncoding(File target, String encoding) throws IOException {
+        this(target, encoding, false);
+    }
+
+    /**
+     * @param target
+     *            the directory into which files will be written
+     * @param encoding
+     *            the character encoding of generated source files
+     * @param skipUnchangedFiles
+     *            whether to leave existing files untouched when their
+     *            content is identical to the content being written
+     */
+    public FileCodeWriterWithEncoding(File target, String encoding, boolean skipUnchangedFiles) throws IOException {
         super(target, encoding);
+        this.target = target;
+        this.skipUnchangedFiles = skipUnchangedFiles;
+    }
+
+    @Override
+    public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+        final File file = pkg.isUnnamed() ? new File(target, fileName) : new File(new File(target, pkg.name().replace('.', File.separatorChar)), fileName);
+        files.add(file);
+
+        if (!skipUnchangedFiles) {
+            writtenCount++;
+            return super.openBinary(pkg, fileName);
+        }
+
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    writeIfChanged(file, toByteArray());
+                }
+            }
+        };
+    }
+
+    private void writeIfChanged(File file, byte[] content) throws IOException {
+        // a length check first means most changed files are never read
+        if (file.isFile() && file.length() == content.length && Arrays.equals(Files.readAllBytes(file.toPath()), content)) {
+            unchangedCount++;
+            return;
+        }
+
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException(directory + ": failed to create directory");
+        }
+        Files.write(file.toPath(), content);
+        writtenCount++;
+    }
+
+    /**
+     * @return every file opened by this writer, whether or not it was
+     *         actually rewritten
+     */
+    public Set<File> getFiles() {
+        return Collections.unmodifiableSet(files);
+    }
+
+    /**
+     * @return the number of files that have been written
+     */
+    public int getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * @return the number of files left untouched because their content was
+     *         unchanged
+     */
+    public int getUnchangedCount() {
+        return unchangedCount;
     }
 
     @Override
     public Writer openSource(JPackage pkg, String fileName) throws IOException {
-        final Writer bw = new OutputStreamWriter(openBinary(pkg, fileName), encoding);
+        return openSource(openBinary(pkg, fileName), encoding);
+    }
+
+    /**
+     * Creates a writer of source code in the given encoding, escaping only the
+     * characters that the encoding can't represent.
+     */
+    static Writer openSource(OutputStream out, String encoding) throws IOException {
+        final Writer bw = new OutputStreamWriter(out, encoding);
 
         return new UnicodeEscapeWriter(bw) {
             private final CharsetEncoder encoder = Charset.forName(encoding).newEncoder();
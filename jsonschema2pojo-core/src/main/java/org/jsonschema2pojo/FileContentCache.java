@@ -0,0 +1,182 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.jsonschema2pojo.util.DigestUtil.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * A {@link ContentCache} that keeps content in a directory on disk, so that it
+ * survives between runs (and can be shared between builds).
+ * <p>
+ * Each entry is held in two files, named after a hash of its URI: the content
+ * itself and a properties file holding the validators, the time it was fetched
+ * and a hash of the content. Entries whose content doesn't match the recorded
+ * hash are discarded. When the total size of cached content exceeds the
+ * configured maximum, the least recently used entries are evicted.
+ */
+public class FileContentCache implements ContentCache {
+
+    private static final String CONTENT_SUFFIX = ".content";
+    private static final String METADATA_SUFFIX = ".properties";
+
+    private final File directory;
+    private final long maxSize;
+
+    /**
+     * @param directory
+     *            the directory in which to keep cached content (created if it
+     *            doesn't exist)
+     * @param maxSize
+     *            the maximum total size of cached content, in bytes
+     */
+    public FileContentCache(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+    public synchronized CachedContent get(URI uri) {
+        String key = key(uri);
+        File contentFile = new File(directory, key + CONTENT_SUFFIX);
+        File metadataFile = new File(directory, key + METADATA_SUFFIX);
+
+        if (!contentFile.isFile() || !metadataFile.isFile()) {
+            return null;
+        }
+
+        try {
+            Properties metadata = new Properties();
+            try (InputStream in = Files.newInputStream(metadataFile.toPath())) {
+                metadata.load(in);
+            }
+            byte[] content = Files.readAllBytes(contentFile.toPath());
+
+            if (!uri.toString().equals(metadata.getProperty("uri")) || !sha256Hex(content).equals(metadata.getProperty("sha256"))) {
+                remove(key);
+                return null;
+            }
+
+            // the modification time of the content records when it was last used
+            contentFile.setLastModified(System.currentTimeMillis());
+
+            return new CachedContent(content, metadata.getProperty("etag"), metadata.getProperty("lastModified"), Long.parseLong(metadata.getProperty("fetchedAt")));
+        } catch (IOException | RuntimeException e) {
+            remove(key);
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void put(URI uri, CachedContent content) {
+        String key = key(uri);
+
+        Properties metadata = new Properties();
+        metadata.setProperty("uri", uri.toString());
+        metadata.setProperty("sha256", sha256Hex(content.getContent()));
+        metadata.setProperty("fetchedAt", Long.toString(content.getFetchedAt()));
+        if (content.getEntityTag() != null) {
+            metadata.setProperty("etag", content.getEntityTag());
+        }
+        if (content.getLastModified() != null) {
+            metadata.setProperty("lastModified", content.getLastModified());
+        }
+
+        File contentFile = null;
+        File metadataFile = null;
+        try {
+            Files.createDirectories(directory.toPath());
+
+            // write to temporary files then move into place, so that other builds sharing the cache never see partial content
+            contentFile = File.createTempFile(key, ".tmp", directory);
+            Files.write(contentFile.toPath(), content.getContent());
+            metadataFile = File.createTempFile(key, ".tmp", directory);
+            try (OutputStream out = Files.newOutputStream(metadataFile.toPath())) {
+                metadata.store(out, null);
+            }
+
+            Files.move(contentFile.toPath(), new File(directory, key + CONTENT_SUFFIX).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(metadataFile.toPath(), new File(directory, key + METADATA_SUFFIX).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // caching is an optimisation only, failing to cache must not fail generation
+            return;
+        } finally {
+            // nothing is left to delete once moved into place
+            FileUtils.deleteQuietly(contentFile);
+            FileUtils.deleteQuietly(metadataFile);
+        }
+
+        evict();
+    }
+
+    /**
+     * Removes the least recently used entries until the total size of cached
+     * content is no more than the maximum.
+     */
+    private void evict() {
+        File[] contentFiles = directory.listFiles((dir, name) -> name.endsWith(CONTENT_SUFFIX));
+        if (contentFiles == null) {
+            return;
+        }
+
+        long totalSize = 0;
+        for (File contentFile : contentFiles) {
+            totalSize += contentFile.length();
+        }
+
+        if (totalSize <= maxSize) {
+            return;
+        }
+
+        List<File> leastRecentlyUsedFirst = new ArrayList<>(Arrays.asList(contentFiles));
+        leastRecentlyUsedFirst.sort(Comparator.comparingLong(File::lastModified));
+
+        for (File contentFile : leastRecentlyUsedFirst) {
+            if (totalSize <= maxSize) {
+                break;
+            }
+            totalSize -= contentFile.length();
+            remove(contentFile.getName().substring(0, contentFile.getName().length() - CONTENT_SUFFIX.length()));
+        }
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+    private void remove(String key) {
+        new File(directory, key + CONTENT_SUFFIX).delete();
+        new File(directory, key + METADATA_SUFFIX).delete();
+    }
+
+    private static String key(URI uri) {
+        return sha256Hex(uri.toString());
+    }
+
+}
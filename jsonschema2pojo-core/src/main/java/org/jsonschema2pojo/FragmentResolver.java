@@ -16,44 +16,120 @@
 
 package org.jsonschema2pojo;
 
-import static java.util.Arrays.*;
 import static org.apache.commons.lang3.StringUtils.*;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+/**
+ * Resolves fragment paths (JSON Pointers, or paths using other delimiters)
+ * against a document.
+ * <p>
+ * Each path is parsed once into a {@link CompiledPath}. When resolving against
+ * a {@link Schema} document, the node found for each path is also remembered
+ * by that document (so is forgotten along with it), and repeated lookups of
+ * the same fragment don't walk the document again. Documents are expected not
+ * to change once they have been read.
+ */
 public class FragmentResolver {
 
+    private final ConcurrentMap<String, ConcurrentMap<String, CompiledPath>> compiledPaths = new ConcurrentHashMap<>();
+
     public JsonNode resolve(JsonNode tree, String path, String refFragmentPathDelimiters) {
 
-        return resolve(tree, new ArrayList<>(asList(split(path, refFragmentPathDelimiters))));
+        return compile(path, refFragmentPathDelimiters).resolve(tree);
 
     }
 
-    private JsonNode resolve(JsonNode tree, List<String> path) {
+    public JsonNode resolve(Schema document, String path, String refFragmentPathDelimiters) {
 
-        if (path.isEmpty()) {
-            return tree;
-        } else {
-            String part = path.remove(0);
+        CompiledPath compiledPath = compile(path, refFragmentPathDelimiters);
 
-            if (tree.isArray()) {
-                try {
-                    int index = Integer.parseInt(part);
-                    return resolve(tree.get(index), path);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Not a valid array index: " + part);
-                }
+        if (compiledPath.isRoot()) {
+            return document.getContent();
+        }
+
+        JsonNode node = document.resolvedFragments.get(compiledPath);
+        if (node == null) {
+            node = compiledPath.resolve(document.getContent());
+            document.resolvedFragments.put(compiledPath, node);
+        }
+        return node;
+
+    }
+
+    /**
+     * Forgets all compiled paths.
+     */
+    public void clearCache() {
+        compiledPaths.clear();
+    }
+
+    private CompiledPath compile(String path, String refFragmentPathDelimiters) {
+        return compiledPaths
+                .computeIfAbsent(refFragmentPathDelimiters, d -> new ConcurrentHashMap<>())
+                .computeIfAbsent(path, p -> new CompiledPath(split(p, refFragmentPathDelimiters)));
+    }
+
+    /**
+     * A fragment path split into its reference tokens, with the
+     * <a href="https://tools.ietf.org/html/rfc6901#section-4">RFC 6901</a>
+     * escapes (<code>~1</code> for <code>/</code> and <code>~0</code> for
+     * <code>~</code>) already decoded.
+     */
+    static final class CompiledPath {
+
+        private final String[] tokens;
+
+        CompiledPath(String[] tokens) {
+            this.tokens = new String[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                this.tokens[i] = tokens[i].replace("~1", "/").replace("~0", "~");
             }
+        }
 
-            if (tree.has(part)) {
-                return resolve(tree.get(part), path);
-            } else {
-                throw new IllegalArgumentException("Path not present: " + part);
+        boolean isRoot() {
+            return tokens.length == 0;
+        }
+
+        JsonNode resolve(JsonNode tree) {
+            JsonNode node = tree;
+
+            for (String token : tokens) {
+                if (node.isArray()) {
+                    int index;
+                    try {
+                        index = Integer.parseInt(token);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Not a valid array index: " + token);
+                    }
+                    if (index < 0 || index >= node.size()) {
+                        throw new IllegalArgumentException("Path not present: " + token);
+                    }
+                    node = node.get(index);
+                } else if (node.has(token)) {
+                    node = node.get(token);
+                } else {
+                    throw new IllegalArgumentException("Path not present: " + token);
+                }
             }
+
+            return node;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CompiledPath && Arrays.equals(tokens, ((CompiledPath) other).tokens);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(tokens);
         }
 
     }
+
 }
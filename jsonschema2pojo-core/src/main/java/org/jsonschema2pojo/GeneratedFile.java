@@ -0,0 +1,71 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+
+import javax.tools.SimpleJavaFileObject;
+
+/**
+ * A file generated in memory (see
+ * {@link Jsonschema2Pojo#generateInMemory(GenerationConfig, RuleLogger)}).
+ * Java sources have the kind {@link javax.tools.JavaFileObject.Kind#SOURCE},
+ * so they can be passed straight to a {@link javax.tools.JavaCompiler}; any
+ * other file has the kind {@link javax.tools.JavaFileObject.Kind#OTHER}.
+ */
+public class GeneratedFile extends SimpleJavaFileObject {
+
+    private final String path;
+    private final byte[] content;
+    private final Charset encoding;
+
+    GeneratedFile(String path, byte[] content, Charset encoding) {
+        super(URI.create("mem:///" + path), path.endsWith(Kind.SOURCE.extension) ? Kind.SOURCE : Kind.OTHER);
+        this.path = path;
+        this.content = content;
+        this.encoding = encoding;
+    }
+
+    /**
+     * @return the path of this file, relative to the root of the generated
+     *         sources (e.g. <code>com/example/Foo.java</code>)
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the content of this file, in the configured output encoding
+     */
+    public byte[] getBytes() {
+        return content.clone();
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return new String(content, encoding);
+    }
+
+    @Override
+    public InputStream openInputStream() {
+        return new ByteArrayInputStream(content);
+    }
+
+}
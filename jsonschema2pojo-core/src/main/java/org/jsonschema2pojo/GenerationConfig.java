@@ -616,5 +616,187 @@ public interface GenerationConfig {
    *
    */
   boolean isIncludeGeneratedAnnotation();
-  
+
+  /**
+   * Gets the 'parallelism' configuration option.
+   *
+   * @return The number of worker threads used to read source files and
+   *         resolve the documents they reference before types are generated.
+   *         Types are always added to the code model in source order, so the
+   *         output is identical to a sequential run. A value of 1 (or less)
+   *         disables parallel reading.
+   */
+  default int getParallelism() {
+    return 1;
+  }
+
+  /**
+   * Gets the 'incremental' configuration option.
+   *
+   * @return Whether to regenerate only the types affected by changes since
+   *         the previous run. The documents read for each source (following
+   *         <code>$ref</code> and <code>extends</code>) and the files generated
+   *         from each document are recorded in a state file in the target
+   *         directory. On the next run, only sources whose documents have
+   *         changed are regenerated, and only generated files that are no
+   *         longer needed are deleted. Changing any other configuration option
+   *         causes a full run. Applies to JSON Schema and YAML Schema sources
+   *         only.
+   */
+  default boolean isIncremental() {
+    return false;
+  }
+
+  /**
+   * Gets the 'skipUnchangedFiles' configuration option.
+   *
+   * @return Whether to render each generated file in memory and compare it
+   *         with the file already present in the target directory, only
+   *         writing files whose content has changed. Unchanged files keep
+   *         their modification time, so downstream compilers and indexers
+   *         don't need to process them again. When combined with
+   *         'removeOldOutput', files that were not generated are deleted
+   *         after generation rather than emptying the target directory
+   *         beforehand.
+   */
+  default boolean isSkipUnchangedFiles() {
+    return false;
+  }
+
+  /**
+   * Gets the 'schemaCacheDirectory' configuration option.
+   *
+   * @return The directory in which schemas fetched over http/https are
+   *         cached between runs, or <code>null</code> to disable caching.
+   */
+  default File getSchemaCacheDirectory() {
+    return null;
+  }
+
+  /**
+   * Gets the 'schemaCacheTimeToLive' configuration option.
+   *
+   * @return The number of seconds for which a cached schema is used without
+   *         checking with the server. Once expired, a cached schema is
+   *         revalidated with a conditional request (using its
+   *         <code>ETag</code> or <code>Last-Modified</code> header).
+   */
+  default long getSchemaCacheTimeToLive() {
+    return 3600;
+  }
+
+  /**
+   * Gets the 'schemaCacheMaxSize' configuration option.
+   *
+   * @return The maximum total size (in bytes) of the schema cache. When
+   *         exceeded, the least recently used schemas are evicted.
+   */
+  default long getSchemaCacheMaxSize() {
+    return 52428800;
+  }
+
+  /**
+   * Gets the 'offline' configuration option.
+   *
+   * @return Whether to resolve schemas referenced over http/https only from
+   *         the schema cache, without contacting any server. Generation fails
+   *         if a referenced schema has not been cached.
+   */
+  default boolean isOffline() {
+    return false;
+  }
+
+  /**
+   * Gets the 'printMetrics' configuration option.
+   *
+   * @return Whether to log a summary of the time spent generating types: the
+   *         number of invocations of and time spent in each rule, for each
+   *         source, for each document read and for writing output.
+   */
+  default boolean isPrintMetrics() {
+    return false;
+  }
+
+  /**
+   * Gets the 'metricsFile' configuration option.
+   *
+   * @return The file to which the time spent generating types (see
+   *         {@link #isPrintMetrics()}) should be written as JSON, or
+   *         <code>null</code> if metrics should not be written.
+   */
+  default File getMetricsFile() {
+    return null;
+  }
+
+  /**
+   * Gets the 'mergeSamples' configuration option.
+   *
+   * @return Whether to infer a single type from many samples, rather than a
+   *         type from each example file. Each source directory (including its
+   *         subdirectories) and each source glob (e.g.
+   *         <code>samples/*.json</code>) produces one type, named after the
+   *         directory, from all the files it contains. Every root value in a
+   *         file is a sample, so a single file of newline-delimited JSON also
+   *         produces one type from all its lines. Properties that have a
+   *         non-null value in every sample are marked as required. Applies to
+   *         JSON and YAML sources only.
+   */
+  default boolean isMergeSamples() {
+    return false;
+  }
+
+  /**
+   * Gets the 'generateAdapters' configuration option.
+   *
+   * @return Whether to generate a streaming serializer and deserializer
+   *         alongside each generated type, so that no reflection is needed to
+   *         read or write instances at runtime. The library targeted is chosen
+   *         by the {@link #getAnnotationStyle() annotation style}. Types that
+   *         rely on features the generated code cannot reproduce (e.g.
+   *         polymorphic type information) are left to the library's default
+   *         handling.
+   */
+  default boolean isGenerateAdapters() {
+    return false;
+  }
+
+  /**
+   * Gets the 'immutable' configuration option.
+   *
+   * @return Whether to generate immutable types. Fields are final and no
+   *         setters or builders are generated, so instances can only be
+   *         created through constructors. Lists, sets and maps are copied
+   *         into unmodifiable collections by constructors and returned as
+   *         unmodifiable views by getters (so instances created by
+   *         deserializers are protected too), and dates are copied by
+   *         constructors and getters. When no field can hold a
+   *         value that changes, the hash code is computed once and cached,
+   *         and <code>equals</code> returns early when cached hash codes
+   *         differ. Additional properties are passed to the constructor
+   *         that takes all properties.
+   */
+  default boolean isImmutable() {
+    return false;
+  }
+
+  /**
+   * Gets the 'generateRecords' configuration option.
+   *
+   * @return Whether to generate records rather than classes for object types,
+   *         when the {@link #getTargetVersion() target version} is 16 or
+   *         later. Each property becomes a record component (with its
+   *         annotations), default values are applied by a compact canonical
+   *         constructor when a value is <code>null</code>, and
+   *         <code>equals</code>, <code>hashCode</code> and
+   *         <code>toString</code> are left to the record. Types that extend
+   *         another type, types extended by another type, and Parcelable
+   *         types, are still generated as classes. Additional properties
+   *         and builders are not supported by records. A code model built directly (rather than by
+   *         {@link Jsonschema2Pojo}) must be written through a
+   *         {@link RecordCodeWriter}.
+   */
+  default boolean isGenerateRecords() {
+    return false;
+  }
+
 }
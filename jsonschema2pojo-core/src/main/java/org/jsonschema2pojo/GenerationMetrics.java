@@ -0,0 +1,181 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A {@link MetricsListener} that keeps an invocation count and the cumulative
+ * time spent for each rule implementation (excluding the rules it applies),
+ * each source, each document read and for writing output. The totals can be logged as a summary or written as
+ * JSON.
+ */
+public class GenerationMetrics implements MetricsListener {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * The number of sources and documents listed (slowest first) in the
+     * summary. Rules are always listed in full.
+     */
+    private static final int SUMMARY_LIMIT = 10;
+
+    private final ConcurrentMap<String, Timer> rules = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> sources = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> documents = new ConcurrentHashMap<>();
+    private final Timer build = new Timer();
+
+    @Override
+    public void ruleApplied(Class<?> ruleType, long duration) {
+        record(rules, ruleType.getSimpleName(), duration);
+    }
+
+    @Override
+    public void sourceGenerated(URL source, long duration) {
+        record(sources, source.toString(), duration);
+    }
+
+    @Override
+    public void contentResolved(URI uri, long duration) {
+        record(documents, uri.toString(), duration);
+    }
+
+    @Override
+    public void codeModelBuilt(long duration) {
+        build.record(duration);
+    }
+
+    /**
+     * Logs the totals recorded so far (at info level), slowest first.
+     *
+     * @param logger
+     *            the logger that should receive the summary
+     */
+    public void logSummary(RuleLogger logger) {
+        logger.info("Generation metrics (count, total time, mean time):");
+        logSection(logger, "Rules (excluding nested rules)", rules, Integer.MAX_VALUE);
+        logSection(logger, "Sources", sources, SUMMARY_LIMIT);
+        logSection(logger, "Documents read", documents, SUMMARY_LIMIT);
+        logger.info("  Writing output: " + describe(build));
+    }
+
+    /**
+     * @return the totals recorded so far, as a JSON object with one member for
+     *         each of "rules", "sources", "documents" and "build"
+     */
+    public ObjectNode toJson() {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        addSection(root.putObject("rules"), rules);
+        addSection(root.putObject("sources"), sources);
+        addSection(root.putObject("documents"), documents);
+        addTimer(root.putObject("build"), build);
+        return root;
+    }
+
+    /**
+     * Writes the totals recorded so far (see {@link #toJson()}) to the given
+     * file, replacing any existing content.
+     *
+     * @param file
+     *            the file that should receive the metrics
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void writeJson(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory " + parent.getAbsolutePath());
+        }
+        OBJECT_MAPPER.writeValue(file, toJson());
+    }
+
+    private static void record(ConcurrentMap<String, Timer> timers, String name, long duration) {
+        timers.computeIfAbsent(name, n -> new Timer()).record(duration);
+    }
+
+    private static void logSection(RuleLogger logger, String title, Map<String, Timer> timers, int limit) {
+        logger.info("  " + title + ":");
+
+        List<Map.Entry<String, Timer>> entries = new ArrayList<>(timers.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Timer> entry) -> entry.getValue().getTotalTime()).reversed());
+
+        for (Map.Entry<String, Timer> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            logger.info("    " + entry.getKey() + ": " + describe(entry.getValue()));
+        }
+        if (entries.size() > limit) {
+            logger.info("    (" + (entries.size() - limit) + " more)");
+        }
+    }
+
+    private static String describe(Timer timer) {
+        long count = timer.getCount();
+        return String.format("%d, %.1f ms, %.3f ms", count, millis(timer.getTotalTime()), count == 0 ? 0.0 : millis(timer.getTotalTime()) / count);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static void addSection(ObjectNode section, Map<String, Timer> timers) {
+        for (Map.Entry<String, Timer> entry : new TreeMap<>(timers).entrySet()) {
+            addTimer(section.putObject(entry.getKey()), entry.getValue());
+        }
+    }
+
+    private static void addTimer(ObjectNode node, Timer timer) {
+        node.put("count", timer.getCount());
+        node.put("totalNanos", timer.getTotalTime());
+    }
+
+    private static class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+
+        void record(long duration) {
+            count.increment();
+            totalTime.add(duration);
+        }
+
+        long getCount() {
+            return count.sum();
+        }
+
+        long getTotalTime() {
+            return totalTime.sum();
+        }
+
+    }
+
+}
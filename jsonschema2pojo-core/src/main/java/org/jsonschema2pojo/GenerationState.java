@@ -0,0 +1,182 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The dependency graph recorded by an incremental run: the documents read for
+ * each source, a hash of the content of each document, and the files that were
+ * generated from each document.
+ */
+public class GenerationState {
+
+    /**
+     * The name of the file (in the target directory) that holds the state of
+     * the last incremental run.
+     */
+    public static final String FILE_NAME = ".jsonschema2pojo-state.json";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String configHash;
+    private final Map<String, List<String>> sourceDocuments = new TreeMap<>();
+    private final Map<String, String> documentHashes = new TreeMap<>();
+    private final Map<String, Set<String>> documentOutputs = new TreeMap<>();
+
+    public GenerationState(String configHash) {
+        this.configHash = configHash;
+    }
+
+    /**
+     * Reads the state left by a previous run.
+     *
+     * @param file
+     *            the state file
+     * @return the previous state, or <code>null</code> if the file does not
+     *         exist or cannot be understood (in which case a full run is
+     *         required)
+     */
+    public static GenerationState read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try {
+            JsonNode root = OBJECT_MAPPER.readTree(file);
+            if (root.path("version").asInt() != FORMAT_VERSION) {
+                return null;
+            }
+
+            GenerationState state = new GenerationState(root.path("configHash").asText());
+
+            for (Iterator<Map.Entry<String, JsonNode>> sources = root.path("sources").fields(); sources.hasNext();) {
+                Map.Entry<String, JsonNode> source = sources.next();
+                List<String> documents = new ArrayList<>();
+                for (JsonNode document : source.getValue()) {
+                    documents.add(document.asText());
+                }
+                state.sourceDocuments.put(source.getKey(), documents);
+            }
+
+            for (Iterator<Map.Entry<String, JsonNode>> documents = root.path("documents").fields(); documents.hasNext();) {
+                Map.Entry<String, JsonNode> document = documents.next();
+                state.documentHashes.put(document.getKey(), document.getValue().path("hash").asText());
+                for (JsonNode output : document.getValue().path("outputs")) {
+                    state.addOutput(document.getKey(), output.asText());
+                }
+            }
+
+            return state;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes this state to the given file, replacing any existing content.
+     *
+     * @param file
+     *            the state file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void write(File file) throws IOException {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        root.put("version", FORMAT_VERSION);
+        root.put("configHash", configHash);
+
+        ObjectNode sources = root.putObject("sources");
+        for (Map.Entry<String, List<String>> source : sourceDocuments.entrySet()) {
+            ArrayNode documents = sources.putArray(source.getKey());
+            source.getValue().forEach(documents::add);
+        }
+
+        ObjectNode documents = root.putObject("documents");
+        for (Map.Entry<String, String> document : documentHashes.entrySet()) {
+            ObjectNode documentNode = documents.putObject(document.getKey());
+            documentNode.put("hash", document.getValue());
+            ArrayNode outputs = documentNode.putArray("outputs");
+            getOutputs(document.getKey()).forEach(outputs::add);
+        }
+
+        OBJECT_MAPPER.writeValue(file, root);
+    }
+
+    public String getConfigHash() {
+        return configHash;
+    }
+
+    public Set<String> getSources() {
+        return sourceDocuments.keySet();
+    }
+
+    /**
+     * @return the documents read to generate types for the given source,
+     *         starting with the source itself, or <code>null</code> if the
+     *         source is unknown
+     */
+    public List<String> getDocuments(String source) {
+        return sourceDocuments.get(source);
+    }
+
+    public void setDocuments(String source, List<String> documents) {
+        sourceDocuments.put(source, documents);
+    }
+
+    /**
+     * @return the content hash of the given document, or <code>null</code> if
+     *         the document is unknown
+     */
+    public String getHash(String document) {
+        return documentHashes.get(document);
+    }
+
+    public void setHash(String document, String hash) {
+        documentHashes.put(document, hash);
+    }
+
+    /**
+     * @return the generated files (relative to the target directory)
+     *         attributed to the given document
+     */
+    public Set<String> getOutputs(String document) {
+        Set<String> outputs = documentOutputs.get(document);
+        return outputs != null ? outputs : new TreeSet<>();
+    }
+
+    public void addOutput(String document, String output) {
+        documentOutputs.computeIfAbsent(document, d -> new TreeSet<>()).add(output);
+    }
+
+}
@@ -0,0 +1,233 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jsonschema2pojo.util.URLUtil;
+
+/**
+ * Generates types, then watches the source directories (and the directories of
+ * any local documents the sources reference) and generates again each time a
+ * file changes, until closed.
+ * <p>
+ * The content of every document read is kept in memory between runs, and only
+ * the files that have changed are read again. When the configuration is
+ * {@link GenerationConfig#isIncremental() incremental}, each run regenerates
+ * only the types affected by the changed files.
+ */
+public class GenerationWatcher implements Closeable {
+
+    /**
+     * How long to wait for further changes before generating, so that a save
+     * that touches several files (or a file several times) causes one run.
+     */
+    private static final long QUIET_PERIOD_MILLIS = 50;
+
+    private final GenerationConfig config;
+    private final RuleLogger logger;
+    private final CachingContentResolver contentResolver;
+    private final WatchService watchService;
+
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final List<Path> sourceDirectories = new ArrayList<>();
+    private Set<Path> inputFiles = new HashSet<>();
+    private final Path targetDirectory;
+
+    public GenerationWatcher(GenerationConfig config, RuleLogger logger) throws IOException {
+        this.config = config;
+        this.logger = logger;
+        this.contentResolver = new CachingContentResolver(config);
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.targetDirectory = normalize(config.getTargetDirectory());
+
+        for (Iterator<URL> sources = config.getSource(); sources.hasNext();) {
+            URL source = sources.next();
+            if (URLUtil.parseProtocol(source.toString()) == URLProtocol.FILE) {
+                File file = URLUtil.getFileFromURL(source);
+                if (file.isDirectory()) {
+                    sourceDirectories.add(normalize(file));
+                } else if (!file.exists()) {
+                    // a glob (or a file yet to be created) matches files that may appear in its directory
+                    sourceDirectories.add(normalize(file.getAbsoluteFile().getParentFile()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates types, then generates again after each change, returning once
+     * this watcher is closed or the calling thread is interrupted. A run that
+     * fails (e.g. because a file was saved part way through an edit) is
+     * reported, and the next change is waited for as usual.
+     *
+     * @throws IOException
+     *             if the source directories cannot be watched
+     */
+    public void run() throws IOException {
+        generate();
+
+        try {
+            Set<Path> changed;
+            while ((changed = awaitChanges()) != null) {
+                if (!changed.isEmpty()) {
+                    logger.info(changed.size() + " changed files: " + changed);
+                    changed.forEach(contentResolver::invalidate);
+                    generate();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed while waiting
+        }
+    }
+
+    /**
+     * Stops watching. A run in progress is completed before {@link #run()}
+     * returns.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void generate() throws IOException {
+        // watch first, so that a change made while generating causes another run
+        try {
+            watch();
+        } catch (ClosedWatchServiceException e) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            Jsonschema2Pojo.generate(config, logger, contentResolver);
+            logger.info("Generated types in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms, watching for changes");
+        } catch (RuntimeException e) {
+            logger.error("Generation failed, watching for changes: " + e.getMessage(), e);
+        }
+    }
+
+    private void watch() throws IOException {
+        Set<Path> watched = new LinkedHashSet<>();
+        for (Path sourceDirectory : sourceDirectories) {
+            if (Files.isDirectory(sourceDirectory)) {
+                try (Stream<Path> paths = Files.walk(sourceDirectory)) {
+                    paths.filter(Files::isDirectory).filter(path -> !path.startsWith(targetDirectory)).forEach(watched::add);
+                }
+            }
+        }
+
+        Set<File> files;
+        try {
+            files = Jsonschema2Pojo.getInputFiles(config, contentResolver);
+        } catch (RuntimeException e) {
+            files = null;
+        }
+        if (files != null) {
+            inputFiles = files.stream().map(GenerationWatcher::normalize).collect(Collectors.toSet());
+            inputFiles.stream().map(Path::getParent).filter(Files::isDirectory).forEach(watched::add);
+        }
+
+        for (Path directory : watched) {
+            if (!directories.containsValue(directory)) {
+                directories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), directory);
+            }
+        }
+    }
+
+    /**
+     * Waits for a change, then for a quiet period with no further changes.
+     *
+     * @return the files that changed and may affect generated types (possibly
+     *         none), or <code>null</code> if the watcher was closed or the
+     *         thread interrupted
+     */
+    private Set<Path> awaitChanges() {
+        Set<Path> changed = new LinkedHashSet<>();
+        try {
+            WatchKey key = watchService.take();
+            while (key != null) {
+                Path directory = directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        // events were lost, so nothing read before can be trusted
+                        contentResolver.invalidateAll();
+                        changed.add(directory);
+                    } else {
+                        Path path = directory.resolve((Path) event.context());
+                        if (isInput(path)) {
+                            changed.add(path);
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    directories.remove(key);
+                }
+                key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ClosedWatchServiceException e) {
+            return null;
+        }
+        return changed;
+    }
+
+    private boolean isInput(Path path) {
+        if (path.startsWith(targetDirectory)) {
+            return false;
+        }
+        if (inputFiles.contains(path)) {
+            return true;
+        }
+        for (Path sourceDirectory : sourceDirectories) {
+            if (path.startsWith(sourceDirectory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Path normalize(File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+}
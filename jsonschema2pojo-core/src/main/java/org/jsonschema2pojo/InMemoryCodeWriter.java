@@ -0,0 +1,80 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+
+/**
+ * A writer that keeps generated files in memory, rather than writing them to
+ * a directory.
+ */
+public class InMemoryCodeWriter extends CodeWriter {
+
+    private final List<GeneratedFile> files = new ArrayList<>();
+
+    /**
+     * @param encoding
+     *            the character encoding of generated source files
+     */
+    public InMemoryCodeWriter(String encoding) {
+        this.encoding = encoding;
+    }
+
+    @Override
+    public OutputStream openBinary(JPackage pkg, String fileName) {
+        final String path = pkg.isUnnamed() ? fileName : pkg.name().replace('.', '/') + "/" + fileName;
+
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                if (!closed) {
+                    closed = true;
+                    files.add(new GeneratedFile(path, toByteArray(), Charset.forName(encoding)));
+                }
+            }
+        };
+    }
+
+    @Override
+    public Writer openSource(JPackage pkg, String fileName) throws IOException {
+        return FileCodeWriterWithEncoding.openSource(openBinary(pkg, fileName), encoding);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * @return the files written so far, in the order they were written
+     */
+    public List<GeneratedFile> getFiles() {
+        return Collections.unmodifiableList(files);
+    }
+
+}
@@ -0,0 +1,412 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.apache.commons.lang3.StringUtils.*;
+import static org.jsonschema2pojo.util.DigestUtil.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.jsonschema2pojo.exception.GenerationException;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+
+/**
+ * Decides which sources need to be generated in an incremental run, and keeps
+ * the {@link GenerationState} up to date once they have been generated.
+ * <p>
+ * A source is out of date when any of the documents it reads has changed
+ * (according to a hash of its content), when a file generated from one of
+ * those documents is missing, or when the set of documents it reads has
+ * changed. Generated files are attributed to the documents whose schemas they
+ * were generated from, so that a file is only deleted once no source reads the
+ * document it came from.
+ */
+class IncrementalGeneration {
+
+    /**
+     * Options that have no effect on the content of generated types, and so do
+     * not invalidate the state of a previous run.
+     */
+    private static final Set<String> IGNORED_OPTIONS = new HashSet<>(Arrays.asList(
+            "getSource", "getFileFilter", "getTargetDirectory", "getParallelism", "isIncremental", "isRemoveOldOutput", "isSkipUnchangedFiles",
+            "getSchemaCacheDirectory", "getSchemaCacheTimeToLive", "getSchemaCacheMaxSize", "isOffline",
+            "isPrintMetrics", "getMetricsFile"));
+
+    private final GenerationConfig config;
+    private final SchemaStore schemaStore;
+    private final RuleLogger logger;
+    private final File stateFile;
+
+    private GenerationState previous;
+    private GenerationState current;
+    private final Set<String> outOfDate = new LinkedHashSet<>();
+    private boolean fullRun;
+
+    IncrementalGeneration(GenerationConfig config, SchemaStore schemaStore, RuleLogger logger) {
+        this.config = config;
+        this.schemaStore = schemaStore;
+        this.logger = logger;
+        this.stateFile = new File(config.getTargetDirectory(), GenerationState.FILE_NAME);
+    }
+
+    /**
+     * Reads each source (and the documents it references) and compares them
+     * with the state left by the previous run.
+     *
+     * @param sources
+     *            all the sources that make up this generation run
+     */
+    void plan(List<URL> sources) {
+        current = new GenerationState(configHash(config));
+        previous = GenerationState.read(stateFile);
+
+        SchemaPreloader preloader = new SchemaPreloader(schemaStore, config.getRefFragmentPathDelimiters());
+        for (URL source : sources) {
+            List<String> documents = new ArrayList<>();
+            for (URI document : preloader.preload(source.toString())) {
+                documents.add(document.toString());
+                if (current.getHash(document.toString()) == null) {
+                    current.setHash(document.toString(), hash(document));
+                }
+            }
+            current.setDocuments(source.toString(), documents);
+        }
+
+        if (previous == null) {
+            logger.info("No state found from a previous incremental run, generating all types");
+            requireFullRun();
+        } else if (!previous.getConfigHash().equals(current.getConfigHash())) {
+            logger.info("Configuration has changed since the previous incremental run, generating all types");
+            requireFullRun();
+        } else {
+            for (String source : current.getSources()) {
+                if (isChanged(source)) {
+                    outOfDate.add(source);
+                }
+            }
+            logger.info(outOfDate.size() + " of " + sources.size() + " sources changed since the previous incremental run");
+        }
+    }
+
+    /**
+     * Marks every source as out of date.
+     */
+    void requireFullRun() {
+        fullRun = true;
+        outOfDate.addAll(current.getSources());
+    }
+
+    boolean isFullRun() {
+        return fullRun;
+    }
+
+    boolean isOutOfDate(URL source) {
+        return outOfDate.contains(source.toString());
+    }
+
+    /**
+     * @return <code>true</code> if no source is out of date and no source has
+     *         been removed since the previous run, so there is nothing to do
+     */
+    boolean isUpToDate() {
+        return !fullRun && outOfDate.isEmpty() && previous.getSources().equals(current.getSources());
+    }
+
+    /**
+     * Checks whether types generated for the out of date sources would
+     * overwrite files that belong to documents that were not regenerated. This
+     * happens when a generated class name depends on the other types in the
+     * code model (e.g. a name made unique with a suffix), or when a file that
+     * isn't generated from a schema (e.g. a type adapter factory for a package)
+     * holds content for the types of other sources, and can only be resolved
+     * by a full run.
+     */
+    boolean hasConflicts(JCodeModel codeModel) {
+        Set<String> regenerated = regeneratedDocuments();
+        Set<String> unchanged = unchangedDocuments();
+        Set<String> notRegenerated = new HashSet<>(unchanged);
+        notRegenerated.removeAll(regenerated);
+        Map<String, Set<String>> previousOwners = outputOwners(previous);
+
+        for (Map.Entry<String, Set<String>> output : attributeOutputsToSchemas(codeModel).entrySet()) {
+            Set<String> owners = previousOwners.get(output.getKey());
+            if (owners == null) {
+                continue;
+            }
+            if (containsAny(unchanged, owners) && !containsAny(regenerated, owners)
+                    || output.getValue().isEmpty() && containsAny(notRegenerated, owners)) {
+                logger.info("Generated file " + output.getKey() + " would replace a file generated from " + owners + ", generating all types");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deletes files that are no longer generated from any document, and writes
+     * the new state. Should be called once the code model has been written to
+     * the target directory.
+     */
+    void complete(JCodeModel codeModel) throws IOException {
+        Map<String, Set<String>> produced = attributeOutputs(codeModel);
+
+        Set<String> regenerated = regeneratedDocuments();
+        Set<String> unchanged = unchangedDocuments();
+
+        Set<String> orphans = new TreeSet<>();
+        if (previous != null) {
+            Set<String> retained = new HashSet<>(produced.keySet());
+            for (String document : unchanged) {
+                retained.addAll(previous.getOutputs(document));
+            }
+
+            for (String source : previous.getSources()) {
+                for (String document : previous.getDocuments(source)) {
+                    if (regenerated.contains(document) || !unchanged.contains(document)) {
+                        orphans.addAll(previous.getOutputs(document));
+                    }
+                }
+            }
+            orphans.removeAll(retained);
+
+            for (String document : unchanged) {
+                for (String output : previous.getOutputs(document)) {
+                    current.addOutput(document, output);
+                }
+            }
+            for (String document : regenerated) {
+                for (String output : previous.getOutputs(document)) {
+                    if (!orphans.contains(output)) {
+                        current.addOutput(document, output);
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<String, Set<String>> output : produced.entrySet()) {
+            for (String document : output.getValue()) {
+                current.addOutput(document, output.getKey());
+            }
+        }
+
+        for (String orphan : orphans) {
+            File file = new File(config.getTargetDirectory(), orphan);
+            if (file.isFile() && !file.delete()) {
+                throw new GenerationException("Could not delete previously generated file " + file.getAbsolutePath());
+            }
+        }
+
+        logger.info("Deleted " + orphans.size() + " files that are no longer generated");
+
+        current.write(stateFile);
+    }
+
+    private boolean isChanged(String source) {
+        List<String> previousDocuments = previous.getDocuments(source);
+        List<String> currentDocuments = current.getDocuments(source);
+
+        if (previousDocuments == null || !new HashSet<>(previousDocuments).equals(new HashSet<>(currentDocuments))) {
+            return true;
+        }
+
+        for (String document : currentDocuments) {
+            if (!current.getHash(document).equals(previous.getHash(document))) {
+                return true;
+            }
+            for (String output : previous.getOutputs(document)) {
+                if (!new File(config.getTargetDirectory(), output).isFile()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Set<String> regeneratedDocuments() {
+        Set<String> regenerated = new HashSet<>();
+        for (String source : outOfDate) {
+            regenerated.addAll(current.getDocuments(source));
+        }
+        return regenerated;
+    }
+
+    private Set<String> unchangedDocuments() {
+        Set<String> unchanged = new HashSet<>();
+        for (String source : current.getSources()) {
+            if (!outOfDate.contains(source)) {
+                unchanged.addAll(current.getDocuments(source));
+            }
+        }
+        return unchanged;
+    }
+
+    /**
+     * Works out which document each file in the code model was generated
+     * from, using the schemas held in the schema store. Every sub-schema that
+     * produces a type (properties, items, additionalProperties, extends and
+     * $ref targets) is registered in the store with an id based on its
+     * document, so the id identifies the document. Any file that cannot be
+     * attributed this way is attributed to the out of date sources themselves.
+     */
+    private Map<String, Set<String>> attributeOutputs(JCodeModel codeModel) {
+        Map<String, Set<String>> outputs = attributeOutputsToSchemas(codeModel);
+
+        for (Map.Entry<String, Set<String>> output : outputs.entrySet()) {
+            if (output.getValue().isEmpty()) {
+                for (String source : outOfDate) {
+                    output.getValue().add(current.getDocuments(source).get(0));
+                }
+            }
+        }
+
+        return outputs;
+    }
+
+    /**
+     * @return the documents each file in the code model was generated from,
+     *         with an empty set for files that can't be attributed to a schema
+     */
+    private Map<String, Set<String>> attributeOutputsToSchemas(JCodeModel codeModel) {
+        Map<JDefinedClass, String> files = new HashMap<>();
+        for (Iterator<JPackage> packages = codeModel.packages(); packages.hasNext();) {
+            JPackage _package = packages.next();
+            for (Iterator<JDefinedClass> classes = _package.classes(); classes.hasNext();) {
+                JDefinedClass _class = classes.next();
+                if (!_class.isHidden()) {
+                    String directory = _package.isUnnamed() ? "" : _package.name().replace('.', '/') + "/";
+                    files.put(_class, directory + _class.name() + ".java");
+                }
+            }
+        }
+
+        Map<String, Set<String>> outputs = new TreeMap<>();
+        for (Schema schema : schemaStore.schemas.values()) {
+            if (schema.getId() != null && schema.getJavaType() instanceof JDefinedClass) {
+                String file = files.get(topLevelClass((JDefinedClass) schema.getJavaType()));
+                String document = substringBefore(schema.getId().toString(), "#");
+                if (file != null && isNotEmpty(document)) {
+                    outputs.computeIfAbsent(file, f -> new TreeSet<>()).add(URI.create(document).normalize().toString());
+                }
+            }
+        }
+
+        for (String file : files.values()) {
+            outputs.computeIfAbsent(file, f -> new TreeSet<>());
+        }
+
+        return outputs;
+    }
+
+    private static JDefinedClass topLevelClass(JDefinedClass _class) {
+        while (_class.outer() instanceof JDefinedClass) {
+            _class = (JDefinedClass) _class.outer();
+        }
+        return _class;
+    }
+
+    private static Map<String, Set<String>> outputOwners(GenerationState state) {
+        Map<String, Set<String>> owners = new HashMap<>();
+        for (String source : state.getSources()) {
+            for (String document : state.getDocuments(source)) {
+                for (String output : state.getOutputs(document)) {
+                    owners.computeIfAbsent(output, o -> new HashSet<>()).add(document);
+                }
+            }
+        }
+        return owners;
+    }
+
+    private static boolean containsAny(Set<String> set, Set<String> candidates) {
+        for (String candidate : candidates) {
+            if (set.contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String hash(URI document) {
+        Schema schema = schemaStore.create(document, config.getRefFragmentPathDelimiters());
+        return sha256Hex(schema.getContent().toString());
+    }
+
+    /**
+     * Creates a hash of every configuration option that can affect the
+     * content of generated types.
+     */
+    static String configHash(GenerationConfig config) {
+        Method[] options = GenerationConfig.class.getMethods();
+        Arrays.sort(options, Comparator.comparing(Method::getName));
+
+        StringBuilder values = new StringBuilder();
+        values.append(Jsonschema2Pojo.class.getPackage().getImplementationVersion());
+        for (Method option : options) {
+            if (option.getParameterCount() == 0 && !IGNORED_OPTIONS.contains(option.getName())) {
+                try {
+                    values.append('\n').append(option.getName()).append('=').append(describe(option.invoke(config)));
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new GenerationException("Unable to read configuration option " + option.getName(), e);
+                }
+            }
+        }
+        return sha256Hex(values.toString());
+    }
+
+    private static String describe(Object value) {
+        if (value == null) {
+            return "null";
+        } else if (value.getClass().isArray()) {
+            return ArrayUtils.toString(value);
+        } else if (value instanceof Class) {
+            return ((Class<?>) value).getName();
+        } else if (value instanceof Map) {
+            return new TreeMap<>((Map<?, ?>) value).toString();
+        }
+
+        try {
+            if (value.getClass().getMethod("toString").getDeclaringClass() == Object.class) {
+                // no meaningful description, only the type can be compared
+                return value.getClass().getName();
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        return value.toString();
+    }
+
+}
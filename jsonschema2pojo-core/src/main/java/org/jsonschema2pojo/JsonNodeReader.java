@@ -0,0 +1,128 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+/**
+ * Reads schemas and examples into JSON trees, allowing comments and reading
+ * all floating point numbers as {@link java.math.BigDecimal}.
+ * <p>
+ * Configuring an {@link ObjectMapper} is expensive, so a single instance for
+ * JSON and another for YAML are shared by everything that reads content (see
+ * {@link #json()} and {@link #yaml()}). Instances are immutable and safe for
+ * use by multiple threads.
+ */
+public class JsonNodeReader {
+
+    private static final JsonNodeReader JSON = new JsonNodeReader(new JsonFactory());
+    private static final JsonNodeReader YAML = new JsonNodeReader(new YAMLFactory());
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader objectReader;
+
+    /**
+     * Creates a reader for content in the format of the given factory. Prefer
+     * {@link #json()}, {@link #yaml()} or {@link #forFactory(JsonFactory)},
+     * which avoid configuring a new mapper.
+     *
+     * @param jsonFactory
+     *            the factory that parses content
+     */
+    public JsonNodeReader(JsonFactory jsonFactory) {
+        this.objectMapper = new ObjectMapper(jsonFactory)
+                .enable(JsonParser.Feature.ALLOW_COMMENTS)
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.objectReader = objectMapper.reader();
+    }
+
+    /**
+     * @return the shared reader for JSON content
+     */
+    public static JsonNodeReader json() {
+        return JSON;
+    }
+
+    /**
+     * @return the shared reader for YAML content
+     */
+    public static JsonNodeReader yaml() {
+        return YAML;
+    }
+
+    /**
+     * @return the shared reader for YAML content if the given source type is
+     *         YAML or YAMLSCHEMA, otherwise the shared reader for JSON
+     */
+    public static JsonNodeReader forSourceType(SourceType sourceType) {
+        return sourceType == SourceType.YAML || sourceType == SourceType.YAMLSCHEMA ? YAML : JSON;
+    }
+
+    /**
+     * Finds a reader for content in the format of the given factory. The
+     * shared JSON reader is used when no factory is given, a new reader is
+     * created for any given factory so that its configuration (e.g. enabled
+     * parser features) is respected.
+     *
+     * @param jsonFactory
+     *            the factory that parses content (<code>null</code> for JSON)
+     */
+    public static JsonNodeReader forFactory(JsonFactory jsonFactory) {
+        return jsonFactory == null ? JSON : new JsonNodeReader(jsonFactory);
+    }
+
+    public JsonNode readTree(String content) throws IOException {
+        return objectReader.readTree(content);
+    }
+
+    public JsonNode readTree(byte[] content) throws IOException {
+        return objectReader.readTree(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Reads the content of the given stream, closing the stream once read.
+     */
+    public JsonNode readTree(InputStream content) throws IOException {
+        return objectReader.readTree(content);
+    }
+
+    public JsonNode readTree(URL content) throws IOException {
+        try (InputStream in = content.openStream()) {
+            return objectReader.readTree(in);
+        }
+    }
+
+    /**
+     * @return the mapper configured for this reader, for conversions between
+     *         trees and values. It is shared, so must not be reconfigured.
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+}
@@ -19,28 +19,46 @@ package org.jsonschema2pojo;
 import static org.apache.commons.lang3.StringUtils.*;
 
 import java.io.File;
+import java.io.FileFilter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FilenameUtils;
 import org.jsonschema2pojo.exception.GenerationException;
 import org.jsonschema2pojo.rules.RuleFactory;
+import org.jsonschema2pojo.util.LanguageFeatures;
 import org.jsonschema2pojo.util.NameHelper;
 import org.jsonschema2pojo.util.URLUtil;
 
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sun.codemodel.CodeWriter;
 import com.sun.codemodel.JCodeModel;
 
 public class Jsonschema2Pojo {
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
     /**
      * Reads the contents of the given source and initiates schema generation.
      *
@@ -54,55 +72,349 @@ public class Jsonschema2Pojo {
      *             if the application is unable to read data from the source
      */
     public static void generate(GenerationConfig config, RuleLogger logger) throws IOException {
+        generate(config, logger, createContentResolver(config));
+    }
+
+    /**
+     * Reads the contents of the given source and generates types in memory,
+     * without reading from or writing to the target directory. The generated
+     * Java sources can be passed straight to a
+     * {@link javax.tools.JavaCompiler}.
+     * <p>
+     * Options that only concern the target directory (incremental generation,
+     * removing old output and skipping unchanged files) have no effect.
+     *
+     * @param config
+     *            the configuration options that will control code generation
+     * @return the generated files (Java sources, and any resources), in the
+     *         order they were generated
+     * @throws IOException
+     *             if the application is unable to read data from the source
+     */
+    public static List<GeneratedFile> generateInMemory(GenerationConfig config, RuleLogger logger) throws IOException {
+        InMemoryCodeWriter writer = new InMemoryCodeWriter(config.getOutputEncoding());
+        generate(config, logger, createContentResolver(config), writer);
+        return writer.getFiles();
+    }
+
+    /**
+     * Generates types, reading schema content through the given resolver (so
+     * a caller that generates repeatedly can keep content in memory between
+     * runs, see {@link CachingContentResolver}, or find the documents that
+     * were read, see {@link RecordingContentResolver}).
+     *
+     * @throws IOException
+     *             if the application is unable to read data from the source
+     */
+    public static void generate(GenerationConfig config, RuleLogger logger, ContentResolver contentResolver) throws IOException {
+        generate(config, logger, contentResolver, null);
+    }
+
+    /**
+     * @param inMemoryWriter
+     *            the writer that should receive generated files, or
+     *            <code>null</code> to write them to the target directory
+     */
+    private static void generate(GenerationConfig config, RuleLogger logger, ContentResolver contentResolver, InMemoryCodeWriter inMemoryWriter) throws IOException {
         Annotator annotator = getAnnotator(config);
         RuleFactory ruleFactory = createRuleFactory(config);
 
         ruleFactory.setAnnotator(annotator);
         ruleFactory.setGenerationConfig(config);
         ruleFactory.setLogger(logger);
-        ruleFactory.setSchemaStore(new SchemaStore(createContentResolver(config)));
+
+        if (config.isGenerateRecords() && !LanguageFeatures.canUseJava16(config)) {
+            logger.warn("Records need a target version of 16 or later (not " + config.getTargetVersion() + "), generating classes instead");
+        }
+
+        GenerationMetrics metrics = createMetrics(config);
+        if (metrics != null) {
+            ruleFactory.setMetricsListener(metrics);
+        }
+        contentResolver.setMetricsListener(metrics);
+
+        ruleFactory.setSchemaStore(new SchemaStore(contentResolver));
 
         SchemaMapper mapper = new SchemaMapper(ruleFactory, createSchemaGenerator(config));
 
-        JCodeModel codeModel = new JCodeModel();
+        List<GenerationSource> sources = new ArrayList<>();
+        for (GenerationSource source : collectSources(config)) {
+            if (source.samples != null && source.samples.isEmpty()) {
+                logger.warn("No samples found for " + source.url + ", no type will be generated");
+            } else {
+                sources.add(source);
+            }
+        }
+
+        if (inMemoryWriter != null) {
+            JCodeModel codeModel = new JCodeModel();
+            generateTypes(config, mapper, ruleFactory.getSchemaStore(), codeModel, sources, metrics);
+            build(config, codeModel, inMemoryWriter, metrics);
+            logger.info(String.format("Generated %d files in memory", inMemoryWriter.getFiles().size()));
+        } else if (config.isIncremental() && isSchemaSourceType(config)) {
+            generateIncrementally(config, mapper, ruleFactory.getSchemaStore(), sources, metrics, logger);
+        } else {
+            if (config.isIncremental()) {
+                logger.warn("Incremental generation only applies to JSONSCHEMA and YAMLSCHEMA sources, generating all types");
+            }
 
-        if (config.isRemoveOldOutput()) {
-            removeOldOutput(config.getTargetDirectory());
+            JCodeModel codeModel = new JCodeModel();
+            generateTypes(config, mapper, ruleFactory.getSchemaStore(), codeModel, sources, metrics);
+            build(config, codeModel, config.isRemoveOldOutput(), metrics, logger);
         }
 
-        for (Iterator<URL> sources = config.getSource(); sources.hasNext();) {
-            URL source = sources.next();
+        if (metrics != null) {
+            reportMetrics(config, metrics, logger);
+        }
+    }
 
-            if (URLUtil.parseProtocol(source.toString()) == URLProtocol.FILE && URLUtil.getFileFromURL(source).isDirectory()) {
-                generateRecursive(config, mapper, codeModel, defaultString(config.getTargetPackage()), Arrays.asList(URLUtil.getFileFromURL(source).listFiles(config.getFileFilter())));
+    /**
+     * Creates a hash of every configuration option that can affect the content
+     * of generated types. Paths (of sources, the target directory and caches)
+     * and options that only affect how generation runs are left out, so the
+     * hash can be used by build tools to decide whether generated types are up
+     * to date, even when a build is moved to another directory.
+     *
+     * @param config
+     *            the configuration options
+     * @return a hex encoded hash of the options
+     */
+    public static String getConfigurationHash(GenerationConfig config) {
+        return IncrementalGeneration.configHash(config);
+    }
+
+    /**
+     * Finds the source files that generation would read for the given
+     * configuration, after applying the file filter to source directories.
+     *
+     * @param config
+     *            the configuration options
+     * @return the source files, or <code>null</code> if any source is not a
+     *         local file
+     * @throws IOException
+     *             if a source directory cannot be read
+     */
+    public static Set<File> getSourceFiles(GenerationConfig config) throws IOException {
+        Set<File> files = new TreeSet<>();
+
+        for (GenerationSource source : collectSources(config)) {
+            for (URL location : source.samples != null ? source.samples : Collections.singletonList(source.url)) {
+                if (URLUtil.parseProtocol(location.toString()) != URLProtocol.FILE) {
+                    return null;
+                }
+                files.add(URLUtil.getFileFromURL(location));
+            }
+        }
+
+        return files;
+    }
+
+    /**
+     * Finds every file that generation would read for the given
+     * configuration: the source files (see
+     * {@link #getSourceFiles(GenerationConfig)}) and, for schema sources,
+     * every document those sources reference via <code>$ref</code>. Build
+     * tools can compare these files with those read by a previous run to
+     * decide whether generated types are up to date.
+     *
+     * @param config
+     *            the configuration options
+     * @return the files read by generation, or <code>null</code> if any source
+     *         or referenced document is not a local file (so it is not possible
+     *         to tell whether the input has changed)
+     * @throws IOException
+     *             if a source directory cannot be read
+     */
+    public static Set<File> getInputFiles(GenerationConfig config) throws IOException {
+        return getInputFiles(config, createContentResolver(config));
+    }
+
+    static Set<File> getInputFiles(GenerationConfig config, ContentResolver contentResolver) throws IOException {
+        Set<File> sourceFiles = getSourceFiles(config);
+        if (sourceFiles == null || !isSchemaSourceType(config)) {
+            return sourceFiles;
+        }
+
+        SchemaPreloader preloader = new SchemaPreloader(new SchemaStore(contentResolver), config.getRefFragmentPathDelimiters());
+        Set<File> files = new TreeSet<>();
+
+        for (File sourceFile : sourceFiles) {
+            for (URI document : preloader.preload(sourceFile.toURI().toString())) {
+                if (URLUtil.parseProtocol(document.toString()) != URLProtocol.FILE) {
+                    return null;
+                }
+                files.add(URLUtil.getFileFromURL(document.toURL()));
+            }
+        }
+
+        return files;
+    }
+
+    private static List<GenerationSource> collectSources(GenerationConfig config) throws IOException {
+        List<GenerationSource> sources = new ArrayList<>();
+
+        for (Iterator<URL> sourceUrls = config.getSource(); sourceUrls.hasNext();) {
+            URL source = sourceUrls.next();
+
+            if (config.isMergeSamples() && !isSchemaSourceType(config)) {
+                sources.add(collectSamples(config, source));
+            } else if (URLUtil.parseProtocol(source.toString()) == URLProtocol.FILE && URLUtil.getFileFromURL(source).isDirectory()) {
+                collectRecursive(config, sources, defaultString(config.getTargetPackage()), Arrays.asList(URLUtil.getFileFromURL(source).listFiles(config.getFileFilter())));
             } else {
-                mapper.generate(codeModel, getNodeName(source, config), defaultString(config.getTargetPackage()), source);
+                sources.add(new GenerationSource(source, getNodeName(source, config), defaultString(config.getTargetPackage())));
+            }
+        }
+
+        return sources;
+    }
+
+    private static GenerationMetrics createMetrics(GenerationConfig config) {
+        return config.isPrintMetrics() || config.getMetricsFile() != null ? new GenerationMetrics() : null;
+    }
+
+    private static void reportMetrics(GenerationConfig config, GenerationMetrics metrics, RuleLogger logger) throws IOException {
+        if (config.isPrintMetrics()) {
+            metrics.logSummary(logger);
+        }
+        if (config.getMetricsFile() != null) {
+            metrics.writeJson(config.getMetricsFile());
+            logger.info("Wrote generation metrics to " + config.getMetricsFile().getAbsolutePath());
+        }
+    }
+
+    /**
+     * Generates types only for the sources that have changed since the
+     * previous incremental run (see {@link IncrementalGeneration}), falling
+     * back to generating all types when the state of the previous run is
+     * missing or can't be relied upon.
+     */
+    private static void generateIncrementally(GenerationConfig config, SchemaMapper mapper, SchemaStore schemaStore, List<GenerationSource> sources, MetricsListener metrics, RuleLogger logger) throws IOException {
+
+        IncrementalGeneration incremental = new IncrementalGeneration(config, schemaStore, logger);
+
+        List<URL> sourceUrls = new ArrayList<>();
+        for (GenerationSource source : sources) {
+            sourceUrls.add(source.url);
+        }
+        incremental.plan(sourceUrls);
+
+        if (incremental.isUpToDate()) {
+            logger.info("All generated types are up to date");
+            return;
+        }
+
+        List<GenerationSource> outOfDateSources = new ArrayList<>();
+        for (GenerationSource source : sources) {
+            if (incremental.isOutOfDate(source.url)) {
+                outOfDateSources.add(source);
             }
         }
 
+        JCodeModel codeModel = new JCodeModel();
+        generateTypes(config, mapper, schemaStore, codeModel, outOfDateSources, metrics);
+
+        if (!incremental.isFullRun() && incremental.hasConflicts(codeModel)) {
+            schemaStore.clearCache();
+            incremental.requireFullRun();
+            codeModel = new JCodeModel();
+            generateTypes(config, mapper, schemaStore, codeModel, sources, metrics);
+        }
+
+        build(config, codeModel, incremental.isFullRun() && config.isRemoveOldOutput(), metrics, logger);
+        incremental.complete(codeModel);
+    }
+
+    private static void generateTypes(GenerationConfig config, SchemaMapper mapper, SchemaStore schemaStore, JCodeModel codeModel, List<GenerationSource> sources, MetricsListener metrics) {
+        if (config.isGenerateRecords() && LanguageFeatures.canUseJava16(config) && isSchemaSourceType(config)) {
+            // records can't be extended, so the schemas that are extended must be known before any type is generated
+            SchemaPreloader preloader = new SchemaPreloader(schemaStore, config.getRefFragmentPathDelimiters());
+            for (GenerationSource source : sources) {
+                preloader.preload(source.url.toString());
+            }
+        }
+
+        if (config.getParallelism() > 1 && sources.size() > 1) {
+            generateInParallel(config, mapper, schemaStore, codeModel, sources, metrics);
+        } else {
+            for (GenerationSource source : sources) {
+                long start = System.nanoTime();
+                mapper.generate(codeModel, source.nodeName, source.packageName, readSchema(mapper, source));
+                if (metrics != null) {
+                    metrics.sourceGenerated(source.url, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the code model to the target directory.
+     *
+     * @param removeOldOutput
+     *            whether to remove everything else from the target directory.
+     *            When unchanged files are skipped, files that weren't generated
+     *            are deleted after writing, otherwise the whole directory is
+     *            emptied beforehand.
+     * @param metrics
+     *            the listener told the time taken to write the code model
+     *            (may be <code>null</code>)
+     */
+    private static void build(GenerationConfig config, JCodeModel codeModel, boolean removeOldOutput, MetricsListener metrics, RuleLogger logger) throws IOException {
+        int deletedCount = 0;
+        if (removeOldOutput && !config.isSkipUnchangedFiles()) {
+            deletedCount = removeOldOutput(config.getTargetDirectory());
+        }
+
         if (config.getTargetDirectory().exists() || config.getTargetDirectory().mkdirs()) {
-            CodeWriter sourcesWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding());
-            CodeWriter resourcesWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding());
-            codeModel.build(sourcesWriter, resourcesWriter);
+            FileCodeWriterWithEncoding sourcesWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding(), config.isSkipUnchangedFiles());
+            FileCodeWriterWithEncoding resourcesWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding(), config.isSkipUnchangedFiles());
+            long start = System.nanoTime();
+            codeModel.build(sourceWriter(config, sourcesWriter), resourcesWriter);
+            if (metrics != null) {
+                metrics.codeModelBuilt(System.nanoTime() - start);
+            }
+
+            if (removeOldOutput && config.isSkipUnchangedFiles()) {
+                Set<File> generated = new HashSet<>(sourcesWriter.getFiles());
+                generated.addAll(resourcesWriter.getFiles());
+                deletedCount = removeOldOutput(config.getTargetDirectory(), generated);
+            }
+
+            logger.info(String.format("Wrote %d files (%d unchanged, %d deleted) to %s",
+                    sourcesWriter.getWrittenCount() + resourcesWriter.getWrittenCount(),
+                    sourcesWriter.getUnchangedCount() + resourcesWriter.getUnchangedCount(),
+                    deletedCount, config.getTargetDirectory().getAbsolutePath()));
         } else {
             throw new GenerationException("Could not create or access target directory " + config.getTargetDirectory().getAbsolutePath());
         }
     }
+
+    private static void build(GenerationConfig config, JCodeModel codeModel, InMemoryCodeWriter writer, MetricsListener metrics) throws IOException {
+        long start = System.nanoTime();
+        codeModel.build(sourceWriter(config, writer), writer);
+        if (metrics != null) {
+            metrics.codeModelBuilt(System.nanoTime() - start);
+        }
+    }
+
+    private static CodeWriter sourceWriter(GenerationConfig config, CodeWriter writer) {
+        return config.isGenerateRecords() ? new RecordCodeWriter(writer) : writer;
+    }
+
+    private static boolean isSchemaSourceType(GenerationConfig config) {
+        return config.getSourceType() == SourceType.JSONSCHEMA || config.getSourceType() == SourceType.YAMLSCHEMA;
+    }
     
-    private static ContentResolver createContentResolver(GenerationConfig config) {
-        if (config.getSourceType() == SourceType.YAMLSCHEMA || config.getSourceType() == SourceType.YAML) {
-            return new ContentResolver(new YAMLFactory());
-        } else {
-            return new ContentResolver();
+    static ContentResolver createContentResolver(GenerationConfig config) {
+        ContentCache contentCache = null;
+        if (config.getSchemaCacheDirectory() != null) {
+            contentCache = new FileContentCache(config.getSchemaCacheDirectory(), config.getSchemaCacheMaxSize());
         }
+
+        return new ContentResolver(JsonNodeReader.forSourceType(config.getSourceType()), contentCache, TimeUnit.SECONDS.toMillis(config.getSchemaCacheTimeToLive()), config.isOffline());
     }
 
     private static SchemaGenerator createSchemaGenerator(GenerationConfig config) {
-        if (config.getSourceType() == SourceType.YAMLSCHEMA || config.getSourceType() == SourceType.YAML) {
-            return new SchemaGenerator(new YAMLFactory());
-        } else {
-            return new SchemaGenerator();
-        }
+        return new SchemaGenerator(JsonNodeReader.forSourceType(config.getSourceType()));
     }
 
     private static RuleFactory createRuleFactory(GenerationConfig config) {
@@ -121,40 +433,178 @@ public class Jsonschema2Pojo {
         }
     }
 
-    private static void generateRecursive(GenerationConfig config, SchemaMapper mapper, JCodeModel codeModel, String packageName, List<File> schemaFiles) throws IOException {
+    private static void collectRecursive(GenerationConfig config, List<GenerationSource> sources, String packageName, List<File> schemaFiles) throws IOException {
 
         Collections.sort(schemaFiles, config.getSourceSortOrder().getComparator());
 
         for (File child : schemaFiles) {
             if (child.isFile()) {
-                mapper.generate(codeModel, getNodeName(child.toURI().toURL(), config), defaultString(packageName), child.toURI().toURL());
+                sources.add(new GenerationSource(child.toURI().toURL(), getNodeName(child.toURI().toURL(), config), defaultString(packageName)));
+            } else {
+                collectRecursive(config, sources, childQualifiedName(packageName, child.getName()), Arrays.asList(child.listFiles(config.getFileFilter())));
+            }
+        }
+    }
+
+    /**
+     * Reads each source (and, for schema sources, every document it
+     * references) on a pool of worker threads, while types are added to the
+     * code model on the calling thread in source order. Class names depend on
+     * the order in which types are created, so applying the rules in order
+     * keeps the output identical to a sequential run.
+     */
+    private static void generateInParallel(GenerationConfig config, SchemaMapper mapper, SchemaStore schemaStore, JCodeModel codeModel, List<GenerationSource> sources, MetricsListener metrics) {
+
+        final boolean schemaSources = isSchemaSourceType(config);
+        final SchemaPreloader preloader = new SchemaPreloader(schemaStore, config.getRefFragmentPathDelimiters());
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "jsonschema2pojo-worker");
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        });
+
+        try {
+            List<Future<ObjectNode>> schemaNodes = new ArrayList<>();
+            for (GenerationSource source : sources) {
+                schemaNodes.add(executor.submit(() -> {
+                    ObjectNode schemaNode = readSchema(mapper, source);
+                    if (schemaSources) {
+                        preloader.preload(source.url.toString());
+                    }
+                    return schemaNode;
+                }));
+            }
+
+            for (int i = 0; i < sources.size(); i++) {
+                GenerationSource source = sources.get(i);
+                ObjectNode schemaNode = await(schemaNodes.get(i));
+                long start = System.nanoTime();
+                mapper.generate(codeModel, source.nodeName, source.packageName, schemaNode);
+                if (metrics != null) {
+                    metrics.sourceGenerated(source.url, System.nanoTime() - start);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ObjectNode readSchema(SchemaMapper mapper, GenerationSource source) {
+        return source.samples != null ? mapper.readSamples(source.samples) : mapper.readSchema(source.url);
+    }
+
+    /**
+     * Finds the samples from which a single type should be inferred for the
+     * given source (see {@link GenerationConfig#isMergeSamples()}): every file
+     * in a directory and its subdirectories, every file in a directory that
+     * matches a glob, or otherwise the source itself.
+     */
+    private static GenerationSource collectSamples(GenerationConfig config, URL source) throws IOException {
+        String packageName = defaultString(config.getTargetPackage());
+
+        if (URLUtil.parseProtocol(source.toString()) != URLProtocol.FILE) {
+            return new GenerationSource(source, getNodeName(source, config), packageName, Collections.singletonList(source));
+        }
+
+        File file = URLUtil.getFileFromURL(source);
+        List<URL> samples = new ArrayList<>();
+
+        if (file.isDirectory()) {
+            collectSamples(config, samples, Arrays.asList(file.listFiles(config.getFileFilter())));
+            return new GenerationSource(source, file.getName(), packageName, samples);
+        } else if (!file.exists() && containsAny(file.getName(), GLOB_CHARACTERS)) {
+            File directory = file.getParentFile();
+            if (directory == null || !directory.isDirectory()) {
+                throw new FileNotFoundException(directory + " (directory not found)");
+            }
+
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + file.getName());
+            FileFilter fileFilter = config.getFileFilter();
+            List<File> matches = new ArrayList<>();
+            for (File child : directory.listFiles()) {
+                if (child.isFile() && matcher.matches(Paths.get(child.getName())) && (fileFilter == null || fileFilter.accept(child))) {
+                    matches.add(child);
+                }
+            }
+
+            collectSamples(config, samples, matches);
+            return new GenerationSource(source, directory.getName(), packageName, samples);
+        } else {
+            return new GenerationSource(source, getNodeName(source, config), packageName, Collections.singletonList(source));
+        }
+    }
+
+    private static void collectSamples(GenerationConfig config, List<URL> samples, List<File> sampleFiles) throws IOException {
+
+        Collections.sort(sampleFiles, config.getSourceSortOrder().getComparator());
+
+        for (File child : sampleFiles) {
+            if (child.isFile()) {
+                samples.add(child.toURI().toURL());
             } else {
-                generateRecursive(config, mapper, codeModel, childQualifiedName(packageName, child.getName()), Arrays.asList(child.listFiles(config.getFileFilter())));
+                collectSamples(config, samples, Arrays.asList(child.listFiles(config.getFileFilter())));
             }
         }
     }
 
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenerationException("Interrupted while waiting for schema to be read", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new GenerationException(e.getCause());
+        }
+    }
+
     private static String childQualifiedName(String parentQualifiedName, String childSimpleName) {
         String safeChildName = childSimpleName.replaceAll(NameHelper.ILLEGAL_CHARACTER_REGEX, "_");
         return isEmpty(parentQualifiedName) ? safeChildName : parentQualifiedName + "." + safeChildName;
     }
 
-    private static void removeOldOutput(File targetDirectory) {
+    private static int removeOldOutput(File targetDirectory) {
+        return removeOldOutput(targetDirectory, Collections.<File>emptySet());
+    }
+
+    /**
+     * Deletes the contents of the target directory, except for the given
+     * files (and the directories that contain them).
+     *
+     * @return the number of files deleted
+     */
+    private static int removeOldOutput(File targetDirectory, Set<File> retainedFiles) {
+        int deletedCount = 0;
         if (targetDirectory.exists()) {
             for (File f : targetDirectory.listFiles()) {
-                delete(f);
+                deletedCount += delete(f, retainedFiles);
             }
         }
+        return deletedCount;
     }
 
     @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
-    private static void delete(File f) {
+    private static int delete(File f, Set<File> retainedFiles) {
+        int deletedCount = 0;
         if (f.isDirectory()) {
             for (File child : f.listFiles()) {
-                delete(child);
+                deletedCount += delete(child, retainedFiles);
             }
+            if (f.list().length == 0) {
+                f.delete();
+            }
+        } else if (!retainedFiles.contains(f) && f.delete()) {
+            deletedCount++;
         }
-        f.delete();
+        return deletedCount;
     }
 
     private static Annotator getAnnotator(GenerationConfig config) {
@@ -162,6 +612,30 @@ public class Jsonschema2Pojo {
         return factory.getAnnotator(factory.getAnnotator(config.getAnnotationStyle()), factory.getAnnotator(config.getCustomAnnotator()));
     }
 
+    private static class GenerationSource {
+
+        private final URL url;
+        private final String nodeName;
+        private final String packageName;
+        private final List<URL> samples;
+
+        GenerationSource(URL url, String nodeName, String packageName) {
+            this(url, nodeName, packageName, null);
+        }
+
+        /**
+         * @param samples
+         *            the samples from which a single type is inferred, or
+         *            <code>null</code> if the source is read alone
+         */
+        GenerationSource(URL url, String nodeName, String packageName, List<URL> samples) {
+            this.url = url;
+            this.nodeName = nodeName;
+            this.packageName = packageName;
+            this.samples = samples;
+        }
+    }
+
     public static String getNodeName(URL file, GenerationConfig config) {
         return getNodeName(file.toString(), config);
     }
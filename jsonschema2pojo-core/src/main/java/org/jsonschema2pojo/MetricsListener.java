@@ -0,0 +1,77 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.net.URI;
+import java.net.URL;
+
+import org.jsonschema2pojo.rules.RuleFactory;
+
+/**
+ * Receives timings for the stages of type generation. Register a listener
+ * with {@link RuleFactory#setMetricsListener(MetricsListener)} (for rules) and
+ * {@link ContentResolver#setMetricsListener(MetricsListener)} (for fetches).
+ * <p>
+ * Types may be generated from many threads at once, so implementations must
+ * be thread-safe. All durations are in nanoseconds.
+ *
+ * @see GenerationMetrics
+ */
+public interface MetricsListener {
+
+    /**
+     * Called each time a rule has been applied. Rules apply other rules, the
+     * duration excludes the time spent in any rules applied by this one (which
+     * report their own durations), so durations can be added up.
+     *
+     * @param ruleType
+     *            the implementation of the rule that was applied
+     * @param duration
+     *            the time taken to apply the rule, excluding nested rules
+     */
+    void ruleApplied(Class<?> ruleType, long duration);
+
+    /**
+     * Called once types have been generated for a source.
+     *
+     * @param source
+     *            the schema (or example) file from which types were generated
+     * @param duration
+     *            the time taken to generate all types for the source
+     */
+    void sourceGenerated(URL source, long duration);
+
+    /**
+     * Called each time a {@link ContentResolver} has read and parsed a
+     * document.
+     *
+     * @param uri
+     *            the location of the document
+     * @param duration
+     *            the time taken to read and parse the document
+     */
+    void contentResolved(URI uri, long duration);
+
+    /**
+     * Called once the code model has been written to the target directory.
+     *
+     * @param duration
+     *            the time taken to write all generated files
+     */
+    void codeModelBuilt(long duration);
+
+}
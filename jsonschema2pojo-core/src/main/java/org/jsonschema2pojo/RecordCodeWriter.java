@@ -0,0 +1,128 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.jsonschema2pojo.util.RecordComponents;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.writer.FilterCodeWriter;
+
+/**
+ * A writer that turns generated classes that extend {@link RecordComponents}
+ * into record declarations, as code model can only write classes. Other
+ * source files are written unchanged.
+ * <p>
+ * Code model writes a record as
+ *
+ * <pre>
+ * public class Example
+ *     extends(String name, Integer count)
+ * {
+ *     public Example() {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * which is rewritten as
+ *
+ * <pre>
+ * public record Example(String name, Integer count)
+ * {
+ *     public Example {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * (a record has no constructor without arguments, so a constructor without
+ * arguments is the compact canonical constructor).
+ */
+public class RecordCodeWriter extends FilterCodeWriter {
+
+    /**
+     * @param core
+     *            the writer of files, once rewritten
+     */
+    public RecordCodeWriter(CodeWriter core) {
+        super(core);
+    }
+
+    @Override
+    public Writer openSource(JPackage pkg, String fileName) throws IOException {
+        List<String> recordNames = new ArrayList<>();
+        if (fileName.endsWith(".java")) {
+            JDefinedClass jclass = pkg._getClass(fileName.substring(0, fileName.length() - ".java".length()));
+            if (jclass != null) {
+                findRecords(jclass, recordNames);
+            }
+        }
+
+        if (recordNames.isEmpty()) {
+            return super.openSource(pkg, fileName);
+        }
+
+        final Writer writer = super.openSource(pkg, fileName);
+        return new StringWriter() {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    try {
+                        writer.write(toRecordDeclarations(toString(), recordNames));
+                    } finally {
+                        writer.close();
+                    }
+                }
+            }
+        };
+    }
+
+    private static void findRecords(JDefinedClass jclass, List<String> recordNames) {
+        if (jclass._extends() instanceof RecordComponents) {
+            recordNames.add(jclass.name());
+        }
+        for (Iterator<JDefinedClass> nested = jclass.classes(); nested.hasNext();) {
+            findRecords(nested.next(), recordNames);
+        }
+    }
+
+    static String toRecordDeclarations(String source, List<String> recordNames) {
+        for (String name : recordNames) {
+            String quotedName = Pattern.quote(name);
+            source = Pattern.compile("\\bclass(\\s+" + quotedName + ")\\s+extends\\s*\\(")
+                    .matcher(source).replaceFirst("record$1(");
+            source = Pattern.compile("(?m)^(\\s*public\\s+" + quotedName + ")\\(\\)(\\s*\\{)")
+                    .matcher(source).replaceFirst("$1$2");
+        }
+        return source;
+    }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jsonschema2pojo.util.URLUtil;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A content resolver that records every document it reads, so that a build
+ * tool can find the documents a generation run depended on without reading
+ * them again.
+ */
+public class RecordingContentResolver extends ContentResolver {
+
+    private final ContentResolver delegate;
+    private final Set<URI> documents = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a resolver that reads documents as configured (source type,
+     * schema cache and offline mode) by the given configuration.
+     */
+    public RecordingContentResolver(GenerationConfig config) {
+        this(Jsonschema2Pojo.createContentResolver(config));
+    }
+
+    RecordingContentResolver(ContentResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public JsonNode resolve(URI uri) {
+        documents.add(uri);
+        return delegate.resolve(uri);
+    }
+
+    @Override
+    public void setMetricsListener(MetricsListener metricsListener) {
+        delegate.setMetricsListener(metricsListener);
+    }
+
+    /**
+     * @return the local files read so far, or <code>null</code> if any
+     *         document read was not a local file (so it is not possible to
+     *         tell whether the input has changed)
+     */
+    public Set<File> getFiles() {
+        Set<File> files = new TreeSet<>();
+
+        for (URI document : documents) {
+            if (URLUtil.parseProtocol(document.toString()) != URLProtocol.FILE) {
+                return null;
+            }
+            try {
+                files.add(URLUtil.getFileFromURL(document.toURL()));
+            } catch (MalformedURLException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        return files;
+    }
+
+}
@@ -17,6 +17,8 @@
 package org.jsonschema2pojo;
 
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.sun.codemodel.JType;
@@ -30,6 +32,10 @@ public class Schema {
     private final JsonNode content;
     private final Schema parent;
     private JType javaType;
+    private volatile boolean extended;
+
+    /** The nodes found for fragments of this document, see {@link FragmentResolver} */
+    final ConcurrentMap<FragmentResolver.CompiledPath, JsonNode> resolvedFragments = new ConcurrentHashMap<>();
 
     public Schema(URI id, JsonNode content, Schema parent) {
         this.id = id;
@@ -75,4 +81,16 @@ public class Schema {
         return javaType != null;
     }
 
+    /**
+     * Records that another schema extends this one (records can't be
+     * extended, so this schema must be generated as a class).
+     */
+    public void setExtended() {
+        this.extended = true;
+    }
+
+    public boolean isExtended() {
+        return extended;
+    }
+
 }
@@ -17,161 +17,247 @@
 package org.jsonschema2pojo;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
 
 import org.jsonschema2pojo.exception.GenerationException;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.databind.jsonschema.SchemaAware;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
-import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
-import com.fasterxml.jackson.databind.ser.std.NullSerializer;
 
+/**
+ * Infers a schema from example JSON (or YAML).
+ * <p>
+ * Examples are summarized value by value (see {@link TypeSummary}) rather
+ * than merged into a single tree, so an example read from a URL is streamed
+ * and never held in memory. An example may contain several root values (e.g.
+ * newline-delimited JSON), in which case the schema describes all of them.
+ * Large arrays in an example that is already in memory, and the files of a
+ * set of samples, are summarized in parallel on the common fork/join pool.
+ */
 public class SchemaGenerator {
 
-    private final ObjectMapper objectMapper;
+    /**
+     * The number of array items summarized as a single task, arrays with more
+     * items than this are summarized in parallel.
+     */
+    private static final int ARRAY_CHUNK_SIZE = 4096;
+
+    private final JsonNodeReader reader;
 
     public SchemaGenerator() {
-        this(null);
+        this(JsonNodeReader.json());
     }
 
     public SchemaGenerator(JsonFactory jsonFactory) {
-        this.objectMapper = new ObjectMapper(jsonFactory)
-                .enable(JsonParser.Feature.ALLOW_COMMENTS)
-                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this(JsonNodeReader.forFactory(jsonFactory));
+    }
+
+    public SchemaGenerator(JsonNodeReader reader) {
+        this.reader = reader;
     }
 
     public ObjectNode schemaFromExample(URL example) {
 
-        try {
-            JsonNode content = this.objectMapper.readTree(example);
-            return schemaFromExample(content);
-        } catch (IOException e) {
-            throw new GenerationException("Could not process JSON in source file", e);
-        }
+        return summarize(example).toSchema();
 
     }
 
-    public ObjectNode schemaFromExample(JsonNode example) {
-
-        if (example.isObject()) {
-            return objectSchema(example);
-        } else if (example.isArray()) {
-            return arraySchema(example);
-        } else {
-            return simpleTypeSchema(example);
-        }
+    /**
+     * Infers a single schema from many examples, each of which is a sample of
+     * the same type. The samples are read in parallel and their summaries
+     * merged in the order given, so the result does not depend on timing.
+     * Properties that have a non-null value in every sample are listed as
+     * <code>required</code>.
+     *
+     * @param samples
+     *            the locations of the samples, each of which may contain
+     *            several root values (e.g. newline-delimited JSON)
+     * @return a schema that describes every sample
+     */
+    public ObjectNode schemaFromSamples(List<URL> samples) {
+
+        TypeSummary summary = samples.isEmpty() ? new TypeSummary() : new SummarizeSamples(samples).invoke();
+        return summary.toSchema(true);
 
     }
 
-    private ObjectNode objectSchema(JsonNode exampleObject) {
+    private TypeSummary summarize(URL example) {
+
+        try (InputStream in = example.openStream();
+             JsonParser parser = this.reader.getObjectMapper().getFactory().createParser(in)) {
 
-        ObjectNode schema = this.objectMapper.createObjectNode();
-        schema.put("type", "object");
+            TypeSummary summary = new TypeSummary();
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                summarize(parser, token, summary);
+            }
+            return summary;
 
-        ObjectNode properties = this.objectMapper.createObjectNode();
-        for (Iterator<String> iter = exampleObject.fieldNames(); iter.hasNext();) {
-            String property = iter.next();
-            properties.set(property, schemaFromExample(exampleObject.get(property)));
+        } catch (IOException e) {
+            throw new GenerationException("Could not process JSON in source file " + example, e);
         }
-        schema.set("properties", properties);
 
-        return schema;
     }
 
-    private ObjectNode arraySchema(JsonNode exampleArray) {
-        ObjectNode schema = this.objectMapper.createObjectNode();
+    public ObjectNode schemaFromExample(JsonNode example) {
 
-        schema.put("type", "array");
+        TypeSummary summary = new TypeSummary();
+        summarize(example, summary);
+        return summary.toSchema();
 
-        if (exampleArray.size() > 0) {
+    }
 
-            JsonNode exampleItem = exampleArray.get(0).isObject() ? mergeArrayItems(exampleArray) : exampleArray.get(0);
+    private void summarize(JsonParser parser, JsonToken token, TypeSummary summary) throws IOException {
 
-            schema.set("items", schemaFromExample(exampleItem));
+        switch (token) {
+            case START_OBJECT:
+                summary.observeObject();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    TypeSummary property = summary.property(parser.getCurrentName());
+                    summarize(parser, parser.nextToken(), property);
+                }
+                break;
+            case START_ARRAY:
+                summary.observeArray();
+                for (JsonToken item = parser.nextToken(); item != JsonToken.END_ARRAY; item = parser.nextToken()) {
+                    summarize(parser, item, summary.items());
+                }
+                break;
+            case VALUE_NUMBER_INT:
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                    summary.observeBigInteger();
+                } else {
+                    summary.observeInteger(parser.getLongValue());
+                }
+                break;
+            case VALUE_NUMBER_FLOAT:
+                summary.observeNumber();
+                break;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                summary.observeBoolean();
+                break;
+            case VALUE_NULL:
+                summary.observeNull();
+                break;
+            default:
+                summary.observeString();
+                break;
         }
 
-        return schema;
     }
 
-    private JsonNode mergeArrayItems(JsonNode exampleArray) {
+    /**
+     * Summarizes the items of a large array in parallel, splitting the array
+     * into chunks whose summaries are merged in order.
+     */
+    private TypeSummary mergeArrayItems(JsonNode exampleArray) {
 
-        ObjectNode mergedItems = this.objectMapper.createObjectNode();
+        return new SummarizeItems(exampleArray, 0, exampleArray.size()).invoke();
 
-        for (JsonNode item : exampleArray) {
-            if (item.isObject()) {
-                mergeObjectNodes(mergedItems, (ObjectNode) item);
-            }
-        }
-
-        return mergedItems;
     }
 
-    private ObjectNode mergeObjectNodes(ObjectNode targetNode, ObjectNode updateNode) {
-        Iterator<String> fieldNames = updateNode.fieldNames();
-        while (fieldNames.hasNext()) {
-
-            String fieldName = fieldNames.next();
-            JsonNode targetValue = targetNode.get(fieldName);
-            JsonNode updateValue = updateNode.get(fieldName);
-
-            if (targetValue == null) {
-                // Target node doesn't have this field from update node: just add it
-                targetNode.set(fieldName, updateValue);
+    private void summarize(JsonNode example, TypeSummary summary) {
 
+        if (example.isObject()) {
+            summary.observeObject();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = example.fields(); fields.hasNext();) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                summarize(field.getValue(), summary.property(field.getKey()));
+            }
+        } else if (example.isArray()) {
+            summary.observeArray();
+            if (example.size() > ARRAY_CHUNK_SIZE) {
+                summary.items().merge(mergeArrayItems(example));
             } else {
-                // Both nodes have the same field: merge the values
-                if (targetValue.isObject() && updateValue.isObject()) {
-                    // Both values are objects: recurse
-                    targetNode.set(fieldName, mergeObjectNodes((ObjectNode) targetValue, (ObjectNode) updateValue));
-                } else if (targetValue.isArray() && updateValue.isArray()) {
-                    // Both values are arrays: concatenate them to be merged later
-                    ((ArrayNode) targetValue).addAll((ArrayNode) updateValue);
-                } else {
-                    // Values have different types: use the one from the update node
-                    targetNode.set(fieldName, updateValue);
+                for (JsonNode item : example) {
+                    summarize(item, summary.items());
                 }
             }
+        } else if (example.isBigInteger()) {
+            summary.observeBigInteger();
+        } else if (example.isIntegralNumber()) {
+            summary.observeInteger(example.longValue());
+        } else if (example.isNumber()) {
+            summary.observeNumber();
+        } else if (example.isBoolean()) {
+            summary.observeBoolean();
+        } else if (example.isNull() || example.isMissingNode()) {
+            summary.observeNull();
+        } else {
+            summary.observeString();
         }
 
-        return targetNode;
     }
 
-    private ObjectNode simpleTypeSchema(JsonNode exampleValue) {
+    /**
+     * Summarizes a range of the items of an array by splitting it in half
+     * until each part is small enough to summarize directly, then merging the
+     * halves in order.
+     */
+    @SuppressWarnings("serial")
+    private class SummarizeItems extends RecursiveTask<TypeSummary> {
+
+        private final JsonNode exampleArray;
+        private final int from;
+        private final int to;
+
+        SummarizeItems(JsonNode exampleArray, int from, int to) {
+            this.exampleArray = exampleArray;
+            this.from = from;
+            this.to = to;
+        }
 
-        try {
+        @Override
+        protected TypeSummary compute() {
+            if (to - from <= ARRAY_CHUNK_SIZE) {
+                TypeSummary items = new TypeSummary();
+                for (int i = from; i < to; i++) {
+                    summarize(exampleArray.get(i), items);
+                }
+                return items;
+            }
 
-            Object valueAsJavaType = this.objectMapper.treeToValue(exampleValue, Object.class);
+            int middle = (from + to) >>> 1;
+            SummarizeItems second = new SummarizeItems(exampleArray, middle, to);
+            second.fork();
+            TypeSummary first = new SummarizeItems(exampleArray, from, middle).compute();
+            return first.merge(second.join());
+        }
+    }
 
-            SerializerProvider serializerProvider = new DefaultSerializerProvider.Impl().createInstance(this.objectMapper.getSerializationConfig(), BeanSerializerFactory.instance);
+    /**
+     * Summarizes a range of samples by splitting it in half until a single
+     * sample remains, then merging the halves in order.
+     */
+    @SuppressWarnings("serial")
+    private class SummarizeSamples extends RecursiveTask<TypeSummary> {
 
-            if (valueAsJavaType == null) {
-                SchemaAware valueSerializer = NullSerializer.instance;
-                return (ObjectNode) valueSerializer.getSchema(serializerProvider, null);
-            } else if (valueAsJavaType instanceof Long) {
-                // longs are 'integers' in schema terms
-                SchemaAware valueSerializer = (SchemaAware) serializerProvider.findValueSerializer(Integer.class, null);
-                ObjectNode schema = (ObjectNode) valueSerializer.getSchema(serializerProvider, null);
-                schema.put("minimum", Long.MAX_VALUE);
-                return schema;
-            } else {
-                Class<? extends Object> javaTypeForValue = valueAsJavaType.getClass();
-                SchemaAware valueSerializer = (SchemaAware) serializerProvider.findValueSerializer(javaTypeForValue, null);
-                return (ObjectNode) valueSerializer.getSchema(serializerProvider, null);
-            }
-        } catch (JsonProcessingException e) {
-            throw new GenerationException("Unable to generate a schema for this json example: " + exampleValue, e);
+        private final List<URL> samples;
+
+        SummarizeSamples(List<URL> samples) {
+            this.samples = samples;
         }
 
+        @Override
+        protected TypeSummary compute() {
+            if (samples.size() == 1) {
+                return summarize(samples.get(0));
+            }
+
+            int middle = samples.size() / 2;
+            SummarizeSamples second = new SummarizeSamples(samples.subList(middle, samples.size()));
+            second.fork();
+            TypeSummary first = new SummarizeSamples(samples.subList(0, middle)).compute();
+            return first.merge(second.join());
+        }
     }
 
 }
@@ -19,13 +19,11 @@ package org.jsonschema2pojo;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.util.List;
 
 import org.jsonschema2pojo.rules.RuleFactory;
 
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sun.codemodel.JCodeModel;
@@ -85,15 +83,28 @@ public class SchemaMapper {
      */
     public JType generate(JCodeModel codeModel, String className, String packageName, URL schemaUrl) {
 
-        JPackage jpackage = codeModel._package(packageName);
+        return generate(codeModel, className, packageName, readSchema(schemaUrl));
+
+    }
+
+    /**
+     * Adds generated types to the given code model for a schema node that has
+     * already been read by {@link #readSchema(URL)}.
+     */
+    JType generate(JCodeModel codeModel, String className, String packageName, ObjectNode schemaNode) {
 
-        ObjectNode schemaNode = readSchema(schemaUrl);
+        JPackage jpackage = codeModel._package(packageName);
 
         return ruleFactory.getSchemaRule().apply(className, schemaNode, null, jpackage, new Schema(null, schemaNode, null));
 
     }
 
-    private ObjectNode readSchema(URL schemaUrl) {
+    /**
+     * Reads the schema node that should be used to generate types for the
+     * given source. This has no effect on the code model, so may be called
+     * ahead of generation (and from any thread).
+     */
+    ObjectNode readSchema(URL schemaUrl) {
 
         switch (ruleFactory.getGenerationConfig().getSourceType()) {
             case JSONSCHEMA:
@@ -110,12 +121,45 @@ public class SchemaMapper {
 
     }
 
+    /**
+     * Infers a single schema from the given samples (see
+     * {@link SchemaGenerator#schemaFromSamples(List)}) and adds generated types
+     * to the given code model.
+     *
+     * @param codeModel
+     *            the java code-generation context that should be used to
+     *            generated new types
+     * @param className
+     *            the name of the parent class the represented by the samples
+     * @param packageName
+     *            the target package that should be used for generated types
+     * @param samples
+     *            locations of the example JSON (or YAML) to be used as input
+     * @return The top-most type generated from the given samples
+     */
+    public JType generate(JCodeModel codeModel, String className, String packageName, List<URL> samples) {
+
+        return generate(codeModel, className, packageName, readSamples(samples));
+
+    }
+
+    /**
+     * Infers the schema node that should be used to generate a single type
+     * from the given samples. Like {@link #readSchema(URL)}, this has no
+     * effect on the code model.
+     */
+    ObjectNode readSamples(List<URL> samples) {
+
+        return schemaGenerator.schemaFromSamples(samples);
+
+    }
+
     public JType generate(JCodeModel codeModel, String className, String packageName, String json,
             URI schemaLocation) throws IOException {
 
         JPackage jpackage = codeModel._package(packageName);
 
-        JsonNode schemaNode = objectMapper().readTree(json);
+        JsonNode schemaNode = JsonNodeReader.json().readTree(json);
 
         return ruleFactory.getSchemaRule().apply(className, schemaNode, null, jpackage,
                 new Schema(schemaLocation, schemaNode, null));
@@ -127,19 +171,13 @@ public class SchemaMapper {
 
         JsonNode schemaNode = null;
         if (ruleFactory.getGenerationConfig().getSourceType() == SourceType.JSON) {
-            JsonNode jsonNode = objectMapper().readTree(json);
+            JsonNode jsonNode = JsonNodeReader.json().readTree(json);
             schemaNode = schemaGenerator.schemaFromExample(jsonNode);
         } else {
-            schemaNode = objectMapper().readTree(json);
+            schemaNode = JsonNodeReader.json().readTree(json);
         }
 
         return ruleFactory.getSchemaRule().apply(className, schemaNode, null, jpackage, new Schema(null, schemaNode, null));
     }
 
-    private ObjectMapper objectMapper() {
-        return new ObjectMapper()
-                .enable(JsonParser.Feature.ALLOW_COMMENTS)
-                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
-    }
-
 }
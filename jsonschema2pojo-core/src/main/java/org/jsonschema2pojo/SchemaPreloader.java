@@ -0,0 +1,135 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.apache.commons.lang3.StringUtils.*;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Loads a schema document and every document it transitively references (via
+ * <code>$ref</code>) into a {@link SchemaStore}, so that the expensive work of
+ * reading and parsing schema content can happen ahead of (and concurrently
+ * with) type generation. Schemas referenced by <code>extends</code> are
+ * {@link Schema#setExtended() marked} as they're found.
+ * <p>
+ * Instances are safe for use by multiple threads, provided the underlying
+ * schema store is.
+ */
+public class SchemaPreloader {
+
+    private final SchemaStore schemaStore;
+    private final String refFragmentPathDelimiters;
+
+    private final ConcurrentMap<URI, Set<URI>> references = new ConcurrentHashMap<>();
+
+    public SchemaPreloader(SchemaStore schemaStore, String refFragmentPathDelimiters) {
+        this.schemaStore = schemaStore;
+        this.refFragmentPathDelimiters = refFragmentPathDelimiters;
+    }
+
+    /**
+     * Loads the schema at the given location, along with all the documents it
+     * references (directly or indirectly).
+     * <p>
+     * Failures to resolve a nested <code>$ref</code> are ignored here, they
+     * will be reported in the usual way when types are generated.
+     *
+     * @param location
+     *            the location of the schema, as it would appear in a
+     *            <code>$ref</code>
+     * @return the ids (without fragment) of all the documents that make up the
+     *         schema, starting with the document at the given location
+     */
+    public Set<URI> preload(String location) {
+
+        Schema schema = schemaStore.create(null, location, refFragmentPathDelimiters);
+
+        Set<URI> closure = new LinkedHashSet<>();
+        Deque<URI> pending = new ArrayDeque<>();
+        pending.add(documentId(schema));
+
+        while (!pending.isEmpty()) {
+            URI documentId = pending.pop();
+            if (closure.add(documentId)) {
+                pending.addAll(referencesFrom(documentId));
+            }
+        }
+
+        return closure;
+    }
+
+    private Set<URI> referencesFrom(URI documentId) {
+        Set<URI> documentReferences = references.get(documentId);
+
+        if (documentReferences == null) {
+            Set<URI> found = new LinkedHashSet<>();
+            try {
+                Schema document = schemaStore.create(documentId, refFragmentPathDelimiters);
+                collectReferences(document, document.getContent(), found);
+            } catch (RuntimeException e) {
+                // unreadable documents are reported during generation
+            }
+            documentReferences = Collections.unmodifiableSet(found);
+            references.putIfAbsent(documentId, documentReferences);
+        }
+
+        return documentReferences;
+    }
+
+    private void collectReferences(Schema document, JsonNode node, Set<URI> found) {
+
+        if (node.isObject() && node.path("$ref").isTextual()) {
+            String ref = node.get("$ref").asText();
+
+            // references within the same document need no loading
+            if (!ref.startsWith("#")) {
+                try {
+                    found.add(documentId(schemaStore.create(document, ref, refFragmentPathDelimiters)));
+                } catch (RuntimeException e) {
+                    // unresolvable references are reported during generation
+                }
+            }
+        }
+
+        if (node.isObject() && node.path("extends").path("$ref").isTextual()) {
+            try {
+                schemaStore.create(document, node.get("extends").get("$ref").asText(), refFragmentPathDelimiters).setExtended();
+            } catch (RuntimeException e) {
+                // unresolvable references are reported during generation
+            }
+        }
+
+        for (JsonNode child : node) {
+            collectReferences(document, child, found);
+        }
+    }
+
+    private URI documentId(Schema schema) {
+        return URI.create(substringBefore(schema.getId().toString(), "#")).normalize();
+    }
+
+}
@@ -20,14 +20,26 @@ import static org.apache.commons.lang3.StringUtils.*;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+/**
+ * Creates and caches {@link Schema} instances by id.
+ * <p>
+ * A store is safe for use by multiple threads. Each document is read exactly
+ * once, even when several threads ask for it at the same time: the first
+ * caller reads it, and the others wait for that result rather than reading it
+ * again. Requests for different documents never wait for each other.
+ */
 public class SchemaStore {
 
-    protected final Map<URI, Schema> schemas = new HashMap<>();
+    protected final ConcurrentMap<URI, Schema> schemas = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<URI, CompletableFuture<Schema>> pending = new ConcurrentHashMap<>();
 
     protected final FragmentResolver fragmentResolver = new FragmentResolver();
     protected final ContentResolver contentResolver;
@@ -44,6 +56,10 @@ public class SchemaStore {
      * Create or look up a new schema which has the given ID and read the
      * contents of the given ID as a URL. If a schema with the given ID is
      * already known, then a reference to the original schema will be returned.
+     * <p>
+     * Where the ID has a fragment, the document it refers to is created (or
+     * looked up) first and the fragment is resolved against its content, so a
+     * document is read only once however many of its fragments are used.
      *
      * @param id
      *            the id of the schema being created
@@ -51,26 +67,64 @@ public class SchemaStore {
      *                                  that should act as path delimiters when resolving $ref fragments.
      * @return a schema object containing the contents of the given path
      */
-    public synchronized Schema create(URI id, String refFragmentPathDelimiters) {
+    public Schema create(URI id, String refFragmentPathDelimiters) {
 
         URI normalizedId = id.normalize();
 
-        if (!schemas.containsKey(normalizedId)) {
-
-            URI baseId = removeFragment(id).normalize();
-            JsonNode baseContent = contentResolver.resolve(baseId);
+        Schema existing = schemas.get(normalizedId);
+        if (existing != null) {
+            return existing;
+        }
 
-            Schema baseSchema = new Schema(baseId, baseContent, null);
+        CompletableFuture<Schema> future = new CompletableFuture<>();
+        CompletableFuture<Schema> inProgress = pending.putIfAbsent(normalizedId, future);
+        if (inProgress != null) {
+            return await(inProgress);
+        }
 
-            if (normalizedId.toString().contains("#")) {
-                JsonNode childContent = fragmentResolver.resolve(baseContent, '#' + id.getFragment(), refFragmentPathDelimiters);
-                schemas.put(normalizedId, new Schema(normalizedId, childContent, baseSchema));
-            } else {
-                schemas.put(normalizedId, baseSchema);
+        try {
+            // the schema may have been completed (and its future removed) since it was last checked
+            Schema schema = schemas.get(normalizedId);
+            if (schema == null) {
+                schema = read(id, normalizedId, refFragmentPathDelimiters);
+                Schema previous = schemas.putIfAbsent(normalizedId, schema);
+                schema = previous != null ? previous : schema;
             }
+            future.complete(schema);
+            return schema;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            // failures are not remembered, a later request will try again
+            pending.remove(normalizedId, future);
         }
+    }
+
+    private Schema read(URI id, URI normalizedId, String refFragmentPathDelimiters) {
+        URI baseId = removeFragment(id).normalize();
 
-        return schemas.get(normalizedId);
+        if (normalizedId.toString().contains("#")) {
+            // fragments are resolved against the stored document, so each document is only read and parsed once
+            Schema baseSchema = create(baseId, refFragmentPathDelimiters);
+            JsonNode childContent = fragmentResolver.resolve(baseSchema, '#' + id.getFragment(), refFragmentPathDelimiters);
+            return new Schema(normalizedId, childContent, baseSchema);
+        } else {
+            return new Schema(baseId, contentResolver.resolve(baseId), null);
+        }
+    }
+
+    private static Schema await(CompletableFuture<Schema> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
     }
 
     protected URI removeFragment(URI id) {
@@ -126,15 +180,11 @@ public class SchemaStore {
         }
 
         if (selfReferenceWithoutParentFile(parent, path) || substringBefore(stringId, "#").isEmpty()) {
-            JsonNode parentContent = parent.getGrandParent().getContent();
-
-            if (schemas.containsKey(id)) {
-                return schemas.get(id);
-            } else {
-                Schema schema = new Schema(id, fragmentResolver.resolve(parentContent, path, refFragmentPathDelimiters), parent.getGrandParent());
-                schemas.put(id, schema);
-                return schema;
-            }
+            final Schema grandParent = parent.getGrandParent();
+            final String fragmentPath = path;
+
+            // resolving a fragment of a document already in memory is cheap, so can happen within the map's own locking
+            return schemas.computeIfAbsent(id, fragmentId -> new Schema(fragmentId, fragmentResolver.resolve(grandParent, fragmentPath, refFragmentPathDelimiters), grandParent));
         }
 
         return create(id, refFragmentPathDelimiters);
@@ -145,8 +195,9 @@ public class SchemaStore {
         return parent != null && (parent.getId() == null || parent.getId().toString().startsWith("#/")) && path.startsWith("#");
     }
 
-    public synchronized void clearCache() {
+    public void clearCache() {
         schemas.clear();
+        fragmentResolver.clearCache();
     }
 
 }
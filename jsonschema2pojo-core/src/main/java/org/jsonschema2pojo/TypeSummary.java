@@ -0,0 +1,243 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A summary of the values found at one location in some example JSON: how
+ * many values of each kind were seen, the range of any integers and, for
+ * objects and arrays, summaries of their properties and items. A summary
+ * takes space in proportion to the structure of the examples, not to the
+ * number of values they contain.
+ * <p>
+ * Where examples disagree on the kind of a value, the schema uses the last
+ * kind seen, except that integers are widened to numbers and nulls are
+ * ignored in favour of any other kind.
+ * <p>
+ * Summaries of separate examples can be combined with {@link #merge}, which
+ * is associative, so examples may be summarized in parallel and merged in any
+ * grouping provided their order is kept.
+ */
+class TypeSummary {
+
+    private enum Kind {
+        OBJECT, ARRAY, STRING, NUMBER, BOOLEAN
+    }
+
+    private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+    private long nullCount;
+    private final long[] kindCounts = new long[Kind.values().length];
+    private Kind lastKind;
+
+    private long fractionalCount;
+    private long minInteger = Long.MAX_VALUE;
+    private long maxInteger = Long.MIN_VALUE;
+    private boolean bigInteger;
+
+    private Map<String, TypeSummary> properties;
+    private TypeSummary items;
+
+    void observeNull() {
+        nullCount++;
+    }
+
+    void observeBoolean() {
+        observe(Kind.BOOLEAN);
+    }
+
+    void observeString() {
+        observe(Kind.STRING);
+    }
+
+    void observeInteger(long value) {
+        observe(Kind.NUMBER);
+        minInteger = Math.min(minInteger, value);
+        maxInteger = Math.max(maxInteger, value);
+    }
+
+    /**
+     * Records an integer too large to be held in a <code>long</code>.
+     */
+    void observeBigInteger() {
+        observe(Kind.NUMBER);
+        bigInteger = true;
+    }
+
+    /**
+     * Records a number with a fractional part (or exponent).
+     */
+    void observeNumber() {
+        observe(Kind.NUMBER);
+        fractionalCount++;
+    }
+
+    /**
+     * Records an object, whose property values should then be recorded in the
+     * summaries returned by {@link #property(String)}.
+     */
+    void observeObject() {
+        observe(Kind.OBJECT);
+        if (properties == null) {
+            properties = new LinkedHashMap<>();
+        }
+    }
+
+    TypeSummary property(String name) {
+        return properties.computeIfAbsent(name, n -> new TypeSummary());
+    }
+
+    /**
+     * Records an array, whose items should then be recorded in the summary
+     * returned by {@link #items()}.
+     */
+    void observeArray() {
+        observe(Kind.ARRAY);
+    }
+
+    TypeSummary items() {
+        if (items == null) {
+            items = new TypeSummary();
+        }
+        return items;
+    }
+
+    /**
+     * Adds the values recorded by another summary to this one, as if they had
+     * been recorded here after the values already seen.
+     *
+     * @param other
+     *            a summary of later values (not modified)
+     * @return this summary
+     */
+    TypeSummary merge(TypeSummary other) {
+        nullCount += other.nullCount;
+        for (int i = 0; i < kindCounts.length; i++) {
+            kindCounts[i] += other.kindCounts[i];
+        }
+        if (other.lastKind != null) {
+            lastKind = other.lastKind;
+        }
+
+        fractionalCount += other.fractionalCount;
+        minInteger = Math.min(minInteger, other.minInteger);
+        maxInteger = Math.max(maxInteger, other.maxInteger);
+        bigInteger |= other.bigInteger;
+
+        if (other.properties != null) {
+            if (properties == null) {
+                properties = new LinkedHashMap<>();
+            }
+            for (Map.Entry<String, TypeSummary> property : other.properties.entrySet()) {
+                property(property.getKey()).merge(property.getValue());
+            }
+        }
+        if (other.items != null) {
+            items().merge(other.items);
+        }
+
+        return this;
+    }
+
+    /**
+     * @return a schema that describes all the values recorded
+     */
+    ObjectNode toSchema() {
+        return toSchema(false);
+    }
+
+    /**
+     * @param markRequired
+     *            whether to list (in <code>required</code>) the properties that
+     *            have a non-null value in every object recorded
+     * @return a schema that describes all the values recorded
+     */
+    ObjectNode toSchema(boolean markRequired) {
+        ObjectNode schema = NODE_FACTORY.objectNode();
+
+        if (lastKind == null) {
+            schema.put("type", "null");
+            return schema;
+        }
+
+        switch (lastKind) {
+            case OBJECT:
+                schema.put("type", "object");
+                ObjectNode propertySchemas = schema.putObject("properties");
+                for (Map.Entry<String, TypeSummary> property : properties.entrySet()) {
+                    propertySchemas.set(property.getKey(), property.getValue().toSchema(markRequired));
+                }
+                if (markRequired) {
+                    ArrayNode required = NODE_FACTORY.arrayNode();
+                    for (Map.Entry<String, TypeSummary> property : properties.entrySet()) {
+                        if (property.getValue().nonNullCount() == kindCounts[Kind.OBJECT.ordinal()]) {
+                            required.add(property.getKey());
+                        }
+                    }
+                    if (required.size() > 0) {
+                        schema.set("required", required);
+                    }
+                }
+                break;
+            case ARRAY:
+                schema.put("type", "array");
+                if (items != null) {
+                    schema.set("items", items.toSchema(markRequired));
+                }
+                break;
+            case STRING:
+                schema.put("type", "string");
+                break;
+            case BOOLEAN:
+                schema.put("type", "boolean");
+                break;
+            default:
+                if (fractionalCount > 0) {
+                    schema.put("type", "number");
+                } else {
+                    schema.put("type", "integer");
+                    if (bigInteger || minInteger < Integer.MIN_VALUE || maxInteger > Integer.MAX_VALUE) {
+                        // longs are 'integers' in schema terms
+                        schema.put("minimum", Long.MAX_VALUE);
+                    }
+                }
+                break;
+        }
+
+        return schema;
+    }
+
+    private long nonNullCount() {
+        long count = 0;
+        for (long kindCount : kindCounts) {
+            count += kindCount;
+        }
+        return count;
+    }
+
+    private void observe(Kind kind) {
+        kindCounts[kind.ordinal()]++;
+        lastKind = kind;
+    }
+
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo.rules;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jsonschema2pojo.Schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+
+/**
+ * Generates a streaming serializer and deserializer alongside a class created
+ * by the {@link ObjectRule} (or an enum created by the {@link EnumRule}), for
+ * the JSON library selected by the annotation style, so that no reflection is
+ * needed to read or write instances of the type at runtime.
+ * <p>
+ * Classes that rely on features the generated code cannot reproduce are left
+ * untouched, and the library falls back to its default (reflective) handling.
+ */
+public class AdapterRule implements Rule<JDefinedClass, JDefinedClass> {
+
+    static final String ADDITIONAL_PROPERTIES_FIELD = "additionalProperties";
+
+    private final RuleFactory ruleFactory;
+
+    protected AdapterRule(RuleFactory ruleFactory) {
+        this.ruleFactory = ruleFactory;
+    }
+
+    /**
+     * Applies this schema rule to take the required code generation steps.
+     *
+     * @param nodeName
+     *            the name of the schema node that produced the class
+     * @param node
+     *            the object (or enum) schema that produced the class
+     * @param parent
+     *            the parent node
+     * @param jclass
+     *            the fully populated class (properties, accessors and
+     *            additional properties, or enum constants, have already been
+     *            added)
+     * @return the given class
+     */
+    @Override
+    public JDefinedClass apply(String nodeName, JsonNode node, JsonNode parent, JDefinedClass jclass, Schema schema) {
+
+        boolean isEnum = jclass.getClassType() == ClassType.ENUM;
+
+        switch (ruleFactory.getGenerationConfig().getAnnotationStyle()) {
+            case JACKSON:
+            case JACKSON2:
+                // enums are already handled without reflection, using @JsonValue and @JsonCreator
+                if (!isEnum) {
+                    new JacksonAdapterGenerator(ruleFactory).generate(jclass, getProperties(node, jclass));
+                }
+                break;
+            case GSON:
+                if (isEnum) {
+                    new GsonAdapterGenerator(ruleFactory).generateForEnum(jclass, getEnumValues(node));
+                } else {
+                    new GsonAdapterGenerator(ruleFactory).generate(jclass, getProperties(node, jclass));
+                }
+                break;
+            case MOSHI1:
+                if (isEnum) {
+                    new MoshiAdapterGenerator(ruleFactory).generateForEnum(jclass, getEnumValues(node));
+                } else {
+                    new MoshiAdapterGenerator(ruleFactory).generate(jclass, getProperties(node, jclass));
+                }
+                break;
+            default:
+                break;
+        }
+
+        return jclass;
+    }
+
+    /**
+     * @return the JSON values of an enum, in the order of the constants
+     *         created by the {@link EnumRule}
+     */
+    private List<String> getEnumValues(JsonNode node) {
+        List<String> values = new ArrayList<>();
+
+        for (JsonNode value : node.path("enum")) {
+            if (!value.isNull()) {
+                values.add(value.asText());
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * @return the fields declared by the given class for the schema
+     *         properties, in schema order, keyed by JSON property name
+     */
+    private Map<String, JFieldVar> getProperties(JsonNode node, JDefinedClass jclass) {
+        Map<String, JFieldVar> properties = new LinkedHashMap<>();
+
+        if (node.has("properties")) {
+            for (Iterator<Map.Entry<String, JsonNode>> iterator = node.get("properties").fields(); iterator.hasNext();) {
+                Map.Entry<String, JsonNode> property = iterator.next();
+                JFieldVar field = jclass.fields().get(ruleFactory.getNameHelper().getPropertyName(property.getKey(), property.getValue()));
+                if (field != null) {
+                    properties.put(property.getKey(), field);
+                }
+            }
+        }
+
+        return properties;
+    }
+
+}
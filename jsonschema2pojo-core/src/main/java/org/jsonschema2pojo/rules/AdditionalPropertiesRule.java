@@ -24,12 +24,14 @@ import java.util.Spliterators;
 import java.util.stream.StreamSupport;
 
 import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.util.ImmutableHelper;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.sun.codemodel.JBlock;
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JInvocation;
 import com.sun.codemodel.JMethod;
@@ -97,6 +99,11 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
             return jclass;
         }
 
+        if (ruleFactory.getReflectionHelper().isRecord(jclass)) {
+            // records have no fields other than their components
+            return jclass;
+        }
+
         if (!ruleFactory.getAnnotator().isAdditionalPropertiesSupported()) {
             // schema allows additional properties, but serializer library can't support them
             return jclass;
@@ -119,15 +126,19 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
 
         JFieldVar field = addAdditionalPropertiesField(jclass, propertyType);
 
-        addGetter(jclass, field);
+        // immutable types are given additional properties by their constructors (see ConstructorRule), and only
+        // deserializers may add to them later, through a private setter
+        boolean isImmutable = ruleFactory.getGenerationConfig().isImmutable();
+
+        addGetter(jclass, field, isImmutable);
 
-        addSetter(jclass, propertyType, field);
+        addSetter(jclass, propertyType, field, isImmutable ? JMod.PRIVATE : JMod.PUBLIC);
 
         if (ruleFactory.getGenerationConfig().isIncludeJsr303Annotations()) {
             ruleFactory.getValidRule().apply(nodeName, node, parent, field, schema);
         }
 
-        if (ruleFactory.getGenerationConfig().isGenerateBuilders()) {
+        if (ruleFactory.getGenerationConfig().isGenerateBuilders() && !isImmutable) {
             addBuilder(jclass, propertyType, field);
         }
 
@@ -150,8 +161,8 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
         return field;
     }
 
-    private void addSetter(JDefinedClass jclass, JType propertyType, JFieldVar field) {
-        JMethod setter = jclass.method(JMod.PUBLIC, void.class, "setAdditionalProperty");
+    private void addSetter(JDefinedClass jclass, JType propertyType, JFieldVar field, int mods) {
+        JMethod setter = jclass.method(mods, void.class, "setAdditionalProperty");
 
         ruleFactory.getAnnotator().anySetter(setter, jclass);
 
@@ -163,12 +174,13 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
         mapInvocation.arg(valueParam);
     }
 
-    private JMethod addGetter(JDefinedClass jclass, JFieldVar field) {
+    private JMethod addGetter(JDefinedClass jclass, JFieldVar field, boolean isImmutable) {
         JMethod getter = jclass.method(JMod.PUBLIC, field.type(), "getAdditionalProperties");
 
         ruleFactory.getAnnotator().anyGetter(getter, jclass);
 
-        getter.body()._return(JExpr._this().ref(field));
+        JExpression value = JExpr._this().ref(field);
+        getter.body()._return(isImmutable ? ImmutableHelper.readOnly(field.type(), value) : value);
         return getter;
     }
 
@@ -63,6 +63,9 @@ public class BuilderRule implements Rule<JDefinedClass, JDefinedClass> {
       concreteBuilderClass = instanceClass._class(JMod.PUBLIC + JMod.STATIC, concreteBuilderClassName);
       concreteBuilderClass._extends(builderClass.narrow(instanceClass));
 
+      reflectionHelper.addNestedClass(builderClass);
+      reflectionHelper.addNestedClass(concreteBuilderClass);
+
     } catch (JClassAlreadyExistsException e) {
       return e.getExistingClass();
     }
@@ -18,6 +18,7 @@ package org.jsonschema2pojo.rules;
 
 import java.beans.ConstructorProperties;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -30,6 +31,7 @@ import java.util.Set;
 
 import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.util.ImmutableHelper;
 import org.jsonschema2pojo.util.NameHelper;
 import org.jsonschema2pojo.util.ReflectionHelper;
 
@@ -40,6 +42,7 @@ import com.sun.codemodel.JClass;
 import com.sun.codemodel.JConditional;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JInvocation;
 import com.sun.codemodel.JMethod;
@@ -48,6 +51,8 @@ import com.sun.codemodel.JVar;
 
 public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
 
+  private static final String ADDITIONAL_PROPERTIES = "additionalProperties";
+
   private final RuleFactory ruleFactory;
   private final ReflectionHelper reflectionHelper;
 
@@ -60,7 +65,9 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
   public JDefinedClass apply(String nodeName, JsonNode node, JsonNode parent, JDefinedClass instanceClass, Schema currentSchema) {
     GenerationConfig generationConfig = ruleFactory.getGenerationConfig();
 
-    if (generationConfig.isConstructorsRequiredPropertiesOnly()) {
+    if (generationConfig.isImmutable()) {
+      handleImmutableConfiguration(node, instanceClass, currentSchema);
+    } else if (generationConfig.isConstructorsRequiredPropertiesOnly()) {
       handleLegacyConfiguration(node, instanceClass, currentSchema);
     } else {
       handleMultiChoiceConstructorConfiguration(node, instanceClass, currentSchema);
@@ -89,9 +96,29 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     return instanceClass;
   }
 
+  private void handleImmutableConfiguration(JsonNode node, JDefinedClass instanceClass, Schema currentSchema) {
+    GenerationConfig generationConfig = ruleFactory.getGenerationConfig();
+    boolean includeConstructors = generationConfig.isIncludeConstructors();
+
+    // Immutable types can only be created through constructors, so they always get a no arguments constructor
+    // (which assigns the final fields their defaults) and a constructor taking all the properties
+    handleMultiChoiceConstructorConfiguration(node, instanceClass, currentSchema, true,
+        includeConstructors && generationConfig.isIncludeCopyConstructor(),
+        true,
+        includeConstructors && (generationConfig.isIncludeRequiredPropertiesConstructor() || generationConfig.isConstructorsRequiredPropertiesOnly()));
+  }
+
   private void handleMultiChoiceConstructorConfiguration(JsonNode node, JDefinedClass instanceClass, Schema currentSchema) {
-    // Use this flag to keep track of whether or not we'll actually need to generate any constructors
-    boolean requiresConstructors = false;
+    GenerationConfig generationConfig = ruleFactory.getGenerationConfig();
+
+    handleMultiChoiceConstructorConfiguration(node, instanceClass, currentSchema, false,
+        generationConfig.isIncludeCopyConstructor(),
+        generationConfig.isIncludeAllPropertiesConstructor(),
+        generationConfig.isIncludeRequiredPropertiesConstructor());
+  }
+
+  private void handleMultiChoiceConstructorConfiguration(JsonNode node, JDefinedClass instanceClass, Schema currentSchema,
+      boolean requiresConstructors, boolean includeCopyConstructor, boolean includeAllPropertiesConstructor, boolean includeRequiredPropertiesConstructor) {
 
     // Use these lists to keep track of the properties on the class, but we'll only populate them if we need to
     LinkedHashSet<String> requiredClassProperties = null;
@@ -99,14 +126,15 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     LinkedHashSet<String> requiredCombinedSuperProperties = null;
     LinkedHashSet<String> combinedSuperProperties = null;
 
-    GenerationConfig generationConfig = ruleFactory.getGenerationConfig();
-    boolean includeCopyConstructor = generationConfig.isIncludeCopyConstructor();
-    boolean includeAllPropertiesConstructor = generationConfig.isIncludeAllPropertiesConstructor();
-    boolean includeRequiredPropertiesConstructor = generationConfig.isIncludeRequiredPropertiesConstructor();
-
     if (includeAllPropertiesConstructor || includeCopyConstructor) {
-      classProperties = getConstructorProperties(node, false);
-      combinedSuperProperties = getSuperTypeConstructorPropertiesRecursive(node, currentSchema, false);
+      if (ruleFactory.getGenerationConfig().isImmutable()) {
+        // Immutable types can only be given additional properties by their constructors
+        classProperties = getConstructorProperties(node, false, instanceClass);
+        combinedSuperProperties = getSuperTypeConstructorPropertiesRecursive(node, currentSchema, false, instanceClass._extends());
+      } else {
+        classProperties = getConstructorProperties(node, false);
+        combinedSuperProperties = getSuperTypeConstructorPropertiesRecursive(node, currentSchema, false);
+      }
 
       // If we're generating a copy constructor / field constructor but there are no properties then there is
       // no need to actually generate any constructors.
@@ -146,7 +174,7 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     JMethod instanceConstructor = generateFieldsConstructor(instanceClass, classProperties, combinedSuperProperties);
 
     // If we're using InnerClassBuilder implementations then we also need to generate those
-    if (generationConfig.isGenerateBuilders() && generationConfig.isUseInnerClassBuilders()) {
+    if (generationConfig.isGenerateBuilders() && generationConfig.isUseInnerClassBuilders() && !generationConfig.isImmutable()) {
       JDefinedClass baseBuilderClass = ruleFactory.getReflectionHelper().getBaseBuilderClass(instanceClass);
       JDefinedClass concreteBuilderClass = ruleFactory.getReflectionHelper().getConcreteBuilderClass(instanceClass);
 
@@ -161,7 +189,7 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     JMethod instanceConstructor = generateCopyConstructor(instanceClass, classProperties, combinedSuperProperties);
 
     // If we're using InnerClassBuilder implementations then we also need to generate those
-    if (generationConfig.isGenerateBuilders() && generationConfig.isUseInnerClassBuilders()) {
+    if (generationConfig.isGenerateBuilders() && generationConfig.isUseInnerClassBuilders() && !generationConfig.isImmutable()) {
       JDefinedClass baseBuilderClass = ruleFactory.getReflectionHelper().getBaseBuilderClass(instanceClass);
       JDefinedClass concreteBuilderClass = ruleFactory.getReflectionHelper().getConcreteBuilderClass(instanceClass);
 
@@ -218,10 +246,30 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     return rtn;
   }
 
+  /**
+   * As {@link #getConstructorProperties(JsonNode, boolean)}, followed by the additional properties of the given class
+   * (if it has them)
+   */
+  private LinkedHashSet<String> getConstructorProperties(JsonNode node, boolean onlyRequired, JClass jclass) {
+    LinkedHashSet<String> rtn = getConstructorProperties(node, onlyRequired);
+    if (jclass instanceof JDefinedClass && ((JDefinedClass) jclass).fields().containsKey(ADDITIONAL_PROPERTIES)) {
+      rtn.add(ADDITIONAL_PROPERTIES);
+    }
+    return rtn;
+  }
+
   /**
    * Recursive, walks the schema tree and assembles a list of all properties of this schema's super schemas
    */
   private LinkedHashSet<String> getSuperTypeConstructorPropertiesRecursive(JsonNode node, Schema schema, boolean onlyRequired) {
+    return getSuperTypeConstructorPropertiesRecursive(node, schema, onlyRequired, null);
+  }
+
+  /**
+   * As {@link #getSuperTypeConstructorPropertiesRecursive(JsonNode, Schema, boolean)}, including the additional
+   * properties of the given superclass and its own superclasses (in the order their constructors take them)
+   */
+  private LinkedHashSet<String> getSuperTypeConstructorPropertiesRecursive(JsonNode node, Schema schema, boolean onlyRequired, JClass superClass) {
     Schema superTypeSchema = reflectionHelper.getSuperSchema(node, schema, true);
 
     if (superTypeSchema == null) {
@@ -230,8 +278,9 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
 
     JsonNode superSchemaNode = superTypeSchema.getContent();
 
-    LinkedHashSet<String> rtn = getConstructorProperties(superSchemaNode, onlyRequired);
-    rtn.addAll(getSuperTypeConstructorPropertiesRecursive(superSchemaNode, superTypeSchema, onlyRequired));
+    LinkedHashSet<String> rtn = getConstructorProperties(superSchemaNode, onlyRequired, superClass);
+    JClass superSuperClass = superClass instanceof JDefinedClass ? superClass._extends() : null;
+    rtn.addAll(getSuperTypeConstructorPropertiesRecursive(superSchemaNode, superTypeSchema, onlyRequired, superSuperClass));
 
     return rtn;
   }
@@ -336,6 +385,8 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
           .ref(field), copyConstructorParam.ref(field));
     }
 
+    assignInitialValues(jclass, constructorBody, classProperties);
+
     return copyConstructorResult;
   }
 
@@ -373,12 +424,13 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
       }
 
       JVar param = fieldsConstructor.param(field.type(), field.name());
+      // immutable types copy whatever the caller could change afterwards
       constructorBody.assign(JExpr._this()
-          .ref(field), param);
+          .ref(field), generationConfig.isImmutable() ? ImmutableHelper.copyOf(field.type(), param) : param);
       classFieldParams.put(property, param);
     }
 
-    List<JVar> superConstructorParams = new ArrayList<>();
+    List<JExpression> superConstructorParams = new ArrayList<>();
 
     for (String property : combinedSuperProperties) {
       JFieldVar field = reflectionHelper.searchSuperClassesForField(property, jclass);
@@ -387,6 +439,14 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
         throw new IllegalStateException("Property " + property + " hasn't been added to JDefinedClass before calling addConstructors");
       }
 
+      if (property.equals(ADDITIONAL_PROPERTIES) && classFieldParams.containsKey(property)) {
+        // The additional properties of this class hide those of its superclass, which are left empty (as they are
+        // when an instance is deserialized)
+        JClass mapType = (JClass) field.type();
+        superConstructorParams.add(JExpr._new(jclass.owner().ref(HashMap.class).narrow(mapType.getTypeParameters())));
+        continue;
+      }
+
       JVar param = classFieldParams.get(property);
 
       if (param == null) {
@@ -402,10 +462,12 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
       superConstructorParams.add(param);
     }
 
-    for (JVar param : superConstructorParams) {
+    for (JExpression param : superConstructorParams) {
       superInvocation.arg(param);
     }
 
+    assignInitialValues(jclass, constructorBody, classProperties);
+
     return fieldsConstructor;
   }
 
@@ -414,5 +476,25 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     JMethod noargsConstructor = jclass.constructor(JMod.PUBLIC);
     noargsConstructor.javadoc()
         .add("No args constructor for use in serialization");
+
+    assignInitialValues(jclass, noargsConstructor.body(), Collections.emptySet());
+  }
+
+  /**
+   * Assigns each final field of the class that a constructor doesn't otherwise assign its initial value (final fields
+   * have no initializers, see {@link DefaultRule}). Default collections of immutable types can't be changed either.
+   */
+  private void assignInitialValues(JDefinedClass jclass, JBlock constructorBody, Set<String> assignedProperties) {
+    for (JFieldVar field : jclass.fields().values()) {
+      int mods = field.mods().getValue();
+      if ((mods & JMod.FINAL) != 0 && (mods & JMod.STATIC) == 0 && !assignedProperties.contains(field.name())) {
+        JExpression initialValue = reflectionHelper.getInitialValue(field);
+        if (ruleFactory.getGenerationConfig().isImmutable() && reflectionHelper.hasInitialValue(field)) {
+          initialValue = ImmutableHelper.unmodifiable(field.type(), initialValue);
+        }
+        constructorBody.assign(JExpr._this()
+            .ref(field), initialValue);
+      }
+    }
   }
 }
@@ -44,6 +44,7 @@ import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMod;
 import com.sun.codemodel.JType;
 
 /**
@@ -65,7 +66,8 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
      * <p>
      * Default values are implemented by assigning an expression to the given
      * field (so when instances of the generated POJO are created, its fields
-     * will then contain their default values).
+     * will then contain their default values). Final fields are instead given
+     * their default values by the constructors of the generated POJO.
      * <p>
      * Collections (Lists and Sets) are initialized to an empty collection, even
      * when no default value is present in the schema (node is null).
@@ -88,23 +90,36 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
         String fieldType = field.type().fullName();
 
         if (defaultPresent && !field.type().isPrimitive() && node.isNull()) {
-            field.init(JExpr._null());
+            initialize(field, JExpr._null());
 
         } else if (fieldType.startsWith(List.class.getName())) {
-            field.init(getDefaultList(field.type(), node));
+            initialize(field, getDefaultList(field.type(), node));
 
         } else if (fieldType.startsWith(Set.class.getName())) {
-            field.init(getDefaultSet(field.type(), node));
+            initialize(field, getDefaultSet(field.type(), node));
         } else if (fieldType.startsWith(String.class.getName()) && node != null ) {
-            field.init(getDefaultValue(field.type(), node));
+            initialize(field, getDefaultValue(field.type(), node));
         } else if (defaultPresent) {
-            field.init(getDefaultValue(field.type(), node));
+            initialize(field, getDefaultValue(field.type(), node));
 
         }
 
         return field;
     }
 
+    /**
+     * Assigns the initial value of a field. Final fields can't have an
+     * initializer as well as being assigned by constructors, so their initial
+     * value is recorded for the constructors to assign instead.
+     */
+    private void initialize(JFieldVar field, JExpression initialValue) {
+        if ((field.mods().getValue() & JMod.FINAL) != 0) {
+            ruleFactory.getReflectionHelper().setInitialValue(field, initialValue);
+        } else {
+            field.init(initialValue);
+        }
+    }
+
     static JExpression getDefaultValue(JType fieldType, JsonNode node) {
         return getDefaultValue(fieldType, node.asText());
     }
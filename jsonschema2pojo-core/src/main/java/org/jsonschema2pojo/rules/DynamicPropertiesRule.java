@@ -96,13 +96,15 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         if (!ruleFactory.getGenerationConfig().isIncludeDynamicAccessors() ||
                 (!ruleFactory.getGenerationConfig().isIncludeDynamicSetters() &&
                 !ruleFactory.getGenerationConfig().isIncludeDynamicGetters() &&
-                !ruleFactory.getGenerationConfig().isIncludeDynamicBuilders())) {
+                !ruleFactory.getGenerationConfig().isIncludeDynamicBuilders()) ||
+                ruleFactory.getReflectionHelper().isRecord(jclass)) {
             return jclass;
         }
 
         boolean isIncludeGetters = ruleFactory.getGenerationConfig().isIncludeGetters();
-        boolean isIncludeSetters = ruleFactory.getGenerationConfig().isIncludeSetters();
-        boolean isGenerateBuilders = ruleFactory.getGenerationConfig().isGenerateBuilders();
+        boolean isImmutable = ruleFactory.getGenerationConfig().isImmutable();
+        boolean isIncludeSetters = ruleFactory.getGenerationConfig().isIncludeSetters() && !isImmutable;
+        boolean isGenerateBuilders = ruleFactory.getGenerationConfig().isGenerateBuilders() && !isImmutable;
 
         if (isIncludeGetters || isIncludeSetters || isGenerateBuilders) {
             if (LanguageFeatures.canUseJava7(ruleFactory.getGenerationConfig())) {
@@ -167,6 +167,10 @@ public class EnumRule implements Rule<JClassContainer, JType> {
 
         applyCustomizations(enumDefinition, _enum);
 
+        if (ruleFactory.getGenerationConfig() != null && ruleFactory.getGenerationConfig().isGenerateAdapters()) {
+            ruleFactory.getAdapterRule().apply(nodeName, node, parent, _enum, schema);
+        }
+
         return _enum;
     }
 
@@ -357,7 +361,11 @@ public class EnumRule implements Rule<JClassContainer, JType> {
                 }
             } else {
                 try {
-                    return container._class(JMod.PUBLIC, getEnumName(nodeName, node, container), ClassType.ENUM);
+                    JDefinedClass _enum = container._class(JMod.PUBLIC, getEnumName(nodeName, node, container), ClassType.ENUM);
+                    if (container.isClass()) {
+                        ruleFactory.getReflectionHelper().addNestedClass(_enum);
+                    }
+                    return _enum;
                 } catch (JClassAlreadyExistsException e) {
                     throw new GenerationException(e);
                 }
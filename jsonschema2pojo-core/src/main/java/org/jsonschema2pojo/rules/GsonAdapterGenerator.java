@@ -0,0 +1,608 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JAnnotatable;
+import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JArray;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JCatchBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldRef;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JTryBlock;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JTypeVar;
+import com.sun.codemodel.JVar;
+import com.sun.codemodel.JWhileLoop;
+
+/**
+ * Generates a Gson {@link TypeAdapter} as a nested class of a generated type
+ * (class or enum), and a {@link TypeAdapterFactory} for each package that
+ * creates these adapters. Types are registered with the factory using
+ * {@link JsonAdapter @JsonAdapter}, so that Gson uses the adapters without any
+ * configuration (the factory can also be registered with a
+ * <code>GsonBuilder</code>).
+ * <p>
+ * The nested classes read and write fields directly (they don't need accessors)
+ * using the streaming API, with a switch on the property name when reading.
+ * Strings, booleans and the common number types are read and written directly
+ * where the JSON allows it, other values are handed to the adapters Gson would
+ * use for them anyway, looked up once per adapter. Inherited properties are
+ * handled by the adapter of the (generated) superclass. Enums are read and
+ * written using the names given by their {@link SerializedName @SerializedName}
+ * annotations.
+ */
+class GsonAdapterGenerator {
+
+    static final String ADAPTER_NAME = "GsonTypeAdapter";
+    static final String FACTORY_NAME = "GsonTypeAdapterFactory";
+
+    private static final String SUPER_ADAPTER = "superAdapter";
+
+    /**
+     * Gson annotations added by the annotator that the generated code honours.
+     */
+    private static final Set<String> SUPPORTED_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            SerializedName.class.getName(),
+            Expose.class.getName()));
+
+    private final RuleFactory ruleFactory;
+
+    GsonAdapterGenerator(RuleFactory ruleFactory) {
+        this.ruleFactory = ruleFactory;
+    }
+
+    /**
+     * Adds a type adapter to the given class.
+     *
+     * @param jclass
+     *            the class to read and write
+     * @param properties
+     *            the fields declared by the class for schema properties, keyed
+     *            by JSON property name
+     */
+    void generate(JDefinedClass jclass, Map<String, JFieldVar> properties) {
+
+        String unsupported = findUnsupportedFeature(jclass, properties);
+
+        if (unsupported != null) {
+            ruleFactory.getLogger().debug("Not generating a Gson type adapter for " + jclass.fullName() + ", " + unsupported);
+            return;
+        }
+
+        JDefinedClass superClass = hasAdapter(jclass._extends()) ? (JDefinedClass) jclass._extends() : null;
+
+        try {
+            register(jclass, addClassAdapter(jclass, properties, superClass), true);
+        } catch (JClassAlreadyExistsException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Adds a type adapter to the given enum.
+     *
+     * @param _enum
+     *            the enum to read and write
+     * @param values
+     *            the JSON value of each enum constant, in declaration order
+     */
+    void generateForEnum(JDefinedClass _enum, List<String> values) {
+
+        String unsupported = findUnsupportedNesting(_enum);
+        if (unsupported == null) {
+            unsupported = findUnsupportedAnnotation(_enum);
+        }
+
+        if (unsupported != null) {
+            ruleFactory.getLogger().debug("Not generating a Gson type adapter for " + _enum.fullName() + ", " + unsupported);
+            return;
+        }
+
+        try {
+            register(_enum, addEnumAdapter(_enum, values), false);
+        } catch (JClassAlreadyExistsException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String findUnsupportedFeature(JDefinedClass jclass, Map<String, JFieldVar> properties) {
+
+        if (!jclass._extends().fullName().equals(Object.class.getName()) && !hasAdapter(jclass._extends())) {
+            return "superclass " + jclass._extends().fullName() + " has no generated type adapter";
+        }
+
+        String unsupported = findUnsupportedNesting(jclass);
+        if (unsupported != null) {
+            return unsupported;
+        }
+
+        unsupported = findUnsupportedAnnotation(jclass);
+        if (unsupported != null) {
+            return unsupported;
+        }
+
+        for (JFieldVar field : jclass.fields().values()) {
+            if ((field.mods().getValue() & (JMod.STATIC | JMod.TRANSIENT)) == 0) {
+                if ((field.mods().getValue() & JMod.FINAL) != 0) {
+                    return "property " + field.name() + " is final";
+                }
+                unsupported = findUnsupportedAnnotation(field);
+                if (unsupported != null) {
+                    return unsupported + " on " + field.name();
+                }
+                if (!properties.containsValue(field)) {
+                    return "field " + field.name() + " is not a schema property";
+                }
+                if (searchSuperClassesForField(field.name(), jclass) != null) {
+                    return "property " + field.name() + " hides a property of the superclass";
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private String findUnsupportedNesting(JDefinedClass jclass) {
+        for (Iterator<JDefinedClass> nested = jclass.classes(); nested.hasNext();) {
+            if (nested.next().name().equals(ADAPTER_NAME)) {
+                return "a nested class named " + ADAPTER_NAME + " already exists";
+            }
+        }
+
+        JDefinedClass factory = jclass.getPackage()._getClass(FACTORY_NAME);
+        if (factory != null && !isFactory(factory)) {
+            return "a class named " + FACTORY_NAME + " already exists in package " + jclass.getPackage().name();
+        }
+
+        return null;
+    }
+
+    private static boolean isFactory(JDefinedClass jclass) {
+        for (Iterator<JClass> interfaces = jclass._implements(); interfaces.hasNext();) {
+            if (interfaces.next().fullName().equals(TypeAdapterFactory.class.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String findUnsupportedAnnotation(JAnnotatable annotatable) {
+        for (JAnnotationUse annotation : annotatable.annotations()) {
+            String name = annotation.getAnnotationClass().fullName();
+            if (name.startsWith("com.google.gson.") && !SUPPORTED_ANNOTATIONS.contains(name)) {
+                return "@" + annotation.getAnnotationClass().name() + " is not supported";
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasAdapter(JClass jclass) {
+        return jclass instanceof JDefinedClass && findNestedClass((JDefinedClass) jclass, ADAPTER_NAME) != null;
+    }
+
+    private static JFieldVar searchSuperClassesForField(String name, JDefinedClass jclass) {
+        for (JClass c = jclass._extends(); c instanceof JDefinedClass; c = c._extends()) {
+            JFieldVar field = ((JDefinedClass) c).fields().get(name);
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the given type to the type adapter factory of its package (creating
+     * the factory if this is the first type in the package) and registers the
+     * factory on the type.
+     */
+    private void register(JDefinedClass type, JDefinedClass adapter, boolean needsGson) throws JClassAlreadyExistsException {
+        JPackage _package = type.getPackage();
+        JDefinedClass factory = _package._getClass(FACTORY_NAME);
+        if (factory == null) {
+            factory = addFactory(_package);
+        }
+
+        JMethod create = findMethod(factory, "create");
+        JBlock body = create.body();
+        JVar gson = create.listParams()[0];
+        JVar rawType = (JVar) body.getContents().get(0);
+
+        // keep the final 'return null' last
+        body.pos(body.getContents().size() - 1);
+        JInvocation newAdapter = JExpr._new(adapter);
+        if (needsGson) {
+            newAdapter.arg(gson);
+        }
+        body._if(rawType.eq(type.dotclass()))._then()._return(JExpr.cast(factory.owner().ref(TypeAdapter.class).narrow(create.typeParams()[0]), newAdapter));
+        body.pos(body.getContents().size());
+
+        JAnnotationUse jsonAdapter = type.annotate(JsonAdapter.class);
+        jsonAdapter.param("value", factory);
+        jsonAdapter.param("nullSafe", false);
+    }
+
+    private JDefinedClass addFactory(JPackage _package) throws JClassAlreadyExistsException {
+        JCodeModel codeModel = _package.owner();
+
+        JDefinedClass factory = _package._class(JMod.PUBLIC, FACTORY_NAME);
+        factory._implements(TypeAdapterFactory.class);
+        factory.javadoc().add("Creates the generated type adapters for the types in this package. Types refer to this factory using <code>@JsonAdapter</code>, so it doesn't need to be registered with Gson.");
+
+        JMethod create = factory.method(JMod.PUBLIC, void.class, "create");
+        JTypeVar t = create.generify("T");
+        create.type(codeModel.ref(TypeAdapter.class).narrow(t));
+        create.annotate(Override.class);
+        create.annotate(SuppressWarnings.class).param("value", "unchecked");
+        create.param(Gson.class, "gson");
+        JVar type = create.param(codeModel.ref(TypeToken.class).narrow(t), "type");
+
+        create.body().decl(codeModel.ref(Class.class).narrow(codeModel.wildcard()), "rawType", type.invoke("getRawType"));
+        create.body()._return(JExpr._null());
+
+        return factory;
+    }
+
+    private JDefinedClass addClassAdapter(JDefinedClass jclass, Map<String, JFieldVar> properties, JDefinedClass superClass) throws JClassAlreadyExistsException {
+        JCodeModel codeModel = jclass.owner();
+        JClass jsonToken = codeModel.ref(JsonToken.class);
+
+        JDefinedClass adapter = jclass._class(JMod.PUBLIC | JMod.STATIC, ADAPTER_NAME);
+        adapter._extends(codeModel.ref(TypeAdapter.class).narrow(jclass));
+        adapter.javadoc().add("Reads and writes {@link " + jclass.name() + "} instances without reflection.");
+
+        JFieldVar gsonField = null;
+        for (JFieldVar field : properties.values()) {
+            if (isSubclassable(field.type())) {
+                gsonField = adapter.field(JMod.PRIVATE | JMod.FINAL, Gson.class, "gson");
+                break;
+            }
+        }
+
+        JFieldVar superAdapter = null;
+        if (superClass != null) {
+            superAdapter = adapter.field(JMod.PRIVATE | JMod.FINAL, findNestedClass(superClass, ADAPTER_NAME), SUPER_ADAPTER);
+        }
+
+        JMethod constructor = adapter.constructor(JMod.PUBLIC);
+        JVar gson = constructor.param(Gson.class, "gson");
+        if (gsonField != null) {
+            constructor.body().assign(JExpr._this().ref(gsonField), gson);
+        }
+        if (superAdapter != null) {
+            constructor.body().assign(JExpr._this().ref(superAdapter), JExpr._new(superAdapter.type()).arg(gson));
+        }
+
+        JMethod write = adapter.method(JMod.PUBLIC, void.class, "write");
+        write.annotate(Override.class);
+        write._throws(IOException.class);
+        JVar out = write.param(JsonWriter.class, "out");
+        JVar value = write.param(jclass, "value");
+
+        JMethod writeProperties = adapter.method(JMod.PUBLIC, void.class, "writeProperties");
+        writeProperties.javadoc().add("Writes the declared properties of the given value (including inherited properties) as fields of the current object.");
+        writeProperties._throws(IOException.class);
+
+        JConditional isNull = write.body()._if(value.eq(JExpr._null()));
+        isNull._then().add(out.invoke("nullValue"));
+        isNull._else().add(out.invoke("beginObject"));
+        isNull._else().invoke(writeProperties).arg(out).arg(value);
+        isNull._else().add(out.invoke("endObject"));
+
+        JMethod read = adapter.method(JMod.PUBLIC, jclass, "read");
+        read.annotate(Override.class);
+        read._throws(IOException.class);
+        JVar in = read.param(JsonReader.class, "in");
+
+        JMethod readProperty = adapter.method(JMod.PUBLIC, boolean.class, "readProperty");
+        readProperty.javadoc().add("Reads the value of the named property (which may be inherited), if it is a declared property.");
+        readProperty.javadoc().addReturn().add("<code>true</code> if the property is a declared property and its value has been read, otherwise <code>false</code>");
+        readProperty._throws(IOException.class);
+
+        JBlock body = read.body();
+        JBlock readNull = body._if(in.invoke("peek").eq(jsonToken.staticRef("NULL")))._then();
+        readNull.add(in.invoke("nextNull"));
+        readNull._return(JExpr._null());
+
+        JVar readValue = body.decl(jclass, "value", JExpr._new(jclass));
+        JTryBlock tryBlock = body._try();
+        tryBlock.body().add(in.invoke("beginObject"));
+        JWhileLoop loop = tryBlock.body()._while(in.invoke("hasNext"));
+        loop.body()._if(JExpr.invoke(readProperty).arg(readValue).arg(in.invoke("nextName")).arg(in).not())._then().add(in.invoke("skipValue"));
+        tryBlock.body().add(in.invoke("endObject"));
+        JCatchBlock catchBlock = tryBlock._catch(codeModel.ref(IllegalStateException.class));
+        catchBlock.body()._throw(JExpr._new(codeModel.ref(JsonSyntaxException.class)).arg(catchBlock.param("e")));
+        body._return(readValue);
+
+        out = writeProperties.param(JsonWriter.class, "out");
+        value = writeProperties.param(jclass, "value");
+
+        JVar readInstance = readProperty.param(jclass, "value");
+        JVar name = readProperty.param(String.class, "name");
+        in = readProperty.param(JsonReader.class, "in");
+
+        JExpression notDeclared = superAdapter != null ? superAdapter.invoke(readProperty).arg(readInstance).arg(name).arg(in) : JExpr.FALSE;
+
+        JVar token = null;
+        JSwitch propertySwitch = null;
+        if (properties.isEmpty()) {
+            readProperty.body()._return(notDeclared);
+        } else {
+            token = readProperty.body().decl(jsonToken, "token", in.invoke("peek"));
+            propertySwitch = readProperty.body()._switch(name);
+        }
+
+        boolean unchecked = false;
+        for (Map.Entry<String, JFieldVar> property : properties.entrySet()) {
+            JFieldVar field = property.getValue();
+            JType type = field.type();
+
+            JFieldVar delegate = adapter.field(JMod.PRIVATE | JMod.FINAL, codeModel.ref(TypeAdapter.class).narrow(type.boxify()), field.name() + "Adapter");
+            constructor.body().assign(JExpr._this().ref(delegate), gson.invoke("getAdapter").arg(typeToken(type)));
+
+            writeProperties.body().add(out.invoke("name").arg(property.getKey()));
+            unchecked |= addWriteProperty(writeProperties.body(), JExpr.ref(value, field), type, delegate, gsonField, out);
+
+            JBlock block = propertySwitch._case(JExpr.lit(property.getKey())).body();
+            addReadProperty(block, JExpr.ref(readInstance, field), type, delegate, token, in);
+            block._return(JExpr.TRUE);
+        }
+
+        if (propertySwitch != null) {
+            propertySwitch._default().body()._return(notDeclared);
+        }
+
+        if (superAdapter != null) {
+            writeProperties.body().add(superAdapter.invoke(writeProperties).arg(out).arg(value));
+        }
+
+        if (unchecked) {
+            writeProperties.annotate(SuppressWarnings.class).param("value", "unchecked");
+        }
+
+        return adapter;
+    }
+
+    /**
+     * @return <code>true</code> if the code added needs an unchecked cast
+     */
+    private boolean addWriteProperty(JBlock body, JFieldRef ref, JType type, JFieldVar delegate, JFieldVar gson, JVar out) {
+
+        if (writesDirectly(type)) {
+            body.add(out.invoke("value").arg(ref));
+            return false;
+        }
+
+        if (isSubclassable(type)) {
+            // as Gson does for fields, prefer the adapter for the runtime type of the value
+            JConditional isDeclaredType = body._if(ref.eq(JExpr._null()).cor(ref.invoke("getClass").eq(((JClass) type).dotclass())));
+            isDeclaredType._then().add(delegate.invoke("write").arg(out).arg(ref));
+            JExpression runtimeAdapter = JExpr.cast(type.owner().ref(TypeAdapter.class).narrow(type), gson.invoke("getAdapter").arg(ref.invoke("getClass")));
+            isDeclaredType._else().add(runtimeAdapter.invoke("write").arg(out).arg(ref));
+            return true;
+        }
+
+        body.add(delegate.invoke("write").arg(out).arg(ref));
+        return false;
+    }
+
+    /**
+     * Gson writes these types with the {@link JsonWriter} method for the
+     * type, regardless of its configuration. Other numbers are affected by
+     * the long serialization policy and the handling of special floating
+     * point values.
+     */
+    private static boolean writesDirectly(JType type) {
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+            case "boolean":
+            case "int":
+            case "java.math.BigInteger":
+            case "java.math.BigDecimal":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void addReadProperty(JBlock block, JFieldRef ref, JType type, JFieldVar delegate, JVar token, JVar in) {
+        JClass jsonToken = type.owner().ref(JsonToken.class);
+
+        JExpression fastTest = null;
+        JExpression fastValue = null;
+        boolean numberFormat = false;
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+                fastTest = token.eq(jsonToken.staticRef("STRING"));
+                fastValue = in.invoke("nextString");
+                break;
+            case "boolean":
+                fastTest = token.eq(jsonToken.staticRef("BOOLEAN"));
+                fastValue = in.invoke("nextBoolean");
+                break;
+            case "int":
+                fastTest = token.eq(jsonToken.staticRef("NUMBER"));
+                fastValue = in.invoke("nextInt");
+                numberFormat = true;
+                break;
+            case "long":
+                fastTest = token.eq(jsonToken.staticRef("NUMBER"));
+                fastValue = in.invoke("nextLong");
+                numberFormat = true;
+                break;
+            case "double":
+                fastTest = token.eq(jsonToken.staticRef("NUMBER"));
+                fastValue = in.invoke("nextDouble");
+                break;
+            default:
+                break;
+        }
+
+        JBlock slow = block;
+        if (fastTest != null) {
+            JConditional isFast = block._if(fastTest);
+            if (numberFormat) {
+                // as Gson's own adapters do for integral values
+                JTryBlock tryBlock = isFast._then()._try();
+                tryBlock.body().assign(ref, fastValue);
+                JCatchBlock catchBlock = tryBlock._catch(type.owner().ref(NumberFormatException.class));
+                catchBlock.body()._throw(JExpr._new(type.owner().ref(JsonSyntaxException.class)).arg(catchBlock.param("e")));
+            } else {
+                isFast._then().assign(ref, fastValue);
+            }
+            slow = isFast._else();
+        }
+
+        if (type.isPrimitive()) {
+            // as Gson does, leave primitive fields untouched when the value is null
+            JConditional isNull = slow._if(token.eq(jsonToken.staticRef("NULL")));
+            isNull._then().add(in.invoke("nextNull"));
+            isNull._else().assign(ref, delegate.invoke("read").arg(in));
+        } else {
+            slow.assign(ref, delegate.invoke("read").arg(in));
+        }
+    }
+
+    private JDefinedClass addEnumAdapter(JDefinedClass _enum, List<String> values) throws JClassAlreadyExistsException {
+        JCodeModel codeModel = _enum.owner();
+        JClass jsonToken = codeModel.ref(JsonToken.class);
+
+        JDefinedClass adapter = _enum._class(JMod.PUBLIC | JMod.STATIC, ADAPTER_NAME);
+        adapter._extends(codeModel.ref(TypeAdapter.class).narrow(_enum));
+        adapter.javadoc().add("Reads and writes {@link " + _enum.name() + "} values without reflection.");
+
+        JArray namesArray = JExpr.newArray(codeModel.ref(String.class));
+        for (String name : values) {
+            namesArray.add(JExpr.lit(name));
+        }
+        JFieldVar names = adapter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, String[].class, "NAMES", namesArray);
+        JFieldVar constants = adapter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, _enum.array(), "VALUES", _enum.staticInvoke("values"));
+
+        JMethod write = adapter.method(JMod.PUBLIC, void.class, "write");
+        write.annotate(Override.class);
+        write._throws(IOException.class);
+        JVar out = write.param(JsonWriter.class, "out");
+        JVar value = write.param(_enum, "value");
+
+        JConditional isNull = write.body()._if(value.eq(JExpr._null()));
+        isNull._then().add(out.invoke("nullValue"));
+        isNull._else().add(out.invoke("value").arg(names.component(value.invoke("ordinal"))));
+
+        JMethod read = adapter.method(JMod.PUBLIC, _enum, "read");
+        read.annotate(Override.class);
+        read._throws(IOException.class);
+        JVar in = read.param(JsonReader.class, "in");
+
+        JBlock readNull = read.body()._if(in.invoke("peek").eq(jsonToken.staticRef("NULL")))._then();
+        readNull.add(in.invoke("nextNull"));
+        readNull._return(JExpr._null());
+
+        // like Gson, the last constant wins when several have the same name
+        Map<String, Integer> ordinals = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            ordinals.remove(values.get(i));
+            ordinals.put(values.get(i), i);
+        }
+
+        JSwitch nameSwitch = read.body()._switch(in.invoke("nextString"));
+        for (Map.Entry<String, Integer> ordinal : ordinals.entrySet()) {
+            nameSwitch._case(JExpr.lit(ordinal.getKey())).body()._return(constants.component(JExpr.lit(ordinal.getValue())));
+        }
+        nameSwitch._default().body()._return(JExpr._null());
+
+        return adapter;
+    }
+
+    /**
+     * @return an expression for the argument to <code>Gson.getAdapter</code>
+     *         that gives the adapter for the given type
+     */
+    private static JExpression typeToken(JType type) {
+        if (type.isPrimitive()) {
+            return type.boxify().staticRef("TYPE");
+        }
+        if (!isParameterized(type.isArray() ? type.elementType() : type)) {
+            return ((JClass) type).dotclass();
+        }
+        return JExpr._new(type.owner().anonymousClass(type.owner().ref(TypeToken.class).narrow(type)));
+    }
+
+    private static boolean isParameterized(JType type) {
+        return !type.isPrimitive() && !type.isArray() && !((JClass) type).getTypeParameters().isEmpty();
+    }
+
+    /**
+     * @return <code>true</code> if values of the given type may belong to
+     *         generated subclasses of the type
+     */
+    private static boolean isSubclassable(JType type) {
+        return type instanceof JDefinedClass && ((JDefinedClass) type).getClassType() == ClassType.CLASS && (((JDefinedClass) type).mods().getValue() & JMod.FINAL) == 0;
+    }
+
+    private static JMethod findMethod(JDefinedClass jclass, String name) {
+        for (JMethod method : jclass.methods()) {
+            if (method.name().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(jclass.fullName() + " has no method named " + name);
+    }
+
+    private static JDefinedClass findNestedClass(JDefinedClass jclass, String name) {
+        for (Iterator<JDefinedClass> nested = jclass.classes(); nested.hasNext();) {
+            JDefinedClass nestedClass = nested.next();
+            if (nestedClass.name().equals(name)) {
+                return nestedClass;
+            }
+        }
+        return null;
+    }
+
+}
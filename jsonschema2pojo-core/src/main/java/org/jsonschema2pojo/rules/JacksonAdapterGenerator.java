@@ -0,0 +1,655 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo.rules;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonschema2pojo.InclusionLevel;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.sun.codemodel.JAnnotatable;
+import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldRef;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JForLoop;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JOp;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JTypeVar;
+import com.sun.codemodel.JVar;
+
+/**
+ * Generates a Jackson 2.x {@link JsonSerializer} and {@link JsonDeserializer}
+ * as nested classes of a generated type, and registers them using
+ * {@link JsonSerialize @JsonSerialize} and
+ * {@link JsonDeserialize @JsonDeserialize}.
+ * <p>
+ * The nested classes read and write fields directly (they don't need accessors)
+ * using the streaming API, with pre-encoded property names and a switch on the
+ * property name when reading. Inherited properties are handled by the adapters
+ * of the (generated) superclass. Values of other types are handed to the
+ * serializers and deserializers Jackson would use for them anyway, looked up
+ * once per deserializer.
+ * <p>
+ * Class annotations are inherited, so the adapters only handle the generated
+ * type itself. Hand-written subclasses are read and written by the bean
+ * serializer and deserializer Jackson would have built for them without the
+ * annotations.
+ */
+class JacksonAdapterGenerator {
+
+    static final String SERIALIZER_NAME = "JacksonSerializer";
+    static final String DESERIALIZER_NAME = "JacksonDeserializer";
+
+    private static final String SUPER_SERIALIZER = "superSerializer";
+    private static final String SUPER_DESERIALIZER = "superDeserializer";
+    private static final String SUBCLASS_SERIALIZER = "subclassSerializer";
+
+    /**
+     * Jackson annotations added by the annotator that the generated code
+     * honours (or that have no effect on the JSON produced).
+     */
+    private static final Set<String> SUPPORTED_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            JsonInclude.class.getName(),
+            JsonPropertyOrder.class.getName(),
+            JsonProperty.class.getName(),
+            JsonPropertyDescription.class.getName(),
+            JsonDeserialize.class.getName(),
+            JsonIgnore.class.getName()));
+
+    private final RuleFactory ruleFactory;
+
+    JacksonAdapterGenerator(RuleFactory ruleFactory) {
+        this.ruleFactory = ruleFactory;
+    }
+
+    /**
+     * Adds a serializer and deserializer to the given class.
+     *
+     * @param jclass
+     *            the class to read and write
+     * @param properties
+     *            the fields declared by the class for schema properties, keyed
+     *            by JSON property name
+     */
+    void generate(JDefinedClass jclass, Map<String, JFieldVar> properties) {
+
+        String unsupported = findUnsupportedFeature(jclass, properties);
+
+        if (unsupported != null) {
+            ruleFactory.getLogger().debug("Not generating Jackson adapters for " + jclass.fullName() + ", " + unsupported);
+
+            // class annotations are inherited, don't let a superclass' adapters handle this class
+            if (hasAdapters(jclass._extends())) {
+                jclass.annotate(JsonSerialize.class).param("using", JsonSerializer.None.class);
+                jclass.annotate(JsonDeserialize.class).param("using", JsonDeserializer.None.class);
+            }
+            return;
+        }
+
+        JDefinedClass superClass = hasAdapters(jclass._extends()) ? (JDefinedClass) jclass._extends() : null;
+        JFieldVar additionalPropertiesField = findAdditionalPropertiesField(jclass);
+
+        try {
+            JDefinedClass serializer = addSerializer(jclass, properties, superClass, additionalPropertiesField);
+            JDefinedClass deserializer = addDeserializer(jclass, properties, superClass, additionalPropertiesField);
+
+            jclass.annotate(JsonSerialize.class).param("using", serializer);
+            jclass.annotate(JsonDeserialize.class).param("using", deserializer);
+        } catch (JClassAlreadyExistsException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String findUnsupportedFeature(JDefinedClass jclass, Map<String, JFieldVar> properties) {
+
+        InclusionLevel inclusionLevel = ruleFactory.getGenerationConfig().getInclusionLevel();
+        if (inclusionLevel == InclusionLevel.NON_DEFAULT || inclusionLevel == InclusionLevel.USE_DEFAULTS) {
+            return "inclusion level " + inclusionLevel + " is not supported";
+        }
+
+        if (!jclass._extends().fullName().equals(Object.class.getName()) && !hasAdapters(jclass._extends())) {
+            return "superclass " + jclass._extends().fullName() + " has no generated adapters";
+        }
+
+        for (Iterator<JDefinedClass> nested = jclass.classes(); nested.hasNext();) {
+            String name = nested.next().name();
+            if (name.equals(SERIALIZER_NAME) || name.equals(DESERIALIZER_NAME)) {
+                return "a nested class named " + name + " already exists";
+            }
+        }
+
+        String annotation = findUnsupportedAnnotation(jclass);
+        if (annotation != null) {
+            return "@" + annotation + " is not supported";
+        }
+
+        for (JFieldVar field : jclass.fields().values()) {
+            if ((field.mods().getValue() & JMod.STATIC) == 0) {
+                if ((field.mods().getValue() & JMod.FINAL) != 0) {
+                    return "property " + field.name() + " is final";
+                }
+                annotation = findUnsupportedAnnotation(field);
+                if (annotation != null) {
+                    return "@" + annotation + " on " + field.name() + " is not supported";
+                }
+                if (!properties.containsValue(field) && !field.name().equals(AdapterRule.ADDITIONAL_PROPERTIES_FIELD)) {
+                    return "field " + field.name() + " is not a schema property";
+                }
+                if (properties.containsValue(field) && searchSuperClassesForField(field.name(), jclass) != null) {
+                    return "property " + field.name() + " hides a property of the superclass";
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private String findUnsupportedAnnotation(JAnnotatable annotatable) {
+        for (JAnnotationUse annotation : annotatable.annotations()) {
+            String name = annotation.getAnnotationClass().fullName();
+            if (name.startsWith("com.fasterxml.jackson.") && !SUPPORTED_ANNOTATIONS.contains(name)) {
+                return annotation.getAnnotationClass().name();
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasAdapters(JClass jclass) {
+        if (jclass instanceof JDefinedClass) {
+            for (Iterator<JDefinedClass> nested = ((JDefinedClass) jclass).classes(); nested.hasNext();) {
+                if (nested.next().name().equals(SERIALIZER_NAME)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static JFieldVar searchSuperClassesForField(String name, JDefinedClass jclass) {
+        for (JClass c = jclass._extends(); c instanceof JDefinedClass; c = c._extends()) {
+            JFieldVar field = ((JDefinedClass) c).fields().get(name);
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static JFieldVar findAdditionalPropertiesField(JDefinedClass jclass) {
+        JFieldVar field = jclass.fields().get(AdapterRule.ADDITIONAL_PROPERTIES_FIELD);
+        return field != null ? field : searchSuperClassesForField(AdapterRule.ADDITIONAL_PROPERTIES_FIELD, jclass);
+    }
+
+    private JDefinedClass addSerializer(JDefinedClass jclass, Map<String, JFieldVar> properties, JDefinedClass superClass, JFieldVar additionalPropertiesField) throws JClassAlreadyExistsException {
+        JCodeModel codeModel = jclass.owner();
+        InclusionLevel inclusionLevel = ruleFactory.getGenerationConfig().getInclusionLevel();
+
+        JDefinedClass serializer = jclass._class(JMod.PUBLIC | JMod.STATIC, SERIALIZER_NAME);
+        serializer._extends(codeModel.ref(StdSerializer.class).narrow(jclass));
+        serializer.javadoc().add("Writes {@link " + jclass.name() + "} instances without reflection.");
+        serializer.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, long.class, "serialVersionUID", JExpr.lit(1L));
+
+        JFieldVar superSerializer = null;
+        if (superClass != null) {
+            JDefinedClass superSerializerClass = nestedClass(superClass, SERIALIZER_NAME);
+            superSerializer = serializer.field(JMod.PRIVATE | JMod.FINAL, superSerializerClass, SUPER_SERIALIZER, JExpr._new(superSerializerClass));
+        }
+
+        serializer.constructor(JMod.PUBLIC).body().invoke("super").arg(jclass.dotclass());
+
+        JMethod serialize = serializer.method(JMod.PUBLIC, void.class, "serialize");
+        serialize.annotate(Override.class);
+        serialize._throws(IOException.class);
+        JVar value = serialize.param(jclass, "value");
+        JVar gen = serialize.param(JsonGenerator.class, "gen");
+        JVar provider = serialize.param(SerializerProvider.class, "provider");
+
+        JMethod serializeProperties = serializer.method(JMod.PUBLIC, void.class, "serializeProperties");
+        serializeProperties.javadoc().add("Writes the declared properties of the given value (including inherited properties) as fields of the current object.");
+        serializeProperties._throws(IOException.class);
+
+        JBlock body = serialize.body();
+        JBlock isSubclass = body._if(value.invoke("getClass").ne(jclass.dotclass()))._then();
+        isSubclass.add(JExpr.invoke(addSubclassSerializer(serializer)).arg(provider).arg(value.invoke("getClass")).invoke("serialize").arg(value).arg(gen).arg(provider));
+        isSubclass._return();
+        body.add(gen.invoke("writeStartObject"));
+        body.invoke(serializeProperties).arg(value).arg(gen).arg(provider);
+        if (additionalPropertiesField != null) {
+            JClass mapType = (JClass) additionalPropertiesField.type();
+            JClass entryType = codeModel.ref(Map.Entry.class).narrow(mapType.getTypeParameters());
+            JForEach forEach = body.forEach(entryType, "property", value.invoke("getAdditionalProperties").invoke("entrySet"));
+            forEach.body().add(provider.invoke("defaultSerializeField")
+                    .arg(forEach.var().invoke("getKey")).arg(forEach.var().invoke("getValue")).arg(gen));
+        }
+        body.add(gen.invoke("writeEndObject"));
+
+        value = serializeProperties.param(jclass, "value");
+        gen = serializeProperties.param(JsonGenerator.class, "gen");
+        provider = serializeProperties.param(SerializerProvider.class, "provider");
+
+        Set<String> constantNames = new HashSet<>();
+        for (Map.Entry<String, JFieldVar> property : properties.entrySet()) {
+            JFieldVar field = property.getValue();
+            JFieldVar name = serializer.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, SerializedString.class, constantName(field.name(), constantNames),
+                    JExpr._new(codeModel.ref(SerializedString.class)).arg(property.getKey()));
+
+            addWriteProperty(serializeProperties.body(), JExpr.ref(value, field), field.type(), name, gen, provider, inclusionLevel);
+        }
+
+        if (superSerializer != null) {
+            serializeProperties.body().add(superSerializer.invoke("serializeProperties").arg(value).arg(gen).arg(provider));
+        }
+
+        return serializer;
+    }
+
+    /**
+     * Adds a method to the serializer that finds (and remembers) the bean
+     * serializer for a subclass of the generated type.
+     */
+    private static JMethod addSubclassSerializer(JDefinedClass serializer) {
+        JCodeModel codeModel = serializer.owner();
+        JClass serializerType = codeModel.ref(JsonSerializer.class).narrow(Object.class);
+
+        JFieldVar subclassSerializer = serializer.field(JMod.PRIVATE | JMod.TRANSIENT | JMod.VOLATILE, serializerType, SUBCLASS_SERIALIZER);
+
+        JMethod method = serializer.method(JMod.PRIVATE, serializerType, SUBCLASS_SERIALIZER);
+        method.javadoc().add("Finds the serializer for a subclass, which inherits the annotation that selects this serializer but may declare more properties.");
+        method._throws(JsonMappingException.class);
+        JVar provider = method.param(SerializerProvider.class, "provider");
+        JVar type = method.param(codeModel.ref(Class.class).narrow(codeModel.wildcard()), "type");
+
+        JBlock body = method.body();
+        JVar found = body.decl(serializerType, "serializer", JExpr._this().ref(subclassSerializer));
+        JBlock notFound = body._if(found.eq(JExpr._null()).cor(found.invoke("handledType").ne(type)))._then();
+        JVar javaType = notFound.decl(codeModel.ref(JavaType.class), "javaType", provider.invoke("constructType").arg(type));
+        notFound.assign(found, codeModel.ref(BeanSerializerFactory.class).staticRef("instance").invoke("findBeanSerializer")
+                .arg(provider).arg(javaType).arg(provider.invoke("getConfig").invoke("introspect").arg(javaType)));
+        JConditional isBean = notFound._if(found.eq(JExpr._null()));
+        isBean._then().assign(found, provider.invoke("getUnknownTypeSerializer").arg(type));
+        JExpression resolvable = JExpr.cast(codeModel.ref(ResolvableSerializer.class), found);
+        isBean._elseif(found._instanceof(codeModel.ref(ResolvableSerializer.class)))._then().add(resolvable.invoke("resolve").arg(provider));
+        notFound.assign(JExpr._this().ref(subclassSerializer), found);
+        body._return(found);
+
+        return method;
+    }
+
+    private void addWriteProperty(JBlock body, JFieldRef ref, JType type, JFieldVar name, JVar gen, JVar provider, InclusionLevel inclusionLevel) {
+        String writeMethod = writeMethod(type);
+
+        if (type.isPrimitive()) {
+            body.add(gen.invoke("writeFieldName").arg(name));
+            body.add(gen.invoke(writeMethod).arg(ref));
+        } else if (inclusionLevel == InclusionLevel.ALWAYS) {
+            body.add(gen.invoke("writeFieldName").arg(name));
+            if (writeMethod == null) {
+                body.add(provider.invoke("defaultSerializeValue").arg(ref).arg(gen));
+            } else {
+                JConditional isNull = body._if(ref.eq(JExpr._null()));
+                isNull._then().add(gen.invoke("writeNull"));
+                isNull._else().add(gen.invoke(writeMethod).arg(ref));
+            }
+        } else {
+            JExpression include = ref.ne(JExpr._null());
+            if (inclusionLevel == InclusionLevel.NON_EMPTY) {
+                if (type.isArray()) {
+                    include = include.cand(ref.ref("length").gt(JExpr.lit(0)));
+                } else if (hasIsEmpty(type)) {
+                    include = include.cand(ref.invoke("isEmpty").not());
+                }
+            }
+
+            JBlock then = body._if(include)._then();
+            then.add(gen.invoke("writeFieldName").arg(name));
+            if (writeMethod == null) {
+                then.add(provider.invoke("defaultSerializeValue").arg(ref).arg(gen));
+            } else {
+                then.add(gen.invoke(writeMethod).arg(ref));
+            }
+        }
+    }
+
+    /**
+     * @return the {@link JsonGenerator} method that writes a value of the
+     *         given type directly, or <code>null</code> if the value should be
+     *         handed to the serializer Jackson would choose for it
+     */
+    private static String writeMethod(JType type) {
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+                return "writeString";
+            case "boolean":
+                return "writeBoolean";
+            case "short":
+            case "int":
+            case "long":
+            case "float":
+            case "double":
+            case "java.math.BigInteger":
+            case "java.math.BigDecimal":
+                return "writeNumber";
+            default:
+                return null;
+        }
+    }
+
+    private static boolean hasIsEmpty(JType type) {
+        if (type.fullName().equals(String.class.getName())) {
+            return true;
+        }
+        try {
+            Class<?> erasure = Class.forName(type.erasure().fullName());
+            return Collection.class.isAssignableFrom(erasure) || Map.class.isAssignableFrom(erasure);
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private JDefinedClass addDeserializer(JDefinedClass jclass, Map<String, JFieldVar> properties, JDefinedClass superClass, JFieldVar additionalPropertiesField) throws JClassAlreadyExistsException {
+        JCodeModel codeModel = jclass.owner();
+        JClass delegateType = codeModel.ref(JsonDeserializer.class).narrow(Object.class);
+        JClass jsonToken = codeModel.ref(JsonToken.class);
+
+        JDefinedClass deserializer = jclass._class(JMod.PUBLIC | JMod.STATIC, DESERIALIZER_NAME);
+        deserializer._extends(codeModel.ref(StdDeserializer.class).narrow(jclass));
+        deserializer._implements(ResolvableDeserializer.class);
+        deserializer._implements(ContextualDeserializer.class);
+        deserializer.javadoc().add("Reads {@link " + jclass.name() + "} instances without reflection.");
+        deserializer.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, long.class, "serialVersionUID", JExpr.lit(1L));
+
+        JFieldVar superDeserializer = null;
+        if (superClass != null) {
+            JDefinedClass superDeserializerClass = nestedClass(superClass, DESERIALIZER_NAME);
+            superDeserializer = deserializer.field(JMod.PRIVATE | JMod.FINAL, superDeserializerClass, SUPER_DESERIALIZER, JExpr._new(superDeserializerClass));
+        }
+
+        deserializer.constructor(JMod.PUBLIC).body().invoke("super").arg(jclass.dotclass());
+
+        JMethod isCachable = deserializer.method(JMod.PUBLIC, boolean.class, "isCachable");
+        isCachable.annotate(Override.class);
+        isCachable.body()._return(JExpr.TRUE);
+
+        addCreateContextual(deserializer, jclass);
+
+        JMethod resolve = deserializer.method(JMod.PUBLIC, void.class, "resolve");
+        resolve.annotate(Override.class);
+        resolve._throws(JsonMappingException.class);
+        JVar resolveCtxt = resolve.param(DeserializationContext.class, "ctxt");
+        JVar types = resolve.body().decl(codeModel.ref(TypeFactory.class), "types", resolveCtxt.invoke("getTypeFactory"));
+
+        JMethod deserialize = deserializer.method(JMod.PUBLIC, jclass, "deserialize");
+        deserialize.annotate(Override.class);
+        deserialize._throws(IOException.class);
+        JVar p = deserialize.param(JsonParser.class, "p");
+        JVar ctxt = deserialize.param(DeserializationContext.class, "ctxt");
+
+        JMethod deserializeProperty = deserializer.method(JMod.PUBLIC, boolean.class, "deserializeProperty");
+        deserializeProperty.javadoc().add("Reads the value of the named property (which may be inherited), if it is a declared property.");
+        deserializeProperty.javadoc().addReturn().add("<code>true</code> if the property is a declared property and its value has been read, otherwise <code>false</code>");
+        deserializeProperty._throws(IOException.class);
+
+        JBlock body = deserialize.body();
+        JVar token = body.decl(jsonToken, "token", p.invoke("getCurrentToken"));
+        JConditional isObject = body._if(token.eq(jsonToken.staticRef("START_OBJECT")));
+        isObject._then().assign(token, p.invoke("nextToken"));
+        isObject._elseif(token.ne(jsonToken.staticRef("FIELD_NAME")).cand(token.ne(jsonToken.staticRef("END_OBJECT"))))
+                ._then()._return(JExpr.cast(jclass, ctxt.invoke("handleUnexpectedToken").arg(jclass.dotclass()).arg(p)));
+
+        JVar value = body.decl(jclass, "value", JExpr._new(jclass));
+
+        JForLoop forLoop = body._for();
+        forLoop.test(token.eq(jsonToken.staticRef("FIELD_NAME")));
+        forLoop.update(JExpr.assign(token, p.invoke("nextToken")));
+        JVar name = forLoop.body().decl(codeModel.ref(String.class), "name", p.invoke("getCurrentName"));
+        forLoop.body().add(p.invoke("nextToken"));
+        JBlock unrecognized = forLoop.body()._if(JExpr.invoke(deserializeProperty).arg(value).arg(name).arg(p).arg(ctxt).not())._then();
+
+        if (additionalPropertiesField != null) {
+            JType valueType = ((JClass) additionalPropertiesField.type()).getTypeParameters().get(1);
+            JFieldVar delegate = deserializer.field(JMod.PRIVATE, delegateType, AdapterRule.ADDITIONAL_PROPERTIES_FIELD + "Deserializer");
+            resolve.body().assign(delegate, resolveCtxt.invoke("findRootValueDeserializer").arg(javaType(valueType, types)));
+
+            JExpression readValue = readValue(valueType, delegate, p.invoke("getCurrentToken"), p, ctxt);
+            if (isParameterized(valueType)) {
+                deserialize.annotate(SuppressWarnings.class).param("value", "unchecked");
+            }
+
+            unrecognized.add(value.invoke("setAdditionalProperty").arg(name).arg(readValue));
+        } else {
+            unrecognized.invoke("handleUnknownProperty").arg(p).arg(ctxt).arg(value).arg(name);
+        }
+
+        body._return(value);
+
+        value = deserializeProperty.param(jclass, "value");
+        name = deserializeProperty.param(String.class, "name");
+        p = deserializeProperty.param(JsonParser.class, "p");
+        ctxt = deserializeProperty.param(DeserializationContext.class, "ctxt");
+
+        JExpression notDeclared = superDeserializer != null ? superDeserializer.invoke(deserializeProperty).arg(value).arg(name).arg(p).arg(ctxt) : JExpr.FALSE;
+
+        if (properties.isEmpty()) {
+            deserializeProperty.body()._return(notDeclared);
+        } else {
+            token = deserializeProperty.body().decl(jsonToken, "token", p.invoke("getCurrentToken"));
+            JSwitch propertySwitch = deserializeProperty.body()._switch(name);
+            boolean unchecked = false;
+
+            for (Map.Entry<String, JFieldVar> property : properties.entrySet()) {
+                JFieldVar field = property.getValue();
+                JFieldVar delegate = deserializer.field(JMod.PRIVATE, delegateType, field.name() + "Deserializer");
+                resolve.body().assign(delegate, resolveCtxt.invoke("findRootValueDeserializer").arg(javaType(field.type(), types)));
+
+                JBlock block = propertySwitch._case(JExpr.lit(property.getKey())).body();
+                addReadProperty(block, JExpr.ref(value, field), field.type(), delegate, token, p, ctxt);
+                block._return(JExpr.TRUE);
+
+                unchecked |= isParameterized(field.type());
+            }
+
+            propertySwitch._default().body()._return(notDeclared);
+
+            if (unchecked) {
+                deserializeProperty.annotate(SuppressWarnings.class).param("value", "unchecked");
+            }
+        }
+
+        if (superDeserializer != null) {
+            resolve.body().add(superDeserializer.invoke("resolve").arg(resolveCtxt));
+        }
+
+        return deserializer;
+    }
+
+    /**
+     * Makes the deserializer hand subclasses (which inherit the annotation that
+     * selects it) to the bean deserializer Jackson would build for them.
+     */
+    private static void addCreateContextual(JDefinedClass deserializer, JDefinedClass jclass) {
+        JCodeModel codeModel = deserializer.owner();
+
+        JMethod createContextual = deserializer.method(JMod.PUBLIC, codeModel.ref(JsonDeserializer.class).narrow(codeModel.wildcard()), "createContextual");
+        createContextual.annotate(Override.class);
+        createContextual._throws(JsonMappingException.class);
+        JVar ctxt = createContextual.param(DeserializationContext.class, "ctxt");
+        JVar property = createContextual.param(BeanProperty.class, "property");
+
+        JBlock body = createContextual.body();
+        JVar type = body.decl(codeModel.ref(JavaType.class), "type", ctxt.invoke("getContextualType"));
+        body._if(type.eq(JExpr._null()).cor(type.invoke("getRawClass").eq(jclass.dotclass())))._then()._return(JExpr._this());
+
+        JVar subclassDeserializer = body.decl(codeModel.ref(JsonDeserializer.class).narrow(Object.class), "subclassDeserializer",
+                ctxt.invoke("getFactory").invoke("createBeanDeserializer").arg(ctxt).arg(type).arg(ctxt.invoke("getConfig").invoke("introspect").arg(type)));
+        JExpression resolvable = JExpr.cast(codeModel.ref(ResolvableDeserializer.class), subclassDeserializer);
+        body._if(subclassDeserializer._instanceof(codeModel.ref(ResolvableDeserializer.class)))._then().add(resolvable.invoke("resolve").arg(ctxt));
+        body._return(ctxt.invoke("handleSecondaryContextualization").arg(subclassDeserializer).arg(property).arg(type));
+    }
+
+    private void addReadProperty(JBlock block, JFieldRef ref, JType type, JFieldVar delegate, JVar token, JVar p, JVar ctxt) {
+        JClass jsonToken = type.owner().ref(JsonToken.class);
+
+        JExpression fastTest = null;
+        JExpression fastValue = null;
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+                fastTest = token.eq(jsonToken.staticRef("VALUE_STRING"));
+                fastValue = p.invoke("getText");
+                break;
+            case "boolean":
+                fastTest = token.eq(jsonToken.staticRef("VALUE_TRUE")).cor(token.eq(jsonToken.staticRef("VALUE_FALSE")));
+                fastValue = token.eq(jsonToken.staticRef("VALUE_TRUE"));
+                break;
+            case "int":
+                fastTest = token.eq(jsonToken.staticRef("VALUE_NUMBER_INT"));
+                fastValue = p.invoke("getIntValue");
+                break;
+            case "long":
+                fastTest = token.eq(jsonToken.staticRef("VALUE_NUMBER_INT"));
+                fastValue = p.invoke("getLongValue");
+                break;
+            case "double":
+                fastTest = token.eq(jsonToken.staticRef("VALUE_NUMBER_FLOAT")).cor(token.eq(jsonToken.staticRef("VALUE_NUMBER_INT")));
+                fastValue = p.invoke("getDoubleValue");
+                break;
+            default:
+                break;
+        }
+
+        if (fastTest != null) {
+            JConditional isFast = block._if(fastTest);
+            isFast._then().assign(ref, fastValue);
+            isFast._else().assign(ref, readValue(type, delegate, token, p, ctxt));
+        } else {
+            block.assign(ref, readValue(type, delegate, token, p, ctxt));
+        }
+    }
+
+    private static JExpression readValue(JType type, JFieldVar delegate, JExpression token, JVar p, JVar ctxt) {
+        JExpression readValue = JOp.cond(token.eq(type.owner().ref(JsonToken.class).staticRef("VALUE_NULL")),
+                delegate.invoke("getNullValue").arg(ctxt),
+                delegate.invoke("deserialize").arg(p).arg(ctxt));
+        return type.fullName().equals(Object.class.getName()) ? readValue : JExpr.cast(type.boxify(), readValue);
+    }
+
+    /**
+     * @return an expression that builds the Jackson <code>JavaType</code> for
+     *         the given type, using the given type factory
+     */
+    private static JExpression javaType(JType type, JVar types) {
+        JCodeModel codeModel = type.owner();
+
+        if (type.isPrimitive()) {
+            return types.invoke("constructType").arg(type.boxify().staticRef("TYPE"));
+        }
+        if (type.isArray()) {
+            return types.invoke("constructArrayType").arg(javaType(type.elementType(), types));
+        }
+
+        JClass jclass = (JClass) type;
+        List<JClass> typeParameters = jclass.getTypeParameters();
+        if (typeParameters.isEmpty()) {
+            return types.invoke("constructType").arg(jclass.dotclass());
+        }
+
+        // sets are read as LinkedHashSet, see Jackson2Annotator#propertyField
+        JClass rawType = jclass.erasure().equals(codeModel.ref(Set.class)) ? codeModel.ref(LinkedHashSet.class) : jclass.erasure();
+
+        for (JClass typeParameter : typeParameters) {
+            if (typeParameter.fullName().startsWith("?") || typeParameter instanceof JTypeVar) {
+                return types.invoke("constructType").arg(JExpr._new(codeModel.anonymousClass(codeModel.ref(TypeReference.class).narrow(rawType.narrow(typeParameters)))));
+            }
+        }
+
+        JInvocation parametricType = types.invoke("constructParametricType").arg(rawType.dotclass());
+        for (JClass typeParameter : typeParameters) {
+            parametricType.arg(javaType(typeParameter, types));
+        }
+        return parametricType;
+    }
+
+    private static boolean isParameterized(JType type) {
+        return !type.isPrimitive() && !type.isArray() && !((JClass) type).getTypeParameters().isEmpty();
+    }
+
+    private static JDefinedClass nestedClass(JDefinedClass jclass, String name) {
+        for (Iterator<JDefinedClass> nested = jclass.classes(); nested.hasNext();) {
+            JDefinedClass nestedClass = nested.next();
+            if (nestedClass.name().equals(name)) {
+                return nestedClass;
+            }
+        }
+        throw new IllegalArgumentException(jclass.fullName() + " has no nested class named " + name);
+    }
+
+    private static String constantName(String fieldName, Set<String> constantNames) {
+        String base = fieldName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+        String constantName = base;
+        for (int i = 2; !constantNames.add(constantName); i++) {
+            constantName = base + "_" + i;
+        }
+        return constantName;
+    }
+
+}
@@ -0,0 +1,549 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.sun.codemodel.JAnnotatable;
+import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JArray;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldRef;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+import com.sun.codemodel.JWhileLoop;
+
+/**
+ * Generates a Moshi <code>JsonAdapter</code> as a nested class of a generated
+ * type (class or enum), and a <code>JsonAdapter.Factory</code> for each
+ * package that creates these adapters. Moshi 1.x has no way for a type to
+ * name its adapter, so the factory must be added to the
+ * <code>Moshi.Builder</code>; types from packages whose factory has not been
+ * added are still handled by Moshi's reflective adapters.
+ * <p>
+ * The nested classes read and write fields directly (they don't need
+ * accessors) using the streaming API. Property names are matched using
+ * <code>JsonReader.Options</code>, so that known names are selected without
+ * allocating a string. Strings, booleans and the common number types are read
+ * and written directly where the JSON allows it, other values are handed to
+ * the adapters Moshi would use for them anyway, looked up once per adapter.
+ * Inherited properties are handled by the adapter of the (generated)
+ * superclass. Enums are read and written using the names given by their
+ * <code>@Json</code> annotations.
+ * <p>
+ * Moshi is not a dependency of this project, so the Moshi types are referred
+ * to by name.
+ */
+class MoshiAdapterGenerator {
+
+    static final String ADAPTER_NAME = "MoshiJsonAdapter";
+    static final String FACTORY_NAME = "MoshiJsonAdapterFactory";
+
+    private static final String MOSHI_PACKAGE = "com.squareup.moshi.";
+    private static final String JSON_ANNOTATION = MOSHI_PACKAGE + "Json";
+    private static final String FACTORY_INTERFACE = MOSHI_PACKAGE + "JsonAdapter.Factory";
+
+    private static final String SUPER_ADAPTER = "superAdapter";
+
+    private final RuleFactory ruleFactory;
+
+    MoshiAdapterGenerator(RuleFactory ruleFactory) {
+        this.ruleFactory = ruleFactory;
+    }
+
+    /**
+     * Adds a JSON adapter to the given class.
+     *
+     * @param jclass
+     *            the class to read and write
+     * @param properties
+     *            the fields declared by the class for schema properties, keyed
+     *            by JSON property name
+     */
+    void generate(JDefinedClass jclass, Map<String, JFieldVar> properties) {
+
+        String unsupported = findUnsupportedFeature(jclass, properties);
+
+        if (unsupported != null) {
+            ruleFactory.getLogger().debug("Not generating a Moshi JSON adapter for " + jclass.fullName() + ", " + unsupported);
+            return;
+        }
+
+        JDefinedClass superClass = hasAdapter(jclass._extends()) ? (JDefinedClass) jclass._extends() : null;
+
+        try {
+            register(jclass, addClassAdapter(jclass, properties, superClass), true);
+        } catch (JClassAlreadyExistsException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Adds a JSON adapter to the given enum.
+     *
+     * @param _enum
+     *            the enum to read and write
+     * @param values
+     *            the JSON value of each enum constant, in declaration order
+     */
+    void generateForEnum(JDefinedClass _enum, List<String> values) {
+
+        String unsupported = findUnsupportedNesting(_enum);
+        if (unsupported == null) {
+            unsupported = findUnsupportedAnnotation(_enum);
+        }
+
+        if (unsupported != null) {
+            ruleFactory.getLogger().debug("Not generating a Moshi JSON adapter for " + _enum.fullName() + ", " + unsupported);
+            return;
+        }
+
+        try {
+            register(_enum, addEnumAdapter(_enum, values), false);
+        } catch (JClassAlreadyExistsException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String findUnsupportedFeature(JDefinedClass jclass, Map<String, JFieldVar> properties) {
+
+        if (!jclass._extends().fullName().equals(Object.class.getName()) && !hasAdapter(jclass._extends())) {
+            return "superclass " + jclass._extends().fullName() + " has no generated JSON adapter";
+        }
+
+        String unsupported = findUnsupportedNesting(jclass);
+        if (unsupported != null) {
+            return unsupported;
+        }
+
+        unsupported = findUnsupportedAnnotation(jclass);
+        if (unsupported != null) {
+            return unsupported;
+        }
+
+        for (JFieldVar field : jclass.fields().values()) {
+            if ((field.mods().getValue() & (JMod.STATIC | JMod.TRANSIENT)) == 0) {
+                if ((field.mods().getValue() & JMod.FINAL) != 0) {
+                    return "property " + field.name() + " is final";
+                }
+                unsupported = findUnsupportedAnnotation(field);
+                if (unsupported != null) {
+                    return unsupported + " on " + field.name();
+                }
+                if (!properties.containsValue(field)) {
+                    return "field " + field.name() + " is not a schema property";
+                }
+                if (searchSuperClassesForField(field.name(), jclass) != null) {
+                    return "property " + field.name() + " hides a property of the superclass";
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private String findUnsupportedNesting(JDefinedClass jclass) {
+        if (findNestedClass(jclass, ADAPTER_NAME) != null) {
+            return "a nested class named " + ADAPTER_NAME + " already exists";
+        }
+
+        JDefinedClass factory = jclass.getPackage()._getClass(FACTORY_NAME);
+        if (factory != null && !isFactory(factory)) {
+            return "a class named " + FACTORY_NAME + " already exists in package " + jclass.getPackage().name();
+        }
+
+        return null;
+    }
+
+    private static boolean isFactory(JDefinedClass jclass) {
+        for (Iterator<JClass> interfaces = jclass._implements(); interfaces.hasNext();) {
+            if (interfaces.next().fullName().equals(FACTORY_INTERFACE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String findUnsupportedAnnotation(JAnnotatable annotatable) {
+        for (JAnnotationUse annotation : annotatable.annotations()) {
+            String name = annotation.getAnnotationClass().fullName();
+            if (name.startsWith(MOSHI_PACKAGE) && !name.equals(JSON_ANNOTATION)) {
+                return "@" + annotation.getAnnotationClass().name() + " is not supported";
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasAdapter(JClass jclass) {
+        return jclass instanceof JDefinedClass && findNestedClass((JDefinedClass) jclass, ADAPTER_NAME) != null;
+    }
+
+    private static JFieldVar searchSuperClassesForField(String name, JDefinedClass jclass) {
+        for (JClass c = jclass._extends(); c instanceof JDefinedClass; c = c._extends()) {
+            JFieldVar field = ((JDefinedClass) c).fields().get(name);
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the given type to the JSON adapter factory of its package (creating
+     * the factory if this is the first type in the package).
+     */
+    private void register(JDefinedClass type, JDefinedClass adapter, boolean needsMoshi) throws JClassAlreadyExistsException {
+        JPackage _package = type.getPackage();
+        JDefinedClass factory = _package._getClass(FACTORY_NAME);
+        if (factory == null) {
+            factory = addFactory(_package);
+        }
+
+        JMethod create = findMethod(factory, "create");
+        JBlock body = create.body();
+        JVar typeParam = create.listParams()[0];
+        JVar moshi = create.listParams()[2];
+
+        // keep the final 'return null' last
+        body.pos(body.getContents().size() - 1);
+        JInvocation newAdapter = JExpr._new(adapter);
+        if (needsMoshi) {
+            newAdapter.arg(moshi);
+        }
+        body._if(typeParam.eq(type.dotclass()))._then()._return(newAdapter.invoke("nullSafe"));
+        body.pos(body.getContents().size());
+    }
+
+    private JDefinedClass addFactory(JPackage _package) throws JClassAlreadyExistsException {
+        JCodeModel codeModel = _package.owner();
+
+        JDefinedClass factory = _package._class(JMod.PUBLIC, FACTORY_NAME);
+        factory._implements(codeModel.directClass(FACTORY_INTERFACE));
+        factory.javadoc().add("Creates the generated JSON adapters for the types in this package. Add this factory to a <code>Moshi.Builder</code> to use the adapters.");
+
+        JMethod create = factory.method(JMod.PUBLIC, moshiClass(codeModel, "JsonAdapter").narrow(codeModel.wildcard()), "create");
+        create.annotate(Override.class);
+        JVar type = create.param(Type.class, "type");
+        JVar annotations = create.param(codeModel.ref(Set.class).narrow(codeModel.ref(Annotation.class).wildcard()), "annotations");
+        create.param(moshiClass(codeModel, "Moshi"), "moshi");
+
+        // the generated adapters don't handle qualified types
+        create.body()._if(annotations.invoke("isEmpty").not())._then()._return(JExpr._null());
+        create.body()._return(JExpr._null());
+
+        return factory;
+    }
+
+    private JDefinedClass addClassAdapter(JDefinedClass jclass, Map<String, JFieldVar> properties, JDefinedClass superClass) throws JClassAlreadyExistsException {
+        JCodeModel codeModel = jclass.owner();
+        JClass jsonReader = moshiClass(codeModel, "JsonReader");
+        JClass jsonWriter = moshiClass(codeModel, "JsonWriter");
+
+        // like Moshi, write properties in name order (though inherited properties come last)
+        Map<String, JFieldVar> sortedProperties = new TreeMap<>(properties);
+
+        JDefinedClass adapter = jclass._class(JMod.PUBLIC | JMod.STATIC, ADAPTER_NAME);
+        adapter._extends(moshiClass(codeModel, "JsonAdapter").narrow(jclass));
+        adapter.javadoc().add("Reads and writes {@link " + jclass.name() + "} instances without reflection.");
+
+        JFieldVar options = null;
+        if (!sortedProperties.isEmpty()) {
+            options = adapter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, moshiClass(codeModel, "JsonReader.Options"), "OPTIONS", options(codeModel, sortedProperties.keySet()));
+        }
+
+        JFieldVar superAdapter = null;
+        if (superClass != null) {
+            superAdapter = adapter.field(JMod.PRIVATE | JMod.FINAL, findNestedClass(superClass, ADAPTER_NAME), SUPER_ADAPTER);
+        }
+
+        JMethod constructor = adapter.constructor(JMod.PUBLIC);
+        JVar moshi = constructor.param(moshiClass(codeModel, "Moshi"), "moshi");
+        if (superAdapter != null) {
+            constructor.body().assign(JExpr._this().ref(superAdapter), JExpr._new(superAdapter.type()).arg(moshi));
+        }
+
+        JMethod fromJson = adapter.method(JMod.PUBLIC, jclass, "fromJson");
+        fromJson.annotate(Override.class);
+        fromJson._throws(IOException.class);
+        JVar reader = fromJson.param(jsonReader, "reader");
+
+        JMethod readProperty = adapter.method(JMod.PUBLIC, boolean.class, "readProperty");
+        readProperty.javadoc().add("Reads the value of the next property (which may be inherited), if it is a declared property.");
+        readProperty.javadoc().addReturn().add("<code>true</code> if the property is a declared property and its value has been read, otherwise <code>false</code> (and the name of the property has not been read)");
+        readProperty._throws(IOException.class);
+
+        JBlock body = fromJson.body();
+        JVar readValue = body.decl(jclass, "value", JExpr._new(jclass));
+        body.add(reader.invoke("beginObject"));
+        JWhileLoop loop = body._while(reader.invoke("hasNext"));
+        JBlock skip = loop.body()._if(JExpr.invoke(readProperty).arg(readValue).arg(reader).not())._then();
+        skip.add(reader.invoke("nextName"));
+        skip.add(reader.invoke("skipValue"));
+        body.add(reader.invoke("endObject"));
+        body._return(readValue);
+
+        JMethod toJson = adapter.method(JMod.PUBLIC, void.class, "toJson");
+        toJson.annotate(Override.class);
+        toJson._throws(IOException.class);
+        JVar writer = toJson.param(jsonWriter, "writer");
+        JVar value = toJson.param(jclass, "value");
+
+        JMethod writeProperties = adapter.method(JMod.PUBLIC, void.class, "writeProperties");
+        writeProperties.javadoc().add("Writes the declared properties of the given value (including inherited properties) as fields of the current object.");
+        writeProperties._throws(IOException.class);
+
+        toJson.body().add(writer.invoke("beginObject"));
+        toJson.body().invoke(writeProperties).arg(writer).arg(value);
+        toJson.body().add(writer.invoke("endObject"));
+
+        writer = writeProperties.param(jsonWriter, "writer");
+        value = writeProperties.param(jclass, "value");
+
+        JVar readInstance = readProperty.param(jclass, "value");
+        reader = readProperty.param(jsonReader, "reader");
+
+        JExpression notDeclared = superAdapter != null ? superAdapter.invoke(readProperty).arg(readInstance).arg(reader) : JExpr.FALSE;
+
+        JSwitch propertySwitch = null;
+        if (options == null) {
+            readProperty.body()._return(notDeclared);
+        } else {
+            propertySwitch = readProperty.body()._switch(reader.invoke("selectName").arg(options));
+        }
+
+        int index = 0;
+        for (Map.Entry<String, JFieldVar> property : sortedProperties.entrySet()) {
+            JFieldVar field = property.getValue();
+            JType type = field.type();
+
+            JFieldVar delegate = adapter.field(JMod.PRIVATE | JMod.FINAL, moshiClass(codeModel, "JsonAdapter").narrow(type.boxify()), field.name() + "Adapter");
+            constructor.body().assign(JExpr._this().ref(delegate), moshi.invoke("adapter").arg(typeExpression(type)));
+
+            writeProperties.body().add(writer.invoke("name").arg(property.getKey()));
+            addWriteProperty(writeProperties.body(), JExpr.ref(value, field), type, delegate, writer);
+
+            JBlock block = propertySwitch._case(JExpr.lit(index++)).body();
+            addReadProperty(block, JExpr.ref(readInstance, field), type, delegate, reader);
+            block._return(JExpr.TRUE);
+        }
+
+        if (propertySwitch != null) {
+            propertySwitch._default().body()._return(notDeclared);
+        }
+
+        if (superAdapter != null) {
+            writeProperties.body().add(superAdapter.invoke(writeProperties).arg(writer).arg(value));
+        }
+
+        return adapter;
+    }
+
+    private void addWriteProperty(JBlock body, JFieldRef ref, JType type, JFieldVar delegate, JVar writer) {
+        String unboxed = type.unboxify().fullName();
+
+        switch (unboxed) {
+            case "java.lang.String":
+                body.add(writer.invoke("value").arg(ref));
+                break;
+            case "boolean":
+            case "int":
+            case "long":
+            case "double":
+                // as Moshi's own adapters for these types do
+                if (type.isPrimitive()) {
+                    body.add(writer.invoke("value").arg(ref));
+                } else {
+                    JConditional isNull = body._if(ref.eq(JExpr._null()));
+                    isNull._then().add(writer.invoke("nullValue"));
+                    isNull._else().add(writer.invoke("value").arg(ref.invoke(unboxed + "Value")));
+                }
+                break;
+            default:
+                body.add(delegate.invoke("toJson").arg(writer).arg(ref));
+                break;
+        }
+    }
+
+    private void addReadProperty(JBlock block, JFieldRef ref, JType type, JFieldVar delegate, JVar reader) {
+        JClass token = moshiClass(type.owner(), "JsonReader.Token");
+
+        String tokenName;
+        String method;
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+                tokenName = "STRING";
+                method = "nextString";
+                break;
+            case "boolean":
+                tokenName = "BOOLEAN";
+                method = "nextBoolean";
+                break;
+            case "int":
+                tokenName = "NUMBER";
+                method = "nextInt";
+                break;
+            case "long":
+                tokenName = "NUMBER";
+                method = "nextLong";
+                break;
+            case "double":
+                tokenName = "NUMBER";
+                method = "nextDouble";
+                break;
+            default:
+                block.assign(ref, delegate.invoke("fromJson").arg(reader));
+                return;
+        }
+
+        // the delegate handles nulls (and reports them for primitives) and lenient values
+        JConditional isFast = block._if(reader.invoke("peek").eq(token.staticRef(tokenName)));
+        isFast._then().assign(ref, reader.invoke(method));
+        isFast._else().assign(ref, delegate.invoke("fromJson").arg(reader));
+    }
+
+    private JDefinedClass addEnumAdapter(JDefinedClass _enum, List<String> values) throws JClassAlreadyExistsException {
+        JCodeModel codeModel = _enum.owner();
+
+        JDefinedClass adapter = _enum._class(JMod.PUBLIC | JMod.STATIC, ADAPTER_NAME);
+        adapter._extends(moshiClass(codeModel, "JsonAdapter").narrow(_enum));
+        adapter.javadoc().add("Reads and writes {@link " + _enum.name() + "} values without reflection.");
+
+        JArray namesArray = JExpr.newArray(codeModel.ref(String.class));
+        for (String name : values) {
+            namesArray.add(JExpr.lit(name));
+        }
+        JFieldVar names = adapter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, String[].class, "NAMES", namesArray);
+        JFieldVar options = adapter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, moshiClass(codeModel, "JsonReader.Options"), "OPTIONS",
+                moshiClass(codeModel, "JsonReader.Options").staticInvoke("of").arg(names));
+        JFieldVar constants = adapter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, _enum.array(), "VALUES", _enum.staticInvoke("values"));
+
+        JMethod fromJson = adapter.method(JMod.PUBLIC, _enum, "fromJson");
+        fromJson.annotate(Override.class);
+        fromJson._throws(IOException.class);
+        JVar reader = fromJson.param(moshiClass(codeModel, "JsonReader"), "reader");
+
+        JVar index = fromJson.body().decl(codeModel.INT, "index", reader.invoke("selectString").arg(options));
+        fromJson.body()._if(index.ne(JExpr.lit(-1)))._then()._return(constants.component(index));
+
+        // the same failure as Moshi's own enum adapter
+        JVar name = fromJson.body().decl(codeModel.ref(String.class), "name", reader.invoke("nextString"));
+        fromJson.body()._throw(JExpr._new(moshiClass(codeModel, "JsonDataException"))
+                .arg(JExpr.lit("Expected one of ").plus(codeModel.ref(Arrays.class).staticInvoke("asList").arg(names))
+                        .plus(JExpr.lit(" but was ")).plus(name)
+                        .plus(JExpr.lit(" at path ")).plus(reader.invoke("getPath"))));
+
+        JMethod toJson = adapter.method(JMod.PUBLIC, void.class, "toJson");
+        toJson.annotate(Override.class);
+        toJson._throws(IOException.class);
+        JVar writer = toJson.param(moshiClass(codeModel, "JsonWriter"), "writer");
+        JVar value = toJson.param(_enum, "value");
+
+        toJson.body().add(writer.invoke("value").arg(names.component(value.invoke("ordinal"))));
+
+        return adapter;
+    }
+
+    private static JExpression options(JCodeModel codeModel, Set<String> names) {
+        JInvocation of = moshiClass(codeModel, "JsonReader.Options").staticInvoke("of");
+        for (String name : names) {
+            of.arg(JExpr.lit(name));
+        }
+        return of;
+    }
+
+    /**
+     * @return an expression for the argument to <code>Moshi.adapter</code>
+     *         that gives the adapter for the given type
+     */
+    private static JExpression typeExpression(JType type) {
+        JClass types = moshiClass(type.owner(), "Types");
+
+        if (type.isPrimitive()) {
+            return type.boxify().staticRef("TYPE");
+        }
+        if (type.isArray()) {
+            return isGeneric(type) ? types.staticInvoke("arrayOf").arg(typeExpression(type.elementType())) : ((JClass) type).dotclass();
+        }
+
+        JClass jclass = (JClass) type;
+        if (jclass.fullName().startsWith("?")) {
+            return types.staticInvoke("subtypeOf").arg(typeExpression(jclass._extends()));
+        }
+        if (jclass.getTypeParameters().isEmpty()) {
+            return jclass.dotclass();
+        }
+
+        JInvocation parameterized = types.staticInvoke("newParameterizedType").arg(jclass.erasure().dotclass());
+        for (JClass typeParameter : jclass.getTypeParameters()) {
+            parameterized.arg(typeExpression(typeParameter));
+        }
+        return parameterized;
+    }
+
+    private static boolean isGeneric(JType type) {
+        JType elementType = type;
+        while (elementType.isArray()) {
+            elementType = elementType.elementType();
+        }
+        return !elementType.isPrimitive() && !((JClass) elementType).getTypeParameters().isEmpty();
+    }
+
+    private static JClass moshiClass(JCodeModel codeModel, String name) {
+        return codeModel.directClass(MOSHI_PACKAGE + name);
+    }
+
+    private static JMethod findMethod(JDefinedClass jclass, String name) {
+        for (JMethod method : jclass.methods()) {
+            if (method.name().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(jclass.fullName() + " has no method named " + name);
+    }
+
+    private static JDefinedClass findNestedClass(JDefinedClass jclass, String name) {
+        for (Iterator<JDefinedClass> nested = jclass.classes(); nested.hasNext();) {
+            JDefinedClass nestedClass = nested.next();
+            if (nestedClass.name().equals(name)) {
+                return nestedClass;
+            }
+        }
+        return null;
+    }
+
+}
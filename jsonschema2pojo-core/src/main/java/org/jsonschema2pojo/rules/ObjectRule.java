@@ -20,6 +20,7 @@ import static org.apache.commons.lang3.StringUtils.*;
 import static org.jsonschema2pojo.rules.PrimitiveTypes.*;
 import static org.jsonschema2pojo.util.TypeUtil.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -32,7 +33,10 @@ import org.jsonschema2pojo.Annotator;
 import org.jsonschema2pojo.Schema;
 import org.jsonschema2pojo.exception.ClassAlreadyExistsException;
 import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.util.ImmutableHelper;
+import org.jsonschema2pojo.util.LanguageFeatures;
 import org.jsonschema2pojo.util.ParcelableHelper;
+import org.jsonschema2pojo.util.RecordComponents;
 import org.jsonschema2pojo.util.ReflectionHelper;
 import org.jsonschema2pojo.util.SerializableHelper;
 import org.jsonschema2pojo.util.AnnotationHelper;
@@ -45,6 +49,7 @@ import com.sun.codemodel.JClass;
 import com.sun.codemodel.JClassAlreadyExistsException;
 import com.sun.codemodel.JConditional;
 import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JDocComment;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldRef;
@@ -89,6 +94,10 @@ public class ObjectRule implements Rule<JPackage, JType> {
         if (superType.isPrimitive() || reflectionHelper.isFinal(superType)) {
             return superType;
         }
+        if (reflectionHelper.isRecord(superType)) {
+            // extended schemas are found before generation starts (see SchemaPreloader), unless reached some other way
+            throw new GenerationException("Can't extend " + superType.fullName() + " as it was generated as a record before it was found to be extended, records can't be extended");
+        }
 
         JDefinedClass jclass;
         try {
@@ -97,7 +106,12 @@ public class ObjectRule implements Rule<JPackage, JType> {
             return e.getExistingClass();
         }
 
-        jclass._extends((JClass) superType);
+        boolean isRecord = isRecord(superType, schema);
+        if (isRecord) {
+            jclass._extends(new RecordComponents(jclass.owner()));
+        } else {
+            jclass._extends((JClass) superType);
+        }
 
         schema.setJavaTypeIfEmpty(jclass);
 
@@ -114,7 +128,8 @@ public class ObjectRule implements Rule<JPackage, JType> {
         }
 
         // Creates the class definition for the builder
-        if(ruleFactory.getGenerationConfig().isGenerateBuilders() && ruleFactory.getGenerationConfig().isUseInnerClassBuilders()){
+        if(ruleFactory.getGenerationConfig().isGenerateBuilders() && ruleFactory.getGenerationConfig().isUseInnerClassBuilders()
+                && !ruleFactory.getGenerationConfig().isImmutable() && !isRecord){
             ruleFactory.getBuilderRule().apply(nodeName, node, parent, jclass, schema);
         }
 
@@ -135,32 +150,85 @@ public class ObjectRule implements Rule<JPackage, JType> {
         if (ruleFactory.getGenerationConfig().isIncludeGeneratedAnnotation()) {
         	AnnotationHelper.addGeneratedAnnotation(jclass);
         }
-        if (ruleFactory.getGenerationConfig().isIncludeToString()) {
+        // records have their own toString, hashCode, equals and canonical constructor
+        if (ruleFactory.getGenerationConfig().isIncludeToString() && !isRecord) {
             addToString(jclass);
         }
 
-        if (ruleFactory.getGenerationConfig().isIncludeHashcodeAndEquals()) {
-            addHashCode(jclass, node);
-            addEquals(jclass, node);
+        if (ruleFactory.getGenerationConfig().isIncludeHashcodeAndEquals() && !isRecord) {
+            // the hash code of an immutable instance never changes (unless a field holds a mutable value), so is worth caching
+            JFieldVar cachedHashCode = ruleFactory.getGenerationConfig().isImmutable() && hasUnchangeableState(jclass) ? addCachedHashCode(jclass) : null;
+            addHashCode(jclass, node, cachedHashCode);
+            addEquals(jclass, node, cachedHashCode);
         }
 
         if (ruleFactory.getGenerationConfig().isParcelable()) {
             addParcelSupport(jclass);
         }
 
-        if (ruleFactory.getGenerationConfig().isIncludeConstructors()) {
+        if ((ruleFactory.getGenerationConfig().isIncludeConstructors() || ruleFactory.getGenerationConfig().isImmutable()) && !isRecord) {
             ruleFactory.getConstructorRule().apply(nodeName, node, parent, jclass, schema);
 
         }
 
+        if (ruleFactory.getGenerationConfig().isGenerateAdapters() && !isRecord) {
+            ruleFactory.getAdapterRule().apply(nodeName, node, parent, jclass, schema);
+        }
+
         if (ruleFactory.getGenerationConfig().isSerializable()) {
             SerializableHelper.addSerializableSupport(jclass);
         }
 
+        if (isRecord) {
+            addRecordComponents(jclass);
+        }
+
         return jclass;
 
     }
 
+    private boolean isRecord(JType superType, Schema schema) {
+        return ruleFactory.getGenerationConfig().isGenerateRecords()
+                && !schema.isExtended()
+                && LanguageFeatures.canUseJava16(ruleFactory.getGenerationConfig())
+                && !ruleFactory.getGenerationConfig().isParcelable()
+                && superType.fullName().equals(Object.class.getName());
+    }
+
+    /**
+     * Moves the instance fields of a class into its record components. The
+     * field docs become <code>@param</code> tags of the record, and schema
+     * defaults are applied by a compact constructor whenever a component is
+     * given as <code>null</code>.
+     */
+    private void addRecordComponents(JDefinedClass jclass) {
+        RecordComponents components = (RecordComponents) jclass._extends();
+        JMethod constructor = null;
+
+        for (JFieldVar field : new ArrayList<>(jclass.fields().values())) {
+            if ((field.mods().getValue() & JMod.STATIC) == JMod.STATIC) {
+                continue;
+            }
+
+            JDocComment fieldDoc = field.javadoc();
+            if (!fieldDoc.isEmpty()) {
+                jclass.javadoc().addParam(field.name()).addAll(fieldDoc);
+            }
+
+            if (!field.type().isPrimitive() && reflectionHelper.hasInitialValue(field)) {
+                if (constructor == null) {
+                    constructor = jclass.constructor(JMod.PUBLIC);
+                }
+                JFieldRef component = JExpr.ref(field.name());
+                constructor.body()._if(component.eq(JExpr._null()))._then()
+                        .assign(component, reflectionHelper.getInitialValue(field));
+            }
+
+            components.addComponent(field);
+            jclass.removeField(field);
+        }
+    }
+
     private void addParcelSupport(JDefinedClass jclass) {
         jclass._implements(jclass.owner().directClass("android.os.Parcelable"));
 
@@ -168,8 +236,8 @@ public class ObjectRule implements Rule<JPackage, JType> {
         parcelableHelper.addDescribeContents(jclass);
         parcelableHelper.addCreator(jclass);
         parcelableHelper.addConstructorFromParcel(jclass);
-        // #742 : includeConstructors will include the default constructor
-        if (!ruleFactory.getGenerationConfig().isIncludeConstructors()) {
+        // #742 : includeConstructors (or immutable) will include the default constructor
+        if (!ruleFactory.getGenerationConfig().isIncludeConstructors() && !ruleFactory.getGenerationConfig().isImmutable()) {
             // Add empty constructor
             jclass.constructor(JMod.PUBLIC);
         }
@@ -369,12 +437,47 @@ public class ObjectRule implements Rule<JPackage, JType> {
         toString.annotate(Override.class);
     }
 
-    private void addHashCode(JDefinedClass jclass, JsonNode node) {
+    /**
+     * @return <code>true</code> if the fields of an immutable class (and its
+     *         superclasses) hold values that can never change
+     */
+    private boolean hasUnchangeableState(JDefinedClass jclass) {
+        boolean hasGetters = ruleFactory.getGenerationConfig().isIncludeGetters();
+
+        JClass c = jclass;
+        for (; c instanceof JDefinedClass; c = c._extends()) {
+            for (JFieldVar field : ((JDefinedClass) c).fields().values()) {
+                if ((field.mods().getValue() & JMod.STATIC) == 0 && !ImmutableHelper.isUnchangeable(field.type(), hasGetters)) {
+                    return false;
+                }
+            }
+        }
+        return c.fullName().equals(Object.class.getName());
+    }
+
+    private JFieldVar addCachedHashCode(JDefinedClass jclass) {
+        String name = "cachedHashCode";
+        while (jclass.fields().containsKey(name)) {
+            name = "_" + name;
+        }
+        return jclass.field(JMod.PRIVATE | JMod.TRANSIENT, jclass.owner().INT, name);
+    }
+
+    private void addHashCode(JDefinedClass jclass, JsonNode node, JFieldVar cachedHashCode) {
         Map<String, JFieldVar> fields = removeFieldsExcludedFromEqualsAndHashCode(jclass.fields(), node);
 
         JMethod hashCode = jclass.method(JMod.PUBLIC, int.class, "hashCode");
         JBlock body = hashCode.body();
-        JVar result = body.decl(jclass.owner().INT, "result", JExpr.lit(1));
+        JVar result;
+        if (cachedHashCode != null) {
+            // zero means not yet computed (or a hash of zero, which is just recomputed)
+            fields.remove(cachedHashCode.name());
+            result = body.decl(jclass.owner().INT, "result", JExpr.refthis(cachedHashCode.name()));
+            body._if(result.ne(JExpr.lit(0)))._then()._return(result);
+            body.assign(result, JExpr.lit(1));
+        } else {
+            result = body.decl(jclass.owner().INT, "result", JExpr.lit(1));
+        }
 
         // Incorporate each non-excluded field in the hashCode calculation
         for (JFieldVar fieldVar : fields.values()) {
@@ -420,6 +523,9 @@ public class ObjectRule implements Rule<JPackage, JType> {
             body.assign(result, result.mul(JExpr.lit(31)).plus(JExpr._super().invoke("hashCode")));
         }
 
+        if (cachedHashCode != null) {
+            body.assign(JExpr.refthis(cachedHashCode.name()), result);
+        }
         body._return(result);
         hashCode.annotate(Override.class);
     }
@@ -455,7 +561,7 @@ public class ObjectRule implements Rule<JPackage, JType> {
         return filteredFields;
     }
 
-    private void addEquals(JDefinedClass jclass, JsonNode node) {
+    private void addEquals(JDefinedClass jclass, JsonNode node, JFieldVar cachedHashCode) {
         Map<String, JFieldVar> fields = removeFieldsExcludedFromEqualsAndHashCode(jclass.fields(), node);
 
         JMethod equals = jclass.method(JMod.PUBLIC, boolean.class, "equals");
@@ -468,6 +574,16 @@ public class ObjectRule implements Rule<JPackage, JType> {
 
         JVar rhsVar = body.decl(jclass, "rhs").init(JExpr.cast(jclass, otherObject));
 
+        // Equal instances have equal hash codes, so once both are known they can only be equal if they match
+        if (cachedHashCode != null) {
+            fields.remove(cachedHashCode.name());
+            JFieldRef thisHashCode = JExpr.refthis(cachedHashCode.name());
+            JFieldRef otherHashCode = JExpr.ref(rhsVar, cachedHashCode.name());
+            body._if(thisHashCode.ne(JExpr.lit(0))
+                    .cand(otherHashCode.ne(JExpr.lit(0)))
+                    .cand(thisHashCode.ne(otherHashCode)))._then()._return(JExpr.FALSE);
+        }
+
         JExpression result = JExpr.lit(true);
 
         // First, check super.equals(other)
@@ -70,7 +70,8 @@ public class PropertiesRule implements Rule<JDefinedClass, JDefinedClass> {
             ruleFactory.getPropertyRule().apply(property, node.get(property), node, jclass, schema);
         }
 
-        if (ruleFactory.getGenerationConfig().isGenerateBuilders() && !jclass._extends().name().equals("Object")) {
+        if (ruleFactory.getGenerationConfig().isGenerateBuilders() && !jclass._extends().name().equals("Object")
+                && !ruleFactory.getReflectionHelper().isRecord(jclass)) {
             addOverrideBuilders(jclass, jclass.owner()._getClass(jclass._extends().fullName()));
         }
 
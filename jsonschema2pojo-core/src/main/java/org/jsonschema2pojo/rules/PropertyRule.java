@@ -18,12 +18,14 @@ package org.jsonschema2pojo.rules;
 
 import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.util.ImmutableHelper;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.sun.codemodel.JBlock;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JDocCommentable;
 import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JMod;
@@ -79,12 +81,18 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
         JType propertyType = ruleFactory.getSchemaRule().apply(nodeName, node, parent, jclass, propertySchema);
         propertySchema.setJavaTypeIfEmpty(propertyType);
 
-        boolean isIncludeGetters = ruleFactory.getGenerationConfig().isIncludeGetters();
-        boolean isIncludeSetters = ruleFactory.getGenerationConfig().isIncludeSetters();
+        // record components have implicit accessors and can't be reassigned
+        boolean isRecord = ruleFactory.getReflectionHelper().isRecord(jclass);
+        boolean isIncludeGetters = ruleFactory.getGenerationConfig().isIncludeGetters() && !isRecord;
+        boolean isImmutable = ruleFactory.getGenerationConfig().isImmutable() || isRecord;
+        boolean isIncludeSetters = ruleFactory.getGenerationConfig().isIncludeSetters() && !isImmutable;
 
         node = resolveRefs(node, schema);
 
         int accessModifier = isIncludeGetters || isIncludeSetters ? JMod.PRIVATE : JMod.PUBLIC;
+        if (isImmutable) {
+            accessModifier |= JMod.FINAL;
+        }
         JFieldVar field = jclass.field(accessModifier, propertyType, propertyName);
 
         propertyAnnotations(nodeName, node, schema, field);
@@ -105,7 +113,7 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
             propertyAnnotations(nodeName, node, schema, setter);
         }
 
-        if (ruleFactory.getGenerationConfig().isGenerateBuilders()) {
+        if (ruleFactory.getGenerationConfig().isGenerateBuilders() && !isImmutable) {
             addBuilderMethod(jclass, field, nodeName, node);
         }
 
@@ -233,12 +241,15 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
 
         JMethod getter = c.method(JMod.PUBLIC, type, getGetterName(jsonPropertyName, field.type(), node));
 
+        // immutable types don't hand out values that can be changed
+        JExpression value = ruleFactory.getGenerationConfig().isImmutable() ? ImmutableHelper.readOnly(field.type(), field) : field;
+
         JBlock body = getter.body();
         if ((ruleFactory.getGenerationConfig().isUseOptionalForGetters() || usesOptional) && !isRequired
                 && field.type().isReference()) {
-            body._return(c.owner().ref("java.util.Optional").staticInvoke("ofNullable").arg(field));
+            body._return(c.owner().ref("java.util.Optional").staticInvoke("ofNullable").arg(value));
         } else {
-            body._return(field);
+            body._return(value);
         }
 
         return getter;
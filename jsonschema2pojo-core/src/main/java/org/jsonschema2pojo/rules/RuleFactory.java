@@ -20,6 +20,7 @@ import org.jsonschema2pojo.Annotator;
 import org.jsonschema2pojo.DefaultGenerationConfig;
 import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.Jackson2Annotator;
+import org.jsonschema2pojo.MetricsListener;
 import org.jsonschema2pojo.RuleLogger;
 import org.jsonschema2pojo.SchemaStore;
 import org.jsonschema2pojo.util.NameHelper;
@@ -46,6 +47,7 @@ public class RuleFactory {
     private GenerationConfig generationConfig;
     private Annotator annotator;
     private SchemaStore schemaStore;
+    private MetricsListener metricsListener;
 
     /**
      * Create a new rule factory with the given generation config options.
@@ -84,7 +86,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "array" declaration.
      */
     public Rule<JPackage, JClass> getArrayRule() {
-        return new ArrayRule(this);
+        return timed(new ArrayRule(this));
     }
 
     /**
@@ -94,7 +96,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "description" declaration.
      */
     public Rule<JDocCommentable, JDocComment> getDescriptionRule() {
-        return new DescriptionRule();
+        return timed(new DescriptionRule());
     }
 
     /**
@@ -104,7 +106,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "$comment" declaration.
      */
     public Rule<JDocCommentable, JDocComment> getCommentRule() {
-        return new CommentRule();
+        return timed(new CommentRule());
     }
 
     /**
@@ -114,7 +116,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "enum" declaration.
      */
     public Rule<JClassContainer, JType> getEnumRule() {
-        return new EnumRule(this);
+        return timed(new EnumRule(this));
     }
 
     /**
@@ -124,7 +126,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "format" declaration.
      */
     public Rule<JType, JType> getFormatRule() {
-        return new FormatRule(this);
+        return timed(new FormatRule(this));
     }
 
     /**
@@ -134,7 +136,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "object" declaration.
      */
     public Rule<JPackage, JType> getObjectRule() {
-        return new ObjectRule(this, new ParcelableHelper(), reflectionHelper);
+        return timed(new ObjectRule(this, new ParcelableHelper(), reflectionHelper));
     }
 
     /**
@@ -144,7 +146,7 @@ public class RuleFactory {
      */
     public Rule<JDefinedClass, JDefinedClass> getConstructorRule()
     {
-        return new ConstructorRule(this, reflectionHelper);
+        return timed(new ConstructorRule(this, reflectionHelper));
     }
 
     /**
@@ -153,7 +155,7 @@ public class RuleFactory {
      *
      * @return a schema rule that can handle the "required" declaration.
      */
-    public Rule<JDefinedClass, JDefinedClass> getRequiredArrayRule() { return new RequiredArrayRule(this); }
+    public Rule<JDefinedClass, JDefinedClass> getRequiredArrayRule() { return timed(new RequiredArrayRule(this)); }
 
     /**
      * Provides a rule instance that should be applied when a "properties"
@@ -162,7 +164,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "properties" declaration.
      */
     public Rule<JDefinedClass, JDefinedClass> getPropertiesRule() {
-        return new PropertiesRule(this);
+        return timed(new PropertiesRule(this));
     }
 
     /**
@@ -173,7 +175,7 @@ public class RuleFactory {
      * @return a schema rule that can handle a property declaration.
      */
     public Rule<JDefinedClass, JDefinedClass> getPropertyRule() {
-        return new PropertyRule(this);
+        return timed(new PropertyRule(this));
     }
 
     /**
@@ -183,7 +185,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "required" declaration.
      */
     public Rule<JDocCommentable, JDocCommentable> getRequiredRule() {
-        return new RequiredRule(this);
+        return timed(new RequiredRule(this));
     }
 
     /**
@@ -193,7 +195,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "required" declaration.
      */
     public Rule<JDocCommentable, JDocCommentable> getNotRequiredRule() {
-        return new NotRequiredRule(this);
+        return timed(new NotRequiredRule(this));
     }
 
     /**
@@ -205,7 +207,7 @@ public class RuleFactory {
      *         given schema node.
      */
     public Rule<JClassContainer, JType> getTypeRule() {
-        return new TypeRule(this);
+        return timed(new TypeRule(this));
     }
 
     /**
@@ -216,7 +218,7 @@ public class RuleFactory {
      *         declaration.
      */
     public Rule<JDefinedClass, JDefinedClass> getAdditionalPropertiesRule() {
-        return new AdditionalPropertiesRule(this);
+        return timed(new AdditionalPropertiesRule(this));
     }
 
     /**
@@ -226,7 +228,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "title" declaration.
      */
     public Rule<JDocCommentable, JDocComment> getTitleRule() {
-        return new TitleRule();
+        return timed(new TitleRule());
     }
 
     /**
@@ -236,7 +238,7 @@ public class RuleFactory {
      * @return a schema rule that can handle a schema declaration.
      */
     public Rule<JClassContainer, JType> getSchemaRule() {
-        return new SchemaRule(this);
+        return timed(new SchemaRule(this));
     }
 
     /**
@@ -247,7 +249,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "default" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getDefaultRule() {
-        return new DefaultRule(this);
+        return timed(new DefaultRule(this));
     }
 
     /**
@@ -258,7 +260,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "default" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getMinimumMaximumRule() {
-        return new MinimumMaximumRule(this);
+        return timed(new MinimumMaximumRule(this));
     }
 
     /**
@@ -269,7 +271,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "default" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getMinItemsMaxItemsRule() {
-        return new MinItemsMaxItemsRule(this);
+        return timed(new MinItemsMaxItemsRule(this));
     }
 
     /**
@@ -280,7 +282,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "default" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getMinLengthMaxLengthRule() {
-        return new MinLengthMaxLengthRule(this);
+        return timed(new MinLengthMaxLengthRule(this));
     }
 
     /**
@@ -291,7 +293,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "digits" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getDigitsRule() {
-        return new DigitsRule(this);
+        return timed(new DigitsRule(this));
     }
 
     /**
@@ -301,7 +303,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "pattern" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getPatternRule() {
-        return new PatternRule(this);
+        return timed(new PatternRule(this));
     }
 
     /**
@@ -312,7 +314,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "default" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getValidRule() {
-        return new ValidRule(this);
+        return timed(new ValidRule(this));
     }
 
     /**
@@ -423,7 +425,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "media" declaration.
      */
     public Rule<JType, JType> getMediaRule() {
-        return new MediaRule();
+        return timed(new MediaRule());
     }
 
     /**
@@ -431,15 +433,52 @@ public class RuleFactory {
      * building properties.
      */
     public Rule<JDefinedClass, JDefinedClass> getDynamicPropertiesRule() {
-        return new DynamicPropertiesRule(this);
+        return timed(new DynamicPropertiesRule(this));
+    }
+
+    /**
+     * Provides a rule instance that adds a streaming serializer and
+     * deserializer to a generated type.
+     *
+     * @return a schema rule that can generate adapters for an "object"
+     *         declaration.
+     */
+    public Rule<JDefinedClass, JDefinedClass> getAdapterRule() {
+        return timed(new AdapterRule(this));
     }
 
     public Rule<JDefinedClass, JDefinedClass> getBuilderRule(){
-        return new BuilderRule(this, reflectionHelper);
+        return timed(new BuilderRule(this, reflectionHelper));
     }
 
     public Rule<JDocCommentable, JDocComment> getJavaNameRule() {
-        return new JavaNameRule();
+        return timed(new JavaNameRule());
+    }
+
+    /**
+     * Gets the listener that is told the time taken each time a rule created
+     * by this factory is applied.
+     *
+     * @return the metrics listener, or <code>null</code> if rules are not
+     *         timed
+     */
+    public MetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * The listener that should be told the time taken each time a rule
+     * created by this factory is applied. By default rules are not timed.
+     *
+     * @param metricsListener
+     *            the metrics listener (may be <code>null</code>)
+     */
+    public void setMetricsListener(MetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    private <T, R> Rule<T, R> timed(Rule<T, R> rule) {
+        return metricsListener != null ? new TimedRule<>(rule, metricsListener) : rule;
     }
 
 }
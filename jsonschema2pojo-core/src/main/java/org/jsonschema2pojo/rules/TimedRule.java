@@ -0,0 +1,63 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import org.jsonschema2pojo.MetricsListener;
+import org.jsonschema2pojo.Schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Applies another rule, reporting the time taken to a {@link MetricsListener}.
+ * Rules apply other rules, so the time spent in rules applied by this one
+ * (on the same thread) is subtracted, and each rule reports only its own
+ * time.
+ */
+class TimedRule<T, R> implements Rule<T, R> {
+
+    /**
+     * The time spent so far in the rules applied (directly) by the rule
+     * currently being applied on each thread.
+     */
+    private static final ThreadLocal<long[]> NESTED_TIME = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Rule<T, R> rule;
+    private final MetricsListener listener;
+
+    TimedRule(Rule<T, R> rule, MetricsListener listener) {
+        this.rule = rule;
+        this.listener = listener;
+    }
+
+    @Override
+    public R apply(String nodeName, JsonNode node, JsonNode parent, T generatableType, Schema currentSchema) {
+        long[] nestedTime = NESTED_TIME.get();
+        long enclosingNestedTime = nestedTime[0];
+        nestedTime[0] = 0;
+
+        long start = System.nanoTime();
+        try {
+            return rule.apply(nodeName, node, parent, generatableType, currentSchema);
+        } finally {
+            long duration = System.nanoTime() - start;
+            long ownDuration = duration - nestedTime[0];
+            nestedTime[0] = enclosingNestedTime + duration;
+            listener.ruleApplied(rule.getClass(), ownDuration);
+        }
+    }
+
+}
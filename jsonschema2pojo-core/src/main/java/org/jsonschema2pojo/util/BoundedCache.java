@@ -0,0 +1,91 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A thread-safe memo of the results of a (pure) function, holding at most a
+ * fixed number of entries. When full, the least recently used entry is
+ * discarded.
+ *
+ * @param <K>
+ *            the type of the function's input
+ * @param <V>
+ *            the type of the function's result
+ */
+public class BoundedCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    /**
+     * @param maxSize
+     *            the maximum number of results to keep
+     */
+    public BoundedCache(final int maxSize) {
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the result held for the given key, computing (and holding) it
+     * if necessary. The lock is not held while computing, so the function may
+     * occasionally be applied more than once for the same key.
+     *
+     * @param key
+     *            the function input
+     * @param function
+     *            the function whose result is cached
+     * @return the result of applying the function to the key
+     */
+    public V get(K key, Function<? super K, ? extends V> function) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+
+        if (value == null) {
+            value = function.apply(key);
+            synchronized (entries) {
+                entries.put(key, value);
+            }
+        }
+
+        return value;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+}
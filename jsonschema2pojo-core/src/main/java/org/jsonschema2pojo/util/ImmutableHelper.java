@@ -0,0 +1,215 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JOp;
+import com.sun.codemodel.JType;
+
+/**
+ * Helps immutable types keep their state to themselves: collections are
+ * copied into unmodifiable collections when they're assigned and are read
+ * through unmodifiable views, and dates are copied whenever they're assigned
+ * or read.
+ */
+public class ImmutableHelper {
+
+    private static final Set<String> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class.getName(),
+            Boolean.class.getName(),
+            Character.class.getName(),
+            Byte.class.getName(),
+            Short.class.getName(),
+            Integer.class.getName(),
+            Long.class.getName(),
+            Float.class.getName(),
+            Double.class.getName(),
+            BigInteger.class.getName(),
+            BigDecimal.class.getName(),
+            URI.class.getName(),
+            UUID.class.getName(),
+            Locale.class.getName(),
+            Currency.class.getName()));
+
+    private ImmutableHelper() {
+    }
+
+    /**
+     * Builds an expression that copies a value supplied by a caller, so that
+     * the caller can't change it afterwards.
+     *
+     * @param type
+     *            the type of the value
+     * @param value
+     *            the value supplied (which is evaluated more than once)
+     * @return an unmodifiable copy of a list, set or map, a copy of a date, or
+     *         else the value itself (<code>null</code> is kept as it is)
+     */
+    public static JExpression copyOf(JType type, JExpression value) {
+        JCodeModel codeModel = type.owner();
+
+        JExpression copy;
+        if (isDate(type)) {
+            copy = JExpr._new(codeModel.ref(Date.class)).arg(value.invoke("getTime"));
+        } else if (isCollection(type)) {
+            copy = unmodifiable(type, JExpr._new(copyType((JClass) type)).arg(value));
+        } else {
+            return value;
+        }
+        return JOp.cond(value.eq(JExpr._null()), JExpr._null(), copy);
+    }
+
+    /**
+     * Wraps a new list, set or map (that nothing else refers to) so that it
+     * can't be changed.
+     *
+     * @param type
+     *            the type of the value
+     * @param value
+     *            the new value
+     * @return the unmodifiable view of a list, set or map, or else the value
+     *         itself (a <code>null</code> literal is kept as it is)
+     */
+    public static JExpression unmodifiable(JType type, JExpression value) {
+        if (!isCollection(type) || value == JExpr._null()) {
+            return value;
+        }
+        String method = "unmodifiable" + ((JClass) type).erasure().name();
+        return type.owner().ref(Collections.class).staticInvoke(method).arg(value);
+    }
+
+    /**
+     * Builds an expression that reads the value of a field without letting the
+     * reader change it. Deserializers (such as Jackson and Gson) assign fields
+     * directly rather than through the constructor, so a field may hold a
+     * collection that was never copied.
+     *
+     * @param type
+     *            the type of the field
+     * @param value
+     *            the field (which is evaluated more than once)
+     * @return an unmodifiable view of a list, set or map, a copy of a date, or
+     *         else the value itself (<code>null</code> is kept as it is)
+     */
+    public static JExpression readOnly(JType type, JExpression value) {
+        if (isDate(type)) {
+            return copyOf(type, value);
+        } else if (isCollection(type)) {
+            return JOp.cond(value.eq(JExpr._null()), JExpr._null(), unmodifiable(type, value));
+        } else {
+            return value;
+        }
+    }
+
+    /**
+     * Decides whether the value of an immutable type's field can never change,
+     * given the copies made by {@link #copyOf(JType, JExpression)} and (where
+     * the field has a getter) {@link #readOnly(JType, JExpression)}. Hash
+     * codes can only be cached when every field's value can never change.
+     *
+     * @param type
+     *            the type of the field
+     * @param hasGetter
+     *            whether the field is only read through a getter
+     * @return <code>true</code> if a value of the given type held by an
+     *         immutable type can never change
+     */
+    public static boolean isUnchangeable(JType type, boolean hasGetter) {
+        if (isDate(type)) {
+            return hasGetter;
+        }
+        if (isCollection(type)) {
+            if (!hasGetter) {
+                // a deserialized instance exposes the collection it was given
+                return false;
+            }
+            // only the collection itself is protected, so its contents must be unchangeable already
+            for (JClass typeParameter : ((JClass) type).getTypeParameters()) {
+                if (!isImmutable(typeParameter)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return isImmutable(type);
+    }
+
+    private static boolean isImmutable(JType type) {
+        // generated types are immutable too (or are enums)
+        return type.isPrimitive() || type instanceof JDefinedClass
+                || IMMUTABLE_TYPES.contains(type.fullName()) || type.fullName().startsWith("java.time.");
+    }
+
+    private static boolean isDate(JType type) {
+        return type.fullName().equals(Date.class.getName());
+    }
+
+    private static boolean isCollection(JType type) {
+        if (type.isPrimitive() || type.isArray()) {
+            return false;
+        }
+        String name = type.erasure().fullName();
+        if (!name.equals(List.class.getName()) && !name.equals(Set.class.getName()) && !name.equals(Map.class.getName())) {
+            return false;
+        }
+
+        // raw and wildcard types can't be copied without unchecked conversions
+        List<JClass> typeParameters = ((JClass) type).getTypeParameters();
+        for (JClass typeParameter : typeParameters) {
+            if (typeParameter.fullName().startsWith("?")) {
+                return false;
+            }
+        }
+        return !typeParameters.isEmpty();
+    }
+
+    private static JClass copyType(JClass type) {
+        JClass erasure = type.erasure();
+        JClass copyType;
+        if (erasure.fullName().equals(List.class.getName())) {
+            copyType = type.owner().ref(ArrayList.class);
+        } else if (erasure.fullName().equals(Set.class.getName())) {
+            copyType = type.owner().ref(LinkedHashSet.class);
+        } else {
+            copyType = type.owner().ref(LinkedHashMap.class);
+        }
+        return copyType.narrow(type.getTypeParameters());
+    }
+
+}
@@ -21,7 +21,9 @@ package org.jsonschema2pojo.util;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,16 +35,25 @@ import java.util.regex.Pattern;
  */
 public class Inflector {
 
+    /**
+     * The number of words for which the plural and singular forms are
+     * remembered (each rule is a regex, so finding a form is slow).
+     */
+    private static final int CACHE_SIZE = 10000;
+
     private final List<RuleAndReplacement> plurals;
     private final List<RuleAndReplacement> singulars;
-    private final List<String> uncountables;
+    private final Set<String> uncountables;
+
+    private final BoundedCache<String, String> pluralForms = new BoundedCache<>(CACHE_SIZE);
+    private final BoundedCache<String, String> singularForms = new BoundedCache<>(CACHE_SIZE);
 
     private static Inflector instance  = createDefaultBuilder().build();
 
     private Inflector(Builder builder) {
         plurals = Collections.unmodifiableList(builder.plurals);
         singulars = Collections.unmodifiableList(builder.singulars);
-        uncountables = Collections.unmodifiableList(builder.uncountables);
+        uncountables = Collections.unmodifiableSet(new HashSet<>(builder.uncountables));
     }
 
     public static Inflector.Builder createDefaultBuilder()
@@ -121,17 +132,21 @@ public class Inflector {
     }
 
     public String pluralize(String word) {
-        if (uncountables.contains(word.toLowerCase())) {
-            return word;
-        }
-        return replaceWithFirstRule(word, plurals);
+        return pluralForms.get(word, w -> {
+            if (uncountables.contains(w.toLowerCase())) {
+                return w;
+            }
+            return replaceWithFirstRule(w, plurals);
+        });
     }
 
     public String singularize(String word) {
-        if (uncountables.contains(word.toLowerCase())) {
-            return word;
-        }
-        return replaceWithFirstRule(word, singulars);
+        return singularForms.get(word, w -> {
+            if (uncountables.contains(w.toLowerCase())) {
+                return w;
+            }
+            return replaceWithFirstRule(w, singulars);
+        });
     }
 
     private static String replaceWithFirstRule(String word, List<RuleAndReplacement> ruleAndReplacements) {
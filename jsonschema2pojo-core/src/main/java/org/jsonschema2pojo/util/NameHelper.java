@@ -20,6 +20,9 @@ import static java.lang.Character.*;
 import static javax.lang.model.SourceVersion.*;
 import static org.apache.commons.lang3.StringUtils.*;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 import org.apache.commons.lang3.text.WordUtils;
 import org.jsonschema2pojo.GenerationConfig;
 
@@ -34,8 +37,17 @@ public class NameHelper {
 
     public static final String ILLEGAL_CHARACTER_REGEX = "[^0-9a-zA-Z_$]";
 
+    /**
+     * The number of names remembered by each cache. The same property names
+     * tend to recur throughout a schema set, so even a large set of schemas
+     * rarely needs more.
+     */
+    private static final int CACHE_SIZE = 10000;
+
     private final GenerationConfig generationConfig;
 
+    private volatile NameCaches nameCaches = new NameCaches(null, null, null);
+
     public NameHelper(GenerationConfig generationConfig) {
         this.generationConfig = generationConfig;
     }
@@ -45,7 +57,31 @@ public class NameHelper {
     }
 
     public String replaceIllegalCharacters(String name) {
-        return name.replaceAll(ILLEGAL_CHARACTER_REGEX, "_");
+        int i = 0;
+        while (i < name.length() && isLegalCharacter(name.charAt(i))) {
+            i++;
+        }
+        if (i == name.length()) {
+            return name;
+        }
+
+        // equivalent to replaceAll(ILLEGAL_CHARACTER_REGEX, "_"), which
+        // replaces each code point (not each char)
+        StringBuilder replaced = new StringBuilder(name.length()).append(name, 0, i);
+        while (i < name.length()) {
+            int codePoint = name.codePointAt(i);
+            if (codePoint < 128 && isLegalCharacter((char) codePoint)) {
+                replaced.append((char) codePoint);
+            } else {
+                replaced.append('_');
+            }
+            i += charCount(codePoint);
+        }
+        return replaced.toString();
+    }
+
+    private static boolean isLegalCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '$';
     }
 
     public String normalizeName(String name) {
@@ -59,8 +95,29 @@ public class NameHelper {
     }
 
     public String capitalizeTrailingWords(String name) {
+        final char[] wordDelimiters = generationConfig.getPropertyWordDelimiters();
+
+        return nameCaches().capitalizedNames.get(name, key -> capitalizeTrailingWords(key, wordDelimiters));
+    }
+
+    /**
+     * The names produced depend on the configured word delimiters, prefix and
+     * suffix, so all cached names are discarded if any of these change.
+     */
+    private NameCaches nameCaches() {
+        NameCaches caches = nameCaches;
         char[] wordDelimiters = generationConfig.getPropertyWordDelimiters();
+        String prefix = generationConfig.getClassNamePrefix();
+        String suffix = generationConfig.getClassNameSuffix();
+
+        if (!caches.isFor(wordDelimiters, prefix, suffix)) {
+            caches = new NameCaches(wordDelimiters, prefix, suffix);
+            nameCaches = caches;
+        }
+        return caches;
+    }
 
+    private String capitalizeTrailingWords(String name, char[] wordDelimiters) {
         if (containsAny(name, wordDelimiters)) {
             String capitalizedNodeName;
             if (areAllWordsUpperCaseBesideDelimiters(name, wordDelimiters)) {
@@ -103,8 +160,10 @@ public class NameHelper {
      * @return
      */
     public String getPropertyName(String jsonFieldName, JsonNode node) {
-        jsonFieldName = getFieldName(jsonFieldName, node);
+        return nameCaches().propertyNames.get(getFieldName(jsonFieldName, node), this::getPropertyName);
+    }
 
+    private String getPropertyName(String jsonFieldName) {
         jsonFieldName = replaceIllegalCharacters(jsonFieldName);
         jsonFieldName = normalizeName(jsonFieldName);
         jsonFieldName = makeLowerCamelCase(jsonFieldName);
@@ -181,7 +240,7 @@ public class NameHelper {
                 propertyName = node.get("javaName").textValue();
             } else if (generationConfig.isUseTitleAsClassname() && node.has("title")) {
                 String title = node.get("title").textValue();
-                propertyName = WordUtils.capitalize(title).replaceAll(" ", "");
+                propertyName = remove(WordUtils.capitalize(title), ' ');
             }
         }
 
@@ -243,9 +302,12 @@ public class NameHelper {
     }
 
     public String getClassName(String nodeName, JsonNode node, JPackage _package) {
+        return nameCaches().classNames.get(getClassName(nodeName, node), this::getClassNameForFieldName);
+    }
+
+    private String getClassNameForFieldName(String fieldName) {
         String prefix = generationConfig.getClassNamePrefix();
         String suffix = generationConfig.getClassNameSuffix();
-        String fieldName = getClassName(nodeName, node);
         String capitalizedFieldName = capitalize(fieldName);
         String fullFieldName = createFullFieldName(capitalizedFieldName, prefix, suffix);
 
@@ -275,4 +337,29 @@ public class NameHelper {
             return makeUnique(MakeUniqueClassName.makeUnique(className), _package);
         }
     }
+
+    /**
+     * Names already worked out for one set of word delimiters, class name
+     * prefix and class name suffix.
+     */
+    private static final class NameCaches {
+
+        private final char[] wordDelimiters;
+        private final String prefix;
+        private final String suffix;
+
+        private final BoundedCache<String, String> capitalizedNames = new BoundedCache<>(CACHE_SIZE);
+        private final BoundedCache<String, String> propertyNames = new BoundedCache<>(CACHE_SIZE);
+        private final BoundedCache<String, String> classNames = new BoundedCache<>(CACHE_SIZE);
+
+        NameCaches(char[] wordDelimiters, String prefix, String suffix) {
+            this.wordDelimiters = wordDelimiters == null ? null : wordDelimiters.clone();
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        boolean isFor(char[] wordDelimiters, String prefix, String suffix) {
+            return Arrays.equals(this.wordDelimiters, wordDelimiters) && Objects.equals(this.prefix, prefix) && Objects.equals(this.suffix, suffix);
+        }
+    }
 }
@@ -19,6 +19,9 @@ package org.jsonschema2pojo.util;
 import static org.apache.commons.lang3.StringUtils.*;
 import static org.jsonschema2pojo.util.Models.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
@@ -40,7 +43,7 @@ public class ParcelableHelper {
             method.body().directStatement("super.writeToParcel(dest, flags);");
         }
         for (JFieldVar f : jclass.fields().values()) {
-            if( (f.mods().getValue() & JMod.STATIC) == JMod.STATIC ) {
+            if( (f.mods().getValue() & (JMod.STATIC | JMod.TRANSIENT)) != 0 ) {
                 continue;
             }
             if (f.type().erasure().name().equals("List")) {
@@ -77,10 +80,18 @@ public class ParcelableHelper {
             ctorFromParcel.body().directStatement("super(in);");
         }
         for (JFieldVar f : jclass.fields().values()) {
-            if( (f.mods().getValue() & JMod.STATIC) == JMod.STATIC ) {
+            if( (f.mods().getValue() & (JMod.STATIC | JMod.TRANSIENT)) != 0 ) {
                 continue;
             }
             if (f.type().erasure().name().equals("List")) {
+                if ((f.mods().getValue() & JMod.FINAL) == JMod.FINAL) {
+                    // final fields have no initializer, so need a list to read into
+                    JClass listType = jclass.owner().ref(ArrayList.class);
+                    List<JClass> typeParameters = ((JClass) f.type()).getTypeParameters();
+                    ctorFromParcel.body().assign(
+                            JExpr._this().ref(f),
+                            JExpr._new(typeParameters.isEmpty() ? listType : listType.narrow(typeParameters)));
+                }
                 ctorFromParcel.body()
                 .invoke(in, "readList")
                 .arg(JExpr._this().ref(f))
@@ -0,0 +1,128 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JFormatter;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JTypeVar;
+
+/**
+ * The superclass of a generated record (<code>java.lang.Record</code>),
+ * which also holds the record's components.
+ * <p>
+ * Code model has no notion of records, so a record is generated as a class
+ * that extends this type. When the class is written, this type prints the
+ * record components in place of the superclass name (so the types and
+ * annotations of components are imported like any others), and the
+ * {@link org.jsonschema2pojo.RecordCodeWriter} turns the class declaration
+ * into a record declaration.
+ */
+public class RecordComponents extends JClass {
+
+    private final List<JFieldVar> components = new ArrayList<>();
+
+    public RecordComponents(JCodeModel owner) {
+        super(owner);
+    }
+
+    /**
+     * Adds a record component, declared like the given field (which should
+     * not also be declared by the record).
+     *
+     * @param field
+     *            the field giving the name, type and annotations of the
+     *            component
+     */
+    public void addComponent(JFieldVar field) {
+        components.add(field);
+    }
+
+    /**
+     * @return the fields giving the record components, in order
+     */
+    public List<JFieldVar> getComponents() {
+        return Collections.unmodifiableList(components);
+    }
+
+    @Override
+    public String name() {
+        return "Record";
+    }
+
+    @Override
+    public String fullName() {
+        return "java.lang.Record";
+    }
+
+    @Override
+    public JPackage _package() {
+        return owner()._package("java.lang");
+    }
+
+    @Override
+    public JClass _extends() {
+        return owner().ref(Object.class);
+    }
+
+    @Override
+    public Iterator<JClass> _implements() {
+        return Collections.emptyIterator();
+    }
+
+    @Override
+    public boolean isInterface() {
+        return false;
+    }
+
+    @Override
+    public boolean isAbstract() {
+        return true;
+    }
+
+    @Override
+    protected JClass substituteParams(JTypeVar[] variables, List<JClass> bindings) {
+        return this;
+    }
+
+    @Override
+    public void generate(JFormatter f) {
+        f.p('(').i();
+        for (int i = 0; i < components.size(); i++) {
+            JFieldVar component = components.get(i);
+            f.nl();
+            for (JAnnotationUse annotation : component.annotations()) {
+                f.g(annotation).nl();
+            }
+            f.g(component.type()).id(component.name());
+            if (i < components.size() - 1) {
+                f.p(',');
+            }
+        }
+        f.p(')').o();
+    }
+
+}
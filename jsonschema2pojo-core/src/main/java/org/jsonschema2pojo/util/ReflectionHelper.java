@@ -19,10 +19,12 @@ package org.jsonschema2pojo.util;
 import static org.jsonschema2pojo.util.TypeUtil.*;
 
 import java.lang.reflect.Modifier;
-import java.util.Collection;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.stream.StreamSupport;
@@ -32,7 +34,10 @@ import org.jsonschema2pojo.rules.RuleFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JPackage;
 import com.sun.codemodel.JType;
@@ -41,10 +46,106 @@ public class ReflectionHelper {
 
   private RuleFactory ruleFactory;
 
+  /**
+   * Nested classes (e.g. builders) by package and simple name. Top-level
+   * classes are found through their package, so need no index. Only classes
+   * of the most recently seen code model are indexed.
+   */
+  private final Map<JPackage, Map<String, JDefinedClass>> nestedClasses = new HashMap<>();
+  private JCodeModel indexedCodeModel;
+
+  /**
+   * Names that a scan of the package found no nested class for, so that
+   * repeated misses (e.g. for builders that aren't generated) don't rescan
+   * the package. Forgotten whenever a nested class is added to the package.
+   */
+  private final Map<JPackage, Set<String>> missingNestedClasses = new HashMap<>();
+
+  /**
+   * Initial values of final fields, which are assigned by constructors rather
+   * than by field initializers. Only fields of the most recently seen code
+   * model are kept.
+   */
+  private final Map<JFieldVar, JExpression> initialValues = new HashMap<>();
+  private JCodeModel initialValuesCodeModel;
+
   public ReflectionHelper(RuleFactory ruleFactory) {
     this.ruleFactory = ruleFactory;
   }
 
+  /**
+   * Records a newly created nested class, so that it can be found by name
+   * without searching every class in its package. Rules that create nested
+   * classes should call this for each one.
+   *
+   * @param nestedClass
+   *          the class that has been created
+   */
+  public void addNestedClass(JDefinedClass nestedClass) {
+    nestedClassesOf(nestedClass._package()).putIfAbsent(nestedClass.name(), nestedClass);
+    missingNestedClasses.remove(nestedClass._package());
+  }
+
+  /**
+   * Records the value a field should be given when a constructor has no other
+   * value for it (e.g. the schema default of a final field, which can't have
+   * both a field initializer and be assigned by constructors).
+   *
+   * @param field
+   *          the field to be initialized
+   * @param initialValue
+   *          the value to assign to the field
+   */
+  public void setInitialValue(JFieldVar field, JExpression initialValue) {
+    initialValuesOf(field).put(field, initialValue);
+  }
+
+  /**
+   * @param field
+   *          the field to be initialized
+   * @return whether a value has been recorded for the field by
+   *         {@link #setInitialValue(JFieldVar, JExpression)}
+   */
+  public boolean hasInitialValue(JFieldVar field) {
+    return initialValuesOf(field).containsKey(field);
+  }
+
+  /**
+   * Gets the value a constructor should assign to a field when it has no
+   * other value for it.
+   *
+   * @param field
+   *          the field to be initialized
+   * @return the value recorded by {@link #setInitialValue(JFieldVar, JExpression)},
+   *         or else the Java default value for the field's type (e.g.
+   *         <code>null</code>, <code>0</code> or <code>false</code>)
+   */
+  public JExpression getInitialValue(JFieldVar field) {
+    JExpression initialValue = initialValuesOf(field).get(field);
+    if (initialValue != null) {
+      return initialValue;
+    }
+
+    JType type = field.type();
+    if (!type.isPrimitive()) {
+      return JExpr._null();
+    } else if (type == type.owner().BOOLEAN) {
+      return JExpr.FALSE;
+    } else if (type == type.owner().INT) {
+      return JExpr.lit(0);
+    } else if (type == type.owner().LONG) {
+      return JExpr.lit(0L);
+    } else if (type == type.owner().DOUBLE) {
+      return JExpr.lit(0.0D);
+    } else if (type == type.owner().FLOAT) {
+      return JExpr.lit(0.0F);
+    } else if (type == type.owner().CHAR) {
+      return JExpr.lit('\u0000');
+    } else {
+      return JExpr.cast(type, JExpr.lit(0));
+    }
+  }
+
   public JType getSuperType(String nodeName, JsonNode node, JPackage jPackage, Schema schema) {
     if (node.has("extends") && node.has("extendsJavaClass")) {
       throw new IllegalStateException("'extends' and 'extendsJavaClass' defined simultaneously");
@@ -53,6 +154,7 @@ public class ReflectionHelper {
     JType superType = jPackage.owner().ref(Object.class);
     Schema superTypeSchema = getSuperSchema(node, schema, false);
     if (superTypeSchema != null) {
+      resolveSchemaRefsRecursive(superTypeSchema).setExtended();
       superType = ruleFactory.getSchemaRule().apply(nodeName + "Parent", node.get("extends"), node, jPackage, superTypeSchema);
     } else if (node.has("extendsJavaClass")) {
       superType = resolveType(jPackage, node.get("extendsJavaClass").asText());
@@ -102,8 +204,7 @@ public class ReflectionHelper {
 
   public JDefinedClass getConcreteBuilderClass(JClass target) {
     String builderClassname = ruleFactory.getNameHelper().getBuilderClassName(target);
-    return getAllPackageClasses(target._package()).stream().filter(definedClass -> definedClass.name().equals(builderClassname)).findFirst()
-            .orElse(null);
+    return findClass(builderClassname, target._package());
   }
 
   public JDefinedClass getBaseBuilderClass(JDefinedClass target) {
@@ -115,8 +216,17 @@ public class ReflectionHelper {
 
   public JDefinedClass getBaseBuilderClass(JClass target) {
     String builderClassname = ruleFactory.getNameHelper().getBaseBuilderClassName(target);
-    return getAllPackageClasses(target._package()).stream().filter(definedClass -> definedClass.name().equals(builderClassname)).findFirst()
-        .orElse(null);
+    return findClass(builderClassname, target._package());
+  }
+
+  /**
+   * @param type
+   *          a type that may have been generated
+   * @return whether the type is being generated as a record (in which case
+   *         its properties are record components rather than fields)
+   */
+  public boolean isRecord(JType type) {
+    return type instanceof JDefinedClass && ((JDefinedClass) type)._extends() instanceof RecordComponents;
   }
 
   public boolean isFinal(JType superType) {
@@ -160,23 +270,60 @@ public class ReflectionHelper {
   }
 
   private JDefinedClass _getClass(String name, JPackage _package) {
-    return getAllPackageClasses(_package).stream().filter(definedClass -> definedClass.name().equals(name)).findFirst()
-        .orElseThrow(() -> new NoClassDefFoundError(name));
+    JDefinedClass _class = findClass(name, _package);
+    if (_class == null) {
+      throw new NoClassDefFoundError(name);
+    }
+    return _class;
   }
 
-  private Collection<JDefinedClass> getAllPackageClasses(JPackage _package) {
-    LinkedList<JDefinedClass> result = new LinkedList<>();
-    StreamSupport.stream(Spliterators.spliteratorUnknownSize(_package.classes(), Spliterator.ORDERED), false)
-        .forEach(_class -> result.addAll(getAllClassClasses(_class)));
-    return result;
+  /**
+   * Finds a class (top-level or nested one level deep) in the given package
+   * by its simple name.
+   *
+   * @return the class, or <code>null</code> if there is no such class
+   */
+  private JDefinedClass findClass(String name, JPackage _package) {
+    JDefinedClass _class = _package._getClass(name);
+    if (_class != null) {
+      return _class;
+    }
+
+    Map<String, JDefinedClass> nested = nestedClassesOf(_package);
+    _class = nested.get(name);
+    if (_class == null) {
+      Set<String> missing = missingNestedClasses.computeIfAbsent(_package, p -> new HashSet<>());
+      if (missing.contains(name)) {
+        return null;
+      }
+
+      // nested classes created without being added to the index
+      for (Iterator<JDefinedClass> classes = _package.classes(); classes.hasNext();) {
+        classes.next().classes().forEachRemaining(c -> nested.putIfAbsent(c.name(), c));
+      }
+      _class = nested.get(name);
+      if (_class == null) {
+        missing.add(name);
+      }
+    }
+    return _class;
   }
 
-  private Collection<JDefinedClass> getAllClassClasses(JDefinedClass _class) {
-    LinkedList<JDefinedClass> result = new LinkedList<>();
-    result.add(_class);
+  private Map<String, JDefinedClass> nestedClassesOf(JPackage _package) {
+    if (_package.owner() != indexedCodeModel) {
+      nestedClasses.clear();
+      missingNestedClasses.clear();
+      indexedCodeModel = _package.owner();
+    }
+    return nestedClasses.computeIfAbsent(_package, p -> new HashMap<>());
+  }
 
-    _class.classes().forEachRemaining(result::add);
-    return result;
+  private Map<JFieldVar, JExpression> initialValuesOf(JFieldVar field) {
+    if (field.type().owner() != initialValuesCodeModel) {
+      initialValues.clear();
+      initialValuesCodeModel = field.type().owner();
+    }
+    return initialValues;
   }
 
   private Schema resolveSchemaRefsRecursive(Schema schema) {
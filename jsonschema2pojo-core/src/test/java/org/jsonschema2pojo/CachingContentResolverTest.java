@@ -0,0 +1,85 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class CachingContentResolverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final CachingContentResolver resolver = new CachingContentResolver(new ContentResolver());
+
+    @Test
+    public void unchangedFilesAreReadOnce() throws IOException {
+        File file = write(folder.newFile("schema.json"), "{\"type\":\"string\"}", 1000000000000L);
+        resolver.resolve(file.toURI());
+
+        write(file, "{\"type\":\"number\"}", 1000000000000L);
+
+        assertThat(resolver.resolve(file.toURI()).path("type").asText(), is("string"));
+    }
+
+    @Test
+    public void modifiedFilesAreReadAgain() throws IOException {
+        File file = write(folder.newFile("schema.json"), "{\"type\":\"string\"}", 1000000000000L);
+        resolver.resolve(file.toURI());
+
+        write(file, "{\"type\":\"number\"}", 1000000001000L);
+
+        assertThat(resolver.resolve(file.toURI()).path("type").asText(), is("number"));
+    }
+
+    @Test
+    public void invalidatedFilesAreReadAgain() throws IOException {
+        File file = write(folder.newFile("schema.json"), "{\"type\":\"string\"}", 1000000000000L);
+        resolver.resolve(file.toURI());
+
+        write(file, "{\"type\":\"number\"}", 1000000000000L);
+        resolver.invalidate(file.toPath());
+
+        assertThat(resolver.resolve(file.toURI()).path("type").asText(), is("number"));
+    }
+
+    @Test
+    public void eachCallerReceivesItsOwnCopy() throws IOException {
+        File file = write(folder.newFile("schema.json"), "{\"type\":\"string\"}", 1000000000000L);
+        ((ObjectNode) resolver.resolve(file.toURI())).put("type", "number");
+
+        assertThat(resolver.resolve(file.toURI()).path("type").asText(), is("string"));
+    }
+
+    private static File write(File file, String content, long lastModified) throws IOException {
+        FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+        assertThat(file.setLastModified(lastModified), is(true));
+        return file;
+    }
+
+}
@@ -16,16 +16,19 @@
 
 package org.jsonschema2pojo;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.*;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
+import java.io.IOException;
 import java.net.URI;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
@@ -37,6 +40,12 @@ public class ContentResolverNetworkTest {
 
     private static final String ADDRESS = "localhost";
 
+    private static final String CACHED_PATH = "/cached.json";
+    private static final String CACHED_CONTENT = "{\"description\":\"cached\"}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Rule
     public WireMockRule server = new WireMockRule(
             options().dynamicPort().bindAddress(ADDRESS).usingFilesUnderClasspath("wiremock")
@@ -73,4 +82,79 @@ public class ContentResolverNetworkTest {
         assertThat(uriContent.path("description").asText().length(), is(greaterThan(0)));
     }
 
+    @Test
+    public void cachedContentIsReusedWithinTimeToLive() throws IOException {
+        server.stubFor(get(urlEqualTo(CACHED_PATH)).willReturn(aResponse().withBody(CACHED_CONTENT)));
+
+        ContentResolver cachingResolver = new ContentResolver(JsonNodeReader.json(), new FileContentCache(folder.newFolder(), Long.MAX_VALUE), Long.MAX_VALUE, false);
+        cachingResolver.resolve(cachedUri());
+        JsonNode uriContent = cachingResolver.resolve(cachedUri());
+
+        assertThat(uriContent.path("description").asText(), is("cached"));
+        server.verify(1, getRequestedFor(urlEqualTo(CACHED_PATH)));
+    }
+
+    @Test
+    public void cachedContentIsShared() throws IOException {
+        server.stubFor(get(urlEqualTo(CACHED_PATH)).willReturn(aResponse().withBody(CACHED_CONTENT)));
+
+        ContentCache contentCache = new FileContentCache(folder.newFolder(), Long.MAX_VALUE);
+        new ContentResolver(JsonNodeReader.json(), contentCache, Long.MAX_VALUE, false).resolve(cachedUri());
+        new ContentResolver(JsonNodeReader.json(), contentCache, Long.MAX_VALUE, false).resolve(cachedUri());
+
+        server.verify(1, getRequestedFor(urlEqualTo(CACHED_PATH)));
+    }
+
+    @Test
+    public void expiredContentIsRevalidatedWithEntityTag() throws IOException {
+        server.stubFor(get(urlEqualTo(CACHED_PATH)).willReturn(aResponse().withHeader("ETag", "\"v1\"").withBody(CACHED_CONTENT)));
+        server.stubFor(get(urlEqualTo(CACHED_PATH)).withHeader("If-None-Match", equalTo("\"v1\"")).willReturn(aResponse().withStatus(304)));
+
+        ContentResolver cachingResolver = new ContentResolver(JsonNodeReader.json(), new FileContentCache(folder.newFolder(), Long.MAX_VALUE), 0, false);
+        cachingResolver.resolve(cachedUri());
+        JsonNode uriContent = cachingResolver.resolve(cachedUri());
+
+        assertThat(uriContent.path("description").asText(), is("cached"));
+        server.verify(1, getRequestedFor(urlEqualTo(CACHED_PATH)).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    public void changedContentReplacesCachedContent() throws IOException {
+        server.stubFor(get(urlEqualTo(CACHED_PATH)).willReturn(aResponse().withBody(CACHED_CONTENT)));
+
+        ContentResolver cachingResolver = new ContentResolver(JsonNodeReader.json(), new FileContentCache(folder.newFolder(), Long.MAX_VALUE), 0, false);
+        cachingResolver.resolve(cachedUri());
+
+        server.stubFor(get(urlEqualTo(CACHED_PATH)).willReturn(aResponse().withBody("{\"description\":\"changed\"}")));
+
+        assertThat(cachingResolver.resolve(cachedUri()).path("description").asText(), is("changed"));
+    }
+
+    @Test
+    public void offlineResolverUsesOnlyCachedContent() throws IOException {
+        server.stubFor(get(urlEqualTo(CACHED_PATH)).willReturn(aResponse().withBody(CACHED_CONTENT)));
+
+        ContentCache contentCache = new FileContentCache(folder.newFolder(), Long.MAX_VALUE);
+        new ContentResolver(JsonNodeReader.json(), contentCache, 0, false).resolve(cachedUri());
+        JsonNode uriContent = new ContentResolver(JsonNodeReader.json(), contentCache, 0, true).resolve(cachedUri());
+
+        assertThat(uriContent.path("description").asText(), is("cached"));
+        server.verify(1, getRequestedFor(urlEqualTo(CACHED_PATH)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void offlineResolverWithoutCachedContentCausesIllegalArgumentException() throws IOException {
+        new ContentResolver(JsonNodeReader.json(), new FileContentCache(folder.newFolder(), Long.MAX_VALUE), 0, true).resolve(cachedUri());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void brokenLinkWithCacheCausesIllegalArgumentException() throws IOException {
+        URI brokenHttpUri = URI.create("http://" + ADDRESS + ":" + server.port() + "/address404.json");
+        new ContentResolver(JsonNodeReader.json(), new FileContentCache(folder.newFolder(), Long.MAX_VALUE), 0, false).resolve(brokenHttpUri);
+    }
+
+    private URI cachedUri() {
+        return URI.create("http://" + ADDRESS + ":" + server.port() + CACHED_PATH);
+    }
+
 }
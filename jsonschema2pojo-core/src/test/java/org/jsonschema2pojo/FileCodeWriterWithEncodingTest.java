@@ -0,0 +1,84 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JMod;
+
+public class FileCodeWriterWithEncodingTest {
+
+    private static final long OLD_TIMESTAMP = 1000000000000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void unchangedFilesAreNotRewritten() throws IOException, JClassAlreadyExistsException {
+
+        File target = folder.newFolder();
+
+        build(codeModel("name"), target);
+
+        File source = new File(target, "com/example/Example.java");
+        assertThat(source.setLastModified(OLD_TIMESTAMP), is(true));
+
+        FileCodeWriterWithEncoding writer = build(codeModel("name"), target);
+
+        assertThat(writer.getWrittenCount(), is(0));
+        assertThat(writer.getUnchangedCount(), is(1));
+        assertThat(writer.getFiles(), contains(source));
+        assertThat(source.lastModified(), is(OLD_TIMESTAMP));
+    }
+
+    @Test
+    public void changedFilesAreRewritten() throws IOException, JClassAlreadyExistsException {
+
+        File target = folder.newFolder();
+
+        build(codeModel("name"), target);
+        FileCodeWriterWithEncoding writer = build(codeModel("title"), target);
+
+        assertThat(writer.getWrittenCount(), is(1));
+        assertThat(writer.getUnchangedCount(), is(0));
+        assertThat(FileUtils.readFileToString(new File(target, "com/example/Example.java"), "UTF-8"), containsString("title"));
+    }
+
+    private FileCodeWriterWithEncoding build(JCodeModel codeModel, File target) throws IOException {
+        FileCodeWriterWithEncoding writer = new FileCodeWriterWithEncoding(target, "UTF-8", true);
+        codeModel.build(writer);
+        return writer;
+    }
+
+    private JCodeModel codeModel(String fieldName) throws JClassAlreadyExistsException {
+        JCodeModel codeModel = new JCodeModel();
+        codeModel._class("com.example.Example").field(JMod.PRIVATE, String.class, fieldName);
+        return codeModel;
+    }
+
+}
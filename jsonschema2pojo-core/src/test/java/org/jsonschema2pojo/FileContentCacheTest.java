@@ -0,0 +1,103 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileContentCacheTest {
+
+    private static final URI FIRST = URI.create("http://example.com/first.json");
+    private static final URI SECOND = URI.create("http://example.com/second.json");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void contentAndValidatorsAreRetained() throws IOException {
+        FileContentCache cache = new FileContentCache(folder.newFolder(), Long.MAX_VALUE);
+
+        cache.put(FIRST, new CachedContent(content("{}"), "\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT", 42L));
+        CachedContent cached = cache.get(FIRST);
+
+        assertThat(new String(cached.getContent(), StandardCharsets.UTF_8), is("{}"));
+        assertThat(cached.getEntityTag(), is("\"v1\""));
+        assertThat(cached.getLastModified(), is("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertThat(cached.getFetchedAt(), is(42L));
+        assertThat(cache.get(SECOND), is(nullValue()));
+    }
+
+    @Test
+    public void leastRecentlyUsedContentIsEvicted() throws IOException {
+        File directory = folder.newFolder();
+        FileContentCache cache = new FileContentCache(directory, 10);
+
+        cache.put(FIRST, new CachedContent(content("123456"), null, null, 0L));
+        for (File file : directory.listFiles()) {
+            assertThat(file.setLastModified(1000000000000L), is(true));
+        }
+        cache.put(SECOND, new CachedContent(content("123456"), null, null, 0L));
+
+        assertThat(cache.get(FIRST), is(nullValue()));
+        assertThat(cache.get(SECOND), is(notNullValue()));
+    }
+
+    @Test
+    public void corruptContentIsDiscarded() throws IOException {
+        File directory = folder.newFolder();
+        FileContentCache cache = new FileContentCache(directory, Long.MAX_VALUE);
+
+        cache.put(FIRST, new CachedContent(content("{}"), null, null, 0L));
+        for (File file : directory.listFiles((dir, name) -> name.endsWith(".content"))) {
+            FileUtils.writeStringToFile(file, "{\"corrupt\":true}", StandardCharsets.UTF_8);
+        }
+
+        assertThat(cache.get(FIRST), is(nullValue()));
+        assertThat(directory.list(), is(emptyArray()));
+    }
+
+    @Test
+    public void temporaryFilesAreRemovedWhenContentCantBeCached() throws IOException {
+        File directory = folder.newFolder();
+        FileContentCache cache = new FileContentCache(directory, Long.MAX_VALUE);
+
+        cache.put(FIRST, new CachedContent(content("{}"), null, null, 0L));
+        // a non-empty directory can't be replaced by moving the new content into place
+        for (File file : directory.listFiles((dir, name) -> name.endsWith(".content"))) {
+            assertThat(file.delete(), is(true));
+            assertThat(new File(file, "blocker").mkdirs(), is(true));
+        }
+        cache.put(FIRST, new CachedContent(content("{}"), null, null, 0L));
+
+        assertThat(directory.list((dir, name) -> name.endsWith(".tmp")), is(emptyArray()));
+    }
+
+    private static byte[] content(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
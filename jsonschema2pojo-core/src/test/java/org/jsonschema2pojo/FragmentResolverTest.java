@@ -138,4 +138,64 @@ public class FragmentResolverTest {
 
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayIndexOutOfRangeThrowsIllegalArgumentException() {
+
+        ObjectNode root = new ObjectMapper().createObjectNode();
+
+        ArrayNode a = root.arrayNode();
+        a.add(root.objectNode());
+        root.set("a", a);
+
+        resolver.resolve(root, "#/a/1", "#/.");
+
+    }
+
+    @Test
+    public void escapedCharactersAreDecoded() {
+
+        ObjectNode root = new ObjectMapper().createObjectNode();
+
+        ObjectNode slash = root.objectNode();
+        ObjectNode tilde = root.objectNode();
+        ObjectNode literal = root.objectNode();
+
+        root.set("a/b", slash);
+        root.set("c~d", tilde);
+        root.set("e~1f", literal);
+
+        assertThat(resolver.resolve(root, "#/a~1b", "#/"), is(sameInstance(slash)));
+        assertThat(resolver.resolve(root, "#/c~0d", "#/"), is(sameInstance(tilde)));
+        assertThat(resolver.resolve(root, "#/e~01f", "#/"), is(sameInstance(literal)));
+
+    }
+
+    @Test
+    public void sameFragmentOfDifferentDocumentsResolvesAgainstEachDocument() {
+
+        ObjectNode first = new ObjectMapper().createObjectNode();
+        ObjectNode second = new ObjectMapper().createObjectNode();
+
+        first.set("a", first.objectNode());
+        second.set("a", second.objectNode());
+
+        assertThat(resolver.resolve(first, "#/a", "#/."), is(sameInstance(first.get("a"))));
+        assertThat(resolver.resolve(second, "#/a", "#/."), is(sameInstance(second.get("a"))));
+        assertThat(resolver.resolve(first, "#/a", "#/."), is(sameInstance(first.get("a"))));
+
+    }
+
+    @Test
+    public void fragmentsOfSchemaDocumentsAreRememberedByTheDocument() {
+
+        ObjectNode root = new ObjectMapper().createObjectNode();
+        root.set("a", root.objectNode());
+        Schema document = new Schema(null, root, null);
+
+        assertThat(resolver.resolve(document, "#/a", "#/."), is(sameInstance(root.get("a"))));
+        assertThat(document.resolvedFragments.values(), contains(sameInstance(root.get("a"))));
+        assertThat(resolver.resolve(document, "#/a", "#/."), is(sameInstance(root.get("a"))));
+
+    }
+
 }
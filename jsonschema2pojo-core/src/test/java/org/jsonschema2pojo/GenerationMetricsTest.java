@@ -0,0 +1,85 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.ArgumentMatchers.startsWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+
+import org.jsonschema2pojo.rules.ObjectRule;
+import org.jsonschema2pojo.rules.TypeRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InOrder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class GenerationMetricsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void timingsAreTotalledPerRuleSourceAndDocument() throws IOException {
+
+        GenerationMetrics metrics = new GenerationMetrics();
+        metrics.ruleApplied(ObjectRule.class, 100);
+        metrics.ruleApplied(ObjectRule.class, 50);
+        metrics.ruleApplied(TypeRule.class, 10);
+        metrics.sourceGenerated(new URL("file:/example/a.json"), 200);
+        metrics.contentResolved(URI.create("file:/example/b.json"), 20);
+        metrics.codeModelBuilt(300);
+
+        JsonNode json = metrics.toJson();
+
+        assertThat(json.path("rules").path("ObjectRule").path("count").asLong(), is(2L));
+        assertThat(json.path("rules").path("ObjectRule").path("totalNanos").asLong(), is(150L));
+        assertThat(json.path("rules").path("TypeRule").path("count").asLong(), is(1L));
+        assertThat(json.path("sources").path("file:/example/a.json").path("totalNanos").asLong(), is(200L));
+        assertThat(json.path("documents").path("file:/example/b.json").path("count").asLong(), is(1L));
+        assertThat(json.path("build").path("totalNanos").asLong(), is(300L));
+
+        File file = new File(folder.getRoot(), "metrics/metrics.json");
+        metrics.writeJson(file);
+
+        assertThat(new ObjectMapper().readTree(file).toString(), is(equalTo(json.toString())));
+    }
+
+    @Test
+    public void summaryListsSlowestFirst() {
+
+        GenerationMetrics metrics = new GenerationMetrics();
+        metrics.ruleApplied(TypeRule.class, 10);
+        metrics.ruleApplied(ObjectRule.class, 100);
+
+        RuleLogger logger = mock(RuleLogger.class);
+        metrics.logSummary(logger);
+
+        InOrder inOrder = inOrder(logger);
+        inOrder.verify(logger).info(startsWith("    ObjectRule: 1,"));
+        inOrder.verify(logger).info(startsWith("    TypeRule: 1,"));
+    }
+
+}
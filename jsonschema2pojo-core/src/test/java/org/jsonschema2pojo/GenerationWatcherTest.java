@@ -0,0 +1,120 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GenerationWatcherTest {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(20);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test(timeout = 60000)
+    public void changedAndAddedSchemasAreRegenerated() throws Exception {
+
+        File sourceDirectory = folder.newFolder("schemas");
+        File common = new File(folder.getRoot(), "common/common.json");
+        File output = folder.newFolder("output");
+
+        writeSchema(sourceDirectory, "first.json", "{'type':'object','properties':{'common':{'$ref':'../common/common.json'}}}");
+        writeSchema(common.getParentFile(), "common.json", "{'type':'object','properties':{'a':{'type':'string'}}}");
+
+        GenerationWatcher watcher = new GenerationWatcher(config(sourceDirectory, output), mock(RuleLogger.class));
+        Thread thread = new Thread(() -> {
+            try {
+                watcher.run();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+
+        try {
+            awaitSource(output, "com/example/Common.java", "private String a;");
+
+            writeSchema(common.getParentFile(), "common.json", "{'type':'object','properties':{'b':{'type':'string'}}}");
+            awaitSource(output, "com/example/Common.java", "private String b;");
+
+            writeSchema(sourceDirectory, "second.json", "{'type':'object','properties':{'c':{'type':'string'}}}");
+            awaitSource(output, "com/example/Second.java", "private String c;");
+        } finally {
+            watcher.close();
+            thread.join(TIMEOUT_MILLIS);
+        }
+
+        assertThat(thread.isAlive(), is(false));
+    }
+
+    private void awaitSource(File directory, String path, String content) throws IOException, InterruptedException {
+        File file = new File(directory, path);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!(file.isFile() && FileUtils.readFileToString(file, "UTF-8").contains(content))) {
+            assertThat("Timed out waiting for " + path + " to contain " + content, System.currentTimeMillis(), is(lessThan(deadline)));
+            Thread.sleep(20);
+        }
+    }
+
+    private void writeSchema(File directory, String name, String content) throws IOException {
+        FileUtils.writeStringToFile(new File(directory, name), content.replace('\'', '"'), "UTF-8");
+    }
+
+    private GenerationConfig config(final File sourceDirectory, final File targetDirectory) {
+        return new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                try {
+                    return Collections.singletonList(sourceDirectory.toURI().toURL()).iterator();
+                } catch (MalformedURLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return targetDirectory;
+            }
+
+            @Override
+            public String getTargetPackage() {
+                return "com.example";
+            }
+
+            @Override
+            public boolean isIncremental() {
+                return true;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+public class JsonNodeReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sharedReadersAreUsedForStandardFactories() {
+        assertThat(JsonNodeReader.forFactory(null), is(sameInstance(JsonNodeReader.json())));
+        assertThat(JsonNodeReader.forSourceType(SourceType.YAMLSCHEMA), is(sameInstance(JsonNodeReader.yaml())));
+        assertThat(JsonNodeReader.forSourceType(SourceType.JSON), is(sameInstance(JsonNodeReader.json())));
+    }
+
+    @Test
+    public void configurationOfGivenFactoryIsRespected() throws IOException {
+        JsonFactory jsonFactory = new JsonFactory().enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
+
+        JsonNode node = JsonNodeReader.forFactory(jsonFactory).readTree("{ 'name' : 'value' }");
+
+        assertThat(node.path("name").asText(), is("value"));
+        File schema = folder.newFile("schema.json");
+        FileUtils.writeStringToFile(schema, "{ 'type' : 'object' }", "UTF-8");
+        assertThat(new ContentResolver(jsonFactory).resolve(schema.toURI()).path("type").asText(), is("object"));
+        assertThat(JsonNodeReader.forFactory(new YAMLFactory()).readTree("name: value").path("name").asText(), is("value"));
+    }
+
+    @Test
+    public void commentsAreAllowedAndDecimalsAreExact() throws IOException {
+        String json = "{ /* comment */ \"value\" : 0.1 }";
+
+        for (JsonNode node : new JsonNode[] { JsonNodeReader.json().readTree(json), JsonNodeReader.json().readTree(json.getBytes(StandardCharsets.UTF_8)) }) {
+            assertThat(node.get("value").isBigDecimal(), is(true));
+            assertThat(node.get("value").decimalValue(), is(new BigDecimal("0.1")));
+        }
+    }
+
+    @Test
+    public void yamlIsRead() throws IOException {
+        JsonNode node = JsonNodeReader.yaml().readTree("type: object\nproperties:\n  name:\n    type: string\n");
+
+        assertThat(node.path("properties").path("name").path("type").asText(), is("string"));
+    }
+
+}
@@ -0,0 +1,507 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class Jsonschema2PojoTest {
+
+    private static final String MARKER = "// not regenerated";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parallelGenerationProducesSameOutputAsSequentialGeneration() throws IOException {
+
+        File sequentialOutput = folder.newFolder("sequential");
+        File parallelOutput = folder.newFolder("parallel");
+
+        Jsonschema2Pojo.generate(config(sequentialOutput, 1), mock(RuleLogger.class));
+        Jsonschema2Pojo.generate(config(parallelOutput, 4), mock(RuleLogger.class));
+
+        Map<String, String> sequentialSources = readSources(sequentialOutput);
+
+        assertThat(sequentialSources.keySet(), hasItem("com/example/Person.java"));
+        assertThat(readSources(parallelOutput), is(equalTo(sequentialSources)));
+    }
+
+    @Test
+    public void removeOldOutputWithUnchangedFilesSkippedDeletesOnlyStaleFiles() throws IOException {
+
+        File sourceDirectory = folder.newFolder("schemas");
+        File output = folder.newFolder("output");
+
+        writeSchema(sourceDirectory, "first.json", "{'type':'object','properties':{'a':{'type':'string'}}}");
+        FileUtils.writeStringToFile(new File(output, "com/example/Stale.java"), "stale", "UTF-8");
+
+        Jsonschema2Pojo.generate(new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return sourceUrls(sourceDirectory);
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return output;
+            }
+
+            @Override
+            public String getTargetPackage() {
+                return "com.example";
+            }
+
+            @Override
+            public boolean isRemoveOldOutput() {
+                return true;
+            }
+
+            @Override
+            public boolean isSkipUnchangedFiles() {
+                return true;
+            }
+        }, mock(RuleLogger.class));
+
+        assertThat(readSources(output).keySet(), contains("com/example/First.java"));
+    }
+
+    @Test
+    public void incrementalGenerationOnlyRegeneratesChangedSources() throws IOException {
+
+        File sourceDirectory = folder.newFolder("schemas");
+        File output = folder.newFolder("incremental");
+
+        writeSchema(sourceDirectory, "common.json", "{'type':'object','properties':{'value':{'type':'string'}}}");
+        writeSchema(sourceDirectory, "first.json", "{'type':'object','properties':{'common':{'$ref':'common.json'},'inner':{'type':'object','properties':{'a':{'type':'string'}}}}}");
+        writeSchema(sourceDirectory, "second.json", "{'type':'object','properties':{'common':{'$ref':'common.json'}}}");
+
+        Jsonschema2Pojo.generate(incrementalConfig(sourceDirectory, output), mock(RuleLogger.class));
+
+        assertThat(readSources(output).keySet(), containsInAnyOrder("com/example/Common.java", "com/example/First.java", "com/example/Inner.java", "com/example/Second.java"));
+        assertThat(new File(output, GenerationState.FILE_NAME).isFile(), is(true));
+
+        markSource(output, "com/example/Second.java");
+        writeSchema(sourceDirectory, "first.json", "{'type':'object','properties':{'common':{'$ref':'common.json'},'b':{'type':'string'}}}");
+
+        Jsonschema2Pojo.generate(incrementalConfig(sourceDirectory, output), mock(RuleLogger.class));
+
+        Map<String, String> sources = readSources(output);
+        assertThat(sources.keySet(), containsInAnyOrder("com/example/Common.java", "com/example/First.java", "com/example/Second.java"));
+        assertThat(sources.get("com/example/First.java"), containsString("private String b;"));
+        assertThat(sources.get("com/example/Second.java"), endsWith(MARKER));
+
+        markSource(output, "com/example/First.java");
+
+        Jsonschema2Pojo.generate(incrementalConfig(sourceDirectory, output), mock(RuleLogger.class));
+
+        assertThat(readSources(output).get("com/example/First.java"), endsWith(MARKER));
+    }
+
+    @Test
+    public void incrementalGenerationRegeneratesMissingOutput() throws IOException {
+
+        File sourceDirectory = folder.newFolder("schemas");
+        File output = folder.newFolder("incremental");
+
+        writeSchema(sourceDirectory, "first.json", "{'type':'object','properties':{'a':{'type':'string'}}}");
+
+        Jsonschema2Pojo.generate(incrementalConfig(sourceDirectory, output), mock(RuleLogger.class));
+        assertThat(new File(output, "com/example/First.java").delete(), is(true));
+        Jsonschema2Pojo.generate(incrementalConfig(sourceDirectory, output), mock(RuleLogger.class));
+
+        assertThat(readSources(output).keySet(), contains("com/example/First.java"));
+    }
+
+    @Test
+    public void incrementalGenerationKeepsTypesOfUnchangedSourcesInAdapterFactory() throws IOException {
+
+        File sourceDirectory = folder.newFolder("schemas");
+        File output = folder.newFolder("incremental");
+
+        writeSchema(sourceDirectory, "first.json", "{'type':'object','properties':{'a':{'type':'string'}}}");
+        writeSchema(sourceDirectory, "second.json", "{'type':'object','properties':{'b':{'type':'string'}}}");
+
+        Jsonschema2Pojo.generate(incrementalGsonAdaptersConfig(sourceDirectory, output), mock(RuleLogger.class));
+
+        writeSchema(sourceDirectory, "first.json", "{'type':'object','properties':{'c':{'type':'string'}}}");
+
+        Jsonschema2Pojo.generate(incrementalGsonAdaptersConfig(sourceDirectory, output), mock(RuleLogger.class));
+
+        String factory = readSources(output).get("com/example/GsonTypeAdapterFactory.java");
+        assertThat(factory, containsString("First.class"));
+        assertThat(factory, containsString("Second.class"));
+    }
+
+    @Test
+    public void metricsAreWrittenToMetricsFile() throws IOException {
+
+        File output = folder.newFolder("output");
+        File metricsFile = new File(folder.getRoot(), "metrics.json");
+
+        Jsonschema2Pojo.generate(new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return Collections.singletonList(getClass().getResource("/schema/person.json")).iterator();
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return output;
+            }
+
+            @Override
+            public File getMetricsFile() {
+                return metricsFile;
+            }
+        }, mock(RuleLogger.class));
+
+        JsonNode metrics = new ObjectMapper().readTree(metricsFile);
+        assertThat(metrics.path("rules").path("ObjectRule").path("count").asLong(), is(greaterThan(0L)));
+        assertThat(metrics.path("sources").has(getClass().getResource("/schema/person.json").toString()), is(true));
+        assertThat(metrics.path("documents").size(), is(greaterThan(0)));
+        assertThat(metrics.path("build").path("count").asLong(), is(1L));
+    }
+
+    @Test
+    public void mergedSamplesProduceOneTypePerDirectoryOrGlob() throws IOException {
+
+        File samples = folder.newFolder("users");
+        File output = folder.newFolder("output");
+
+        writeSchema(samples, "1.json", "{'id':1,'name':'a'}");
+        writeSchema(samples, "2.json", "{'id':2,'email':'b'}");
+        writeSchema(new File(samples, "more"), "3.json", "{'id':3,'name':'c'}\n{'id':4}");
+        File orders = folder.newFolder("orders");
+        writeSchema(orders, "order-1.json", "{'total':1.5}");
+        writeSchema(orders, "order-2.json", "{'total':2,'note':'x'}");
+        writeSchema(orders, "summary.json", "{'count':2}");
+
+        Jsonschema2Pojo.generate(new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                try {
+                    return Arrays.asList(samples.toURI().toURL(), new File(orders, "order-*.json").toURI().toURL()).iterator();
+                } catch (MalformedURLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return output;
+            }
+
+            @Override
+            public String getTargetPackage() {
+                return "com.example";
+            }
+
+            @Override
+            public SourceType getSourceType() {
+                return SourceType.JSON;
+            }
+
+            @Override
+            public boolean isMergeSamples() {
+                return true;
+            }
+        }, mock(RuleLogger.class));
+
+        Map<String, String> sources = readSources(output);
+        assertThat(sources.keySet(), containsInAnyOrder("com/example/Users.java", "com/example/Orders.java"));
+        assertThat(sources.get("com/example/Users.java"), allOf(containsString("private Integer id;"), containsString("private String name;"), containsString("private String email;")));
+        assertThat(sources.get("com/example/Users.java"), containsString("(Required)"));
+        assertThat(sources.get("com/example/Orders.java"), allOf(containsString("private Double total;"), containsString("private String note;")));
+    }
+
+    @Test
+    public void configurationHashIgnoresPathsButNotOutputOptions() throws IOException {
+
+        String hash = Jsonschema2Pojo.getConfigurationHash(config(folder.newFolder("first"), 1));
+
+        assertThat(Jsonschema2Pojo.getConfigurationHash(config(folder.newFolder("second"), 4)), is(hash));
+        assertThat(Jsonschema2Pojo.getConfigurationHash(new DefaultGenerationConfig()), is(not(hash)));
+    }
+
+    @Test
+    public void inputFilesIncludeFilteredSourcesAndReferencedDocuments() throws IOException {
+
+        File sourceDirectory = folder.newFolder("schemas");
+        File common = new File(folder.getRoot(), "common/common.json");
+
+        writeSchema(sourceDirectory, "first.json", "{'type':'object','properties':{'common':{'$ref':'../common/common.json'}}}");
+        writeSchema(sourceDirectory, "ignored.txt", "{'type':'object'}");
+        writeSchema(common.getParentFile(), "common.json", "{'type':'object'}");
+
+        GenerationConfig config = new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return sourceUrls(sourceDirectory);
+            }
+
+            @Override
+            public FileFilter getFileFilter() {
+                return file -> file.getName().endsWith(".json");
+            }
+        };
+
+        File first = new File(sourceDirectory, "first.json");
+        assertThat(Jsonschema2Pojo.getSourceFiles(config), contains(first.getCanonicalFile()));
+        assertThat(Jsonschema2Pojo.getInputFiles(config), containsInAnyOrder(first.getCanonicalFile(), common.getCanonicalFile()));
+    }
+
+    @Test
+    public void inMemoryGenerationReturnsCompilableSourcesWithoutWritingFiles() throws IOException {
+
+        File sourceDirectory = folder.newFolder("schemas");
+        File unused = new File(folder.getRoot(), "unused");
+        File classes = folder.newFolder("classes");
+
+        writeSchema(sourceDirectory, "person.json", "{'type':'object','properties':{'name':{'type':'string'},'address':{'type':'object','properties':{'city':{'type':'string'}}}}}");
+
+        List<GeneratedFile> files = Jsonschema2Pojo.generateInMemory(incrementalConfig(sourceDirectory, unused), mock(RuleLogger.class));
+
+        assertThat(unused.exists(), is(false));
+        assertThat(files, hasItem(hasProperty("path", is("com/example/Person.java"))));
+        assertThat(readSources(incrementalConfig(sourceDirectory, folder.newFolder("onDisk"))), is(equalTo(toMap(files))));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        boolean compiled = compiler.getTask(null, null, null, Arrays.asList("-d", classes.getPath()), null, files).call();
+
+        assertThat(compiled, is(true));
+        assertThat(new File(classes, "com/example/Person.class").isFile(), is(true));
+    }
+
+    @Test
+    public void recordsForOlderTargetVersionsAreReported() throws IOException {
+
+        File sourceDirectory = folder.newFolder("schemas");
+        writeSchema(sourceDirectory, "person.json", "{'type':'object','properties':{'name':{'type':'string'}}}");
+        RuleLogger logger = mock(RuleLogger.class);
+
+        List<GeneratedFile> files = Jsonschema2Pojo.generateInMemory(new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return sourceUrls(sourceDirectory);
+            }
+
+            @Override
+            public boolean isGenerateRecords() {
+                return true;
+            }
+        }, logger);
+
+        verify(logger).warn(startsWith("Records need a target version of 16 or later (not 1.6)"));
+        assertThat(files.get(0).getCharContent(false).toString(), containsString("public class Person"));
+    }
+
+    @Test
+    public void extendedTypesAreNotGeneratedAsRecords() throws IOException {
+
+        // the supertype is read (and generated) before the subtype that extends it
+        File sourceDirectory = folder.newFolder("schemas");
+        writeSchema(sourceDirectory, "base.json", "{'type':'object','properties':{'name':{'type':'string'}}}");
+        writeSchema(sourceDirectory, "subtype.json", "{'type':'object','extends':{'$ref':'base.json'},'properties':{'age':{'type':'integer'}}}");
+        writeSchema(sourceDirectory, "unrelated.json", "{'type':'object','properties':{'name':{'type':'string'}}}");
+
+        List<GeneratedFile> files = Jsonschema2Pojo.generateInMemory(new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return sourceUrls(sourceDirectory);
+            }
+
+            @Override
+            public boolean isGenerateRecords() {
+                return true;
+            }
+
+            @Override
+            public String getTargetVersion() {
+                return "16";
+            }
+
+            @Override
+            public SourceSortOrder getSourceSortOrder() {
+                return SourceSortOrder.FILES_FIRST;
+            }
+        }, mock(RuleLogger.class));
+
+        Map<String, String> content = new TreeMap<>();
+        for (GeneratedFile file : files) {
+            content.put(file.getPath(), file.getCharContent(false).toString());
+        }
+        assertThat(content.get("Base.java"), containsString("public class Base"));
+        assertThat(content.get("Subtype.java"), containsString("extends Base"));
+        assertThat(content.get("Unrelated.java"), containsString("public record Unrelated("));
+    }
+
+    private GenerationConfig incrementalConfig(final File sourceDirectory, final File targetDirectory) {
+        return new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return sourceUrls(sourceDirectory);
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return targetDirectory;
+            }
+
+            @Override
+            public String getTargetPackage() {
+                return "com.example";
+            }
+
+            @Override
+            public boolean isIncremental() {
+                return true;
+            }
+        };
+    }
+
+    private GenerationConfig incrementalGsonAdaptersConfig(final File sourceDirectory, final File targetDirectory) {
+        return new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return sourceUrls(sourceDirectory);
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return targetDirectory;
+            }
+
+            @Override
+            public String getTargetPackage() {
+                return "com.example";
+            }
+
+            @Override
+            public AnnotationStyle getAnnotationStyle() {
+                return AnnotationStyle.GSON;
+            }
+
+            @Override
+            public boolean isGenerateAdapters() {
+                return true;
+            }
+
+            @Override
+            public boolean isIncremental() {
+                return true;
+            }
+        };
+    }
+
+    private Iterator<URL> sourceUrls(File sourceDirectory) {
+        try {
+            return Collections.singletonList(sourceDirectory.toURI().toURL()).iterator();
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void writeSchema(File directory, String name, String content) throws IOException {
+        FileUtils.writeStringToFile(new File(directory, name), content.replace('\'', '"'), "UTF-8");
+    }
+
+    private void markSource(File directory, String path) throws IOException {
+        FileUtils.writeStringToFile(new File(directory, path), MARKER, "UTF-8", true);
+    }
+
+    private GenerationConfig config(final File targetDirectory, final int parallelism) {
+        return new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return Arrays.asList(
+                        getClass().getResource("/schema/person.json"),
+                        getClass().getResource("/schema/address.json"),
+                        getClass().getResource("/schema/child.json"),
+                        getClass().getResource("/schema/parent.json"),
+                        getClass().getResource("/schema/array.json")).iterator();
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return targetDirectory;
+            }
+
+            @Override
+            public String getTargetPackage() {
+                return "com.example";
+            }
+
+            @Override
+            public int getParallelism() {
+                return parallelism;
+            }
+        };
+    }
+
+    private Map<String, String> readSources(GenerationConfig config) throws IOException {
+        Jsonschema2Pojo.generate(config, mock(RuleLogger.class));
+        return readSources(config.getTargetDirectory());
+    }
+
+    private Map<String, String> toMap(List<GeneratedFile> files) throws IOException {
+        Map<String, String> sources = new TreeMap<>();
+        for (GeneratedFile file : files) {
+            sources.put(file.getPath(), file.getCharContent(false).toString());
+        }
+        return sources;
+    }
+
+    private Map<String, String> readSources(File directory) throws IOException {
+        Map<String, String> sources = new TreeMap<>();
+        Collection<File> files = FileUtils.listFiles(directory, new String[] { "java" }, true);
+        for (File file : files) {
+            String relativePath = directory.toURI().relativize(file.toURI()).getPath();
+            sources.put(relativePath, new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+        }
+        return sources;
+    }
+
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RecordingContentResolverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final RecordingContentResolver resolver = new RecordingContentResolver(new ContentResolver());
+
+    @Test
+    public void localFilesReadAreRecorded() throws IOException {
+        File source = write("source.json", "{\"$ref\":\"reference.json\"}");
+        File reference = write("reference.json", "{\"type\":\"string\"}");
+
+        resolver.resolve(source.toURI());
+        resolver.resolve(reference.toURI());
+        resolver.resolve(source.toURI());
+
+        assertThat(resolver.getFiles(), contains(reference, source));
+    }
+
+    @Test
+    public void documentsThatAreNotLocalFilesCanNotBeRecorded() throws IOException {
+        resolver.resolve(write("source.json", "{\"type\":\"string\"}").toURI());
+        resolver.resolve(URI.create("classpath:/schema/address.json"));
+
+        assertThat(resolver.getFiles(), is(nullValue()));
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class SchemaGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final SchemaGenerator schemaGenerator = new SchemaGenerator();
+
+    @Test
+    public void streamedAndTreeExamplesProduceTheSameSchema() throws IOException {
+        String json = "{'a':'x','b':1,'c':2.5,'d':true,'e':null,'f':{'g':[1,2]},'h':[],'i':[{'j':1},{'k':'y'}]}";
+
+        ObjectNode streamed = schemaGenerator.schemaFromExample(example(json));
+        ObjectNode tree = schemaGenerator.schemaFromExample(JsonNodeReader.json().readTree(json.replace('\'', '"')));
+
+        assertThat(streamed, is(equalTo(tree)));
+        assertThat(type(streamed, "a"), is("string"));
+        assertThat(type(streamed, "b"), is("integer"));
+        assertThat(type(streamed, "c"), is("number"));
+        assertThat(type(streamed, "d"), is("boolean"));
+        assertThat(type(streamed, "e"), is("null"));
+        assertThat(streamed.path("properties").path("f").path("properties").path("g").path("items").path("type").asText(), is("integer"));
+        assertThat(streamed.path("properties").path("h").has("items"), is(false));
+        assertThat(streamed.path("properties").path("i").path("items").path("properties").has("j"), is(true));
+        assertThat(streamed.path("properties").path("i").path("items").path("properties").has("k"), is(true));
+    }
+
+    @Test
+    public void largeArraysAreSummarizedInParallelWithTheSameResult() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 50000; i++) {
+            json.append(i == 0 ? "" : ",").append("{'id':").append(i);
+            if (i % 1000 == 0) {
+                json.append(",'p").append(i / 1000).append("':[[").append(i).append("]]");
+            }
+            json.append(",'value':").append(i < 40000 ? "'s'" : i < 49999 ? "1" : "null").append('}');
+        }
+        json.append(",{'id':3000000000}]");
+
+        ObjectNode streamed = schemaGenerator.schemaFromExample(example(json.toString()));
+        ObjectNode tree = schemaGenerator.schemaFromExample(JsonNodeReader.json().readTree(json.toString().replace('\'', '"')));
+
+        assertThat(tree, is(equalTo(streamed)));
+        JsonNode items = tree.path("items");
+        assertThat(items.path("properties").size(), is(52));
+        assertThat(newArrayList(items.path("properties").fieldNames()).subList(0, 3), contains("id", "p0", "value"));
+        assertThat(items.path("properties").path("id").path("minimum").isLong(), is(true));
+        assertThat(items.path("properties").path("value").path("type").asText(), is("integer"));
+        assertThat(items.path("properties").path("p49").path("items").path("items").path("type").asText(), is("integer"));
+    }
+
+    @Test
+    public void integersOutsideIntRangeAreMarkedAsLong() throws IOException {
+        ObjectNode schema = schemaGenerator.schemaFromExample(example("[1, 2147483648, 123456789012345678901234567890]"));
+
+        assertThat(schema.path("items").path("type").asText(), is("integer"));
+        assertThat(schema.path("items").path("minimum").isLong(), is(true));
+    }
+
+    @Test
+    public void fractionalValuesWidenIntegersToNumbers() throws IOException {
+        ObjectNode schema = schemaGenerator.schemaFromExample(example("[1, 2.5, 3]"));
+
+        assertThat(schema.path("items").path("type").asText(), is("number"));
+        assertThat(schema.path("items").has("minimum"), is(false));
+    }
+
+    @Test
+    public void nullsDoNotReplaceOtherTypes() throws IOException {
+        ObjectNode schema = schemaGenerator.schemaFromExample(example("[{'a':'x'},{'a':null}]"));
+
+        assertThat(schema.path("items").path("properties").path("a").path("type").asText(), is("string"));
+    }
+
+    @Test
+    public void lastTypeSeenWinsWhenTypesConflict() throws IOException {
+        ObjectNode schema = schemaGenerator.schemaFromExample(example("[{'a':'x'},{'a':99}]"));
+
+        assertThat(schema.path("items").path("properties").path("a").path("type").asText(), is("integer"));
+    }
+
+    @Test
+    public void newlineDelimitedValuesAreSummarizedTogether() throws IOException {
+        ObjectNode schema = schemaGenerator.schemaFromExample(example("{'a':'x'}\n{'b':{'c':1}}\n{'a':null}\n"));
+
+        assertThat(schema.path("type").asText(), is("object"));
+        assertThat(newArrayList(schema.path("properties").fieldNames()), contains("a", "b"));
+        assertThat(type(schema, "a"), is("string"));
+        assertThat(schema.path("properties").path("b").path("properties").path("c").path("type").asText(), is("integer"));
+    }
+
+    @Test
+    public void yamlExamplesAreStreamed() throws IOException {
+        ObjectNode schema = new SchemaGenerator(JsonNodeReader.yaml()).schemaFromExample(example("name: x\ncount: 3\n"));
+
+        assertThat(type(schema, "name"), is("string"));
+        assertThat(type(schema, "count"), is("integer"));
+    }
+
+    @Test
+    public void samplesAreMergedIntoOneSchemaWithRequiredProperties() throws IOException {
+        List<URL> samples = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            samples.add(example("{'id':" + i + ",'name':" + (i % 2 == 0 ? "'n'" : "null") + ",'tags':['t']" + (i == 7 ? ",'extra':{'a':1,'b':true}" : "") + "}"));
+        }
+        samples.add(example("{'id':20,'name':'m','tags':[]}\n{'id':21,'tags':['u']}"));
+
+        ObjectNode schema = schemaGenerator.schemaFromSamples(samples);
+
+        assertThat(newArrayList(schema.path("properties").fieldNames()), contains("id", "name", "tags", "extra"));
+        assertThat(type(schema, "name"), is("string"));
+        assertThat(newArrayList(schema.path("required").elements()).toString(), is("[\"id\", \"tags\"]"));
+        assertThat(schema.path("properties").path("extra").path("required").size(), is(2));
+        assertThat(schema.path("properties").path("tags").path("items").path("type").asText(), is("string"));
+    }
+
+    @Test
+    public void singleExamplesDoNotMarkRequiredProperties() throws IOException {
+        ObjectNode schema = schemaGenerator.schemaFromExample(example("{'a':1}\n{'a':2}"));
+
+        assertThat(schema.has("required"), is(false));
+    }
+
+    private URL example(String content) throws IOException {
+        File file = folder.newFile();
+        FileUtils.writeStringToFile(file, content.replace('\'', '"'), "UTF-8");
+        return file.toURI().toURL();
+    }
+
+    private String type(JsonNode schema, String property) {
+        return schema.path("properties").path(property).path("type").asText();
+    }
+
+    private <T> List<T> newArrayList(Iterator<T> iterator) {
+        List<T> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+}
@@ -26,9 +26,19 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JType;
 
@@ -164,4 +174,85 @@ public class SchemaStoreTest {
 
     }
 
+    @Test
+    public void concurrentRequestsReadDocumentOnce() throws InterruptedException, ExecutionException {
+
+        URI schemaUri = URI.create("http://example.com/schema.json");
+        CountDownLatch start = new CountDownLatch(1);
+
+        ContentResolver contentResolver = mock(ContentResolver.class);
+        when(contentResolver.resolve(schemaUri)).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return JsonNodeFactory.instance.objectNode();
+        });
+
+        SchemaStore schemaStore = new SchemaStore(contentResolver);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Schema>> schemas = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                schemas.add(executor.submit((Callable<Schema>) () -> {
+                    start.await();
+                    return schemaStore.create(schemaUri, "#/.");
+                }));
+            }
+            start.countDown();
+
+            Schema first = schemas.get(0).get();
+            for (Future<Schema> schema : schemas) {
+                assertThat(schema.get(), is(sameInstance(first)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(contentResolver, times(1)).resolve(schemaUri);
+    }
+
+    @Test
+    public void failedReadIsRetried() throws URISyntaxException {
+
+        URI schemaUri = URI.create("http://example.com/schema.json");
+
+        ContentResolver contentResolver = mock(ContentResolver.class);
+        when(contentResolver.resolve(schemaUri))
+                .thenThrow(new IllegalArgumentException("unavailable"))
+                .thenReturn(JsonNodeFactory.instance.objectNode());
+
+        SchemaStore schemaStore = new SchemaStore(contentResolver);
+
+        try {
+            schemaStore.create(schemaUri, "#/.");
+            fail("Expected the first read to fail");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("unavailable"));
+        }
+
+        assertThat(schemaStore.create(schemaUri, "#/."), is(notNullValue()));
+    }
+
+    @Test
+    public void fragmentsOfDocumentShareOneRead() {
+
+        URI documentUri = URI.create("http://example.com/common.json");
+
+        ObjectNode document = JsonNodeFactory.instance.objectNode();
+        document.putObject("definitions").putObject("a").put("type", "string");
+        ((ObjectNode) document.get("definitions")).putObject("b").put("type", "integer");
+
+        ContentResolver contentResolver = mock(ContentResolver.class);
+        when(contentResolver.resolve(documentUri)).thenReturn(document);
+
+        SchemaStore schemaStore = new SchemaStore(contentResolver);
+        Schema a = schemaStore.create(URI.create(documentUri + "#/definitions/a"), "#/.");
+        Schema b = schemaStore.create(URI.create(documentUri + "#/definitions/b"), "#/.");
+
+        assertThat(a.getContent().get("type").asText(), is("string"));
+        assertThat(b.getContent().get("type").asText(), is("integer"));
+        assertThat(a.getParent(), is(sameInstance(schemaStore.create(documentUri, "#/."))));
+        assertThat(b.getParent(), is(sameInstance(a.getParent())));
+        verify(contentResolver, times(1)).resolve(documentUri);
+    }
+
 }
@@ -0,0 +1,78 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class TypeSummaryTest {
+
+    @Test
+    public void mergeIsAssociative() {
+        TypeSummary left = new TypeSummary().merge(summary("a", 1)).merge(summary("b", 2)).merge(summary("a", 3));
+        TypeSummary right = new TypeSummary().merge(summary("a", 1)).merge(new TypeSummary().merge(summary("b", 2)).merge(summary("a", 3)));
+
+        assertThat(left.toSchema(true), is(equalTo(right.toSchema(true))));
+        assertThat(left.toSchema(true).path("properties").path("a").path("type").asText(), is("integer"));
+    }
+
+    @Test
+    public void mergedSummariesMatchSummariesRecordedInOrder() {
+        TypeSummary recorded = new TypeSummary();
+        recorded.observeArray();
+        recorded.items().observeString();
+        recorded.items().observeInteger(Long.MAX_VALUE);
+
+        TypeSummary first = new TypeSummary();
+        first.observeArray();
+        first.items().observeString();
+        TypeSummary second = new TypeSummary();
+        second.observeArray();
+        second.items().observeInteger(Long.MAX_VALUE);
+
+        assertThat(first.merge(second).toSchema(), is(equalTo(recorded.toSchema())));
+        assertThat(recorded.toSchema().path("items").path("minimum").isLong(), is(true));
+    }
+
+    @Test
+    public void mergeDoesNotModifyTheOtherSummary() {
+        TypeSummary other = summary("a", 1);
+        String before = other.toSchema().toString();
+
+        new TypeSummary().merge(other).property("a").observeString();
+
+        assertThat(other.toSchema().toString(), is(before));
+    }
+
+    @Test
+    public void nullsAloneProduceNullType() {
+        TypeSummary summary = new TypeSummary();
+        summary.observeNull();
+
+        assertThat(summary.merge(new TypeSummary()).toSchema().path("type").asText(), is("null"));
+    }
+
+    private TypeSummary summary(String property, long value) {
+        TypeSummary summary = new TypeSummary();
+        summary.observeObject();
+        summary.property(property).observeInteger(value);
+        return summary;
+    }
+
+}
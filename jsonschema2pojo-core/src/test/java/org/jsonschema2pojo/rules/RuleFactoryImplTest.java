@@ -20,13 +20,24 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import org.jsonschema2pojo.DefaultGenerationConfig;
 import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.MetricsListener;
 import org.jsonschema2pojo.NoopAnnotator;
 import org.jsonschema2pojo.RuleLogger;
+import org.jsonschema2pojo.Schema;
 import org.jsonschema2pojo.SchemaStore;
 import org.junit.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+
 public class RuleFactoryImplTest {
 
     @Test
@@ -74,6 +85,62 @@ public class RuleFactoryImplTest {
 
     }
 
+    @Test
+    public void rulesAreTimedWhenMetricsListenerIsSet() {
+
+        MetricsListener metricsListener = mock(MetricsListener.class);
+
+        RuleFactory ruleFactory = new RuleFactory();
+        ruleFactory.setMetricsListener(metricsListener);
+
+        ruleFactory.getTitleRule().apply("title", TextNode.valueOf("A title"), null, new JCodeModel().anonymousClass(Object.class), null);
+
+        verify(metricsListener).ruleApplied(eq(TitleRule.class), anyLong());
+        assertThat(ruleFactory.getMetricsListener(), is(sameInstance(metricsListener)));
+    }
+
+    @Test
+    public void timedRulesExcludeTimeSpentInNestedRules() {
+
+        Map<Class<?>, Long> durations = new HashMap<>();
+        MetricsListener metricsListener = mock(MetricsListener.class);
+        doAnswer(invocation -> durations.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(metricsListener).ruleApplied(any(), anyLong());
+
+        Rule<JClass, JClass> nestedRule = new TimedRule<>(new SleepingRule(), metricsListener);
+        new TimedRule<>(new NestingRule(nestedRule), metricsListener).apply("node", null, null, null, null);
+
+        assertThat(durations.get(SleepingRule.class), is(greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50))));
+        assertThat(durations.get(NestingRule.class), is(lessThan(durations.get(SleepingRule.class))));
+    }
+
+    private static class SleepingRule implements Rule<JClass, JClass> {
+
+        @Override
+        public JClass apply(String nodeName, JsonNode node, JsonNode parent, JClass generatableType, Schema currentSchema) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return generatableType;
+        }
+    }
+
+    private static class NestingRule implements Rule<JClass, JClass> {
+
+        private final Rule<JClass, JClass> nestedRule;
+
+        NestingRule(Rule<JClass, JClass> nestedRule) {
+            this.nestedRule = nestedRule;
+        }
+
+        @Override
+        public JClass apply(String nodeName, JsonNode node, JsonNode parent, JClass generatableType, Schema currentSchema) {
+            return nestedRule.apply(nodeName, node, parent, generatableType, currentSchema);
+        }
+    }
+
     @Test
     public void generationConfigIsReturned() {
 
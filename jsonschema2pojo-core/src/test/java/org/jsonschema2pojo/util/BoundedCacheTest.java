@@ -0,0 +1,68 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void resultsAreComputedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, String> upperCase = s -> {
+            calls.incrementAndGet();
+            return s.toUpperCase();
+        };
+
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+        assertThat(cache.get("a", upperCase), is("A"));
+        assertThat(cache.get("a", upperCase), is("A"));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsDiscardedWhenFull() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, String> upperCase = s -> {
+            calls.incrementAndGet();
+            return s.toUpperCase();
+        };
+
+        BoundedCache<String, String> cache = new BoundedCache<>(2);
+        cache.get("a", upperCase);
+        cache.get("b", upperCase);
+        cache.get("a", upperCase);
+        cache.get("c", upperCase);
+
+        assertThat(cache.size(), is(2));
+        assertThat(calls.get(), is(3));
+
+        cache.get("a", upperCase);
+        assertThat(calls.get(), is(3));
+
+        cache.get("b", upperCase);
+        assertThat(calls.get(), is(4));
+    }
+
+}
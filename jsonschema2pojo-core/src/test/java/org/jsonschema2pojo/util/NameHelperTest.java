@@ -71,6 +71,47 @@ public class NameHelperTest {
         assertThat(nameHelper.getClassName("foo", node("javaName", "bar").put("title", "abc")), is("bar"));
     }
 
+    @Test
+    public void illegalCharactersAreReplacedLikeRegex() {
+        for (String name : new String[] { "foo", "foo-bar", "foo bar baz", "$foo_1", "caf\u00e9", "a\uD83D\uDE00b", "" }) {
+            assertThat(nameHelper.replaceIllegalCharacters(name), is(name.replaceAll(NameHelper.ILLEGAL_CHARACTER_REGEX, "_")));
+        }
+    }
+
+    @Test
+    public void capitalizedNamesDependOnWordDelimiters() {
+        GenerationConfig config = mock(GenerationConfig.class);
+        when(config.getPropertyWordDelimiters()).thenReturn(new char[] { '-' });
+        NameHelper nameHelper = new NameHelper(config);
+
+        assertThat(nameHelper.capitalizeTrailingWords("foo-bar_baz"), is("fooBar_baz"));
+        assertThat(nameHelper.capitalizeTrailingWords("foo-bar_baz"), is("fooBar_baz"));
+
+        when(config.getPropertyWordDelimiters()).thenReturn(new char[] { '_' });
+
+        assertThat(nameHelper.capitalizeTrailingWords("foo-bar_baz"), is("foo-barBaz"));
+    }
+
+    @Test
+    public void propertyAndClassNamesDependOnConfig() {
+        GenerationConfig config = mock(GenerationConfig.class);
+        when(config.getPropertyWordDelimiters()).thenReturn(new char[] { '_' });
+        when(config.getClassNamePrefix()).thenReturn("Pre");
+        NameHelper nameHelper = new NameHelper(config);
+        JCodeModel codeModel = new JCodeModel();
+
+        assertThat(nameHelper.getPropertyName("foo_bar", NODE), is("fooBar"));
+        assertThat(nameHelper.getPropertyName("foo_bar", NODE), is("fooBar"));
+        assertThat(nameHelper.getPropertyName("foo_bar", node("javaName", "baz")), is("baz"));
+        assertThat(nameHelper.getClassName("foo_bar", NODE, codeModel.rootPackage()), is("PreFooBar"));
+
+        when(config.getPropertyWordDelimiters()).thenReturn(new char[] { '-' });
+        when(config.getClassNamePrefix()).thenReturn(null);
+
+        assertThat(nameHelper.getPropertyName("foo_bar", NODE), is("foo_bar"));
+        assertThat(nameHelper.getClassName("foo_bar", NODE, codeModel.rootPackage()), is("Foo_bar"));
+    }
+
     private NameHelper helper(boolean useTitleAsClassname) {
         GenerationConfig config = mock(GenerationConfig.class);
         when(config.isUseTitleAsClassname()).thenReturn(useTitleAsClassname);
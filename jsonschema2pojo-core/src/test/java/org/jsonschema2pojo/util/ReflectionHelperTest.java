@@ -0,0 +1,86 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.junit.Test;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+
+public class ReflectionHelperTest {
+
+    private final RuleFactory ruleFactory = new RuleFactory();
+    private final ReflectionHelper reflectionHelper = new ReflectionHelper(ruleFactory);
+
+    @Test
+    public void addedBuilderClassesAreFoundByName() throws JClassAlreadyExistsException {
+        JCodeModel codeModel = new JCodeModel();
+        JDefinedClass example = codeModel._class("com.example.Example");
+        JDefinedClass builder = example._class(JMod.PUBLIC | JMod.STATIC, "ExampleBuilder");
+        JDefinedClass baseBuilder = example._class(JMod.PUBLIC | JMod.STATIC, "ExampleBuilderBase");
+        reflectionHelper.addNestedClass(builder);
+        reflectionHelper.addNestedClass(baseBuilder);
+
+        JCodeModel otherCodeModel = new JCodeModel();
+        JDefinedClass otherExample = otherCodeModel._class("com.example.Example");
+
+        assertThat(reflectionHelper.getConcreteBuilderClass(codeModel.ref("com.example.Example")), is(sameInstance(builder)));
+        assertThat(reflectionHelper.getBaseBuilderClass(codeModel.ref("com.example.Example")), is(sameInstance(baseBuilder)));
+        assertThat(reflectionHelper.getBaseBuilderClass(otherExample), is(nullValue()));
+    }
+
+    @Test
+    public void nestedClassesThatWereNotAddedAreStillFound() throws JClassAlreadyExistsException {
+        JCodeModel codeModel = new JCodeModel();
+        JDefinedClass example = codeModel._class("com.example.Example");
+        JDefinedClass builder = example._class(JMod.PUBLIC | JMod.STATIC, "ExampleBuilder");
+
+        assertThat(reflectionHelper.getConcreteBuilderClass(codeModel.ref("com.example.Example")), is(sameInstance(builder)));
+        assertThat(reflectionHelper.getBaseBuilderClass(codeModel.ref("com.example.Example")), is(nullValue()));
+    }
+
+    @Test
+    public void missingNestedClassesAreFoundOnceAdded() throws JClassAlreadyExistsException {
+        JCodeModel codeModel = new JCodeModel();
+        JDefinedClass example = codeModel._class("com.example.Example");
+
+        assertThat(reflectionHelper.getConcreteBuilderClass(codeModel.ref("com.example.Example")), is(nullValue()));
+        assertThat(reflectionHelper.getConcreteBuilderClass(codeModel.ref("com.example.Example")), is(nullValue()));
+
+        JDefinedClass builder = example._class(JMod.PUBLIC | JMod.STATIC, "ExampleBuilder");
+        reflectionHelper.addNestedClass(builder);
+
+        assertThat(reflectionHelper.getConcreteBuilderClass(codeModel.ref("com.example.Example")), is(sameInstance(builder)));
+    }
+
+    @Test
+    public void fieldsAreFoundInGeneratedSuperClasses() throws JClassAlreadyExistsException {
+        JCodeModel codeModel = new JCodeModel();
+        JDefinedClass parent = codeModel._class("com.example.Parent");
+        parent.field(JMod.PRIVATE, String.class, "name");
+        JDefinedClass child = codeModel._class("com.example.Child")._extends(parent);
+
+        assertThat(reflectionHelper.searchClassAndSuperClassesForField("name", child), is(notNullValue()));
+    }
+
+}
@@ -15,29 +15,62 @@
  */
 package org.jsonschema2pojo.gradle
 
-import org.jsonschema2pojo.GenerationConfig
-import org.jsonschema2pojo.Jsonschema2Pojo
+import java.lang.reflect.Field
+import java.lang.reflect.Modifier
+
+import javax.inject.Inject
+
 import org.gradle.api.DefaultTask
 import org.gradle.api.GradleException
-import org.gradle.api.tasks.TaskAction
-import org.gradle.api.tasks.Input
+import org.gradle.api.file.FileCollection
 import org.gradle.api.model.ReplacedBy
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.Classpath
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+import org.gradle.work.Incremental
+import org.gradle.work.InputChanges
+import org.gradle.workers.WorkerExecutor
+import org.jsonschema2pojo.AllFileFilter
+import org.jsonschema2pojo.GenerationConfig
+import org.jsonschema2pojo.GenerationState
+import org.jsonschema2pojo.Jsonschema2Pojo
+import org.jsonschema2pojo.SourceType
 
 /**
  * A task that performs code generation.
+ * <p>
+ * Generation runs through the worker API, on the class path the plugin was
+ * loaded from (plus the optional <code>jsonschema2pojo</code> configuration,
+ * see {@link JsonSchemaPlugin}), so that several projects can generate at once.
+ * Sources, and the local documents they reference, are tracked
+ * relative to their roots and the configuration by a hash that leaves out
+ * paths, so generated types can be reused from the build cache by builds in
+ * other directories. When only some sources have changed, jsonschema2pojo's
+ * incremental generation is used to regenerate only the affected types
+ * (JSONSCHEMA and YAMLSCHEMA sources only).
  *
  * @author Ben Manes (ben.manes@gmail.com)
  */
+@CacheableTask
 class GenerateJsonSchemaJavaTask extends DefaultTask {
-  @ReplacedBy("configurationString")
+  @ReplacedBy("configurationHash")
   GenerationConfig configuration
 
-  @Input
-  String getConfigurationString() {
-    configuration.toString();
-  }
+  private final WorkerExecutor workerExecutor
+  private FileCollection sourceFiles
+  private FileCollection referencedFiles
+  private FileCollection additionalClasspath
+  private FileCollection generatorClasspath
+
+  @Inject
+  GenerateJsonSchemaJavaTask(WorkerExecutor workerExecutor) {
+    this.workerExecutor = workerExecutor
 
-  GenerateJsonSchemaJavaTask() {
     description = 'Generates Java classes from a json schema.'
     group = 'Build'
 
@@ -51,11 +84,57 @@ class GenerateJsonSchemaJavaTask extends DefaultTask {
       } else {
         throw new GradleException('generateJsonSchema: Java plugin is required')
       }
-      outputs.dir configuration.targetDirectory
 
-      inputs.property("configuration", configuration.toString())
-      inputs.files project.files(configuration.sourceFiles)
+      sourceFiles = project.files(configuration.sourceFiles)
+      referencedFiles = project.files({ findReferencedFiles() })
+      additionalClasspath = project.configurations.getByName(JsonSchemaPlugin.CONFIGURATION_NAME)
+      generatorClasspath = project.files(
+          { [ GenerateJsonSchemaWork, Jsonschema2Pojo, configuration.customAnnotator, configuration.customRuleFactory ].collect { locationOf(it) }.findAll() },
+          additionalClasspath)
     }
+
+    // a custom filter is an arbitrary object, so can't be part of the task's inputs
+    outputs.cacheIf('no custom fileFilter is configured') { !hasCustomFileFilter() }
+    outputs.upToDateWhen { !hasCustomFileFilter() }
+  }
+
+  @Input
+  String getConfigurationHash() {
+    Jsonschema2Pojo.getConfigurationHash(configuration)
+  }
+
+  @Incremental
+  @InputFiles
+  @PathSensitive(PathSensitivity.RELATIVE)
+  FileCollection getSourceFiles() {
+    sourceFiles
+  }
+
+  /**
+   * The local documents that sources reference from outside the source
+   * directories, so that editing one of them also regenerates types (and
+   * triggers generation in a continuous build).
+   */
+  @InputFiles
+  @PathSensitive(PathSensitivity.RELATIVE)
+  FileCollection getReferencedFiles() {
+    referencedFiles
+  }
+
+  /**
+   * The classes used to generate types: this plugin, jsonschema2pojo, the
+   * locations of any custom annotator and rule factory, and the
+   * <code>jsonschema2pojo</code> configuration, so that changes to these also
+   * regenerate types.
+   */
+  @Classpath
+  FileCollection getGeneratorClasspath() {
+    generatorClasspath
+  }
+
+  @OutputDirectory
+  File getTargetDirectory() {
+    configuration.targetDirectory
   }
 
   def configureJava() {
@@ -70,13 +149,91 @@ class GenerateJsonSchemaJavaTask extends DefaultTask {
   }
 
   @TaskAction
-  def generate() {
+  def generate(InputChanges inputChanges) {
     if (Boolean.TRUE == configuration.properties.get("useCommonsLang3")) {
       logger.warn 'useCommonsLang3 is deprecated. Please remove it from your config.'
     }
 
     logger.info 'Using this configuration:\n{}', configuration
 
-    Jsonschema2Pojo.generate(configuration, new GradleRuleLogger(logger))
+    if (inputChanges.incremental) {
+      logger.info 'Sources changed since the last run: {}', inputChanges.getFileChanges(sourceFiles).collect { it.file.name }
+    } else {
+      // the output may have come from another build, so any state left in it can't be trusted
+      new File(configuration.targetDirectory, GenerationState.FILE_NAME).delete()
+    }
+
+    if (!hasCustomFileFilter()) {
+      workerExecutor.noIsolation().submit(GenerateJsonSchemaWork) { GenerateJsonSchemaParameters parameters ->
+        parameters.configuration.set(snapshot(inputChanges.incremental))
+        parameters.classpath.from(additionalClasspath)
+      }
+    } else {
+      logger.info 'A custom fileFilter can not be passed to a worker, generating in the build process'
+      GenerateJsonSchemaWork.withClasspath(additionalClasspath.files) {
+        Jsonschema2Pojo.generate(configuration, new GradleRuleLogger(logger))
+      }
+    }
+  }
+
+  private boolean hasCustomFileFilter() {
+    configuration.fileFilter != null && !(configuration.fileFilter instanceof AllFileFilter)
+  }
+
+  private Set<File> findReferencedFiles() {
+    Set<File> inputFiles = Jsonschema2Pojo.getInputFiles(configuration) ?: Collections.<File>emptySet()
+    inputFiles.findAll { file ->
+      !configuration.sourceFiles.any { root -> file.absoluteFile.toPath().startsWith(root.absoluteFile.toPath()) }
+    }
+  }
+
+  /**
+   * Copies the configuration into values that can be passed to a worker:
+   * simple values, files, and the names of classes and enum constants (from
+   * which the configuration can be set).
+   */
+  private Map<String, Object> snapshot(boolean incremental) {
+    Map<String, Object> values = [:]
+
+    for (Field field : JsonSchemaExtension.declaredFields) {
+      if (field.synthetic || Modifier.isStatic(field.modifiers) || Modifier.isTransient(field.modifiers)
+          || field.name.startsWith('$') || field.name.startsWith('__$')
+          || field.name in ['metaClass', 'sourceFiles', 'fileFilter']) {
+        continue
+      }
+
+      field.accessible = true
+      def value = field.get(configuration)
+      if (value instanceof Class) {
+        value = ((Class) value).name
+      } else if (value instanceof Enum) {
+        value = ((Enum) value).name()
+      } else if (value instanceof Map) {
+        value = ((Map) value).collectEntries { k, v -> [(k.toString()): v?.toString()] }
+      }
+
+      if (value != null) {
+        values[field.name] = value
+      }
+    }
+
+    values.source = configuration.sourceFiles.collect { it }
+    if (incremental && configuration.sourceType in [SourceType.JSONSCHEMA, SourceType.YAMLSCHEMA]) {
+      values.incremental = true
+    }
+
+    values
+  }
+
+  /**
+   * The jar or directory from which the given class was loaded, unless it is
+   * part of the JDK.
+   */
+  private static File locationOf(Class<?> type) {
+    def codeSource = type?.protectionDomain?.codeSource
+    if (codeSource?.location == null) {
+      return null
+    }
+    new File(codeSource.location.toURI())
   }
 }
@@ -0,0 +1,38 @@
+/**
+ * Copyright © 2010-2014 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsonschema2pojo.gradle
+
+import org.gradle.api.file.ConfigurableFileCollection
+import org.gradle.api.provider.MapProperty
+import org.gradle.workers.WorkParameters
+
+/**
+ * The parameters of a {@link GenerateJsonSchemaWork} item.
+ */
+interface GenerateJsonSchemaParameters extends WorkParameters {
+
+  /**
+   * The properties of a {@link JsonSchemaExtension}, by name, as simple
+   * values that can be passed to an isolated class loader.
+   */
+  MapProperty<String, Object> getConfiguration()
+
+  /**
+   * The <code>jsonschema2pojo</code> configuration, added to the class path
+   * the plugin was loaded from while generating.
+   */
+  ConfigurableFileCollection getClasspath()
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright © 2010-2014 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jsonschema2pojo.gradle
+
+import org.gradle.api.logging.Logging
+import org.gradle.workers.WorkAction
+import org.jsonschema2pojo.Jsonschema2Pojo
+
+/**
+ * Generates types in a worker, from a configuration rebuilt from the
+ * properties given by {@link GenerateJsonSchemaJavaTask}.
+ */
+abstract class GenerateJsonSchemaWork implements WorkAction<GenerateJsonSchemaParameters> {
+
+  @Override
+  void execute() {
+    JsonSchemaExtension configuration = new JsonSchemaExtension()
+    parameters.configuration.get().each { String name, Object value ->
+      configuration.setProperty(name, value)
+    }
+
+    withClasspath(parameters.classpath.files) {
+      Jsonschema2Pojo.generate(configuration, new GradleRuleLogger(Logging.getLogger(GenerateJsonSchemaWork)))
+    }
+  }
+
+  /**
+   * Runs the given action with a context class loader (from which
+   * jsonschema2pojo loads classes such as those named by
+   * <code>existingJavaType</code>) made of the class path this plugin was
+   * loaded from and the given files.
+   */
+  static void withClasspath(Set<File> files, Closure action) {
+    Thread thread = Thread.currentThread()
+    ClassLoader oldClassLoader = thread.contextClassLoader
+    URLClassLoader classLoader = new URLClassLoader(files.collect { it.toURI().toURL() } as URL[], GenerateJsonSchemaWork.classLoader)
+    thread.contextClassLoader = classLoader
+    try {
+      action.call()
+    } finally {
+      thread.contextClassLoader = oldClassLoader
+      classLoader.close()
+    }
+  }
+}
@@ -96,6 +96,19 @@ public class JsonSchemaExtension implements GenerationConfig {
   SourceSortOrder sourceSortOrder
   Map<String, String> formatTypeMapping
   boolean includeGeneratedAnnotation
+  int parallelism
+  boolean incremental
+  boolean skipUnchangedFiles
+  File schemaCacheDirectory
+  long schemaCacheTimeToLive
+  long schemaCacheMaxSize
+  boolean offline
+  boolean printMetrics
+  File metricsFile
+  boolean mergeSamples
+  boolean generateAdapters
+  boolean immutable
+  boolean generateRecords
 
   public JsonSchemaExtension() {
     // See DefaultGenerationConfig
@@ -156,6 +169,19 @@ public class JsonSchemaExtension implements GenerationConfig {
     sourceSortOrder = SourceSortOrder.OS
     formatTypeMapping = Collections.emptyMap()
     includeGeneratedAnnotation = true
+    parallelism = 1
+    incremental = false
+    skipUnchangedFiles = false
+    schemaCacheDirectory = null
+    schemaCacheTimeToLive = 3600
+    schemaCacheMaxSize = 52428800
+    offline = false
+    printMetrics = false
+    metricsFile = null
+    mergeSamples = false
+    generateAdapters = false
+    immutable = false
+    generateRecords = false
   }
 
   @Override
@@ -285,6 +311,19 @@ public class JsonSchemaExtension implements GenerationConfig {
        |useInnerClassBuilders = ${useInnerClassBuilders}
        |includeConstructorPropertiesAnnotation = ${includeConstructorPropertiesAnnotation}
        |includeGeneratedAnnotation = ${includeGeneratedAnnotation}
+       |parallelism = ${parallelism}
+       |incremental = ${incremental}
+       |skipUnchangedFiles = ${skipUnchangedFiles}
+       |schemaCacheDirectory = ${schemaCacheDirectory}
+       |schemaCacheTimeToLive = ${schemaCacheTimeToLive}
+       |schemaCacheMaxSize = ${schemaCacheMaxSize}
+       |offline = ${offline}
+       |printMetrics = ${printMetrics}
+       |metricsFile = ${metricsFile}
+       |mergeSamples = ${mergeSamples}
+       |generateAdapters = ${generateAdapters}
+       |immutable = ${immutable}
+       |generateRecords = ${generateRecords}
      """.stripMargin()
   }
   
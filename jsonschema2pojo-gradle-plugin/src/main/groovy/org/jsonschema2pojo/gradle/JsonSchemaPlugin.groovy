@@ -20,16 +20,27 @@ import org.gradle.api.Plugin
 import org.gradle.api.Project
 
 /**
- * Registers the plugin's tasks.
+ * Registers the plugin's tasks, and the optional <code>jsonschema2pojo</code>
+ * configuration. Java projects generate types on the class path the plugin
+ * was loaded from; classes in the configuration (such as classes named by
+ * <code>existingJavaType</code>) are added to it while generating.
  *
  * @author Ben Manes (ben.manes@gmail.com)
  */
 class JsonSchemaPlugin implements Plugin<Project> {
 
+  static final String CONFIGURATION_NAME = 'jsonschema2pojo'
+
   @Override
   public void apply(Project project) {
     project.extensions.create('jsonSchema2Pojo', JsonSchemaExtension)
 
+    project.configurations.create(CONFIGURATION_NAME) { configuration ->
+      configuration.visible = false
+      configuration.canBeConsumed = false
+      configuration.description = 'Additional classes used to generate types from JSON Schema'
+    }
+
     if (project.plugins.hasPlugin('java')) {
       project.tasks.create('generateJsonSchema2Pojo', GenerateJsonSchemaJavaTask)
     } else if (project.plugins.hasPlugin('com.android.application') || project.plugins.hasPlugin('com.android.library')) {
@@ -24,6 +24,11 @@ import org.apache.commons.io.FileUtils
 import org.gradle.tooling.BuildLauncher
 import org.gradle.tooling.GradleConnector
 import org.gradle.tooling.ProjectConnection
+import org.gradle.tooling.events.OperationType
+import org.gradle.tooling.events.ProgressEvent
+import org.gradle.tooling.events.ProgressListener
+import org.gradle.tooling.events.task.TaskFinishEvent
+import org.gradle.tooling.events.task.TaskSuccessResult
 import org.jsonschema2pojo.gradle.JsonSchemaExtension
 import org.junit.Test
 
@@ -56,6 +61,65 @@ class JsonSchemaPluginSpec {
     build("example/java");
   }
 
+  @Test
+  void referencedFilesAreInputs() {
+    File projectDir = copyOfExample("example/java")
+    File shared = new File(projectDir, "schema/name.json")
+    FileUtils.writeStringToFile(shared, '{"type":"object","properties":{"first":{"type":"string"}}}', "UTF-8")
+    FileUtils.writeStringToFile(new File(projectDir, "src/main/resources/json/person.json"),
+        '{"type":"object","properties":{"name":{"$ref":"../../../../schema/name.json"}}}', "UTF-8")
+
+    assertThat(generate(projectDir), is(false))
+    assertThat(generate(projectDir), is(true))
+
+    FileUtils.writeStringToFile(shared, '{"type":"object","properties":{"first":{"type":"string"},"last":{"type":"string"}}}', "UTF-8")
+
+    assertThat(generate(projectDir), is(false))
+    assertThat(FileUtils.readFileToString(new File(projectDir, "build/generated-sources/js2p/example/Name.java"), "UTF-8"), containsString("getLast"))
+  }
+
+  @Test
+  void customFileFilterIsNeverUpToDate() {
+    File projectDir = copyOfExample("example/java")
+    new File(projectDir, "build.gradle") << '\njsonSchema2Pojo { fileFilter = { true } as FileFilter }\n'
+
+    assertThat(generate(projectDir), is(false))
+    assertThat(generate(projectDir), is(false))
+  }
+
+  private File copyOfExample(String example) {
+    File projectDir = File.createTempDir()
+    projectDir.deleteOnExit()
+    FileUtils.copyDirectory(new File(example), projectDir)
+    projectDir
+  }
+
+  /**
+   * Runs the generation task in the given project.
+   *
+   * @return whether the task was up-to-date
+   */
+  private boolean generate(File projectDir) {
+    boolean upToDate = false
+    ProjectConnection connection = GradleConnector.newConnector()
+        .useGradleVersion("5.6")
+        .forProjectDirectory(projectDir)
+        .connect()
+    try {
+      connection.newBuild()
+          .forTasks("generateJsonSchema2Pojo")
+          .addProgressListener({ ProgressEvent event ->
+            if (event instanceof TaskFinishEvent && event.descriptor.taskPath == ":generateJsonSchema2Pojo") {
+              upToDate = ((TaskSuccessResult) event.result).upToDate
+            }
+          } as ProgressListener, EnumSet.of(OperationType.TASK))
+          .run()
+    } finally {
+      connection.close()
+    }
+    upToDate
+  }
+
   void build(String projectDir) {
     GradleConnector connector = GradleConnector.newConnector()
     connector.useGradleVersion("5.6")
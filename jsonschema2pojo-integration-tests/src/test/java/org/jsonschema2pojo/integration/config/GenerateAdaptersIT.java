@@ -0,0 +1,288 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.jsonschema2pojo.integration.util.JsonAssert.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.gson.Gson;
+import com.google.gson.annotations.JsonAdapter;
+import com.squareup.moshi.Moshi;
+
+public class GenerateAdaptersIT {
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void jacksonAdaptersAreRegisteredOnGeneratedTypes() throws ClassNotFoundException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/json/examples/torrent.json", "com.example",
+                config("sourceType", "json",
+                        "generateAdapters", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.Torrent");
+
+        assertThat(generatedType.getAnnotation(JsonSerialize.class).using().getName(), is("com.example.Torrent$JacksonSerializer"));
+        assertThat(generatedType.getAnnotation(JsonDeserialize.class).using().getName(), is("com.example.Torrent$JacksonDeserializer"));
+        assertThat(objectMapper.getSerializerProviderInstance().findValueSerializer(generatedType).getClass().getName(), is("com.example.Torrent$JacksonSerializer"));
+    }
+
+    @Test
+    public void jacksonAdaptersReadAndWriteJson() throws ClassNotFoundException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/json/examples/", "com.example",
+                config("sourceType", "json",
+                        "useLongIntegers", true,
+                        "generateAdapters", true));
+
+        assertJsonRoundTrip(resultsClassLoader, "com.example.Torrent", "/json/examples/torrent.json");
+        assertJsonRoundTrip(resultsClassLoader, "com.example.GetUserData", "/json/examples/GetUserData.json");
+    }
+
+    @Test
+    public void jacksonAdaptersReadAndWriteInheritedProperties() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/extends/subtypeOfB.json", "com.example",
+                config("generateAdapters", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.SubtypeOfB");
+        String json = "{\"childProperty\":\"child\",\"parentProperty\":\"parent\",\"other\":[1,2]}";
+
+        Object instance = objectMapper.readValue(json, generatedType);
+
+        assertThat(generatedType.getMethod("getParentProperty").invoke(instance), is("parent"));
+        assertEqualsJson(json, objectMapper.writeValueAsString(instance));
+    }
+
+    @Test
+    public void jacksonAdaptersLeaveHandWrittenSubclassesToJackson() throws ClassNotFoundException, IOException {
+
+        File generateDir = schemaRule.generate("/schema/extends/subtypeOfB.json", "com.example",
+                config("generateAdapters", true));
+        FileUtils.writeStringToFile(new File(generateDir, "com/example/HandWritten.java"),
+                "package com.example;\n"
+                + "public class HandWritten extends SubtypeOfB {\n"
+                + "    private String extra;\n"
+                + "    public String getExtra() { return extra; }\n"
+                + "    public void setExtra(String extra) { this.extra = extra; }\n"
+                + "}\n", "UTF-8");
+        ClassLoader resultsClassLoader = schemaRule.compile();
+
+        Class<?> handWrittenType = resultsClassLoader.loadClass("com.example.HandWritten");
+        String json = "{\"childProperty\":\"child\",\"parentProperty\":\"parent\",\"extra\":\"extra\"}";
+
+        Object instance = objectMapper.readValue(json, handWrittenType);
+
+        assertThat(instance, is(instanceOf(handWrittenType)));
+        assertEqualsJson(json, objectMapper.writeValueAsString(instance));
+    }
+
+    @Test
+    public void jacksonAdaptersAreNotGeneratedForPolymorphicTypes() throws ClassNotFoundException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/typeInfo/typeInfoWithSchemaProperty.json", "com.example",
+                config("generateAdapters", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.TypeInfoWithSchemaProperty");
+
+        assertThat(generatedType.getAnnotation(JsonSerialize.class), is(nullValue()));
+        assertThat(generatedType.getDeclaredClasses(), is(emptyArray()));
+    }
+
+    @Test
+    public void gsonAdaptersAreRegisteredOnGeneratedTypes() throws ClassNotFoundException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/json/examples/torrent.json", "com.example",
+                config("annotationStyle", "gson",
+                        "sourceType", "json",
+                        "generateAdapters", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.Torrent");
+
+        assertThat(generatedType.getAnnotation(JsonAdapter.class).value().getName(), is("com.example.GsonTypeAdapterFactory"));
+        assertThat(new Gson().getAdapter(generatedType).getClass().getName(), is("com.example.Torrent$GsonTypeAdapter"));
+    }
+
+    @Test
+    public void gsonAdaptersReadAndWriteJson() throws ClassNotFoundException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/json/examples/", "com.example",
+                config("annotationStyle", "gson",
+                        "propertyWordDelimiters", "_",
+                        "sourceType", "json",
+                        "useLongIntegers", true,
+                        "generateAdapters", true));
+
+        assertGsonRoundTrip(resultsClassLoader, "com.example.Torrent", "/json/examples/torrent.json");
+        assertGsonRoundTrip(resultsClassLoader, "com.example.GetUserData", "/json/examples/GetUserData.json");
+    }
+
+    @Test
+    public void gsonAdaptersReadAndWriteEnums() throws ClassNotFoundException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/enum/typeWithEnumProperty.json", "com.example",
+                config("annotationStyle", "gson",
+                        "propertyWordDelimiters", "_",
+                        "generateAdapters", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.TypeWithEnumProperty");
+        Class<?> enumType = resultsClassLoader.loadClass("com.example.TypeWithEnumProperty$EnumProperty");
+        String json = "{\"enum_Property\":\"4 ! 1\"}";
+
+        Object instance = new Gson().fromJson(json, generatedType);
+
+        assertThat(new Gson().getAdapter(enumType).getClass().getName(), is("com.example.TypeWithEnumProperty$EnumProperty$GsonTypeAdapter"));
+        assertThat(new Gson().toJson(instance), is(json));
+    }
+
+    @Test
+    public void gsonAdaptersReadAndWriteInheritedProperties() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/extends/subtypeOfB.json", "com.example",
+                config("annotationStyle", "gson",
+                        "generateAdapters", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.SubtypeOfB");
+        String json = "{\"childProperty\":\"child\",\"parentProperty\":\"parent\"}";
+
+        Object instance = new Gson().fromJson(json, generatedType);
+
+        assertThat(generatedType.getMethod("getParentProperty").invoke(instance), is("parent"));
+        assertEqualsJson(json, new Gson().toJson(instance));
+    }
+
+    @Test
+    public void moshiAdaptersAreCreatedByPackageFactory() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/json/examples/torrent.json", "com.example",
+                config("annotationStyle", "moshi1",
+                        "sourceType", "json",
+                        "generateAdapters", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.Torrent");
+        com.squareup.moshi.JsonAdapter.Factory factory = moshiFactory(resultsClassLoader);
+
+        assertThat(factory.create(generatedType, Collections.<Annotation> emptySet(), moshi(resultsClassLoader)), is(notNullValue()));
+        assertThat(factory.create(String.class, Collections.<Annotation> emptySet(), moshi(resultsClassLoader)), is(nullValue()));
+    }
+
+    @Test
+    public void moshiAdaptersReadAndWriteJson() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/json/examples/", "com.example",
+                config("annotationStyle", "moshi1",
+                        "propertyWordDelimiters", "_",
+                        "sourceType", "json",
+                        "useLongIntegers", true,
+                        "generateAdapters", true));
+
+        assertMoshiRoundTrip(resultsClassLoader, "com.example.Torrent", "/json/examples/torrent.json");
+        assertMoshiRoundTrip(resultsClassLoader, "com.example.GetUserData", "/json/examples/GetUserData.json");
+    }
+
+    @Test
+    public void moshiAdaptersReadAndWriteEnums() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/enum/typeWithEnumProperty.json", "com.example",
+                config("annotationStyle", "moshi1",
+                        "propertyWordDelimiters", "_",
+                        "generateAdapters", true));
+
+        com.squareup.moshi.JsonAdapter<Object> jsonAdapter = moshi(resultsClassLoader).adapter((Type) resultsClassLoader.loadClass("com.example.TypeWithEnumProperty"));
+        String json = "{\"enum_Property\":\"4 ! 1\"}";
+
+        Object instance = jsonAdapter.fromJson(json);
+
+        assertThat(jsonAdapter.toJson(instance), is(json));
+    }
+
+    @Test
+    public void moshiAdaptersReadAndWriteInheritedProperties() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/extends/subtypeOfB.json", "com.example",
+                config("annotationStyle", "moshi1",
+                        "generateAdapters", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.SubtypeOfB");
+        com.squareup.moshi.JsonAdapter<Object> jsonAdapter = moshi(resultsClassLoader).adapter((Type) generatedType);
+        String json = "{\"childProperty\":\"child\",\"parentProperty\":\"parent\"}";
+
+        Object instance = jsonAdapter.fromJson(json);
+
+        assertThat(generatedType.getMethod("getParentProperty").invoke(instance), is("parent"));
+        assertEqualsJson(json, jsonAdapter.toJson(instance));
+    }
+
+    private com.squareup.moshi.JsonAdapter.Factory moshiFactory(ClassLoader resultsClassLoader) throws ReflectiveOperationException {
+        return (com.squareup.moshi.JsonAdapter.Factory) resultsClassLoader.loadClass("com.example.MoshiJsonAdapterFactory").newInstance();
+    }
+
+    private Moshi moshi(ClassLoader resultsClassLoader) throws ReflectiveOperationException {
+        return new Moshi.Builder().add(moshiFactory(resultsClassLoader)).build();
+    }
+
+    private void assertMoshiRoundTrip(ClassLoader resultsClassLoader, String className, String jsonResource) throws ReflectiveOperationException, IOException {
+        com.squareup.moshi.JsonAdapter<Object> jsonAdapter = moshi(resultsClassLoader).adapter((Type) resultsClassLoader.loadClass(className));
+
+        String expectedJson = IOUtils.toString(getClass().getResource(jsonResource));
+        Object javaInstance = jsonAdapter.fromJson(expectedJson);
+        String actualJson = jsonAdapter.toJson(javaInstance);
+
+        assertEqualsJson(expectedJson, actualJson);
+    }
+
+    private void assertGsonRoundTrip(ClassLoader resultsClassLoader, String className, String jsonResource) throws ClassNotFoundException, IOException {
+        Class<?> generatedType = resultsClassLoader.loadClass(className);
+
+        String expectedJson = IOUtils.toString(getClass().getResource(jsonResource));
+        Object javaInstance = new Gson().fromJson(expectedJson, generatedType);
+        String actualJson = new Gson().toJson(javaInstance);
+
+        assertEqualsJson(expectedJson, actualJson);
+    }
+
+    private void assertJsonRoundTrip(ClassLoader resultsClassLoader, String className, String jsonResource) throws ClassNotFoundException, IOException {
+        Class<?> generatedType = resultsClassLoader.loadClass(className);
+
+        String expectedJson = IOUtils.toString(getClass().getResource(jsonResource));
+        Object javaInstance = objectMapper.readValue(expectedJson, generatedType);
+        String actualJson = objectMapper.writeValueAsString(javaInstance);
+
+        assertEqualsJson(expectedJson, actualJson);
+    }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class GenerateRecordsIT {
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void recordsAreGeneratedForJava16AndLater() throws IOException {
+
+        schemaRule.generate("/schema/properties/primitiveProperties.json", "com.example", config("generateRecords", true, "targetVersion", "16"));
+
+        String content = FileUtils.readFileToString(schemaRule.generated("com/example/PrimitiveProperties.java"));
+
+        assertThat(content, containsString("public record PrimitiveProperties("));
+        assertThat(content, not(containsString("getA()")));
+        assertThat(content, not(containsString("hashCode()")));
+    }
+
+    @Test
+    public void defaultsAreAppliedByCompactConstructor() throws IOException {
+
+        schemaRule.generate("/schema/default/default.json", "com.example", config("generateRecords", true, "targetVersion", "16"));
+
+        String content = FileUtils.readFileToString(schemaRule.generated("com/example/Default.java"));
+
+        assertThat(content, containsString("public record Default("));
+        assertThat(content, containsString("public Default {"));
+        assertThat(content, containsString("stringWithDefault = \"abc\";"));
+    }
+
+    @Test
+    public void extendedTypesAreGeneratedAsClasses() throws IOException {
+
+        // whichever source is generated first, the supertype must not become a record
+        schemaRule.generate("/schema/records/extends/", "com.example", config("generateRecords", true, "targetVersion", "16"));
+
+        String base = FileUtils.readFileToString(schemaRule.generated("com/example/Base.java"));
+        String subtype = FileUtils.readFileToString(schemaRule.generated("com/example/Subtype.java"));
+
+        assertThat(base, containsString("public class Base"));
+        assertThat(base, containsString("getBaseProperty()"));
+        assertThat(subtype, containsString("public class Subtype"));
+        assertThat(subtype, containsString("extends Base"));
+    }
+
+    @Test
+    public void classesAreGeneratedBeforeJava16() throws ClassNotFoundException, NoSuchMethodException {
+
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/properties/primitiveProperties.json", "com.example",
+                config("generateRecords", true, "targetVersion", "1.8"))
+                .loadClass("com.example.PrimitiveProperties");
+
+        assertThat(generatedType.getSuperclass().getName(), is("java.lang.Object"));
+        generatedType.getMethod("getA");
+    }
+
+    @Test
+    public void recordsCompileAndApplyDefaults() throws ReflectiveOperationException {
+        assumeTrue("records need a Java 16 compiler", isJava16OrLater());
+
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/default/default.json", "com.example",
+                config("generateRecords", true, "targetVersion", "16"))
+                .loadClass("com.example.Default");
+
+        Constructor<?> canonicalConstructor = generatedType.getConstructors()[0];
+        Object instance = canonicalConstructor.newInstance(new Object[canonicalConstructor.getParameterCount()]);
+
+        assertThat(Class.class.getMethod("isRecord").invoke(generatedType), is((Object) true));
+        assertThat(generatedType.getMethod("stringWithDefault").invoke(instance), is((Object) "abc"));
+        assertThat(generatedType.getMethod("integerWithDefault").invoke(instance), is((Object) 1337));
+    }
+
+    private static boolean isJava16OrLater() {
+        String version = System.getProperty("java.specification.version");
+        return !version.startsWith("1.") && Integer.parseInt(version) >= 16;
+    }
+
+}
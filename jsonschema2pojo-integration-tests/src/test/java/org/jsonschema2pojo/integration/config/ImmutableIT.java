@@ -0,0 +1,269 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class ImmutableIT {
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @ClassRule public static Jsonschema2PojoRule classSchemaRule = new Jsonschema2PojoRule();
+
+    private static final String MUTABLE_PROPERTIES_JSON = "{\"list\":[\"a\"],\"set\":[1],\"map\":{\"a\":1}}";
+
+    private static Class generatedType;
+
+    @BeforeClass
+    public static void generateAndCompileClass() throws ClassNotFoundException {
+        ClassLoader resultsClassLoader = classSchemaRule.generateAndCompile("/schema/properties/primitiveProperties.json", "com.example", config("immutable", true, "includeAdditionalProperties", false));
+        generatedType = resultsClassLoader.loadClass("com.example.PrimitiveProperties");
+    }
+
+    @Test
+    public void immutableBeansHaveFinalFieldsAndNoSetters() throws NoSuchFieldException, NoSuchMethodException {
+
+        assertThat(generatedType.getDeclaredField("a").getModifiers(), is(Modifier.PRIVATE | Modifier.FINAL));
+        generatedType.getDeclaredMethod("getA");
+
+        try {
+            generatedType.getDeclaredMethod("setA", Integer.class);
+            fail("Immutable bean has a setter");
+        } catch (NoSuchMethodException e) {
+        }
+    }
+
+    @Test
+    public void immutableBeansHaveConstructorsByDefault() throws ReflectiveOperationException {
+
+        Object instance = generatedType.getConstructor(Integer.class, Double.class, Boolean.class).newInstance(1, 2.0, true);
+
+        assertThat(generatedType.getMethod("getA").invoke(instance), is((Object) 1));
+        assertThat(generatedType.getConstructor().newInstance(), is(notNullValue()));
+    }
+
+    @Test
+    public void immutableBeansCacheHashCode() throws ReflectiveOperationException {
+
+        Object instance = generatedType.getConstructor(Integer.class, Double.class, Boolean.class).newInstance(1, 2.0, true);
+
+        Field cachedHashCode = generatedType.getDeclaredField("cachedHashCode");
+        assertThat(Modifier.isTransient(cachedHashCode.getModifiers()), is(true));
+        cachedHashCode.setAccessible(true);
+
+        assertThat(cachedHashCode.get(instance), is((Object) 0));
+        int hashCode = instance.hashCode();
+        assertThat(cachedHashCode.get(instance), is((Object) hashCode));
+        assertThat(instance.hashCode(), is(hashCode));
+    }
+
+    @Test
+    public void immutableBeansAreEqualOnlyWhenPropertiesAreEqual() throws ReflectiveOperationException {
+
+        Object instance = generatedType.getConstructor(Integer.class, Double.class, Boolean.class).newInstance(1, 2.0, true);
+        Object equalInstance = generatedType.getConstructor(Integer.class, Double.class, Boolean.class).newInstance(1, 2.0, true);
+        Object otherInstance = generatedType.getConstructor(Integer.class, Double.class, Boolean.class).newInstance(2, 2.0, true);
+
+        assertThat(instance.equals(equalInstance), is(true));
+        assertThat(instance.equals(otherInstance), is(false));
+
+        // once hash codes are cached, they are compared first
+        assertThat(instance.hashCode(), is(equalInstance.hashCode()));
+        assertThat(instance.hashCode(), is(not(otherInstance.hashCode())));
+        assertThat(instance.equals(equalInstance), is(true));
+        assertThat(instance.equals(otherInstance), is(false));
+    }
+
+    @Test
+    public void immutableBeansCanBeDeserialized() throws Exception {
+
+        Object instance = new ObjectMapper().readValue("{\"a\":1,\"b\":2.0,\"c\":true}", generatedType);
+
+        assertThat(instance, is(generatedType.getConstructor(Integer.class, Double.class, Boolean.class).newInstance(1, 2.0, true)));
+    }
+
+    @Test
+    public void immutableBeansAreInitializedWithDefaultValues() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/default/default.json", "com.example", config("immutable", true));
+
+        Class defaultType = resultsClassLoader.loadClass("com.example.Default");
+        Object instance = defaultType.getConstructor().newInstance();
+
+        assertThat(Modifier.isFinal(defaultType.getDeclaredField("stringWithDefault").getModifiers()), is(true));
+        assertThat(defaultType.getMethod("getStringWithDefault").invoke(instance), is((Object) "abc"));
+        assertThat(defaultType.getMethod("getIntegerWithDefault").invoke(instance), is((Object) 1337));
+    }
+
+    @Test
+    public void immutableSubtypesIncludeSuperclassPropertiesInEquals() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/extends/subtypeOfB.json", "com.example", config("immutable", true, "includeAdditionalProperties", false));
+
+        Class subtype = resultsClassLoader.loadClass("com.example.SubtypeOfB");
+        Object instance = subtype.getConstructor(String.class, String.class).newInstance("child", "parent");
+        Object equalInstance = subtype.getConstructor(String.class, String.class).newInstance("child", "parent");
+        Object otherInstance = subtype.getConstructor(String.class, String.class).newInstance("child", "other");
+
+        assertThat(instance.hashCode(), is(equalInstance.hashCode()));
+        assertThat(instance.hashCode(), is(not(otherInstance.hashCode())));
+        assertThat(instance.equals(equalInstance), is(true));
+        assertThat(instance.equals(otherInstance), is(false));
+        assertThat(subtype.getMethod("getParentProperty").invoke(instance), is((Object) "parent"));
+    }
+
+    @Test
+    public void immutableBeansCopyMutableValues() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/mutableProperties.json", "com.example", config("immutable", true));
+
+        Class mutableType = resultsClassLoader.loadClass("com.example.MutableProperties");
+        List<String> list = new ArrayList<>(Collections.singletonList("a"));
+        Map<String, Integer> map = new HashMap<>(Collections.singletonMap("a", 1));
+        Date date = new Date(1000L);
+        Object instance = mutableType.getConstructor(List.class, Set.class, Map.class, Date.class, List.class).newInstance(list, null, map, date, null);
+        Object equalInstance = mutableType.getConstructor(List.class, Set.class, Map.class, Date.class, List.class).newInstance(list, null, map, date, null);
+        int hashCode = instance.hashCode();
+
+        list.add("b");
+        map.put("b", 2);
+        date.setTime(2000L);
+        assertUnmodifiable((Collection) mutableType.getMethod("getList").invoke(instance));
+        assertUnmodifiable(((Map) mutableType.getMethod("getMap").invoke(instance)).keySet());
+        assertUnmodifiable((Collection) mutableType.getMethod("getListWithDefault").invoke(mutableType.getConstructor().newInstance()));
+        ((Date) mutableType.getMethod("getDate").invoke(instance)).setTime(3000L);
+
+        assertThat(mutableType.getMethod("getList").invoke(instance), is((Object) Collections.singletonList("a")));
+        assertThat(mutableType.getMethod("getMap").invoke(instance), is((Object) Collections.singletonMap("a", 1)));
+        assertThat(mutableType.getMethod("getDate").invoke(instance), is((Object) new Date(1000L)));
+        assertThat(instance.hashCode(), is(hashCode));
+        assertThat(instance.equals(equalInstance), is(true));
+    }
+
+    @Test
+    public void immutableBeansDeserializedByJacksonKeepTheirHashCode() throws Exception {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/mutableProperties.json", "com.example", config("immutable", true));
+
+        Class mutableType = resultsClassLoader.loadClass("com.example.MutableProperties");
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertHashCodeIsKept(mutableType, objectMapper.readValue(MUTABLE_PROPERTIES_JSON, mutableType), objectMapper.readValue(MUTABLE_PROPERTIES_JSON, mutableType));
+    }
+
+    @Test
+    public void immutableBeansDeserializedByGsonKeepTheirHashCode() throws Exception {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/mutableProperties.json", "com.example", config("immutable", true, "annotationStyle", "gson"));
+
+        Class mutableType = resultsClassLoader.loadClass("com.example.MutableProperties");
+        Gson gson = new Gson();
+
+        assertHashCodeIsKept(mutableType, gson.fromJson(MUTABLE_PROPERTIES_JSON, mutableType), gson.fromJson(MUTABLE_PROPERTIES_JSON, mutableType));
+    }
+
+    @Test
+    public void immutableBeansKeepAdditionalProperties() throws Exception {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/additionalPropertiesString.json", "com.example", config("immutable", true));
+
+        Class additionalPropertiesType = resultsClassLoader.loadClass("com.example.AdditionalPropertiesString");
+        Map<String, String> additionalProperties = new HashMap<>(Collections.singletonMap("a", "1"));
+        Object instance = additionalPropertiesType.getConstructor(Map.class).newInstance(additionalProperties);
+        additionalProperties.put("b", "2");
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Object deserialized = objectMapper.readValue("{\"a\":\"1\"}", additionalPropertiesType);
+
+        assertThat(additionalPropertiesType.getMethod("getAdditionalProperties").invoke(deserialized), is((Object) Collections.singletonMap("a", "1")));
+        assertUnmodifiable((Map) additionalPropertiesType.getMethod("getAdditionalProperties").invoke(deserialized));
+        assertThat(instance.equals(deserialized), is(true));
+        assertThat(objectMapper.writeValueAsString(instance), is("{\"a\":\"1\"}"));
+    }
+
+    @Test
+    public void immutableBeansDontCacheHashCodeOfMutableValues() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/nestedLists.json", "com.example", config("immutable", true));
+
+        Class nestedListsType = resultsClassLoader.loadClass("com.example.NestedLists");
+        Object instance = nestedListsType.getConstructor(List.class).newInstance(Collections.singletonList(new ArrayList<String>()));
+        Object equalInstance = nestedListsType.getConstructor(List.class).newInstance(Collections.singletonList(new ArrayList<String>()));
+        instance.hashCode();
+
+        // the lists in the list are not copied, so changing them changes the hash code
+        ((List<List<String>>) nestedListsType.getMethod("getLists").invoke(instance)).get(0).add("a");
+        ((List<List<String>>) nestedListsType.getMethod("getLists").invoke(equalInstance)).get(0).add("a");
+
+        assertThat(instance.hashCode(), is(equalInstance.hashCode()));
+        assertThat(instance.equals(equalInstance), is(true));
+    }
+
+    private static void assertHashCodeIsKept(Class mutableType, Object instance, Object equalInstance) throws ReflectiveOperationException {
+        Set<Object> instances = new HashSet<>(Collections.singleton(instance));
+
+        // deserializers assign fields directly, bypassing the copies made by the constructor
+        assertUnmodifiable((Collection) mutableType.getMethod("getList").invoke(instance));
+        assertUnmodifiable((Collection) mutableType.getMethod("getSet").invoke(instance));
+        assertUnmodifiable((Map) mutableType.getMethod("getMap").invoke(instance));
+
+        assertThat(instance.hashCode(), is(equalInstance.hashCode()));
+        assertThat(instances.contains(equalInstance), is(true));
+    }
+
+    private static void assertUnmodifiable(Map map) {
+        try {
+            map.put("c", 3);
+            fail("Immutable bean returned a modifiable map");
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    private static void assertUnmodifiable(Collection collection) {
+        try {
+            collection.add("c");
+            fail("Immutable bean returned a modifiable collection");
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jsonschema2pojo.util.DigestUtil;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * <p>A record of the inputs to the last generation run: the plugin version,
+ * a hash of the configuration, the source files, the project's compile
+ * classpath (from which classes such as those named by
+ * <code>existingJavaType</code> are loaded), and the size and last modified
+ * time of every classpath entry, every file read (sources and referenced
+ * documents) and every file written. When none of these have changed since the stamp was
+ * written, the generated types are up to date and generation can be
+ * skipped.</p>
+ *
+ * @since 1.1.2
+ */
+public class GenerationStamp {
+
+    /**
+     * The name of the file (in the output directory) that holds the stamp of
+     * the last run.
+     */
+    public static final String FILE_NAME = ".jsonschema2pojo-stamp.json";
+
+    private static final int FORMAT_VERSION = 3;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String pluginVersion;
+    private final String configurationHash;
+    private final Set<String> sources = new TreeSet<>();
+    private final Map<String, String> classpath = new LinkedHashMap<>();
+    private final Map<String, String> inputs = new TreeMap<>();
+    private final Map<String, String> outputs = new TreeMap<>();
+
+    private GenerationStamp(String pluginVersion, String configurationHash) {
+        this.pluginVersion = pluginVersion;
+        this.configurationHash = configurationHash;
+    }
+
+    /**
+     * Creates a stamp from the current state of the given files.
+     *
+     * @param pluginVersion
+     *            the version of the plugin that generated the types
+     * @param configurationHash
+     *            a hash of the configuration used to generate the types
+     * @param classpath
+     *            the project classpath on which the types were generated, in
+     *            order
+     * @param sourceFiles
+     *            the source files read
+     * @param inputFiles
+     *            every file read (sources and referenced documents)
+     * @param outputFiles
+     *            every file written
+     * @return a new stamp
+     */
+    public static GenerationStamp create(String pluginVersion, String configurationHash, List<File> classpath, Set<File> sourceFiles, Set<File> inputFiles, Set<File> outputFiles) {
+        GenerationStamp stamp = new GenerationStamp(pluginVersion, configurationHash);
+        for (File classpathEntry : classpath) {
+            stamp.classpath.put(classpathEntry.getAbsolutePath(), fingerprint(classpathEntry));
+        }
+        for (File sourceFile : sourceFiles) {
+            stamp.sources.add(sourceFile.getAbsolutePath());
+        }
+        for (File inputFile : inputFiles) {
+            stamp.inputs.put(inputFile.getAbsolutePath(), fingerprint(inputFile));
+        }
+        for (File outputFile : outputFiles) {
+            stamp.outputs.put(outputFile.getAbsolutePath(), fingerprint(outputFile));
+        }
+        return stamp;
+    }
+
+    /**
+     * Reads the stamp left by a previous run.
+     *
+     * @param file
+     *            the stamp file
+     * @return the previous stamp, or <code>null</code> if the file does not
+     *         exist or cannot be understood
+     */
+    public static GenerationStamp read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try {
+            JsonNode root = OBJECT_MAPPER.readTree(file);
+            if (root.path("version").asInt() != FORMAT_VERSION) {
+                return null;
+            }
+
+            GenerationStamp stamp = new GenerationStamp(root.path("pluginVersion").asText(), root.path("configurationHash").asText());
+            for (JsonNode source : root.path("sources")) {
+                stamp.sources.add(source.asText());
+            }
+            readFingerprints(root.path("classpath"), stamp.classpath);
+            readFingerprints(root.path("inputs"), stamp.inputs);
+            readFingerprints(root.path("outputs"), stamp.outputs);
+            return stamp;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes this stamp to the given file, replacing any existing content.
+     *
+     * @param file
+     *            the stamp file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void write(File file) throws IOException {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        root.put("version", FORMAT_VERSION);
+        root.put("pluginVersion", pluginVersion);
+        root.put("configurationHash", configurationHash);
+        sources.forEach(root.putArray("sources")::add);
+        ObjectNode classpathNode = root.putObject("classpath");
+        classpath.forEach(classpathNode::put);
+        ObjectNode inputsNode = root.putObject("inputs");
+        inputs.forEach(inputsNode::put);
+        ObjectNode outputsNode = root.putObject("outputs");
+        outputs.forEach(outputsNode::put);
+
+        OBJECT_MAPPER.writeValue(file, root);
+    }
+
+    /**
+     * Decides whether types generated when this stamp was written are still
+     * up to date. Only the source files are listed again, referenced documents
+     * are found from the stamp (a change to the references of a document also
+     * changes the document, so it is detected without reading any content).
+     * Generated files that have been removed or edited since the stamp was
+     * written also make the types stale, so that they are generated again.
+     *
+     * @param pluginVersion
+     *            the version of the plugin that would generate the types
+     * @param configurationHash
+     *            a hash of the configuration that would be used
+     * @param classpath
+     *            the project classpath on which the types would be generated,
+     *            in order
+     * @param sourceFiles
+     *            the source files that would be read
+     * @return <code>true</code> if nothing that affects the generated types has
+     *         changed
+     */
+    public boolean isUpToDate(String pluginVersion, String configurationHash, List<File> classpath, Set<File> sourceFiles) {
+        if (!Objects.equals(this.pluginVersion, pluginVersion) || !Objects.equals(this.configurationHash, configurationHash)) {
+            return false;
+        }
+
+        List<String> currentClasspath = classpath.stream().map(File::getAbsolutePath).collect(Collectors.toList());
+        if (!currentClasspath.equals(new ArrayList<>(this.classpath.keySet())) || !isUnchanged(this.classpath)) {
+            return false;
+        }
+
+        Set<String> currentSources = new TreeSet<>();
+        for (File sourceFile : sourceFiles) {
+            currentSources.add(sourceFile.getAbsolutePath());
+        }
+        if (!currentSources.equals(sources)) {
+            return false;
+        }
+
+        return isUnchanged(inputs) && isUnchanged(outputs);
+    }
+
+    private static boolean isUnchanged(Map<String, String> fingerprints) {
+        for (Map.Entry<String, String> file : fingerprints.entrySet()) {
+            if (!file.getValue().equals(fingerprint(new File(file.getKey())))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void readFingerprints(JsonNode node, Map<String, String> fingerprints) {
+        for (Iterator<Map.Entry<String, JsonNode>> files = node.fields(); files.hasNext();) {
+            Map.Entry<String, JsonNode> file = files.next();
+            fingerprints.put(file.getKey(), file.getValue().asText());
+        }
+    }
+
+    private static String fingerprint(File file) {
+        if (file.isDirectory()) {
+            return fingerprintDirectory(file.toPath());
+        }
+        return file.isFile() ? file.length() + ":" + file.lastModified() : "missing";
+    }
+
+    /**
+     * A digest of the path, size and last modified time of every file in the
+     * given directory (such as the classes of another module in the reactor).
+     */
+    private static String fingerprintDirectory(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return DigestUtil.sha256Hex(files.filter(Files::isRegularFile)
+                    .map(file -> directory.relativize(file) + ":" + fingerprint(file.toFile()))
+                    .sorted()
+                    .collect(Collectors.joining("\n")));
+        } catch (IOException | UncheckedIOException e) {
+            return "unreadable";
+        }
+    }
+
+}
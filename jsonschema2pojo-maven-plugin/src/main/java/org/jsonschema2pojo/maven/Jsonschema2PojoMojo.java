@@ -23,13 +23,17 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.plugin.AbstractMojo;
@@ -43,11 +47,14 @@ import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.InclusionLevel;
 import org.jsonschema2pojo.Jsonschema2Pojo;
 import org.jsonschema2pojo.NoopAnnotator;
+import org.jsonschema2pojo.RecordingContentResolver;
 import org.jsonschema2pojo.RuleLogger;
 import org.jsonschema2pojo.SourceSortOrder;
 import org.jsonschema2pojo.SourceType;
 import org.jsonschema2pojo.rules.RuleFactory;
 import org.jsonschema2pojo.util.URLUtil;
+import org.sonatype.plexus.build.incremental.BuildContext;
+import org.sonatype.plexus.build.incremental.ThreadBuildContext;
 
 /**
  * When invoked, this goal reads one or more
@@ -154,6 +161,21 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
      */
     private boolean skip = false;
 
+    /**
+     * Skip generation when the generated types are up to date: that is, when
+     * the plugin version, the configuration, the project's compile classpath
+     * and the schema files (including any local files they reference) have
+     * not changed since the types were last generated. When generation is
+     * skipped, generated files are left untouched, so the compiler sees no
+     * changes. Sources that are not local files (e.g. classpath or http URLs)
+     * are always regenerated.
+     *
+     * @parameter property="jsonschema2pojo.skipIfUpToDate"
+     *            default-value="true"
+     * @since 1.1.2
+     */
+    private boolean skipIfUpToDate = true;
+
     /**
      * The characters that should be considered as word delimiters when creating
      * Java Bean property names from JSON property names. If blank or not set,
@@ -683,6 +705,22 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
      */
     private MavenProject project;
 
+    /**
+     * The version of this plugin, recorded so that types are regenerated when
+     * the plugin is upgraded.
+     *
+     * @parameter default-value="${plugin.version}"
+     * @readonly
+     */
+    private String pluginVersion;
+
+    /**
+     * The build context, used to tell the IDE about generated files.
+     *
+     * @component
+     */
+    private BuildContext buildContext = new ThreadBuildContext();
+
     /**
      * Whether the fields of type `date` are formatted during serialization with
      * a default pattern of yyyy-MM-dd.
@@ -804,6 +842,186 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
      */
     private boolean includeGeneratedAnnotation = true;
 
+    /**
+     * The number of worker threads used to read source files (and the
+     * documents they reference) before types are generated. Types are always
+     * generated in source order, so the output does not depend on this value.
+     *
+     * @parameter property="jsonschema2pojo.parallelism"
+     *            default-value="1"
+     * @since 1.1.2
+     */
+    private int parallelism = 1;
+
+    /**
+     * Whether to regenerate only the types affected by changes since the
+     * previous run. The documents read for each source and the files generated
+     * from each document are recorded in a state file in the output directory;
+     * on the next run only sources whose documents have changed are
+     * regenerated, and only files that are no longer generated are deleted.
+     * Applies to JSONSCHEMA and YAMLSCHEMA sources.
+     *
+     * @parameter property="jsonschema2pojo.incremental"
+     *            default-value="false"
+     * @since 1.1.2
+     */
+    private boolean incremental = false;
+
+    /**
+     * Whether to compare each generated file with the file already in the
+     * output directory and only write files whose content has changed.
+     * Unchanged files keep their modification time, so they are not recompiled
+     * or re-indexed. When combined with <code>removeOldOutput</code>, files
+     * that were not generated are deleted after generation instead of emptying
+     * the output directory beforehand.
+     *
+     * @parameter property="jsonschema2pojo.skipUnchangedFiles"
+     *            default-value="false"
+     * @since 1.1.2
+     */
+    private boolean skipUnchangedFiles = false;
+
+    /**
+     * The directory in which schemas fetched over http/https are cached
+     * between builds. Cached schemas are reused for
+     * <code>schemaCacheTimeToLive</code> seconds, then revalidated with a
+     * conditional request. By default no cache is used.
+     *
+     * @parameter property="jsonschema2pojo.schemaCacheDirectory"
+     * @since 1.1.2
+     */
+    private File schemaCacheDirectory;
+
+    /**
+     * The number of seconds for which a cached schema is used without checking
+     * with the server. Once expired, a cached schema is revalidated with a
+     * conditional request (using its <code>ETag</code> or
+     * <code>Last-Modified</code> header).
+     *
+     * @parameter property="jsonschema2pojo.schemaCacheTimeToLive"
+     *            default-value="3600"
+     * @since 1.1.2
+     */
+    private long schemaCacheTimeToLive = 3600;
+
+    /**
+     * The maximum total size (in bytes) of the schema cache. When exceeded,
+     * the least recently used schemas are evicted.
+     *
+     * @parameter property="jsonschema2pojo.schemaCacheMaxSize"
+     *            default-value="52428800"
+     * @since 1.1.2
+     */
+    private long schemaCacheMaxSize = 52428800;
+
+    /**
+     * Whether to resolve schemas referenced over http/https only from the
+     * schema cache, without contacting any server. Generation fails if a
+     * referenced schema has not been cached. When a
+     * <code>schemaCacheDirectory</code> is configured, Maven's own offline
+     * setting (<code>-o</code>) also implies this.
+     *
+     * @parameter property="jsonschema2pojo.offline"
+     *            default-value="false"
+     * @since 1.1.2
+     */
+    private boolean offline = false;
+
+    /**
+     * Whether Maven is running offline (<code>-o</code>).
+     *
+     * @parameter default-value="${settings.offline}"
+     * @readonly
+     */
+    private boolean mavenOffline = false;
+
+    /**
+     * Whether to log a summary of the time spent generating types: the number
+     * of invocations of and time spent in each rule, for each source, for each
+     * document read and for writing output.
+     *
+     * @parameter property="jsonschema2pojo.printMetrics"
+     *            default-value="false"
+     * @since 1.1.2
+     */
+    private boolean printMetrics = false;
+
+    /**
+     * A file to which the time spent generating types (see
+     * <code>printMetrics</code>) should be written as JSON. By default metrics
+     * are not written.
+     *
+     * @parameter property="jsonschema2pojo.metricsFile"
+     * @since 1.1.2
+     */
+    private File metricsFile;
+
+    /**
+     * Whether to infer a single type from many samples, rather than a type from
+     * each example file. Each source directory (including its subdirectories) and
+     * each source glob (e.g. <code>samples/*.json</code>) produces one type, named
+     * after the directory, from all the files it contains. Every root value in a
+     * file is a sample, so a single file of newline-delimited JSON also produces
+     * one type from all its lines. Properties that have a non-null value in every
+     * sample are marked as required. Applies to JSON and YAML sources only.
+     *
+     * @parameter property="jsonschema2pojo.mergeSamples"
+     *            default-value="false"
+     * @since 1.1.2
+     */
+    private boolean mergeSamples = false;
+
+    /**
+     * Whether to generate a streaming serializer and deserializer alongside
+     * each generated type, so that no reflection is needed to read or write
+     * instances at runtime. The library targeted is chosen by the
+     * <code>annotationStyle</code> (<code>jackson2</code>, <code>gson</code> or
+     * <code>moshi1</code>). Types that rely on features the generated code
+     * cannot reproduce (e.g. polymorphic type information) are left to the
+     * library's default handling. Moshi doesn't find the adapters by itself,
+     * the <code>MoshiJsonAdapterFactory</code> generated in each package must be
+     * added to the <code>Moshi.Builder</code>.
+     *
+     * @parameter property="jsonschema2pojo.generateAdapters"
+     *            default-value="false"
+     * @since 1.1.2
+     */
+    private boolean generateAdapters = false;
+
+    /**
+     * Whether to generate immutable types. Fields are final and no setters or
+     * builders are generated, so instances can only be created through
+     * constructors. Lists, sets and maps are copied into unmodifiable
+     * collections by constructors and returned as unmodifiable views by
+     * getters (so instances created by deserializers are protected too), and
+     * dates are copied by constructors and getters. When no field can hold a
+     * value that changes, the hash code is computed once and cached, and
+     * <code>equals</code> returns early when cached hash codes differ.
+     * Additional properties are passed to the constructor that takes all
+     * properties.
+     *
+     * @parameter property="jsonschema2pojo.immutable"
+     *            default-value="false"
+     * @since 1.1.2
+     */
+    private boolean immutable = false;
+
+    /**
+     * Whether to generate records rather than classes for object types, when the
+     * target version is 16 or later. Each property becomes a record component (with
+     * its annotations), default values are applied by a compact canonical
+     * constructor when a value is <code>null</code>, and <code>equals</code>,
+     * <code>hashCode</code> and <code>toString</code> are left to the record. Types
+     * that extend another type, types extended by another type, and Parcelable
+     * types, are still generated as classes. Additional properties and builders
+     * are not supported by records.
+     *
+     * @parameter property="jsonschema2pojo.generateRecords"
+     *            default-value="false"
+     * @since 1.1.2
+     */
+    private boolean generateRecords = false;
+
     /**
      * Executes the plugin, to read the given source and behavioural properties
      * and generate POJOs. The current implementation acts as a wrapper around
@@ -879,11 +1097,67 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
         RuleLogger logger = new MojoRuleLogger(getLog());
 
         try {
-            Jsonschema2Pojo.generate(this, logger);
+            Set<File> sourceFiles = skipIfUpToDate ? Jsonschema2Pojo.getSourceFiles(this) : null;
+            List<File> classpath = sourceFiles != null ? getCompileClasspath() : null;
+
+            if (sourceFiles != null && classpath != null && isUpToDate(classpath, sourceFiles)) {
+                getLog().info("Generated types are up to date, skipping generation");
+                return;
+            }
+
+            RecordingContentResolver contentResolver = new RecordingContentResolver(this);
+            Jsonschema2Pojo.generate(this, logger, contentResolver);
+
+            if (sourceFiles != null) {
+                writeStamp(classpath, sourceFiles, contentResolver.getFiles());
+            }
         } catch (IOException e) {
             throw new MojoExecutionException("Error generating classes from JSON Schema file(s) " + sourceDirectory, e);
         }
 
+        buildContext.refresh(outputDirectory);
+
+    }
+
+    private boolean isUpToDate(List<File> classpath, Set<File> sourceFiles) {
+        GenerationStamp stamp = GenerationStamp.read(new File(outputDirectory, GenerationStamp.FILE_NAME));
+        return stamp != null && stamp.isUpToDate(pluginVersion, Jsonschema2Pojo.getConfigurationHash(this), classpath, sourceFiles);
+    }
+
+    /**
+     * @param documents
+     *            the documents read while generating (sources and referenced
+     *            documents), or <code>null</code> if any was not a local file
+     */
+    private void writeStamp(List<File> classpath, Set<File> sourceFiles, Set<File> documents) throws IOException {
+        File stampFile = new File(outputDirectory, GenerationStamp.FILE_NAME);
+
+        if (classpath != null && documents != null) {
+            // sources that are not schemas are read without the content resolver
+            Set<File> inputFiles = new HashSet<>(sourceFiles);
+            inputFiles.addAll(documents);
+            Set<File> outputFiles = new HashSet<>(FileUtils.listFiles(outputDirectory, null, true));
+            outputFiles.remove(stampFile);
+            GenerationStamp.create(pluginVersion, Jsonschema2Pojo.getConfigurationHash(this), classpath, sourceFiles, inputFiles, outputFiles).write(stampFile);
+        } else {
+            getLog().debug("Some referenced schemas are not local files, or project dependencies are not resolved, generated types will not be checked for changes");
+            Files.deleteIfExists(stampFile.toPath());
+        }
+    }
+
+    private List<File> getCompileClasspath() {
+        try {
+            @SuppressWarnings("unchecked")
+            List<String> classpathElements = project.getCompileClasspathElements();
+
+            List<File> classpath = new ArrayList<>(classpathElements.size());
+            for (String classpathElement : classpathElements) {
+                classpath.add(new File(classpathElement));
+            }
+            return classpath;
+        } catch (DependencyResolutionRequiredException e) {
+            return null;
+        }
     }
 
     private void addProjectDependenciesToClasspath() {
@@ -1255,4 +1529,70 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
     public boolean isIncludeGeneratedAnnotation() {
         return includeGeneratedAnnotation;
     }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    @Override
+    public boolean isSkipUnchangedFiles() {
+        return skipUnchangedFiles;
+    }
+
+    @Override
+    public File getSchemaCacheDirectory() {
+        return schemaCacheDirectory;
+    }
+
+    @Override
+    public long getSchemaCacheTimeToLive() {
+        return schemaCacheTimeToLive;
+    }
+
+    @Override
+    public long getSchemaCacheMaxSize() {
+        return schemaCacheMaxSize;
+    }
+
+    @Override
+    public boolean isOffline() {
+        // without a cache, an offline build can only work by fetching schemas as it always has
+        return offline || (mavenOffline && schemaCacheDirectory != null);
+    }
+
+    @Override
+    public boolean isPrintMetrics() {
+        return printMetrics;
+    }
+
+    @Override
+    public File getMetricsFile() {
+        return metricsFile;
+    }
+
+    @Override
+    public boolean isMergeSamples() {
+        return mergeSamples;
+    }
+
+    @Override
+    public boolean isGenerateAdapters() {
+        return generateAdapters;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    @Override
+    public boolean isGenerateRecords() {
+        return generateRecords;
+    }
 }
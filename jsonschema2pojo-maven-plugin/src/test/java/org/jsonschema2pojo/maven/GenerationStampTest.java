@@ -0,0 +1,128 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.maven;
+
+import static java.util.Collections.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GenerationStampTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    File dependency;
+    File classes;
+    File source;
+    File reference;
+    File output;
+    File stampFile;
+
+    @Before
+    public void setUp() throws IOException {
+        source = folder.newFile("source.json");
+        reference = folder.newFile("reference.json");
+        output = folder.newFile("Source.java");
+        stampFile = new File(folder.getRoot(), GenerationStamp.FILE_NAME);
+        dependency = folder.newFile("dependency.jar");
+        classes = folder.newFolder("classes");
+        FileUtils.writeStringToFile(new File(classes, "Existing.class"), "class", "UTF-8");
+        FileUtils.writeStringToFile(source, "{\"$ref\":\"reference.json\"}", "UTF-8");
+        FileUtils.writeStringToFile(reference, "{\"type\":\"object\"}", "UTF-8");
+
+        GenerationStamp.create("1.0", "hash", classpath(), singleton(source), new HashSet<>(Arrays.asList(source, reference)), singleton(output)).write(stampFile);
+    }
+
+    @Test
+    public void shouldBeUpToDateWhenNothingChanged() {
+        assertThat(GenerationStamp.read(stampFile).isUpToDate("1.0", "hash", classpath(), singleton(source)), is(true));
+    }
+
+    @Test
+    public void shouldBeStaleWhenVersionOrConfigurationChanges() {
+        GenerationStamp stamp = GenerationStamp.read(stampFile);
+
+        assertThat(stamp.isUpToDate("1.1", "hash", classpath(), singleton(source)), is(false));
+        assertThat(stamp.isUpToDate("1.0", "other", classpath(), singleton(source)), is(false));
+    }
+
+    @Test
+    public void shouldBeStaleWhenSourcesAreAddedOrRemoved() throws IOException {
+        Set<File> sources = new HashSet<>(Arrays.asList(source, folder.newFile("added.json")));
+
+        assertThat(GenerationStamp.read(stampFile).isUpToDate("1.0", "hash", classpath(), sources), is(false));
+        assertThat(GenerationStamp.read(stampFile).isUpToDate("1.0", "hash", classpath(), emptySet()), is(false));
+    }
+
+    @Test
+    public void shouldBeStaleWhenReferencedDocumentChanges() throws IOException {
+        FileUtils.writeStringToFile(reference, "{\"type\":\"array\"}", "UTF-8");
+
+        assertThat(GenerationStamp.read(stampFile).isUpToDate("1.0", "hash", classpath(), singleton(source)), is(false));
+    }
+
+    @Test
+    public void shouldBeStaleWhenGeneratedFileIsRemovedOrEdited() throws IOException {
+        FileUtils.writeStringToFile(output, "public class Source {}", "UTF-8");
+
+        assertThat(GenerationStamp.read(stampFile).isUpToDate("1.0", "hash", classpath(), singleton(source)), is(false));
+
+        FileUtils.forceDelete(output);
+
+        assertThat(GenerationStamp.read(stampFile).isUpToDate("1.0", "hash", classpath(), singleton(source)), is(false));
+    }
+
+    @Test
+    public void shouldBeStaleWhenClasspathChanges() throws IOException {
+        assertThat(GenerationStamp.read(stampFile).isUpToDate("1.0", "hash", Arrays.asList(classes, dependency), singleton(source)), is(false));
+        assertThat(GenerationStamp.read(stampFile).isUpToDate("1.0", "hash", singletonList(dependency), singleton(source)), is(false));
+
+        FileUtils.writeStringToFile(dependency, "changed", "UTF-8");
+
+        assertThat(GenerationStamp.read(stampFile).isUpToDate("1.0", "hash", classpath(), singleton(source)), is(false));
+    }
+
+    @Test
+    public void shouldBeStaleWhenClassesInClasspathDirectoryChange() throws IOException {
+        FileUtils.writeStringToFile(new File(classes, "Added.class"), "class", "UTF-8");
+
+        assertThat(GenerationStamp.read(stampFile).isUpToDate("1.0", "hash", classpath(), singleton(source)), is(false));
+    }
+
+    @Test
+    public void shouldIgnoreMissingStamp() {
+        assertThat(GenerationStamp.read(new File(folder.getRoot(), "missing")), is(nullValue()));
+    }
+
+    private List<File> classpath() {
+        return Arrays.asList(dependency, classes);
+    }
+
+}